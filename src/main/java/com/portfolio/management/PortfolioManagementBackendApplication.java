@@ -1,6 +1,8 @@
 package com.portfolio.management;
 
 import com.portfolio.management.config.AppProperties;
+import com.portfolio.management.config.StartupConfig;
+import com.portfolio.management.constants.AppConstants;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.actuate.autoconfigure.metrics.export.appoptics.AppOpticsProperties;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
@@ -14,14 +16,16 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 @SpringBootApplication
 @EnableConfigurationProperties({AppProperties.class})
 @EnableJpaAuditing
-@EnableTransactionManagement
-@EnableCaching
+@EnableTransactionManagement(order = AppConstants.TRANSACTION_ADVICE_ORDER)
+@EnableCaching(order = AppConstants.CACHE_ADVICE_ORDER)
 @EnableAsync
 @EnableScheduling
 public class PortfolioManagementBackendApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(PortfolioManagementBackendApplication.class, args);
+        SpringApplication application = new SpringApplication(PortfolioManagementBackendApplication.class);
+        application.setApplicationStartup(StartupConfig.applicationStartup());
+        application.run(args);
     }
 
 }
@@ -3,7 +3,11 @@ package com.portfolio.management.config;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Application-specific configuration properties
@@ -16,6 +20,18 @@ public class AppProperties {
     private Security security = new Security();
     private RateLimiting rateLimiting = new RateLimiting();
     private Audit audit = new Audit();
+    private Serialization serialization = new Serialization();
+    private Streaming streaming = new Streaming();
+    private Replication replication = new Replication();
+    private Partitioning partitioning = new Partitioning();
+    private Mutations mutations = new Mutations();
+    private CorporateActions corporateActions = new CorporateActions();
+    private DividendSchedules dividendSchedules = new DividendSchedules();
+    private Risk risk = new Risk();
+    private Projections projections = new Projections();
+    private Alerts alerts = new Alerts();
+    private Fx fx = new Fx();
+    private Startup startup = new Startup();
 
     // Getters and setters
     public Portfolio getPortfolio() {
@@ -50,6 +66,102 @@ public class AppProperties {
         this.audit = audit;
     }
 
+    public Serialization getSerialization() {
+        return serialization;
+    }
+
+    public void setSerialization(Serialization serialization) {
+        this.serialization = serialization;
+    }
+
+    public Streaming getStreaming() {
+        return streaming;
+    }
+
+    public void setStreaming(Streaming streaming) {
+        this.streaming = streaming;
+    }
+
+    public Replication getReplication() {
+        return replication;
+    }
+
+    public void setReplication(Replication replication) {
+        this.replication = replication;
+    }
+
+    public Partitioning getPartitioning() {
+        return partitioning;
+    }
+
+    public void setPartitioning(Partitioning partitioning) {
+        this.partitioning = partitioning;
+    }
+
+    public Mutations getMutations() {
+        return mutations;
+    }
+
+    public void setMutations(Mutations mutations) {
+        this.mutations = mutations;
+    }
+
+    public CorporateActions getCorporateActions() {
+        return corporateActions;
+    }
+
+    public void setCorporateActions(CorporateActions corporateActions) {
+        this.corporateActions = corporateActions;
+    }
+
+    public DividendSchedules getDividendSchedules() {
+        return dividendSchedules;
+    }
+
+    public void setDividendSchedules(DividendSchedules dividendSchedules) {
+        this.dividendSchedules = dividendSchedules;
+    }
+
+    public Risk getRisk() {
+        return risk;
+    }
+
+    public void setRisk(Risk risk) {
+        this.risk = risk;
+    }
+
+    public Projections getProjections() {
+        return projections;
+    }
+
+    public void setProjections(Projections projections) {
+        this.projections = projections;
+    }
+
+    public Alerts getAlerts() {
+        return alerts;
+    }
+
+    public void setAlerts(Alerts alerts) {
+        this.alerts = alerts;
+    }
+
+    public Fx getFx() {
+        return fx;
+    }
+
+    public void setFx(Fx fx) {
+        this.fx = fx;
+    }
+
+    public Startup getStartup() {
+        return startup;
+    }
+
+    public void setStartup(Startup startup) {
+        this.startup = startup;
+    }
+
     public static class Portfolio {
         private String defaultCurrency = "USD";
         private int maxPortfoliosPerUser = 10;
@@ -154,6 +266,9 @@ public class AppProperties {
     public static class RateLimiting {
         private boolean enabled = true;
         private int requestsPerMinute = 100;
+        private int maxTrackedClients = 100_000;
+        private int idleExpiryMinutes = 10;
+        private Map<String, Integer> endpointCosts = new LinkedHashMap<>();
 
         public boolean isEnabled() {
             return enabled;
@@ -170,6 +285,30 @@ public class AppProperties {
         public void setRequestsPerMinute(int requestsPerMinute) {
             this.requestsPerMinute = requestsPerMinute;
         }
+
+        public int getMaxTrackedClients() {
+            return maxTrackedClients;
+        }
+
+        public void setMaxTrackedClients(int maxTrackedClients) {
+            this.maxTrackedClients = maxTrackedClients;
+        }
+
+        public int getIdleExpiryMinutes() {
+            return idleExpiryMinutes;
+        }
+
+        public void setIdleExpiryMinutes(int idleExpiryMinutes) {
+            this.idleExpiryMinutes = idleExpiryMinutes;
+        }
+
+        public Map<String, Integer> getEndpointCosts() {
+            return endpointCosts;
+        }
+
+        public void setEndpointCosts(Map<String, Integer> endpointCosts) {
+            this.endpointCosts = endpointCosts;
+        }
     }
 
     public static class Audit {
@@ -183,4 +322,508 @@ public class AppProperties {
             this.enabled = enabled;
         }
     }
+
+    public static class Serialization {
+        private boolean prettyPrint = false;
+        private boolean binaryFormatsEnabled = true;
+        private boolean blackbirdEnabled = true;
+
+        public boolean isPrettyPrint() {
+            return prettyPrint;
+        }
+
+        public void setPrettyPrint(boolean prettyPrint) {
+            this.prettyPrint = prettyPrint;
+        }
+
+        public boolean isBinaryFormatsEnabled() {
+            return binaryFormatsEnabled;
+        }
+
+        public void setBinaryFormatsEnabled(boolean binaryFormatsEnabled) {
+            this.binaryFormatsEnabled = binaryFormatsEnabled;
+        }
+
+        public boolean isBlackbirdEnabled() {
+            return blackbirdEnabled;
+        }
+
+        public void setBlackbirdEnabled(boolean blackbirdEnabled) {
+            this.blackbirdEnabled = blackbirdEnabled;
+        }
+    }
+
+    public static class Streaming {
+        private boolean enabled = true;
+        private int maxConnections = 10_000;
+        private int maxConnectionsPerUser = 5;
+        private int connectionTimeoutMinutes = 30;
+        private long refreshIntervalMs = 5_000;
+        private long heartbeatIntervalMs = 15_000;
+        private long stallTimeoutMs = 30_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        public int getMaxConnectionsPerUser() {
+            return maxConnectionsPerUser;
+        }
+
+        public void setMaxConnectionsPerUser(int maxConnectionsPerUser) {
+            this.maxConnectionsPerUser = maxConnectionsPerUser;
+        }
+
+        public int getConnectionTimeoutMinutes() {
+            return connectionTimeoutMinutes;
+        }
+
+        public void setConnectionTimeoutMinutes(int connectionTimeoutMinutes) {
+            this.connectionTimeoutMinutes = connectionTimeoutMinutes;
+        }
+
+        public long getRefreshIntervalMs() {
+            return refreshIntervalMs;
+        }
+
+        public void setRefreshIntervalMs(long refreshIntervalMs) {
+            this.refreshIntervalMs = refreshIntervalMs;
+        }
+
+        public long getHeartbeatIntervalMs() {
+            return heartbeatIntervalMs;
+        }
+
+        public void setHeartbeatIntervalMs(long heartbeatIntervalMs) {
+            this.heartbeatIntervalMs = heartbeatIntervalMs;
+        }
+
+        public long getStallTimeoutMs() {
+            return stallTimeoutMs;
+        }
+
+        public void setStallTimeoutMs(long stallTimeoutMs) {
+            this.stallTimeoutMs = stallTimeoutMs;
+        }
+    }
+
+    public static class Replication {
+        private boolean enabled = true;
+        private List<Replica> replicas = new ArrayList<>();
+        private int maxLagSeconds = 5;
+        private long lagCheckIntervalMs = 5_000;
+        private int readYourWritesWindowSeconds = 10;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public List<Replica> getReplicas() {
+            return replicas;
+        }
+
+        public void setReplicas(List<Replica> replicas) {
+            this.replicas = replicas;
+        }
+
+        public int getMaxLagSeconds() {
+            return maxLagSeconds;
+        }
+
+        public void setMaxLagSeconds(int maxLagSeconds) {
+            this.maxLagSeconds = maxLagSeconds;
+        }
+
+        public long getLagCheckIntervalMs() {
+            return lagCheckIntervalMs;
+        }
+
+        public void setLagCheckIntervalMs(long lagCheckIntervalMs) {
+            this.lagCheckIntervalMs = lagCheckIntervalMs;
+        }
+
+        public int getReadYourWritesWindowSeconds() {
+            return readYourWritesWindowSeconds;
+        }
+
+        public void setReadYourWritesWindowSeconds(int readYourWritesWindowSeconds) {
+            this.readYourWritesWindowSeconds = readYourWritesWindowSeconds;
+        }
+
+        public static class Replica {
+            private String url;
+            private String username;
+            private String password;
+            private int maximumPoolSize = 20;
+
+            public String getUrl() {
+                return url;
+            }
+
+            public void setUrl(String url) {
+                this.url = url;
+            }
+
+            public String getUsername() {
+                return username;
+            }
+
+            public void setUsername(String username) {
+                this.username = username;
+            }
+
+            public String getPassword() {
+                return password;
+            }
+
+            public void setPassword(String password) {
+                this.password = password;
+            }
+
+            public int getMaximumPoolSize() {
+                return maximumPoolSize;
+            }
+
+            public void setMaximumPoolSize(int maximumPoolSize) {
+                this.maximumPoolSize = maximumPoolSize;
+            }
+        }
+    }
+
+    public static class Partitioning {
+        private boolean enabled = true;
+        private int monthsAhead = 3;
+        private int retentionMonths = 24;
+        private boolean archiveEnabled = true;
+        private String maintenanceCron = "0 15 3 * * *";
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMonthsAhead() {
+            return monthsAhead;
+        }
+
+        public void setMonthsAhead(int monthsAhead) {
+            this.monthsAhead = monthsAhead;
+        }
+
+        public int getRetentionMonths() {
+            return retentionMonths;
+        }
+
+        public void setRetentionMonths(int retentionMonths) {
+            this.retentionMonths = retentionMonths;
+        }
+
+        public boolean isArchiveEnabled() {
+            return archiveEnabled;
+        }
+
+        public void setArchiveEnabled(boolean archiveEnabled) {
+            this.archiveEnabled = archiveEnabled;
+        }
+
+        public String getMaintenanceCron() {
+            return maintenanceCron;
+        }
+
+        public void setMaintenanceCron(String maintenanceCron) {
+            this.maintenanceCron = maintenanceCron;
+        }
+    }
+
+    public static class Mutations {
+        private int stripes = 4;
+        private int maxCoalesced = 64;
+        private long timeoutMs = 30_000;
+
+        public int getStripes() {
+            return stripes;
+        }
+
+        public void setStripes(int stripes) {
+            this.stripes = stripes;
+        }
+
+        public int getMaxCoalesced() {
+            return maxCoalesced;
+        }
+
+        public void setMaxCoalesced(int maxCoalesced) {
+            this.maxCoalesced = maxCoalesced;
+        }
+
+        public long getTimeoutMs() {
+            return timeoutMs;
+        }
+
+        public void setTimeoutMs(long timeoutMs) {
+            this.timeoutMs = timeoutMs;
+        }
+    }
+
+    public static class CorporateActions {
+        private boolean enabled = true;
+        private int lookbackDays = 30;
+        private String syncCron = "0 30 22 * * MON-FRI";
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getLookbackDays() {
+            return lookbackDays;
+        }
+
+        public void setLookbackDays(int lookbackDays) {
+            this.lookbackDays = lookbackDays;
+        }
+
+        public String getSyncCron() {
+            return syncCron;
+        }
+
+        public void setSyncCron(String syncCron) {
+            this.syncCron = syncCron;
+        }
+    }
+
+    public static class DividendSchedules {
+        private int historyDays = 730;
+        private String refreshCron = "0 0 6 * * *";
+        private long pendingRefreshIntervalMs = 300_000;
+
+        public int getHistoryDays() {
+            return historyDays;
+        }
+
+        public void setHistoryDays(int historyDays) {
+            this.historyDays = historyDays;
+        }
+
+        public String getRefreshCron() {
+            return refreshCron;
+        }
+
+        public void setRefreshCron(String refreshCron) {
+            this.refreshCron = refreshCron;
+        }
+
+        public long getPendingRefreshIntervalMs() {
+            return pendingRefreshIntervalMs;
+        }
+
+        public void setPendingRefreshIntervalMs(long pendingRefreshIntervalMs) {
+            this.pendingRefreshIntervalMs = pendingRefreshIntervalMs;
+        }
+    }
+
+    public static class Risk {
+        private String benchmarkSymbol = "SPY";
+        private int lookbackDays = 365;
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+        private boolean nightlyEnabled = true;
+        private String nightlyCron = "0 0 2 * * *";
+        // Lookback windows a correlation matrix may be requested for; one cached matrix per window
+        private List<Integer> correlationLookbacks = new ArrayList<>(List.of(90, 180, 365, 730));
+        // Rebuilds every window's matrix for the new UTC day, off the request path
+        private String correlationRefreshCron = "0 5 0 * * *";
+
+        public String getBenchmarkSymbol() {
+            return benchmarkSymbol;
+        }
+
+        public void setBenchmarkSymbol(String benchmarkSymbol) {
+            this.benchmarkSymbol = benchmarkSymbol;
+        }
+
+        public int getLookbackDays() {
+            return lookbackDays;
+        }
+
+        public void setLookbackDays(int lookbackDays) {
+            this.lookbackDays = lookbackDays;
+        }
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        public boolean isNightlyEnabled() {
+            return nightlyEnabled;
+        }
+
+        public void setNightlyEnabled(boolean nightlyEnabled) {
+            this.nightlyEnabled = nightlyEnabled;
+        }
+
+        public String getNightlyCron() {
+            return nightlyCron;
+        }
+
+        public void setNightlyCron(String nightlyCron) {
+            this.nightlyCron = nightlyCron;
+        }
+
+        public List<Integer> getCorrelationLookbacks() {
+            return correlationLookbacks;
+        }
+
+        public void setCorrelationLookbacks(List<Integer> correlationLookbacks) {
+            this.correlationLookbacks = correlationLookbacks;
+        }
+
+        public String getCorrelationRefreshCron() {
+            return correlationRefreshCron;
+        }
+
+        public void setCorrelationRefreshCron(String correlationRefreshCron) {
+            this.correlationRefreshCron = correlationRefreshCron;
+        }
+    }
+
+    public static class Projections {
+        // Longer than the risk lookback: drift estimates need years of history
+        private int historyDays = 1825;
+        private int blockDays = 21;
+
+        public int getHistoryDays() {
+            return historyDays;
+        }
+
+        public void setHistoryDays(int historyDays) {
+            this.historyDays = historyDays;
+        }
+
+        public int getBlockDays() {
+            return blockDays;
+        }
+
+        public void setBlockDays(int blockDays) {
+            this.blockDays = blockDays;
+        }
+    }
+
+    public static class Alerts {
+        private boolean enabled = true;
+        // Percent below the previous close that raises DAY_DROP
+        private BigDecimal dayDropPercent = BigDecimal.valueOf(5);
+        // Percent of portfolio value above which a holding raises CONCENTRATION
+        private double concentrationPercent = 20;
+        private long concentrationSweepIntervalMs = 30_000;
+        private String rebuildCron = "0 0 4 * * *";
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public BigDecimal getDayDropPercent() {
+            return dayDropPercent;
+        }
+
+        public void setDayDropPercent(BigDecimal dayDropPercent) {
+            this.dayDropPercent = dayDropPercent;
+        }
+
+        public double getConcentrationPercent() {
+            return concentrationPercent;
+        }
+
+        public void setConcentrationPercent(double concentrationPercent) {
+            this.concentrationPercent = concentrationPercent;
+        }
+
+        public long getConcentrationSweepIntervalMs() {
+            return concentrationSweepIntervalMs;
+        }
+
+        public void setConcentrationSweepIntervalMs(long concentrationSweepIntervalMs) {
+            this.concentrationSweepIntervalMs = concentrationSweepIntervalMs;
+        }
+
+        public String getRebuildCron() {
+            return rebuildCron;
+        }
+
+        public void setRebuildCron(String rebuildCron) {
+            this.rebuildCron = rebuildCron;
+        }
+    }
+
+    public static class Fx {
+        private long refreshIntervalMs = 3_600_000;
+        private int historyDays = 1825;
+
+        public long getRefreshIntervalMs() {
+            return refreshIntervalMs;
+        }
+
+        public void setRefreshIntervalMs(long refreshIntervalMs) {
+            this.refreshIntervalMs = refreshIntervalMs;
+        }
+
+        public int getHistoryDays() {
+            return historyDays;
+        }
+
+        public void setHistoryDays(int historyDays) {
+            this.historyDays = historyDays;
+        }
+    }
+
+    public static class Startup {
+        // Read from the Environment by StartupConfig, before this class is bound
+        private boolean lazyNonCriticalBeans = true;
+        private int slowestBeansReported = 10;
+
+        public boolean isLazyNonCriticalBeans() {
+            return lazyNonCriticalBeans;
+        }
+
+        public void setLazyNonCriticalBeans(boolean lazyNonCriticalBeans) {
+            this.lazyNonCriticalBeans = lazyNonCriticalBeans;
+        }
+
+        public int getSlowestBeansReported() {
+            return slowestBeansReported;
+        }
+
+        public void setSlowestBeansReported(int slowestBeansReported) {
+            this.slowestBeansReported = slowestBeansReported;
+        }
+    }
 }
@@ -6,6 +6,7 @@ import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Asynchronous processing configuration
@@ -21,7 +22,16 @@ public class AsyncConfig {
         executor.setMaxPoolSize(10);
         executor.setQueueCapacity(100);
         executor.setThreadNamePrefix("PortfolioAsync-");
+        executor.setTaskDecorator(ConnectionHoldTimeDataSource::propagateRequestUsage);
         executor.initialize();
         return executor;
     }
+
+    /**
+     * Fork/join workers for CPU-bound analytics (risk, covariance), kept apart from the common pool
+     */
+    @Bean(name = "analyticsPool", destroyMethod = "shutdownNow")
+    public ForkJoinPool analyticsPool(AppProperties appProperties) {
+        return new ForkJoinPool(Math.max(1, appProperties.getRisk().getParallelism()));
+    }
 }
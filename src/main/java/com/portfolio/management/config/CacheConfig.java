@@ -1,6 +1,7 @@
 package com.portfolio.management.config;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.portfolio.management.constants.AppConstants;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
@@ -13,7 +14,7 @@ import java.util.concurrent.TimeUnit;
  * Cache configuration using Caffeine
  */
 @Configuration
-@EnableCaching
+@EnableCaching(order = AppConstants.CACHE_ADVICE_ORDER)
 public class CacheConfig {
 
     @Bean
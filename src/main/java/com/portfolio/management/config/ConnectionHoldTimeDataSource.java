@@ -0,0 +1,136 @@
+package com.portfolio.management.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures how long each physical connection is held, from checkout to close, and adds it to
+ * the usage of the HTTP request that took it (see ConnectionHoldTimeFilter). Sits below the
+ * lazy connection proxy, so only connections that actually ran SQL are counted.
+ * <p>
+ * The request is tracked per thread. Executors doing database work for a request pass it on
+ * with {@link #propagateRequestUsage} as their task decorator; connections closed after the
+ * request completed are missed. Writes applied by the portfolio mutation writers are not
+ * attributed to any request, since one writer transaction may serve several; they are still
+ * counted by the per-connection timer.
+ */
+public class ConnectionHoldTimeDataSource extends DelegatingDataSource {
+
+    private static final ThreadLocal<RequestUsage> REQUEST_USAGE = new ThreadLocal<>();
+
+    private final Timer holdTimer;
+
+    public ConnectionHoldTimeDataSource(DataSource targetDataSource, MeterRegistry meterRegistry) {
+        super(targetDataSource);
+        this.holdTimer = Timer.builder("db.connection.hold")
+                .description("Time a physical connection is held from checkout to close")
+                .register(meterRegistry);
+    }
+
+    static RequestUsage beginRequest() {
+        RequestUsage usage = new RequestUsage();
+        REQUEST_USAGE.set(usage);
+        return usage;
+    }
+
+    static void endRequest() {
+        REQUEST_USAGE.remove();
+    }
+
+    /**
+     * Wraps a task so connections it takes count towards the request that submitted it
+     */
+    public static Runnable propagateRequestUsage(Runnable task) {
+        RequestUsage usage = REQUEST_USAGE.get();
+        if (usage == null) {
+            return task;
+        }
+        return () -> {
+            RequestUsage previous = REQUEST_USAGE.get();
+            REQUEST_USAGE.set(usage);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    REQUEST_USAGE.remove();
+                } else {
+                    REQUEST_USAGE.set(previous);
+                }
+            }
+        };
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return track(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return track(super.getConnection(username, password));
+    }
+
+    private Connection track(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new HoldTimeHandler(connection, REQUEST_USAGE.get()));
+    }
+
+    /**
+     * Connection usage accumulated by one request; connections may be closed on another thread
+     */
+    static final class RequestUsage {
+        private final LongAdder acquisitions = new LongAdder();
+        private final LongAdder holdNanos = new LongAdder();
+
+        long getAcquisitions() {
+            return acquisitions.sum();
+        }
+
+        long getHoldNanos() {
+            return holdNanos.sum();
+        }
+    }
+
+    private final class HoldTimeHandler implements InvocationHandler {
+        private final Connection target;
+        private final RequestUsage usage;
+        private final long checkedOutAt = System.nanoTime();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private HoldTimeHandler(Connection target, RequestUsage usage) {
+            this.target = target;
+            this.usage = usage;
+            if (usage != null) {
+                usage.acquisitions.increment();
+            }
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if ("close".equals(method.getName()) && closed.compareAndSet(false, true)) {
+                long held = System.nanoTime() - checkedOutAt;
+                holdTimer.record(held, TimeUnit.NANOSECONDS);
+                if (usage != null) {
+                    usage.holdNanos.add(held);
+                }
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
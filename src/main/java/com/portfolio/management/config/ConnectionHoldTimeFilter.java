@@ -0,0 +1,45 @@
+package com.portfolio.management.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records, per HTTP request, how many database connections were taken and for how long in total.
+ * Requests answered from cache show up as zero acquisitions.
+ */
+public class ConnectionHoldTimeFilter extends OncePerRequestFilter {
+
+    private final Timer requestHoldTimer;
+    private final DistributionSummary requestAcquisitions;
+
+    public ConnectionHoldTimeFilter(MeterRegistry meterRegistry) {
+        this.requestHoldTimer = Timer.builder("db.connection.hold.request")
+                .description("Total database connection hold time per HTTP request")
+                .register(meterRegistry);
+        this.requestAcquisitions = DistributionSummary.builder("db.connection.acquisitions.request")
+                .description("Database connections taken per HTTP request")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        ConnectionHoldTimeDataSource.RequestUsage usage = ConnectionHoldTimeDataSource.beginRequest();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ConnectionHoldTimeDataSource.endRequest();
+            requestHoldTimer.record(usage.getHoldNanos(), TimeUnit.NANOSECONDS);
+            requestAcquisitions.record(usage.getAcquisitions());
+        }
+    }
+}
@@ -1,23 +1,116 @@
 package com.portfolio.management.config;
 
+import com.portfolio.management.constants.AppConstants;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.util.StringUtils;
 
+import javax.sql.DataSource;
+import java.sql.Connection;
 import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Database and JPA configuration
+ * The application DataSource routes read-only transactions to the replicas listed under
+ * app.replication.replicas; with none configured every connection comes from the primary pool.
+ * It is wrapped in a lazy connection proxy: a transaction takes a pooled connection only when
+ * its first statement runs, so transactions that issue no SQL never touch a pool.
  */
 @Configuration
 @EnableJpaRepositories(basePackages = "com.portfolio.management.repository")
 @EnableJpaAuditing
-@EnableTransactionManagement
+@EnableTransactionManagement(order = AppConstants.TRANSACTION_ADVICE_ORDER)
 public class DatabaseConfig {
     @Bean
     public Clock clock() {
         return Clock.systemDefaultZone();
     }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource routingDataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                                      DataSourceProperties properties,
+                                                      AppProperties appProperties) {
+        AppProperties.Replication replication = appProperties.getReplication();
+        List<HikariDataSource> replicaPools = new ArrayList<>();
+
+        if (replication.isEnabled()) {
+            List<AppProperties.Replication.Replica> replicas = replication.getReplicas();
+            for (int i = 0; i < replicas.size(); i++) {
+                replicaPools.add(replicaPool("replica-" + i, replicas.get(i), properties));
+            }
+        }
+
+        return new ReplicaRoutingDataSource(primaryDataSource, replicaPools,
+                Duration.ofSeconds(replication.getMaxLagSeconds()),
+                Duration.ofSeconds(replication.getReadYourWritesWindowSeconds()),
+                Duration.ofMillis(replication.getLagCheckIntervalMs()));
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routingDataSource, MeterRegistry meterRegistry) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy();
+        dataSource.setTargetDataSource(new ConnectionHoldTimeDataSource(routingDataSource, meterRegistry));
+        // Known defaults, so the proxy does not borrow a connection at startup to detect them
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        dataSource.afterPropertiesSet();
+        return dataSource;
+    }
+
+    @Bean
+    public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory,
+                                                         ReplicaRoutingDataSource routingDataSource) {
+        return new RoutingJpaTransactionManager(entityManagerFactory, routingDataSource);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConnectionHoldTimeFilter> connectionHoldTimeFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<ConnectionHoldTimeFilter> registration =
+                new FilterRegistrationBean<>(new ConnectionHoldTimeFilter(meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    private HikariDataSource replicaPool(String name, AppProperties.Replication.Replica replica,
+                                         DataSourceProperties properties) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(name);
+        pool.setDriverClassName(properties.determineDriverClassName());
+        pool.setJdbcUrl(replica.getUrl());
+        pool.setUsername(StringUtils.hasText(replica.getUsername()) ? replica.getUsername() : properties.determineUsername());
+        pool.setPassword(StringUtils.hasText(replica.getPassword()) ? replica.getPassword() : properties.determinePassword());
+        pool.setMaximumPoolSize(replica.getMaximumPoolSize());
+        pool.setReadOnly(true);
+        // Fail over to the primary quickly instead of queueing behind a dead replica
+        pool.setConnectionTimeout(2_000);
+        // A replica that is down at startup must not prevent the application from starting
+        pool.setInitializationFailTimeout(-1);
+        return pool;
+    }
 }
@@ -0,0 +1,78 @@
+package com.portfolio.management.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Jackson message converters that write the hot response types, and lists of them, with the
+ * pre-built writers of HotPathWriters. Other types, JSON views and non-UTF-8 responses take
+ * the regular converter path.
+ */
+final class HotPathMessageConverters {
+
+    private HotPathMessageConverters() {
+    }
+
+    static MappingJackson2HttpMessageConverter json(ObjectMapper mapper, HotPathWriters writers) {
+        return new MappingJackson2HttpMessageConverter(mapper) {
+            @Override
+            protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+                if (!writeHot(writers, HotPathWriters.Format.JSON, object, type, outputMessage)) {
+                    super.writeInternal(object, type, outputMessage);
+                }
+            }
+        };
+    }
+
+    static MappingJackson2SmileHttpMessageConverter smile(ObjectMapper mapper, HotPathWriters writers) {
+        return new MappingJackson2SmileHttpMessageConverter(mapper) {
+            @Override
+            protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+                if (!writeHot(writers, HotPathWriters.Format.SMILE, object, type, outputMessage)) {
+                    super.writeInternal(object, type, outputMessage);
+                }
+            }
+        };
+    }
+
+    static MappingJackson2CborHttpMessageConverter cbor(ObjectMapper mapper, HotPathWriters writers) {
+        return new MappingJackson2CborHttpMessageConverter(mapper) {
+            @Override
+            protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+                if (!writeHot(writers, HotPathWriters.Format.CBOR, object, type, outputMessage)) {
+                    super.writeInternal(object, type, outputMessage);
+                }
+            }
+        };
+    }
+
+    private static boolean writeHot(HotPathWriters writers, HotPathWriters.Format format, Object object, Type type,
+                                    HttpOutputMessage outputMessage) throws IOException {
+        if (type == null || object instanceof MappingJacksonValue) {
+            return false;
+        }
+        MediaType contentType = outputMessage.getHeaders().getContentType();
+        if (contentType != null && contentType.getCharset() != null
+                && !StandardCharsets.UTF_8.equals(contentType.getCharset())) {
+            return false;
+        }
+        ObjectWriter writer = writers.find(type, format);
+        if (writer == null) {
+            return false;
+        }
+        // The servlet container closes the body, as with the regular path
+        writer.writeValue(StreamUtils.nonClosing(outputMessage.getBody()), object);
+        return true;
+    }
+}
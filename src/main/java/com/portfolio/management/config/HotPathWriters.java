@@ -0,0 +1,139 @@
+package com.portfolio.management.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.portfolio.management.dto.response.HoldingResponse;
+import com.portfolio.management.dto.response.PortfolioSummaryResponse;
+import com.portfolio.management.dto.response.TransactionResponse;
+import org.springframework.http.MediaType;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pre-built ObjectWriters for the high-volume response types, one set per wire format.
+ * Writers are immutable and thread-safe, and prefetch their root serializer, so large
+ * lists skip the per-call writer construction and serializer lookup. The HTTP message
+ * converters (HotPathMessageConverters) and the holdings export both write through them.
+ */
+public class HotPathWriters {
+
+    public enum Format {
+        JSON(MediaType.APPLICATION_JSON),
+        SMILE(new MediaType("application", "x-jackson-smile")),
+        CBOR(MediaType.APPLICATION_CBOR);
+
+        private final MediaType mediaType;
+
+        Format(MediaType mediaType) {
+            this.mediaType = mediaType;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public static Format fromName(String name) {
+            if (name == null) {
+                return JSON;
+            }
+            try {
+                return Format.valueOf(name.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                return JSON;
+            }
+        }
+    }
+
+    private static final List<Class<?>> HOT_TYPES = List.of(
+            HoldingResponse.class,
+            TransactionResponse.class,
+            PortfolioSummaryResponse.class
+    );
+
+    private final Map<Format, Map<Class<?>, ObjectWriter>> valueWriters = new EnumMap<>(Format.class);
+    private final Map<Format, Map<Class<?>, ObjectWriter>> listWriters = new EnumMap<>(Format.class);
+
+    private final List<Format> negotiable;
+
+    public HotPathWriters(ObjectMapper jsonMapper, ObjectMapper smileMapper, ObjectMapper cborMapper,
+                          boolean binaryFormatsEnabled) {
+        register(Format.JSON, jsonMapper);
+        register(Format.SMILE, smileMapper);
+        register(Format.CBOR, cborMapper);
+        // In the order the converters are registered, which breaks ties the same way
+        this.negotiable = binaryFormatsEnabled ? List.of(Format.values()) : List.of(Format.JSON);
+    }
+
+    /**
+     * The format a response to these accepted media types is written in, as the
+     * converters would pick it: highest quality first, JSON when nothing else matches
+     */
+    public Format negotiate(List<MediaType> accepted) {
+        List<MediaType> byQuality = new ArrayList<>(accepted);
+        byQuality.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType mediaType : byQuality) {
+            for (Format format : negotiable) {
+                if (mediaType.getQualityValue() > 0 && mediaType.isCompatibleWith(format.getMediaType())) {
+                    return format;
+                }
+            }
+        }
+        return Format.JSON;
+    }
+
+    /**
+     * The pre-built writer for a hot type or a list of one, or null for any other type
+     */
+    public ObjectWriter find(Type type, Format format) {
+        if (type instanceof Class<?> valueType) {
+            return valueWriters.get(format).get(valueType);
+        }
+        if (type instanceof ParameterizedType parameterized
+                && parameterized.getRawType() instanceof Class<?> raw && List.class.isAssignableFrom(raw)
+                && parameterized.getActualTypeArguments()[0] instanceof Class<?> elementType) {
+            return listWriters.get(format).get(elementType);
+        }
+        return null;
+    }
+
+    public ObjectWriter writerFor(Class<?> type, Format format) {
+        return lookup(valueWriters, type, format);
+    }
+
+    public ObjectWriter listWriterFor(Class<?> elementType, Format format) {
+        return lookup(listWriters, elementType, format);
+    }
+
+    public byte[] writeList(List<?> values, Class<?> elementType, Format format) throws JsonProcessingException {
+        return listWriterFor(elementType, format).writeValueAsBytes(values);
+    }
+
+    private void register(Format format, ObjectMapper mapper) {
+        Map<Class<?>, ObjectWriter> values = new HashMap<>();
+        Map<Class<?>, ObjectWriter> lists = new HashMap<>();
+        for (Class<?> type : HOT_TYPES) {
+            JavaType listType = mapper.getTypeFactory().constructCollectionType(List.class, type);
+            values.put(type, mapper.writerFor(type));
+            lists.put(type, mapper.writerFor(listType));
+        }
+        valueWriters.put(format, values);
+        listWriters.put(format, lists);
+    }
+
+    private ObjectWriter lookup(Map<Format, Map<Class<?>, ObjectWriter>> writers, Class<?> type, Format format) {
+        ObjectWriter writer = writers.get(format).get(type);
+        if (writer == null) {
+            throw new IllegalArgumentException("No pre-built writer for type: " + type.getName());
+        }
+        return writer;
+    }
+}
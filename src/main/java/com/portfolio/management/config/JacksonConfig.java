@@ -2,24 +2,108 @@ package com.portfolio.management.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+import java.util.ListIterator;
 
 /**
  * Jackson JSON configuration
+ * JSON is compact unless pretty-print is enabled (dev only); machine clients can
+ * negotiate Smile (application/x-jackson-smile) or CBOR (application/cbor) via Accept.
  */
 @Configuration
-public class JacksonConfig {
+public class JacksonConfig implements WebMvcConfigurer {
+
+    private final AppProperties.Serialization serialization;
+
+    public JacksonConfig(AppProperties appProperties) {
+        this.serialization = appProperties.getSerialization();
+    }
 
     @Bean
     @Primary
     public ObjectMapper objectMapper() {
-        ObjectMapper mapper = new ObjectMapper();
+        ObjectMapper mapper = configure(new ObjectMapper());
+        if (serialization.isPrettyPrint()) {
+            mapper.enable(SerializationFeature.INDENT_OUTPUT);
+        }
+        return mapper;
+    }
+
+    @Bean
+    public SmileMapper smileMapper() {
+        return configure(new SmileMapper());
+    }
+
+    @Bean
+    public CBORMapper cborMapper() {
+        return configure(new CBORMapper());
+    }
+
+    @Bean
+    public HotPathWriters hotPathWriters() {
+        return new HotPathWriters(objectMapper(), smileMapper(), cborMapper(), serialization.isBinaryFormatsEnabled());
+    }
+
+    /**
+     * Swaps the default Jackson converters for ones on these mappers and the pre-built writers,
+     * in the same positions so they keep their precedence. Smile and CBOR are dropped when
+     * binary formats are disabled.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        HotPathWriters writers = hotPathWriters();
+        boolean binary = serialization.isBinaryFormatsEnabled();
+        boolean smile = false;
+        boolean cbor = false;
+        ListIterator<HttpMessageConverter<?>> iterator = converters.listIterator();
+        while (iterator.hasNext()) {
+            Class<?> type = iterator.next().getClass();
+            if (type == MappingJackson2HttpMessageConverter.class) {
+                iterator.set(HotPathMessageConverters.json(objectMapper(), writers));
+            } else if (type == MappingJackson2SmileHttpMessageConverter.class) {
+                replaceOrRemove(iterator, binary, HotPathMessageConverters.smile(smileMapper(), writers));
+                smile = true;
+            } else if (type == MappingJackson2CborHttpMessageConverter.class) {
+                replaceOrRemove(iterator, binary, HotPathMessageConverters.cbor(cborMapper(), writers));
+                cbor = true;
+            }
+        }
+        if (binary && !smile) {
+            converters.add(HotPathMessageConverters.smile(smileMapper(), writers));
+        }
+        if (binary && !cbor) {
+            converters.add(HotPathMessageConverters.cbor(cborMapper(), writers));
+        }
+    }
+
+    private static void replaceOrRemove(ListIterator<HttpMessageConverter<?>> iterator, boolean keep,
+                                        HttpMessageConverter<?> replacement) {
+        if (keep) {
+            iterator.set(replacement);
+        } else {
+            iterator.remove();
+        }
+    }
+
+    private <T extends ObjectMapper> T configure(T mapper) {
         mapper.registerModule(new JavaTimeModule());
+        if (serialization.isBlackbirdEnabled()) {
+            mapper.registerModule(new BlackbirdModule());
+        }
         mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-        mapper.enable(SerializationFeature.INDENT_OUTPUT);
         return mapper;
     }
 }
@@ -1,5 +1,6 @@
 package com.portfolio.management.config;
 
+import com.portfolio.management.constants.AppConstants;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
@@ -8,7 +9,7 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 @Configuration
 @EnableJpaRepositories(basePackages = "com.portfolio.management.repository")
 @EnableJpaAuditing
-@EnableTransactionManagement
+@EnableTransactionManagement(order = AppConstants.TRANSACTION_ADVICE_ORDER)
 public class JpaConfig {
     // JPA Auditing is now enabled for BaseEntity @CreatedDate and @LastModifiedDate
 }
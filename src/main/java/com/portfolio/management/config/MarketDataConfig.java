@@ -0,0 +1,114 @@
+package com.portfolio.management.config;
+
+import com.portfolio.management.service.marketdata.FakeQuoteProvider;
+import com.portfolio.management.service.marketdata.FakeQuoteProvider.LatencyDistribution;
+import com.portfolio.management.service.marketdata.FxRateProvider;
+import com.portfolio.management.service.marketdata.HedgedQuoteClient;
+import com.portfolio.management.service.marketdata.QuoteProvider;
+import com.portfolio.management.service.marketdata.RestQuoteProvider;
+import com.portfolio.management.service.marketdata.StaticFxRateProvider;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Market data provider client configuration
+ * Timeouts bound every provider call; concurrency, rate and failure handling live in the
+ * resilience4j "marketData" instances configured in application.yml.
+ * With market.data.provider=fake (the default) quotes come from two in-process providers
+ * with simulated latency, so hedging behaves the same offline.
+ */
+@Configuration
+public class MarketDataConfig {
+
+    private static final String MARKET_DATA = "marketData";
+
+    @Bean
+    public RestTemplate restTemplate(RestTemplateBuilder builder,
+                                     @Value("${market.data.api.connect-timeout:2s}") Duration connectTimeout,
+                                     @Value("${market.data.api.read-timeout:5s}") Duration readTimeout) {
+        return builder
+                .setConnectTimeout(connectTimeout)
+                .setReadTimeout(readTimeout)
+                .build();
+    }
+
+    @Bean(name = "marketDataExecutor")
+    public Executor marketDataExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(8);
+        executor.setMaxPoolSize(32);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("MarketData-");
+        executor.initialize();
+        return executor;
+    }
+
+    // Writes queued ticks to price stream clients; a drain task never waits on another connection
+    @Bean(name = "priceStreamExecutor")
+    public Executor priceStreamExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(16);
+        executor.setQueueCapacity(10_000);
+        executor.setThreadNamePrefix("PriceStream-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public HedgedQuoteClient hedgedQuoteClient(RestTemplate restTemplate,
+                                               @Qualifier("marketDataExecutor") Executor marketDataExecutor,
+                                               BulkheadRegistry bulkheadRegistry,
+                                               RateLimiterRegistry rateLimiterRegistry,
+                                               @Value("${market.data.provider:fake}") String provider,
+                                               @Value("${market.data.api.endpoints:${market.data.api.base.url:https://api.example.com}}") List<String> endpoints,
+                                               @Value("${market.data.api.key:demo_key}") String apiKey,
+                                               @Value("${market.data.fake.fast-ms:20}") long fakeFastMillis,
+                                               @Value("${market.data.fake.slow-ms:800}") long fakeSlowMillis,
+                                               @Value("${market.data.fake.slow-probability:0.05}") double fakeSlowProbability,
+                                               @Value("${market.data.hedging.chunk-size:25}") int chunkSize,
+                                               @Value("${market.data.hedging.percentile:95}") double hedgePercentile,
+                                               @Value("${market.data.hedging.min-delay:20ms}") Duration minHedgeDelay,
+                                               @Value("${market.data.hedging.max-delay:500ms}") Duration maxHedgeDelay,
+                                               @Value("${market.data.api.read-timeout:5s}") Duration timeout) {
+        List<QuoteProvider> providers = new ArrayList<>();
+
+        if ("rest".equalsIgnoreCase(provider)) {
+            for (int i = 0; i < endpoints.size(); i++) {
+                providers.add(new RestQuoteProvider("rest-" + i, endpoints.get(i), apiKey, restTemplate));
+            }
+        } else {
+            LatencyDistribution latency = LatencyDistribution.longTail(fakeFastMillis, fakeSlowMillis, fakeSlowProbability);
+            providers.add(new FakeQuoteProvider("fake-primary", latency));
+            providers.add(new FakeQuoteProvider("fake-secondary", latency));
+        }
+
+        // Per attempt, so a hedge takes a bulkhead slot and a permit like the request it duplicates
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(MARKET_DATA);
+        RateLimiter rateLimiter = rateLimiterRegistry.rateLimiter(MARKET_DATA);
+        return new HedgedQuoteClient(providers, marketDataExecutor,
+                attempt -> RateLimiter.decorateSupplier(rateLimiter, Bulkhead.decorateSupplier(bulkhead, attempt)),
+                chunkSize, hedgePercentile, minHedgeDelay, maxHedgeDelay, timeout);
+    }
+
+    // Only the in-process stand-in exists so far; a remote source is selected here like the quote providers
+    @Bean
+    public FxRateProvider fxRateProvider(Clock clock) {
+        return new StaticFxRateProvider("fx-static", StaticFxRateProvider.DEFAULT_RATES, clock);
+    }
+}
@@ -0,0 +1,196 @@
+package com.portfolio.management.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.portfolio.management.security.UserPrincipal;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource that sends read-only transactions to replica pools and everything else to the primary.
+ * RoutingJpaTransactionManager marks each transaction as read-only or not before its connection is
+ * taken. A replica is used only while its last lag check succeeded within the allowed lag, and
+ * never for a user who committed a write within the read-your-writes window. Any replica
+ * connection failure falls back to the primary.
+ * <p>
+ * Lag is checked on a thread of its own rather than the shared scheduler, so a long-running job
+ * there cannot leave a lagging replica in rotation.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    // Zero when the replica has replayed everything it received, otherwise seconds since the last replayed commit
+    private static final String LAG_QUERY =
+            "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 " +
+            "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private static final ThreadLocal<Deque<Boolean>> READ_ONLY_ROUTES = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final double maxLagSeconds;
+    private final Cache<String, Boolean> recentWriters;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final ScheduledExecutorService lagChecker;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicaPools,
+                                    Duration maxLag, Duration readYourWritesWindow, Duration lagCheckInterval) {
+        this.primary = primary;
+        this.replicas = replicaPools.stream().map(Replica::new).toList();
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(readYourWritesWindow)
+                .maximumSize(100_000)
+                .build();
+        this.lagChecker = replicas.isEmpty() ? null : Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (lagChecker != null) {
+            lagChecker.scheduleWithFixedDelay(this::checkReplicaLag, 0, lagCheckInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Routing context, maintained by RoutingJpaTransactionManager
+
+    static void beginRoute(boolean readOnly) {
+        READ_ONLY_ROUTES.get().push(readOnly);
+    }
+
+    static void endRoute() {
+        Deque<Boolean> routes = READ_ONLY_ROUTES.get();
+        routes.poll();
+        if (routes.isEmpty()) {
+            READ_ONLY_ROUTES.remove();
+        }
+    }
+
+    /**
+     * Pin the current user to the primary for the read-your-writes window
+     */
+    void recordWrite() {
+        String userId = currentUserId();
+        if (userId != null) {
+            recentWriters.put(userId, Boolean.TRUE);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = selectReplica();
+        if (replica != null) {
+            try {
+                return replica.pool.getConnection();
+            } catch (SQLException e) {
+                replica.markUnavailable();
+                logger.warn("Replica {} unavailable, reading from primary: {}", replica.pool.getPoolName(), e.getMessage());
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * Measures replication lag on every replica and takes lagging or unreachable ones out of rotation
+     */
+    void checkReplicaLag() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.pool.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(2);
+                try (ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                    resultSet.next();
+                    double lagSeconds = resultSet.getDouble(1);
+                    boolean wasAvailable = replica.available;
+                    replica.available = lagSeconds <= maxLagSeconds;
+                    if (wasAvailable != replica.available) {
+                        logger.info("Replica {} {} (lag {}s)", replica.pool.getPoolName(),
+                                replica.available ? "back in rotation" : "out of rotation", lagSeconds);
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                // A task that throws is never run again by the executor
+                if (replica.available) {
+                    logger.warn("Replica {} lag check failed: {}", replica.pool.getPoolName(), e.getMessage());
+                }
+                replica.markUnavailable();
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (lagChecker != null) {
+            lagChecker.shutdownNow();
+        }
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private Replica selectReplica() {
+        Boolean readOnly = READ_ONLY_ROUTES.get().peek();
+        if (readOnly == null || !readOnly || replicas.isEmpty()) {
+            return null;
+        }
+        String userId = currentUserId();
+        if (userId != null && recentWriters.getIfPresent(userId) != null) {
+            return null;
+        }
+
+        int start = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.available) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private static String currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getId();
+        }
+        return null;
+    }
+
+    private static final class Replica {
+        private final HikariDataSource pool;
+        // Starts out of rotation until the first lag check passes
+        private volatile boolean available;
+
+        private Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+
+        private void markUnavailable() {
+            available = false;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.portfolio.management.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+/**
+ * JpaTransactionManager that tells ReplicaRoutingDataSource whether the transaction being
+ * started is read-only. The flag has to be set here: the JPA dialect acquires the connection
+ * inside doBegin, before the read-only flag is exposed through TransactionSynchronizationManager.
+ * Committed read-write transactions pin the current user to the primary for a short window.
+ */
+public class RoutingJpaTransactionManager extends JpaTransactionManager {
+
+    private final ReplicaRoutingDataSource routingDataSource;
+
+    public RoutingJpaTransactionManager(EntityManagerFactory entityManagerFactory,
+                                        ReplicaRoutingDataSource routingDataSource) {
+        super(entityManagerFactory);
+        this.routingDataSource = routingDataSource;
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        ReplicaRoutingDataSource.beginRoute(definition.isReadOnly());
+        try {
+            super.doBegin(transaction, definition);
+        } catch (RuntimeException | Error e) {
+            // No cleanup callback follows a failed begin
+            ReplicaRoutingDataSource.endRoute();
+            throw e;
+        }
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+        super.doCommit(status);
+        if (!status.isReadOnly()) {
+            routingDataSource.recordWrite();
+        }
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        try {
+            super.doCleanupAfterCompletion(transaction);
+        } finally {
+            ReplicaRoutingDataSource.endRoute();
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.portfolio.management.config;
 
 import com.portfolio.management.security.JwtAuthenticationEntryPoint;
 import com.portfolio.management.security.JwtAuthenticationFilter;
+import com.portfolio.management.security.RateLimitFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -36,13 +38,17 @@ public class SecurityConfig {
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final UserDetailsService userDetailsService;
+    // Not a bean, so Boot does not also register it as a plain servlet filter ahead of authentication
+    private final RateLimitFilter rateLimitFilter;
 
     public SecurityConfig(JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint,
                           JwtAuthenticationFilter jwtAuthenticationFilter,
-                          UserDetailsService userDetailsService) {
+                          UserDetailsService userDetailsService,
+                          AppProperties appProperties) {
         this.jwtAuthenticationEntryPoint = jwtAuthenticationEntryPoint;
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
         this.userDetailsService = userDetailsService;
+        this.rateLimitFilter = new RateLimitFilter(appProperties.getRateLimiting());
     }
 
     @Bean
@@ -76,6 +82,8 @@ public class SecurityConfig {
                         .requestMatchers("/actuator/health").permitAll()
                         .requestMatchers("/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                        // Completion of an already authorized async response (price stream)
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
 
                         // Protected endpoints
                         .requestMatchers("/users/**").authenticated()
@@ -84,6 +92,7 @@ public class SecurityConfig {
                         .requestMatchers("/transactions/**").authenticated()
                         .requestMatchers("/watchlist/**").authenticated()
                         .requestMatchers("/brokers/**").authenticated()
+                        .requestMatchers("/prices/**").authenticated()
 
                         // Admin endpoints
                         .requestMatchers("/admin/**").hasRole("ADMIN")
@@ -92,7 +101,8 @@ public class SecurityConfig {
                         .anyRequest().authenticated()
                 )
                 .authenticationProvider(authenticationProvider())
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,146 @@
+package com.portfolio.management.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryBuilderCustomizer;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline.TimelineEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Startup configuration: beans no request needs at boot are created on first use, the JPA
+ * EntityManagerFactory is built in the background while the rest of the context starts, and
+ * per-bean instantiation times are buffered for the actuator startup endpoint.
+ * <p>
+ * In an AOT-processed build (the {@code startup} Maven profile) the lazy marking and the
+ * bootstrap-mode condition are evaluated once, when the jar is built; their properties are
+ * ignored when the application starts.
+ */
+@Configuration
+public class StartupConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupConfig.class);
+
+    /**
+     * Step capacity of the startup buffer; steps past it are dropped, not queued
+     */
+    public static final int STARTUP_STEP_CAPACITY = 10_000;
+
+    private static final String BEAN_INSTANTIATION_STEP = "spring.beans.instantiate";
+
+    // OpenAPI generation and Swagger UI are only ever reached from a browser
+    private static final List<String> LAZY_PACKAGES = List.of("org.springdoc.");
+
+    private final AppProperties appProperties;
+
+    public StartupConfig(AppProperties appProperties) {
+        this.appProperties = appProperties;
+    }
+
+    /**
+     * The recorder the application is started with; see PortfolioManagementBackendApplication
+     */
+    public static ApplicationStartup applicationStartup() {
+        return new BufferingApplicationStartup(STARTUP_STEP_CAPACITY);
+    }
+
+    /**
+     * Marks the beans of {@link #LAZY_PACKAGES} lazy. Admin-only and cold-path services of our own
+     * carry {@code @Lazy} themselves; this covers library beans we cannot annotate.
+     * Beans that must run at startup (SmartInitializingSingleton) stay eager.
+     */
+    @Bean
+    public static BeanFactoryPostProcessor lazyNonCriticalBeans(Environment environment) {
+        return beanFactory -> {
+            if (!environment.getProperty("app.startup.lazy-non-critical-beans", Boolean.class, true)) {
+                return;
+            }
+            int marked = 0;
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                if (definition.isLazyInit() || !definition.isSingleton()
+                        || definition.getRole() == BeanDefinition.ROLE_INFRASTRUCTURE) {
+                    continue;
+                }
+                String source = sourceClassName(beanFactory, definition);
+                if (source == null || LAZY_PACKAGES.stream().noneMatch(source::startsWith)) {
+                    continue;
+                }
+                Class<?> type = beanFactory.getType(name, false);
+                if (type != null && SmartInitializingSingleton.class.isAssignableFrom(type)) {
+                    continue;
+                }
+                definition.setLazyInit(true);
+                marked++;
+            }
+            logger.debug("Marked {} non-critical beans for lazy initialization", marked);
+        };
+    }
+
+    /**
+     * Builds the EntityManagerFactory on its own thread when repositories bootstrap deferred;
+     * beans that need it block on first use instead of holding up the whole refresh
+     */
+    @Bean
+    @ConditionalOnProperty(name = "spring.data.jpa.repositories.bootstrap-mode", havingValue = "deferred")
+    public EntityManagerFactoryBuilderCustomizer entityManagerFactoryBootstrapExecutor() {
+        return builder -> builder.setBootstrapExecutor(new SimpleAsyncTaskExecutor("jpa-bootstrap-"));
+    }
+
+    /**
+     * Logs the slowest bean instantiations; each time includes the beans created on its behalf
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportSlowestBeans(ApplicationReadyEvent event) {
+        int limit = appProperties.getStartup().getSlowestBeansReported();
+        if (limit <= 0 || !(event.getApplicationContext().getApplicationStartup()
+                instanceof BufferingApplicationStartup startup)) {
+            return;
+        }
+        List<TimelineEvent> slowest = startup.getBufferedTimeline().getEvents().stream()
+                .filter(step -> BEAN_INSTANTIATION_STEP.equals(step.getStartupStep().getName()))
+                .sorted(Comparator.comparing(TimelineEvent::getDuration).reversed())
+                .limit(limit)
+                .toList();
+        logger.info("Application ready in {} ms; slowest bean instantiations:",
+                event.getTimeTaken() != null ? event.getTimeTaken().toMillis() : -1);
+        for (TimelineEvent step : slowest) {
+            logger.info("  {} ms  {}", step.getDuration().toMillis(), beanName(step.getStartupStep()));
+        }
+    }
+
+    private static String sourceClassName(ConfigurableListableBeanFactory beanFactory, BeanDefinition definition) {
+        if (definition instanceof AnnotatedBeanDefinition annotated && annotated.getFactoryMethodMetadata() != null) {
+            return annotated.getFactoryMethodMetadata().getDeclaringClassName();
+        }
+        if (definition.getFactoryBeanName() != null && beanFactory.containsBeanDefinition(definition.getFactoryBeanName())) {
+            return beanFactory.getBeanDefinition(definition.getFactoryBeanName()).getBeanClassName();
+        }
+        return definition.getBeanClassName();
+    }
+
+    private static String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if ("beanName".equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return step.getName();
+    }
+}
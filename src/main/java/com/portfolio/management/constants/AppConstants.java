@@ -25,6 +25,10 @@ public final class AppConstants {
     public static final String CACHE_SYMBOL_SEARCH = "symbol_search";
     public static final String CACHE_SYMBOL_VALIDATION = "symbol_validation";
 
+    // Proxy Advice Order (lower runs first): cache lookups wrap transactions, so a hit never opens one
+    public static final int CACHE_ADVICE_ORDER = Integer.MAX_VALUE - 1;
+    public static final int TRANSACTION_ADVICE_ORDER = Integer.MAX_VALUE;
+
     // Portfolio Limits
     public static final int DEFAULT_MAX_PORTFOLIOS_PER_USER = 10;
     public static final int PREMIUM_MAX_PORTFOLIOS_PER_USER = 50;
@@ -34,6 +38,17 @@ public final class AppConstants {
     // Pagination Defaults
     public static final int DEFAULT_PAGE_SIZE = 20;
     public static final int MAX_PAGE_SIZE = 100;
+    public static final int DEFAULT_TRANSACTION_SEARCH_DAYS = 365;
+    public static final int DEFAULT_ARCHIVE_RESULTS = 1_000;
+    public static final int MAX_ARCHIVE_RESULTS = 10_000;
+    public static final int MAX_TRADE_BATCH_SIZE = 10_000;
+
+    // Monte Carlo Projection Limits
+    public static final int DEFAULT_PROJECTION_PATHS = 10_000;
+    public static final int MIN_PROJECTION_PATHS = 1_000;
+    public static final int MAX_PROJECTION_PATHS = 200_000;
+    public static final int DEFAULT_PROJECTION_YEARS = 10;
+    public static final int MAX_PROJECTION_YEARS = 50;
     public static final String DEFAULT_SORT_DIRECTION = "DESC";
     public static final String DEFAULT_PORTFOLIO_SORT = "updatedAt";
     public static final String DEFAULT_HOLDING_SORT = "totalValue";
@@ -130,6 +145,8 @@ public final class AppConstants {
     public static final String EXPORT_FORMAT_EXCEL = "EXCEL";
     public static final String EXPORT_FORMAT_JSON = "JSON";
     public static final String EXPORT_FORMAT_PDF = "PDF";
+    public static final String EXPORT_FORMAT_SMILE = "SMILE";
+    public static final String EXPORT_FORMAT_CBOR = "CBOR";
 
     // Logging
     public static final String LOG_TRANSACTION_CREATE = "Transaction created: {}";
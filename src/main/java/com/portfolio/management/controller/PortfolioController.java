@@ -0,0 +1,191 @@
+package com.portfolio.management.controller;
+
+import com.portfolio.management.config.HotPathWriters;
+import com.portfolio.management.constants.AppConstants;
+import com.portfolio.management.dto.request.ProjectionRequest;
+import com.portfolio.management.dto.response.ConsolidatedValueResponse;
+import com.portfolio.management.dto.response.CorrelationMatrixResponse;
+import com.portfolio.management.dto.response.CursorPageResponse;
+import com.portfolio.management.dto.response.DiversificationResponse;
+import com.portfolio.management.dto.response.HoldingResponse;
+import com.portfolio.management.dto.response.IncomeProjectionResponse;
+import com.portfolio.management.dto.response.PortfolioRiskResponse;
+import com.portfolio.management.dto.response.PortfolioSummaryResponse;
+import com.portfolio.management.dto.response.ProjectionResponse;
+import com.portfolio.management.dto.response.TransactionResponse;
+import com.portfolio.management.service.ConsolidationService;
+import com.portfolio.management.service.CorrelationService;
+import com.portfolio.management.service.HoldingService;
+import com.portfolio.management.service.IncomeProjectionService;
+import com.portfolio.management.service.PortfolioService;
+import com.portfolio.management.service.ProjectionService;
+import com.portfolio.management.service.RiskAnalyticsService;
+import com.portfolio.management.service.TransactionService;
+import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.NativeWebRequest;
+
+import java.util.List;
+
+/**
+ * Portfolio-scoped read endpoints with conditional GET support.
+ * Strong ETags are derived from the portfolio content version, so a poll with a
+ * matching If-None-Match is answered with 304 from a single indexed read. The tag
+ * carries the negotiated wire format, since JSON, Smile and CBOR bodies differ byte-wise.
+ */
+@RestController
+@RequestMapping("/portfolios")
+public class PortfolioController {
+
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private final PortfolioService portfolioService;
+    private final HoldingService holdingService;
+    private final TransactionService transactionService;
+    private final IncomeProjectionService incomeProjectionService;
+    private final RiskAnalyticsService riskAnalyticsService;
+    private final CorrelationService correlationService;
+    private final ProjectionService projectionService;
+    private final ConsolidationService consolidationService;
+    private final HotPathWriters hotPathWriters;
+    private final ContentNegotiationManager contentNegotiationManager;
+
+    public PortfolioController(PortfolioService portfolioService, HoldingService holdingService,
+                               TransactionService transactionService,
+                               IncomeProjectionService incomeProjectionService,
+                               RiskAnalyticsService riskAnalyticsService,
+                               CorrelationService correlationService,
+                               ProjectionService projectionService,
+                               ConsolidationService consolidationService,
+                               HotPathWriters hotPathWriters,
+                               ContentNegotiationManager contentNegotiationManager) {
+        this.portfolioService = portfolioService;
+        this.holdingService = holdingService;
+        this.transactionService = transactionService;
+        this.incomeProjectionService = incomeProjectionService;
+        this.riskAnalyticsService = riskAnalyticsService;
+        this.correlationService = correlationService;
+        this.projectionService = projectionService;
+        this.consolidationService = consolidationService;
+        this.hotPathWriters = hotPathWriters;
+        this.contentNegotiationManager = contentNegotiationManager;
+    }
+
+    /**
+     * Projected dividend income of every portfolio of the current user over the next twelve months
+     */
+    @GetMapping("/income-projection")
+    public ResponseEntity<List<IncomeProjectionResponse>> getIncomeProjection() {
+        return ResponseEntity.ok(incomeProjectionService.getCurrentUserIncomeProjection());
+    }
+
+    /**
+     * Net worth of the current user across all portfolios in one currency
+     */
+    @GetMapping("/consolidated")
+    public ResponseEntity<ConsolidatedValueResponse> getConsolidatedValue(
+            @RequestParam(required = false) String currency) {
+        return ResponseEntity.ok(consolidationService.getCurrentUserConsolidatedValue(currency));
+    }
+
+    /**
+     * Correlation matrix across every held symbol; admin only
+     */
+    @GetMapping("/correlation")
+    public ResponseEntity<CorrelationMatrixResponse> getUniverseCorrelation(
+            @RequestParam(required = false) Integer lookbackDays) {
+        return ResponseEntity.ok(correlationService.getUniverseCorrelation(lookbackDays));
+    }
+
+    @GetMapping("/{portfolioId}/summary")
+    public ResponseEntity<PortfolioSummaryResponse> getPortfolioSummary(@PathVariable String portfolioId,
+                                                                        NativeWebRequest request) {
+        String eTag = eTag(portfolioId, "summary", request);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(REVALIDATE)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(portfolioService.getPortfolioSummary(portfolioId));
+    }
+
+    @GetMapping("/{portfolioId}/holdings")
+    public ResponseEntity<List<HoldingResponse>> getPortfolioHoldings(@PathVariable String portfolioId,
+                                                                      NativeWebRequest request) {
+        String eTag = eTag(portfolioId, "holdings", request);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(REVALIDATE)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(holdingService.getPortfolioHoldings(portfolioId));
+    }
+
+    @GetMapping("/{portfolioId}/transactions")
+    public ResponseEntity<CursorPageResponse<TransactionResponse>> getPortfolioTransactions(
+            @PathVariable String portfolioId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + AppConstants.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(transactionService.getPortfolioTransactions(portfolioId, cursor, size));
+    }
+
+    // Market-data driven, so not tied to the content version ETag
+    @GetMapping("/{portfolioId}/risk")
+    public ResponseEntity<PortfolioRiskResponse> getPortfolioRisk(@PathVariable String portfolioId) {
+        return ResponseEntity.ok(riskAnalyticsService.getPortfolioRisk(portfolioId));
+    }
+
+    @GetMapping("/{portfolioId}/correlation")
+    public ResponseEntity<CorrelationMatrixResponse> getPortfolioCorrelation(
+            @PathVariable String portfolioId,
+            @RequestParam(required = false) Integer lookbackDays) {
+        return ResponseEntity.ok(correlationService.getPortfolioCorrelation(portfolioId, lookbackDays));
+    }
+
+    @GetMapping("/{portfolioId}/diversification")
+    public ResponseEntity<DiversificationResponse> getPortfolioDiversification(
+            @PathVariable String portfolioId,
+            @RequestParam(required = false) Integer lookbackDays) {
+        return ResponseEntity.ok(correlationService.getPortfolioDiversification(portfolioId, lookbackDays));
+    }
+
+    /**
+     * Monte Carlo projection, e.g. ?horizonYears=30&paths=100000&targetValue=1000000&model=BOOTSTRAP
+     */
+    @GetMapping("/{portfolioId}/projection")
+    public ResponseEntity<ProjectionResponse> projectPortfolio(@PathVariable String portfolioId,
+                                                               @Valid @ModelAttribute ProjectionRequest request) {
+        return ResponseEntity.ok(projectionService.projectPortfolio(portfolioId, request));
+    }
+
+    // Version is read before the body is built, see PortfolioService#getContentVersion
+    private String eTag(String portfolioId, String representation, NativeWebRequest request) {
+        long version = portfolioService.getContentVersion(portfolioId);
+        return "\"" + representation + "-" + format(request) + "-" + portfolioId + "-" + version + "\"";
+    }
+
+    // Resolved the way the message converters will negotiate the body
+    private String format(NativeWebRequest request) {
+        try {
+            return hotPathWriters.negotiate(contentNegotiationManager.resolveMediaTypes(request)).name().toLowerCase();
+        } catch (HttpMediaTypeNotAcceptableException e) {
+            return "json";
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.portfolio.management.controller;
+
+import com.portfolio.management.service.PriceStreamService;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Live prices for the current user's watchlist and holdings.
+ * Each "prices" event carries the latest tick for every symbol that changed since the last
+ * event; heartbeats are sent as SSE comments. Streams close after a fixed lifetime and the
+ * client is expected to reconnect.
+ */
+@RestController
+@RequestMapping("/prices")
+public class PriceStreamController {
+
+    private final PriceStreamService priceStreamService;
+
+    public PriceStreamController(PriceStreamService priceStreamService) {
+        this.priceStreamService = priceStreamService;
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamPrices() {
+        return priceStreamService.subscribe();
+    }
+}
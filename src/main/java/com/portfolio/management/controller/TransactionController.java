@@ -0,0 +1,78 @@
+package com.portfolio.management.controller;
+
+import com.portfolio.management.constants.AppConstants;
+import com.portfolio.management.dto.request.TradeBatchRequest;
+import com.portfolio.management.dto.request.TransactionSearchRequest;
+import com.portfolio.management.dto.response.CursorPageResponse;
+import com.portfolio.management.dto.response.TradeBatchResponse;
+import com.portfolio.management.dto.response.TransactionResponse;
+import com.portfolio.management.service.TradeIngestionService;
+import com.portfolio.management.service.TransactionArchiveService;
+import com.portfolio.management.service.TransactionService;
+import jakarta.validation.Valid;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Transaction history endpoints for the current user.
+ * Listings use cursor pagination: follow {@code nextCursor} until it is absent.
+ * Months past the retention horizon are no longer in the database; /transactions/archive reads them.
+ */
+@RestController
+@RequestMapping("/transactions")
+public class TransactionController {
+
+    private final TransactionService transactionService;
+    private final TransactionArchiveService transactionArchiveService;
+    private final TradeIngestionService tradeIngestionService;
+
+    public TransactionController(TransactionService transactionService,
+                                 @Lazy TransactionArchiveService transactionArchiveService,
+                                 TradeIngestionService tradeIngestionService) {
+        this.transactionService = transactionService;
+        this.transactionArchiveService = transactionArchiveService;
+        this.tradeIngestionService = tradeIngestionService;
+    }
+
+    @GetMapping
+    public ResponseEntity<CursorPageResponse<TransactionResponse>> getTransactions(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + AppConstants.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(transactionService.getCurrentUserTransactions(cursor, size));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<CursorPageResponse<TransactionResponse>> searchTransactions(
+            @Valid @ModelAttribute TransactionSearchRequest request,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + AppConstants.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(transactionService.searchTransactions(request, cursor, size));
+    }
+
+    @GetMapping("/archive")
+    public ResponseEntity<List<TransactionResponse>> getArchivedTransactions(
+            @RequestParam(required = false) String portfolioId,
+            @RequestParam Instant startDate,
+            @RequestParam Instant endDate,
+            @RequestParam(defaultValue = "" + AppConstants.DEFAULT_ARCHIVE_RESULTS) int limit) {
+        return ResponseEntity.ok(transactionArchiveService.getArchivedTransactions(portfolioId, startDate, endDate, limit));
+    }
+
+    /**
+     * Record a batch of buy and sell fills (e.g. a broker's end-of-day upload) in one transaction
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<TradeBatchResponse> ingestTrades(@Valid @RequestBody TradeBatchRequest request) {
+        return ResponseEntity.ok(tradeIngestionService.ingestTrades(request));
+    }
+}
@@ -0,0 +1,74 @@
+package com.portfolio.management.dto.request;
+
+import com.portfolio.management.constants.AppConstants;
+import com.portfolio.management.enums.ProjectionModel;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+import java.math.BigDecimal;
+
+/**
+ * Monte Carlo projection parameters. Without a target value only the value percentiles are
+ * reported; a seed makes the run reproducible.
+ */
+public class ProjectionRequest {
+    @Min(value = 1, message = "Horizon must be at least one year")
+    @Max(value = AppConstants.MAX_PROJECTION_YEARS, message = "Horizon cannot exceed " + AppConstants.MAX_PROJECTION_YEARS + " years")
+    private int horizonYears = AppConstants.DEFAULT_PROJECTION_YEARS;
+
+    @Min(value = AppConstants.MIN_PROJECTION_PATHS, message = "At least " + AppConstants.MIN_PROJECTION_PATHS + " paths are required")
+    @Max(value = AppConstants.MAX_PROJECTION_PATHS, message = "Paths cannot exceed " + AppConstants.MAX_PROJECTION_PATHS)
+    private int paths = AppConstants.DEFAULT_PROJECTION_PATHS;
+
+    @DecimalMin(value = "0.01", message = "Target value must be greater than zero")
+    private BigDecimal targetValue;
+
+    private ProjectionModel model = ProjectionModel.GBM;
+    private Long seed;
+
+    // Constructors
+    public ProjectionRequest() {
+    }
+
+    // Getters and setters
+    public int getHorizonYears() {
+        return horizonYears;
+    }
+
+    public void setHorizonYears(int horizonYears) {
+        this.horizonYears = horizonYears;
+    }
+
+    public int getPaths() {
+        return paths;
+    }
+
+    public void setPaths(int paths) {
+        this.paths = paths;
+    }
+
+    public BigDecimal getTargetValue() {
+        return targetValue;
+    }
+
+    public void setTargetValue(BigDecimal targetValue) {
+        this.targetValue = targetValue;
+    }
+
+    public ProjectionModel getModel() {
+        return model;
+    }
+
+    public void setModel(ProjectionModel model) {
+        this.model = model;
+    }
+
+    public Long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+}
@@ -0,0 +1,37 @@
+package com.portfolio.management.dto.request;
+
+import com.portfolio.management.constants.AppConstants;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A batch of buy and sell fills, e.g. a broker's end-of-day upload.
+ * Trades may span any number of symbols and portfolios.
+ */
+public class TradeBatchRequest {
+    @NotEmpty(message = "At least one trade is required")
+    @Size(max = AppConstants.MAX_TRADE_BATCH_SIZE, message = "A batch cannot exceed " + AppConstants.MAX_TRADE_BATCH_SIZE + " trades")
+    @Valid
+    private List<TransactionCreateRequest> trades = new ArrayList<>();
+
+    // Constructors
+    public TradeBatchRequest() {
+    }
+
+    public TradeBatchRequest(List<TransactionCreateRequest> trades) {
+        this.trades = trades;
+    }
+
+    // Getters and setters
+    public List<TransactionCreateRequest> getTrades() {
+        return trades;
+    }
+
+    public void setTrades(List<TransactionCreateRequest> trades) {
+        this.trades = trades;
+    }
+}
@@ -0,0 +1,140 @@
+package com.portfolio.management.dto.request;
+
+import com.portfolio.management.enums.Currency;
+import com.portfolio.management.enums.TransactionType;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Transaction search filters. All fields are optional; without portfolioId the search
+ * covers the current user's portfolios, and without a date range it covers a default window.
+ */
+public class TransactionSearchRequest {
+    private String portfolioId;
+    @Size(max = 20, message = "Symbol must not exceed 20 characters")
+    private String symbol;
+
+    private TransactionType type;
+    private Currency currency;
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private BigDecimal minFees;
+    private BigDecimal maxFees;
+    private Instant startDate;
+    private Instant endDate;
+    @Size(min = 3, max = 100, message = "Notes search term must be between 3 and 100 characters")
+    private String notes;
+
+    // Constructors
+    public TransactionSearchRequest() {
+    }
+
+    // Getters and setters
+    public String getPortfolioId() {
+        return portfolioId;
+    }
+
+    public void setPortfolioId(String portfolioId) {
+        this.portfolioId = portfolioId;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public void setSymbol(String symbol) {
+        this.symbol = symbol;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public void setType(TransactionType type) {
+        this.type = type;
+    }
+
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(Currency currency) {
+        this.currency = currency;
+    }
+
+    public BigDecimal getMinAmount() {
+        return minAmount;
+    }
+
+    public void setMinAmount(BigDecimal minAmount) {
+        this.minAmount = minAmount;
+    }
+
+    public BigDecimal getMaxAmount() {
+        return maxAmount;
+    }
+
+    public void setMaxAmount(BigDecimal maxAmount) {
+        this.maxAmount = maxAmount;
+    }
+
+    public BigDecimal getMinPrice() {
+        return minPrice;
+    }
+
+    public void setMinPrice(BigDecimal minPrice) {
+        this.minPrice = minPrice;
+    }
+
+    public BigDecimal getMaxPrice() {
+        return maxPrice;
+    }
+
+    public void setMaxPrice(BigDecimal maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+
+    public BigDecimal getMinFees() {
+        return minFees;
+    }
+
+    public void setMinFees(BigDecimal minFees) {
+        this.minFees = minFees;
+    }
+
+    public BigDecimal getMaxFees() {
+        return maxFees;
+    }
+
+    public void setMaxFees(BigDecimal maxFees) {
+        this.maxFees = maxFees;
+    }
+
+    public Instant getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(Instant startDate) {
+        this.startDate = startDate;
+    }
+
+    public Instant getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(Instant endDate) {
+        this.endDate = endDate;
+    }
+
+    public String getNotes() {
+        return notes;
+    }
+
+    public void setNotes(String notes) {
+        this.notes = notes;
+    }
+}
@@ -0,0 +1,171 @@
+package com.portfolio.management.dto.response;
+
+import com.portfolio.management.enums.Currency;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A user's net worth across portfolios in one reporting currency, with each portfolio's value
+ * in its own currency and converted
+ */
+public class ConsolidatedValueResponse {
+    private Currency currency;
+    private Instant asOf;
+    private LocalDate ratesDate;
+    private BigDecimal totalValue;
+    private BigDecimal totalInvested;
+    private BigDecimal totalGainLoss;
+    private BigDecimal gainLossPercentage;
+    private BigDecimal dayChange;
+    private int holdingsCount;
+    private List<PortfolioValue> portfolios = new ArrayList<>();
+
+    // Constructors
+    public ConsolidatedValueResponse() {
+    }
+
+    // Getters and setters
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(Currency currency) {
+        this.currency = currency;
+    }
+
+    public Instant getAsOf() {
+        return asOf;
+    }
+
+    public void setAsOf(Instant asOf) {
+        this.asOf = asOf;
+    }
+
+    public LocalDate getRatesDate() {
+        return ratesDate;
+    }
+
+    public void setRatesDate(LocalDate ratesDate) {
+        this.ratesDate = ratesDate;
+    }
+
+    public BigDecimal getTotalValue() {
+        return totalValue;
+    }
+
+    public void setTotalValue(BigDecimal totalValue) {
+        this.totalValue = totalValue;
+    }
+
+    public BigDecimal getTotalInvested() {
+        return totalInvested;
+    }
+
+    public void setTotalInvested(BigDecimal totalInvested) {
+        this.totalInvested = totalInvested;
+    }
+
+    public BigDecimal getTotalGainLoss() {
+        return totalGainLoss;
+    }
+
+    public void setTotalGainLoss(BigDecimal totalGainLoss) {
+        this.totalGainLoss = totalGainLoss;
+    }
+
+    public BigDecimal getGainLossPercentage() {
+        return gainLossPercentage;
+    }
+
+    public void setGainLossPercentage(BigDecimal gainLossPercentage) {
+        this.gainLossPercentage = gainLossPercentage;
+    }
+
+    public BigDecimal getDayChange() {
+        return dayChange;
+    }
+
+    public void setDayChange(BigDecimal dayChange) {
+        this.dayChange = dayChange;
+    }
+
+    public int getHoldingsCount() {
+        return holdingsCount;
+    }
+
+    public void setHoldingsCount(int holdingsCount) {
+        this.holdingsCount = holdingsCount;
+    }
+
+    public List<PortfolioValue> getPortfolios() {
+        return portfolios;
+    }
+
+    public void setPortfolios(List<PortfolioValue> portfolios) {
+        this.portfolios = portfolios;
+    }
+
+    /**
+     * One portfolio's market value in its own currency and in the reporting currency
+     */
+    public static class PortfolioValue {
+        private String portfolioId;
+        private String portfolioName;
+        private Currency currency;
+        private BigDecimal value;
+        private BigDecimal convertedValue;
+        private BigDecimal weightPercent;
+
+        public String getPortfolioId() {
+            return portfolioId;
+        }
+
+        public void setPortfolioId(String portfolioId) {
+            this.portfolioId = portfolioId;
+        }
+
+        public String getPortfolioName() {
+            return portfolioName;
+        }
+
+        public void setPortfolioName(String portfolioName) {
+            this.portfolioName = portfolioName;
+        }
+
+        public Currency getCurrency() {
+            return currency;
+        }
+
+        public void setCurrency(Currency currency) {
+            this.currency = currency;
+        }
+
+        public BigDecimal getValue() {
+            return value;
+        }
+
+        public void setValue(BigDecimal value) {
+            this.value = value;
+        }
+
+        public BigDecimal getConvertedValue() {
+            return convertedValue;
+        }
+
+        public void setConvertedValue(BigDecimal convertedValue) {
+            this.convertedValue = convertedValue;
+        }
+
+        public BigDecimal getWeightPercent() {
+            return weightPercent;
+        }
+
+        public void setWeightPercent(BigDecimal weightPercent) {
+            this.weightPercent = weightPercent;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.portfolio.management.dto.response;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pairwise correlation of daily returns. The matrix is symmetric, so only its upper triangle is
+ * sent, row by row: entry (i, j), i <= j, is at i * n - i * (i - 1) / 2 + (j - i).
+ */
+public class CorrelationMatrixResponse {
+    // Null for the cross-portfolio symbol universe
+    private String portfolioId;
+    private int lookbackDays;
+    private Instant asOf;
+    private int observations;
+    private List<String> symbols = new ArrayList<>();
+    // Percent, in symbol order
+    private List<BigDecimal> annualizedVolatility = new ArrayList<>();
+    private float[] correlations;
+    // Held symbols without price history, left out of the matrix
+    private List<String> unpricedSymbols = new ArrayList<>();
+
+    // Constructors
+    public CorrelationMatrixResponse() {
+    }
+
+    // Getters and setters
+    public String getPortfolioId() {
+        return portfolioId;
+    }
+
+    public void setPortfolioId(String portfolioId) {
+        this.portfolioId = portfolioId;
+    }
+
+    public int getLookbackDays() {
+        return lookbackDays;
+    }
+
+    public void setLookbackDays(int lookbackDays) {
+        this.lookbackDays = lookbackDays;
+    }
+
+    public Instant getAsOf() {
+        return asOf;
+    }
+
+    public void setAsOf(Instant asOf) {
+        this.asOf = asOf;
+    }
+
+    public int getObservations() {
+        return observations;
+    }
+
+    public void setObservations(int observations) {
+        this.observations = observations;
+    }
+
+    public List<String> getSymbols() {
+        return symbols;
+    }
+
+    public void setSymbols(List<String> symbols) {
+        this.symbols = symbols;
+    }
+
+    public List<BigDecimal> getAnnualizedVolatility() {
+        return annualizedVolatility;
+    }
+
+    public void setAnnualizedVolatility(List<BigDecimal> annualizedVolatility) {
+        this.annualizedVolatility = annualizedVolatility;
+    }
+
+    public float[] getCorrelations() {
+        return correlations;
+    }
+
+    public void setCorrelations(float[] correlations) {
+        this.correlations = correlations;
+    }
+
+    public List<String> getUnpricedSymbols() {
+        return unpricedSymbols;
+    }
+
+    public void setUnpricedSymbols(List<String> unpricedSymbols) {
+        this.unpricedSymbols = unpricedSymbols;
+    }
+}
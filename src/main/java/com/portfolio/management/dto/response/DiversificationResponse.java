@@ -0,0 +1,92 @@
+package com.portfolio.management.dto.response;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Return-based diversification of a portfolio: the effective number of uncorrelated bets behind
+ * its variance, against the number of priced holdings
+ */
+public class DiversificationResponse {
+    private String portfolioId;
+    private int lookbackDays;
+    private Instant asOf;
+    private int observations;
+    // Holdings with price history; the others are left out
+    private int pricedHoldings;
+    // Between 1 and pricedHoldings; null when the portfolio has no variance
+    private BigDecimal effectiveNumberOfBets;
+    // Percent: 0 is a single bet, 100 is one independent bet per priced holding
+    private BigDecimal diversificationScore;
+    // Value-weighted mean correlation between distinct holdings
+    private BigDecimal averageCorrelation;
+
+    // Constructors
+    public DiversificationResponse() {
+    }
+
+    // Getters and setters
+    public String getPortfolioId() {
+        return portfolioId;
+    }
+
+    public void setPortfolioId(String portfolioId) {
+        this.portfolioId = portfolioId;
+    }
+
+    public int getLookbackDays() {
+        return lookbackDays;
+    }
+
+    public void setLookbackDays(int lookbackDays) {
+        this.lookbackDays = lookbackDays;
+    }
+
+    public Instant getAsOf() {
+        return asOf;
+    }
+
+    public void setAsOf(Instant asOf) {
+        this.asOf = asOf;
+    }
+
+    public int getObservations() {
+        return observations;
+    }
+
+    public void setObservations(int observations) {
+        this.observations = observations;
+    }
+
+    public int getPricedHoldings() {
+        return pricedHoldings;
+    }
+
+    public void setPricedHoldings(int pricedHoldings) {
+        this.pricedHoldings = pricedHoldings;
+    }
+
+    public BigDecimal getEffectiveNumberOfBets() {
+        return effectiveNumberOfBets;
+    }
+
+    public void setEffectiveNumberOfBets(BigDecimal effectiveNumberOfBets) {
+        this.effectiveNumberOfBets = effectiveNumberOfBets;
+    }
+
+    public BigDecimal getDiversificationScore() {
+        return diversificationScore;
+    }
+
+    public void setDiversificationScore(BigDecimal diversificationScore) {
+        this.diversificationScore = diversificationScore;
+    }
+
+    public BigDecimal getAverageCorrelation() {
+        return averageCorrelation;
+    }
+
+    public void setAverageCorrelation(BigDecimal averageCorrelation) {
+        this.averageCorrelation = averageCorrelation;
+    }
+}
@@ -0,0 +1,60 @@
+package com.portfolio.management.dto.response;
+
+import java.math.BigDecimal;
+
+/**
+ * Risk of one holding within its portfolio's risk report
+ */
+public class HoldingRiskResponse {
+    private String holdingId;
+    private String symbol;
+    private BigDecimal weightPercent;
+    // Percent; null when the symbol has no price history
+    private BigDecimal annualizedVolatility;
+    private BigDecimal beta;
+
+    // Constructors
+    public HoldingRiskResponse() {
+    }
+
+    // Getters and setters
+    public String getHoldingId() {
+        return holdingId;
+    }
+
+    public void setHoldingId(String holdingId) {
+        this.holdingId = holdingId;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public void setSymbol(String symbol) {
+        this.symbol = symbol;
+    }
+
+    public BigDecimal getWeightPercent() {
+        return weightPercent;
+    }
+
+    public void setWeightPercent(BigDecimal weightPercent) {
+        this.weightPercent = weightPercent;
+    }
+
+    public BigDecimal getAnnualizedVolatility() {
+        return annualizedVolatility;
+    }
+
+    public void setAnnualizedVolatility(BigDecimal annualizedVolatility) {
+        this.annualizedVolatility = annualizedVolatility;
+    }
+
+    public BigDecimal getBeta() {
+        return beta;
+    }
+
+    public void setBeta(BigDecimal beta) {
+        this.beta = beta;
+    }
+}
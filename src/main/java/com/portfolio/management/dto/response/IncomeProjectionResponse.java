@@ -0,0 +1,101 @@
+package com.portfolio.management.dto.response;
+
+import com.portfolio.management.enums.Currency;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Projected dividend income of one portfolio over the next twelve months, by month of payment
+ */
+public class IncomeProjectionResponse {
+    private String portfolioId;
+    private String portfolioName;
+    private Currency currency;
+    private Instant asOf;
+    private BigDecimal projectedIncome;
+    private BigDecimal projectedYieldPercent;
+    private List<BigDecimal> monthlyIncome = new ArrayList<>();
+    private int payingHoldings;
+    // Held symbols whose schedule is not known yet; projected on a later load
+    private List<String> unscheduledSymbols = new ArrayList<>();
+
+    // Constructors
+    public IncomeProjectionResponse() {
+    }
+
+    // Getters and setters
+    public String getPortfolioId() {
+        return portfolioId;
+    }
+
+    public void setPortfolioId(String portfolioId) {
+        this.portfolioId = portfolioId;
+    }
+
+    public String getPortfolioName() {
+        return portfolioName;
+    }
+
+    public void setPortfolioName(String portfolioName) {
+        this.portfolioName = portfolioName;
+    }
+
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(Currency currency) {
+        this.currency = currency;
+    }
+
+    public Instant getAsOf() {
+        return asOf;
+    }
+
+    public void setAsOf(Instant asOf) {
+        this.asOf = asOf;
+    }
+
+    public BigDecimal getProjectedIncome() {
+        return projectedIncome;
+    }
+
+    public void setProjectedIncome(BigDecimal projectedIncome) {
+        this.projectedIncome = projectedIncome;
+    }
+
+    public BigDecimal getProjectedYieldPercent() {
+        return projectedYieldPercent;
+    }
+
+    public void setProjectedYieldPercent(BigDecimal projectedYieldPercent) {
+        this.projectedYieldPercent = projectedYieldPercent;
+    }
+
+    public List<BigDecimal> getMonthlyIncome() {
+        return monthlyIncome;
+    }
+
+    public void setMonthlyIncome(List<BigDecimal> monthlyIncome) {
+        this.monthlyIncome = monthlyIncome;
+    }
+
+    public int getPayingHoldings() {
+        return payingHoldings;
+    }
+
+    public void setPayingHoldings(int payingHoldings) {
+        this.payingHoldings = payingHoldings;
+    }
+
+    public List<String> getUnscheduledSymbols() {
+        return unscheduledSymbols;
+    }
+
+    public void setUnscheduledSymbols(List<String> unscheduledSymbols) {
+        this.unscheduledSymbols = unscheduledSymbols;
+    }
+}
@@ -0,0 +1,127 @@
+package com.portfolio.management.dto.response;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Portfolio risk from daily returns: volatility and beta against the benchmark, one-day historical VaR and expected shortfall
+ */
+public class PortfolioRiskResponse {
+    private String portfolioId;
+    private String benchmarkSymbol;
+    private Instant asOf;
+    // Daily returns behind the figures
+    private int observations;
+    private BigDecimal marketValue;
+    // Percentages; VaR and expected shortfall are one-day losses
+    private BigDecimal annualizedVolatility;
+    private BigDecimal beta;
+    private BigDecimal valueAtRisk95;
+    private BigDecimal expectedShortfall95;
+    private BigDecimal valueAtRisk99;
+    private BigDecimal expectedShortfall99;
+    private List<HoldingRiskResponse> holdings = new ArrayList<>();
+
+    // Constructors
+    public PortfolioRiskResponse() {
+    }
+
+    // Getters and setters
+    public String getPortfolioId() {
+        return portfolioId;
+    }
+
+    public void setPortfolioId(String portfolioId) {
+        this.portfolioId = portfolioId;
+    }
+
+    public String getBenchmarkSymbol() {
+        return benchmarkSymbol;
+    }
+
+    public void setBenchmarkSymbol(String benchmarkSymbol) {
+        this.benchmarkSymbol = benchmarkSymbol;
+    }
+
+    public Instant getAsOf() {
+        return asOf;
+    }
+
+    public void setAsOf(Instant asOf) {
+        this.asOf = asOf;
+    }
+
+    public int getObservations() {
+        return observations;
+    }
+
+    public void setObservations(int observations) {
+        this.observations = observations;
+    }
+
+    public BigDecimal getMarketValue() {
+        return marketValue;
+    }
+
+    public void setMarketValue(BigDecimal marketValue) {
+        this.marketValue = marketValue;
+    }
+
+    public BigDecimal getAnnualizedVolatility() {
+        return annualizedVolatility;
+    }
+
+    public void setAnnualizedVolatility(BigDecimal annualizedVolatility) {
+        this.annualizedVolatility = annualizedVolatility;
+    }
+
+    public BigDecimal getBeta() {
+        return beta;
+    }
+
+    public void setBeta(BigDecimal beta) {
+        this.beta = beta;
+    }
+
+    public BigDecimal getValueAtRisk95() {
+        return valueAtRisk95;
+    }
+
+    public void setValueAtRisk95(BigDecimal valueAtRisk95) {
+        this.valueAtRisk95 = valueAtRisk95;
+    }
+
+    public BigDecimal getExpectedShortfall95() {
+        return expectedShortfall95;
+    }
+
+    public void setExpectedShortfall95(BigDecimal expectedShortfall95) {
+        this.expectedShortfall95 = expectedShortfall95;
+    }
+
+    public BigDecimal getValueAtRisk99() {
+        return valueAtRisk99;
+    }
+
+    public void setValueAtRisk99(BigDecimal valueAtRisk99) {
+        this.valueAtRisk99 = valueAtRisk99;
+    }
+
+    public BigDecimal getExpectedShortfall99() {
+        return expectedShortfall99;
+    }
+
+    public void setExpectedShortfall99(BigDecimal expectedShortfall99) {
+        this.expectedShortfall99 = expectedShortfall99;
+    }
+
+    public List<HoldingRiskResponse> getHoldings() {
+        return holdings;
+    }
+
+    public void setHoldings(List<HoldingRiskResponse> holdings) {
+        this.holdings = holdings;
+    }
+}
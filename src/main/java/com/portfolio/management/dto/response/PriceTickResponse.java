@@ -0,0 +1,73 @@
+package com.portfolio.management.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * A price change pushed on the price stream. Change fields are relative to the previous
+ * streamed price and absent for the first tick of a symbol.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PriceTickResponse {
+    private String symbol;
+    private BigDecimal price;
+    private BigDecimal change;
+    private BigDecimal changePercent;
+    private Instant timestamp;
+
+    // Constructors
+    public PriceTickResponse() {
+    }
+
+    public PriceTickResponse(String symbol, BigDecimal price, BigDecimal change,
+                             BigDecimal changePercent, Instant timestamp) {
+        this.symbol = symbol;
+        this.price = price;
+        this.change = change;
+        this.changePercent = changePercent;
+        this.timestamp = timestamp;
+    }
+
+    // Getters and Setters
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public void setSymbol(String symbol) {
+        this.symbol = symbol;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+
+    public BigDecimal getChange() {
+        return change;
+    }
+
+    public void setChange(BigDecimal change) {
+        this.change = change;
+    }
+
+    public BigDecimal getChangePercent() {
+        return changePercent;
+    }
+
+    public void setChangePercent(BigDecimal changePercent) {
+        this.changePercent = changePercent;
+    }
+
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(Instant timestamp) {
+        this.timestamp = timestamp;
+    }
+}
@@ -0,0 +1,148 @@
+package com.portfolio.management.dto.response;
+
+import com.portfolio.management.enums.ProjectionModel;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Monte Carlo projection of a portfolio's value at its current weights, year by year
+ */
+public class ProjectionResponse {
+    private String portfolioId;
+    private ProjectionModel model;
+    private int paths;
+    private int horizonYears;
+    private Instant asOf;
+    private BigDecimal startingValue;
+    // Calibration: daily returns used and their annualized log drift and volatility, in percent
+    private int observations;
+    private BigDecimal annualizedDrift;
+    private BigDecimal annualizedVolatility;
+    private BigDecimal targetValue;
+    // Percent of paths at or above the target at the horizon, and at any year end before it
+    private BigDecimal probabilityOfReachingTarget;
+    private BigDecimal probabilityOfTouchingTarget;
+    private List<ProjectionYearResponse> years = new ArrayList<>();
+    // Holdings without price history, projected as if they moved with the rest
+    private List<String> unpricedSymbols = new ArrayList<>();
+
+    // Constructors
+    public ProjectionResponse() {
+    }
+
+    // Getters and setters
+    public String getPortfolioId() {
+        return portfolioId;
+    }
+
+    public void setPortfolioId(String portfolioId) {
+        this.portfolioId = portfolioId;
+    }
+
+    public ProjectionModel getModel() {
+        return model;
+    }
+
+    public void setModel(ProjectionModel model) {
+        this.model = model;
+    }
+
+    public int getPaths() {
+        return paths;
+    }
+
+    public void setPaths(int paths) {
+        this.paths = paths;
+    }
+
+    public int getHorizonYears() {
+        return horizonYears;
+    }
+
+    public void setHorizonYears(int horizonYears) {
+        this.horizonYears = horizonYears;
+    }
+
+    public Instant getAsOf() {
+        return asOf;
+    }
+
+    public void setAsOf(Instant asOf) {
+        this.asOf = asOf;
+    }
+
+    public BigDecimal getStartingValue() {
+        return startingValue;
+    }
+
+    public void setStartingValue(BigDecimal startingValue) {
+        this.startingValue = startingValue;
+    }
+
+    public int getObservations() {
+        return observations;
+    }
+
+    public void setObservations(int observations) {
+        this.observations = observations;
+    }
+
+    public BigDecimal getAnnualizedDrift() {
+        return annualizedDrift;
+    }
+
+    public void setAnnualizedDrift(BigDecimal annualizedDrift) {
+        this.annualizedDrift = annualizedDrift;
+    }
+
+    public BigDecimal getAnnualizedVolatility() {
+        return annualizedVolatility;
+    }
+
+    public void setAnnualizedVolatility(BigDecimal annualizedVolatility) {
+        this.annualizedVolatility = annualizedVolatility;
+    }
+
+    public BigDecimal getTargetValue() {
+        return targetValue;
+    }
+
+    public void setTargetValue(BigDecimal targetValue) {
+        this.targetValue = targetValue;
+    }
+
+    public BigDecimal getProbabilityOfReachingTarget() {
+        return probabilityOfReachingTarget;
+    }
+
+    public void setProbabilityOfReachingTarget(BigDecimal probabilityOfReachingTarget) {
+        this.probabilityOfReachingTarget = probabilityOfReachingTarget;
+    }
+
+    public BigDecimal getProbabilityOfTouchingTarget() {
+        return probabilityOfTouchingTarget;
+    }
+
+    public void setProbabilityOfTouchingTarget(BigDecimal probabilityOfTouchingTarget) {
+        this.probabilityOfTouchingTarget = probabilityOfTouchingTarget;
+    }
+
+    public List<ProjectionYearResponse> getYears() {
+        return years;
+    }
+
+    public void setYears(List<ProjectionYearResponse> years) {
+        this.years = years;
+    }
+
+    public List<String> getUnpricedSymbols() {
+        return unpricedSymbols;
+    }
+
+    public void setUnpricedSymbols(List<String> unpricedSymbols) {
+        this.unpricedSymbols = unpricedSymbols;
+    }
+}
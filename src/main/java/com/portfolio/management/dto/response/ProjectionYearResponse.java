@@ -0,0 +1,87 @@
+package com.portfolio.management.dto.response;
+
+import java.math.BigDecimal;
+
+/**
+ * Distribution of simulated portfolio value at the end of one projection year
+ */
+public class ProjectionYearResponse {
+    private int year;
+    private BigDecimal percentile5;
+    private BigDecimal percentile25;
+    private BigDecimal median;
+    private BigDecimal percentile75;
+    private BigDecimal percentile95;
+    private BigDecimal mean;
+    // Percent of paths at or above the target at this year end; null without a target
+    private BigDecimal probabilityAboveTarget;
+
+    // Constructors
+    public ProjectionYearResponse() {
+    }
+
+    // Getters and setters
+    public int getYear() {
+        return year;
+    }
+
+    public void setYear(int year) {
+        this.year = year;
+    }
+
+    public BigDecimal getPercentile5() {
+        return percentile5;
+    }
+
+    public void setPercentile5(BigDecimal percentile5) {
+        this.percentile5 = percentile5;
+    }
+
+    public BigDecimal getPercentile25() {
+        return percentile25;
+    }
+
+    public void setPercentile25(BigDecimal percentile25) {
+        this.percentile25 = percentile25;
+    }
+
+    public BigDecimal getMedian() {
+        return median;
+    }
+
+    public void setMedian(BigDecimal median) {
+        this.median = median;
+    }
+
+    public BigDecimal getPercentile75() {
+        return percentile75;
+    }
+
+    public void setPercentile75(BigDecimal percentile75) {
+        this.percentile75 = percentile75;
+    }
+
+    public BigDecimal getPercentile95() {
+        return percentile95;
+    }
+
+    public void setPercentile95(BigDecimal percentile95) {
+        this.percentile95 = percentile95;
+    }
+
+    public BigDecimal getMean() {
+        return mean;
+    }
+
+    public void setMean(BigDecimal mean) {
+        this.mean = mean;
+    }
+
+    public BigDecimal getProbabilityAboveTarget() {
+        return probabilityAboveTarget;
+    }
+
+    public void setProbabilityAboveTarget(BigDecimal probabilityAboveTarget) {
+        this.probabilityAboveTarget = probabilityAboveTarget;
+    }
+}
@@ -0,0 +1,63 @@
+package com.portfolio.management.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of an ingested trade batch, with the final state of every holding it touched
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TradeBatchResponse {
+    private int tradesProcessed;
+    private int holdingsCreated;
+    private int holdingsUpdated;
+    private int portfoliosUpdated;
+    private List<HoldingResponse> holdings = new ArrayList<>();
+
+    // Constructors
+    public TradeBatchResponse() {
+    }
+
+    // Getters and setters
+    public int getTradesProcessed() {
+        return tradesProcessed;
+    }
+
+    public void setTradesProcessed(int tradesProcessed) {
+        this.tradesProcessed = tradesProcessed;
+    }
+
+    public int getHoldingsCreated() {
+        return holdingsCreated;
+    }
+
+    public void setHoldingsCreated(int holdingsCreated) {
+        this.holdingsCreated = holdingsCreated;
+    }
+
+    public int getHoldingsUpdated() {
+        return holdingsUpdated;
+    }
+
+    public void setHoldingsUpdated(int holdingsUpdated) {
+        this.holdingsUpdated = holdingsUpdated;
+    }
+
+    public int getPortfoliosUpdated() {
+        return portfoliosUpdated;
+    }
+
+    public void setPortfoliosUpdated(int portfoliosUpdated) {
+        this.portfoliosUpdated = portfoliosUpdated;
+    }
+
+    public List<HoldingResponse> getHoldings() {
+        return holdings;
+    }
+
+    public void setHoldings(List<HoldingResponse> holdings) {
+        this.holdings = holdings;
+    }
+}
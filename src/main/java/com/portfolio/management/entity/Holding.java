@@ -1,6 +1,7 @@
 package com.portfolio.management.entity;
 
 import com.portfolio.management.enums.Currency;
+import com.portfolio.management.enums.HoldingStatus;
 import com.portfolio.management.enums.HoldingType;
 import com.portfolio.management.enums.Sector;
 import jakarta.persistence.*;
@@ -21,10 +22,12 @@ import java.util.Set;
         @Index(name = "idx_holdings_symbol", columnList = "symbol"),
         @Index(name = "idx_holdings_type", columnList = "type"),
         @Index(name = "idx_holdings_sector", columnList = "sector"),
-        @Index(name = "idx_holdings_last_updated", columnList = "last_updated")
+        @Index(name = "idx_holdings_last_updated", columnList = "last_updated"),
+        @Index(name = "idx_holdings_annualized_volatility", columnList = "annualized_volatility")
 },
         uniqueConstraints = {
                 @UniqueConstraint(name = "uk_portfolio_symbol", columnNames = {"portfolio_id", "symbol"})})
+@EntityListeners(HoldingChangeListener.class)
 public class Holding extends BaseEntity {
     @Id
     @UuidGenerator
@@ -61,8 +64,9 @@ public class Holding extends BaseEntity {
     @Column(name = "currency", nullable = false, length = 3)
     private Currency currency;
 
+    // Zero once the position is sold out; the row is kept with its transactions
     @NotNull(message = "Quantity is required")
-    @DecimalMin(value = "0.000001", message = "Quantity must be greater than 0")
+    @DecimalMin(value = "0", message = "Quantity cannot be negative")
     @Digits(integer = 15, fraction = 6, message = "Quantity must have at most 15 integer digits and 6 decimal places")
     @Column(name = "quantity", precision = 15, scale = 6, nullable = false)
     private BigDecimal quantity;
@@ -79,6 +83,19 @@ public class Holding extends BaseEntity {
     @Column(name = "current_price", precision = 15, scale = 4, nullable = false)
     private BigDecimal currentPrice;
 
+    // Price of the previous session close, for the day change
+    @Column(name = "previous_close_price", precision = 15, scale = 4)
+    private BigDecimal previousClosePrice;
+
+    // Alert levels; either may be unset
+    @DecimalMin(value = "0.0001", message = "Target price must be greater than 0")
+    @Column(name = "target_price", precision = 15, scale = 4)
+    private BigDecimal targetPrice;
+
+    @DecimalMin(value = "0.0001", message = "Stop loss price must be greater than 0")
+    @Column(name = "stop_loss_price", precision = 15, scale = 4)
+    private BigDecimal stopLossPrice;
+
     @Column(name = "total_cost", precision = 15, scale = 2, nullable = false)
     private BigDecimal totalCost = BigDecimal.ZERO;
 
@@ -91,6 +108,11 @@ public class Holding extends BaseEntity {
     @Column(name = "gain_loss_percent", precision = 8, scale = 4, nullable = false)
     private BigDecimal gainLossPercent = BigDecimal.ZERO;
 
+    @NotNull(message = "Holding status is required")
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private HoldingStatus status = HoldingStatus.ACTIVE;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "sector", length = 100)
     private Sector sector;
@@ -102,6 +124,16 @@ public class Holding extends BaseEntity {
     @Column(name = "last_updated")
     private Instant lastUpdated;
 
+    // Written by the nightly risk run; null until the first run covers the holding
+    @Column(name = "annualized_volatility", precision = 8, scale = 4)
+    private BigDecimal annualizedVolatility;
+
+    @Column(name = "beta", precision = 8, scale = 4)
+    private BigDecimal beta;
+
+    @Column(name = "risk_calculated_at")
+    private Instant riskCalculatedAt;
+
     @OneToMany(mappedBy = "holding", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private Set<Transaction> transactions = new HashSet<>();
 
@@ -319,6 +351,62 @@ public class Holding extends BaseEntity {
         this.lastUpdated = lastUpdated;
     }
 
+    public BigDecimal getAnnualizedVolatility() {
+        return annualizedVolatility;
+    }
+
+    public void setAnnualizedVolatility(BigDecimal annualizedVolatility) {
+        this.annualizedVolatility = annualizedVolatility;
+    }
+
+    public BigDecimal getBeta() {
+        return beta;
+    }
+
+    public void setBeta(BigDecimal beta) {
+        this.beta = beta;
+    }
+
+    public BigDecimal getPreviousClosePrice() {
+        return previousClosePrice;
+    }
+
+    public void setPreviousClosePrice(BigDecimal previousClosePrice) {
+        this.previousClosePrice = previousClosePrice;
+    }
+
+    public BigDecimal getTargetPrice() {
+        return targetPrice;
+    }
+
+    public void setTargetPrice(BigDecimal targetPrice) {
+        this.targetPrice = targetPrice;
+    }
+
+    public BigDecimal getStopLossPrice() {
+        return stopLossPrice;
+    }
+
+    public void setStopLossPrice(BigDecimal stopLossPrice) {
+        this.stopLossPrice = stopLossPrice;
+    }
+
+    public HoldingStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(HoldingStatus status) {
+        this.status = status;
+    }
+
+    public Instant getRiskCalculatedAt() {
+        return riskCalculatedAt;
+    }
+
+    public void setRiskCalculatedAt(Instant riskCalculatedAt) {
+        this.riskCalculatedAt = riskCalculatedAt;
+    }
+
     public Set<Transaction> getTransactions() {
         return transactions;
     }
@@ -0,0 +1,39 @@
+package com.portfolio.management.entity;
+
+import com.portfolio.management.event.HoldingChangedEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Publishes a HoldingChangedEvent for every JPA write of a holding, so in-memory indexes over
+ * holdings (the price alert engine) follow edits, trades and price updates without each write
+ * path notifying them. Instantiated by Hibernate through the Spring bean container.
+ */
+public class HoldingChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public HoldingChangeListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void changed(Holding holding) {
+        eventPublisher.publishEvent(toEvent(holding, false));
+    }
+
+    @PostRemove
+    public void removed(Holding holding) {
+        eventPublisher.publishEvent(toEvent(holding, true));
+    }
+
+    private static HoldingChangedEvent toEvent(Holding holding, boolean removed) {
+        // getId() on the lazy portfolio reference does not initialize it
+        return new HoldingChangedEvent(holding.getId(), holding.getPortfolio().getId(), holding.getSymbol(),
+                holding.getQuantity(), holding.getCurrentPrice(), holding.getPreviousClosePrice(),
+                holding.getTargetPrice(), holding.getStopLossPrice(), holding.getLastUpdated(), removed);
+    }
+}
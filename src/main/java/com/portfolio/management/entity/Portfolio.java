@@ -1,6 +1,7 @@
 package com.portfolio.management.entity;
 
 import com.portfolio.management.enums.Currency;
+import com.portfolio.management.service.marketdata.FxRateMatrix;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -8,6 +9,7 @@ import org.hibernate.annotations.UuidGenerator;
 import jakarta.validation.constraints.NotBlank;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -67,6 +69,9 @@ public class Portfolio extends BaseEntity {
     @Column(name = "is_active", nullable = false)
     private Boolean isActive = true;
 
+    @Column(name = "content_version", nullable = false)
+    private Long contentVersion = 0L;
+
     @OneToMany(mappedBy = "portfolio", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
     private Set<Holding> holdings = new HashSet<>();
 
@@ -110,37 +115,57 @@ public class Portfolio extends BaseEntity {
         return holdings.size();
     }
 
-    public void recalculateTotals() {
-        this.totalValue = holdings.stream()
-                .map(Holding::getCurrentValue)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        this.totalCost = holdings.stream()
-                .map(Holding::getTotalCost)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    /**
+     * Totals over the holdings, each restated in the portfolio currency at the given rates. A
+     * holding in a currency without a rate counts at face value, as in the update_portfolio_totals
+     * trigger, which writes the same columns.
+     */
+    public void recalculateTotals(FxRateMatrix rates) {
+        BigDecimal value = BigDecimal.ZERO;
+        BigDecimal cost = BigDecimal.ZERO;
+        for (Holding holding : holdings) {
+            BigDecimal factor = conversionFactor(rates, holding.getCurrency());
+            value = value.add(holding.getCurrentValue().multiply(factor));
+            cost = cost.add(holding.getTotalCost().multiply(factor));
+        }
+        this.totalValue = value.setScale(2, RoundingMode.HALF_UP);
+        this.totalCost = cost.setScale(2, RoundingMode.HALF_UP);
 
         this.totalGainLoss = totalValue.subtract(totalCost);
 
         if (totalCost.compareTo(BigDecimal.ZERO) > 0) {
             this.totalGainLossPercent = totalGainLoss
-                    .divide(totalCost, 4, BigDecimal.ROUND_HALF_UP)
+                    .divide(totalCost, 4, RoundingMode.HALF_UP)
                     .multiply(BigDecimal.valueOf(100));
         } else {
             this.totalGainLossPercent = BigDecimal.ZERO;
         }
     }
 
+    private BigDecimal conversionFactor(FxRateMatrix rates, Currency from) {
+        if (from == null || from == currency || Double.isNaN(rates.doubleRate(from, currency))) {
+            return BigDecimal.ONE;
+        }
+        return rates.rate(from, currency);
+    }
+
+    /**
+     * Bump the content version used to validate conditional reads (ETags) of portfolio-scoped data.
+     * Must be called on every change to the portfolio, its holdings, transactions or prices.
+     */
+    public void incrementContentVersion() {
+        this.contentVersion = contentVersion == null ? 1L : contentVersion + 1;
+    }
+
     // Helper methods for bidirectional relationships
     public void addHolding(Holding holding) {
         holdings.add(holding);
         holding.setPortfolio(this);
-        recalculateTotals();
     }
 
     public void removeHolding(Holding holding) {
         holdings.remove(holding);
         holding.setPortfolio(null);
-        recalculateTotals();
     }
 
     public void addTransaction(Transaction transaction) {
@@ -155,7 +180,7 @@ public class Portfolio extends BaseEntity {
 
     @Override
     public String getId() {
-        return "";
+        return id;
     }
 
     public void setId(String id) {
@@ -242,6 +267,14 @@ public class Portfolio extends BaseEntity {
         this.isActive = isActive;
     }
 
+    public Long getContentVersion() {
+        return contentVersion;
+    }
+
+    public void setContentVersion(Long contentVersion) {
+        this.contentVersion = contentVersion;
+    }
+
     public Set<Holding> getHoldings() {
         return holdings;
     }
@@ -12,9 +12,12 @@ import java.time.Instant;
 @Entity
 @Table(name = "transactions",
         indexes = {
-                @Index(name = "idx_transactions_portfolio_id", columnList = "portfolio_id"),
+                @Index(name = "idx_transactions_portfolio_date_id", columnList = "portfolio_id, transaction_date DESC, id DESC"),
+                @Index(name = "idx_transactions_user_date_id", columnList = "user_id, transaction_date DESC, id DESC"),
                 @Index(name = "idx_transactions_holding_id", columnList = "holding_id"),
-                @Index(name = "idx_transactions_type", columnList = "type"),
+                @Index(name = "idx_transactions_portfolio_symbol_date", columnList = "portfolio_id, symbol, transaction_date DESC"),
+                @Index(name = "idx_transactions_user_symbol_date", columnList = "user_id, symbol, transaction_date DESC"),
+                @Index(name = "idx_transactions_user_type_date", columnList = "user_id, type, transaction_date DESC"),
                 @Index(name = "idx_transactions_symbol", columnList = "symbol"),
                 @Index(name = "idx_transactions_transaction_date", columnList = "transaction_date")
         })
@@ -28,6 +31,10 @@ public class Transaction extends BaseEntity {
     @JoinColumn(name = "portfolio_id", nullable = false, foreignKey = @ForeignKey(name = "fk_transaction_portfolio"))
     private Portfolio portfolio;
 
+    // Owner of the portfolio, denormalized for per-user keyset pagination
+    @Column(name = "user_id", length = 50, nullable = false)
+    private String userId;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "holding_id", foreignKey = @ForeignKey(name = "fk_transaction_holding"))
     private Holding holding;
@@ -124,6 +131,9 @@ public class Transaction extends BaseEntity {
     @PreUpdate
     private void updateCalculatedFields() {
         calculateTotalAmount();
+        if (portfolio != null && portfolio.getUser() != null) {
+            this.userId = portfolio.getUser().getId();
+        }
     }
 
     // Getters and Setters
@@ -144,6 +154,10 @@ public class Transaction extends BaseEntity {
         this.portfolio = portfolio;
     }
 
+    public String getUserId() {
+        return userId;
+    }
+
     public Holding getHolding() {
         return holding;
     }
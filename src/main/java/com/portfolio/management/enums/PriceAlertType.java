@@ -0,0 +1,55 @@
+package com.portfolio.management.enums;
+
+/**
+ * Enumeration for holding alert rules
+ * Each rule is either matching or not; alerts fire on the transitions
+ */
+public enum PriceAlertType {
+    /**
+     * Price at or above the holding's target price
+     */
+    TARGET_REACHED("Target Reached", "Price has reached the target price"),
+
+    /**
+     * Price at or below the holding's stop-loss price
+     */
+    STOP_LOSS("Stop Loss", "Price has fallen to the stop-loss price"),
+
+    /**
+     * Price down by the configured percentage or more from the previous close
+     */
+    DAY_DROP("Day Drop", "Price has dropped sharply since the previous close"),
+
+    /**
+     * Holding above the configured share of its portfolio's value
+     */
+    CONCENTRATION("Concentration", "Holding exceeds the concentration limit of its portfolio");
+
+    private final String displayName;
+    private final String description;
+
+    PriceAlertType(String displayName, String description) {
+        this.displayName = displayName;
+        this.description = description;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Bit of this rule in a holding's alert mask
+     */
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -0,0 +1,38 @@
+package com.portfolio.management.enums;
+
+/**
+ * Enumeration for Monte Carlo projection models
+ * Defines how future portfolio returns are drawn
+ */
+public enum ProjectionModel {
+    /**
+     * Geometric Brownian motion with drift and volatility estimated from history
+     */
+    GBM("Geometric Brownian Motion", "Normal log returns with the historical drift and volatility"),
+
+    /**
+     * Resampled blocks of the portfolio's own historical returns
+     */
+    BOOTSTRAP("Historical Bootstrap", "Blocks of historical returns drawn with replacement");
+
+    private final String displayName;
+    private final String description;
+
+    ProjectionModel(String displayName, String description) {
+        this.displayName = displayName;
+        this.description = description;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -0,0 +1,80 @@
+package com.portfolio.management.event;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * A holding row was inserted, updated or deleted through JPA. Carries the alert-relevant
+ * state as of the flush; published during the transaction, so listeners that need the
+ * committed state listen after commit.
+ */
+public class HoldingChangedEvent {
+    private final String holdingId;
+    private final String portfolioId;
+    private final String symbol;
+    private final BigDecimal quantity;
+    private final BigDecimal currentPrice;
+    private final BigDecimal previousClosePrice;
+    private final BigDecimal targetPrice;
+    private final BigDecimal stopLossPrice;
+    private final Instant lastUpdated;
+    private final boolean removed;
+
+    public HoldingChangedEvent(String holdingId, String portfolioId, String symbol, BigDecimal quantity,
+                               BigDecimal currentPrice, BigDecimal previousClosePrice, BigDecimal targetPrice,
+                               BigDecimal stopLossPrice, Instant lastUpdated, boolean removed) {
+        this.holdingId = holdingId;
+        this.portfolioId = portfolioId;
+        this.symbol = symbol;
+        this.quantity = quantity;
+        this.currentPrice = currentPrice;
+        this.previousClosePrice = previousClosePrice;
+        this.targetPrice = targetPrice;
+        this.stopLossPrice = stopLossPrice;
+        this.lastUpdated = lastUpdated;
+        this.removed = removed;
+    }
+
+    public String getHoldingId() {
+        return holdingId;
+    }
+
+    public String getPortfolioId() {
+        return portfolioId;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public BigDecimal getQuantity() {
+        return quantity;
+    }
+
+    public BigDecimal getCurrentPrice() {
+        return currentPrice;
+    }
+
+    public BigDecimal getPreviousClosePrice() {
+        return previousClosePrice;
+    }
+
+    public BigDecimal getTargetPrice() {
+        return targetPrice;
+    }
+
+    public BigDecimal getStopLossPrice() {
+        return stopLossPrice;
+    }
+
+    /**
+     * When the holding's values, current price included, were last recalculated
+     */
+    public Instant getLastUpdated() {
+        return lastUpdated;
+    }
+
+    public boolean isRemoved() {
+        return removed;
+    }
+}
@@ -0,0 +1,67 @@
+package com.portfolio.management.event;
+
+import com.portfolio.management.enums.PriceAlertType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * An alert rule of a holding started or stopped matching. Published synchronously on the
+ * thread that saw the price, so listeners doing I/O should hand off (e.g. @Async).
+ */
+public class PriceAlertEvent {
+    private final String holdingId;
+    private final String portfolioId;
+    private final String symbol;
+    private final PriceAlertType type;
+    // False when the condition cleared again
+    private final boolean raised;
+    private final BigDecimal price;
+    // Price level of the rule; the concentration limit in percent for CONCENTRATION
+    private final BigDecimal threshold;
+    private final Instant occurredAt;
+
+    public PriceAlertEvent(String holdingId, String portfolioId, String symbol, PriceAlertType type, boolean raised,
+                           BigDecimal price, BigDecimal threshold, Instant occurredAt) {
+        this.holdingId = holdingId;
+        this.portfolioId = portfolioId;
+        this.symbol = symbol;
+        this.type = type;
+        this.raised = raised;
+        this.price = price;
+        this.threshold = threshold;
+        this.occurredAt = occurredAt;
+    }
+
+    public String getHoldingId() {
+        return holdingId;
+    }
+
+    public String getPortfolioId() {
+        return portfolioId;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public PriceAlertType getType() {
+        return type;
+    }
+
+    public boolean isRaised() {
+        return raised;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public BigDecimal getThreshold() {
+        return threshold;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+}
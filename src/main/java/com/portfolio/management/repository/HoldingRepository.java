@@ -1,17 +1,21 @@
 package com.portfolio.management.repository;
 
 import com.portfolio.management.entity.Holding;
+import com.portfolio.management.enums.Currency;
 import com.portfolio.management.enums.HoldingStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -64,6 +68,19 @@ public interface HoldingRepository extends JpaRepository<Holding, String>, JpaSp
      */
     Optional<Holding> findByPortfolioIdAndSymbol(String portfolioId, String symbol);
 
+    /**
+     * Lock and load the holdings for the given "portfolioId:symbol" keys, for read-modify-write
+     * of a whole trade batch in one query. The IN lists on portfolio and symbol narrow the scan
+     * to the unique index; only rows matching a key are returned and locked. Rows are locked in
+     * id order, so concurrent batches cannot deadlock on each other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM Holding h WHERE h.portfolio.id IN :portfolioIds AND h.symbol IN :symbols " +
+            "AND CONCAT(h.portfolio.id, ':', h.symbol) IN :keys ORDER BY h.id")
+    List<Holding> findByPortfolioSymbolKeysOrderById(@Param("portfolioIds") Collection<String> portfolioIds,
+                                                     @Param("symbols") Collection<String> symbols,
+                                                     @Param("keys") Collection<String> keys);
+
     /**
      * Find holdings by sector
      */
@@ -116,6 +133,12 @@ public interface HoldingRepository extends JpaRepository<Holding, String>, JpaSp
      */
     boolean existsByPortfolioId(String portfolioId);
 
+    /**
+     * Find the portfolio a holding belongs to without loading the holding
+     */
+    @Query("SELECT h.portfolio.id FROM Holding h WHERE h.id = :holdingId")
+    Optional<String> findPortfolioIdById(@Param("holdingId") String holdingId);
+
     // Count Queries
 
     /**
@@ -143,6 +166,107 @@ public interface HoldingRepository extends JpaRepository<Holding, String>, JpaSp
      */
     long countBySymbol(String symbol);
 
+    /**
+     * Distinct symbols a user holds across all portfolios
+     */
+    @Query("SELECT DISTINCT h.symbol FROM Holding h WHERE h.portfolio.user.id = :userId AND h.status = :status")
+    List<String> findDistinctSymbolsByUserIdAndStatus(@Param("userId") String userId,
+                                                      @Param("status") HoldingStatus status);
+
+    /**
+     * Distinct symbols with an open position in any portfolio
+     */
+    @Query("SELECT DISTINCT h.symbol FROM Holding h WHERE h.quantity > 0")
+    List<String> findDistinctHeldSymbols();
+
+    /**
+     * A user's open position in one symbol, with what income projection needs from its portfolio
+     */
+    interface IncomePositionView {
+        String getPortfolioId();
+
+        String getPortfolioName();
+
+        Currency getCurrency();
+
+        String getSymbol();
+
+        BigDecimal getQuantity();
+
+        BigDecimal getMarketValue();
+    }
+
+    @Query("SELECT p.id AS portfolioId, p.name AS portfolioName, p.currency AS currency, h.symbol AS symbol, " +
+            "h.quantity AS quantity, h.quantity * h.currentPrice AS marketValue " +
+            "FROM Holding h JOIN h.portfolio p WHERE p.user.id = :userId AND h.quantity > 0 " +
+            "ORDER BY p.name, p.id")
+    List<IncomePositionView> findIncomePositionsByUserId(@Param("userId") String userId);
+
+    /**
+     * An open position as the risk engine sees it: symbol and market value in the holding's
+     * currency, with the portfolio currency it is reported in
+     */
+    interface RiskPositionView {
+        String getHoldingId();
+
+        String getPortfolioId();
+
+        String getSymbol();
+
+        BigDecimal getMarketValue();
+
+        Currency getCurrency();
+
+        Currency getPortfolioCurrency();
+    }
+
+    @Query("SELECT h.id AS holdingId, h.portfolio.id AS portfolioId, h.symbol AS symbol, " +
+            "h.quantity * h.currentPrice AS marketValue, h.currency AS currency, " +
+            "h.portfolio.currency AS portfolioCurrency " +
+            "FROM Holding h WHERE h.portfolio.id = :portfolioId AND h.quantity > 0 ORDER BY h.id")
+    List<RiskPositionView> findRiskPositionsByPortfolioId(@Param("portfolioId") String portfolioId);
+
+    @Query("SELECT h.id AS holdingId, h.portfolio.id AS portfolioId, h.symbol AS symbol, " +
+            "h.quantity * h.currentPrice AS marketValue, h.currency AS currency, " +
+            "h.portfolio.currency AS portfolioCurrency " +
+            "FROM Holding h WHERE h.quantity > 0 ORDER BY h.portfolio.id, h.id")
+    List<RiskPositionView> findAllRiskPositions();
+
+    /**
+     * An open position with the levels the price alert engine watches
+     */
+    interface AlertPositionView {
+        String getHoldingId();
+
+        String getPortfolioId();
+
+        String getSymbol();
+
+        BigDecimal getQuantity();
+
+        BigDecimal getCurrentPrice();
+
+        BigDecimal getPreviousClosePrice();
+
+        BigDecimal getTargetPrice();
+
+        BigDecimal getStopLossPrice();
+
+        Instant getLastUpdated();
+    }
+
+    @Query("SELECT h.id AS holdingId, h.portfolio.id AS portfolioId, h.symbol AS symbol, h.quantity AS quantity, " +
+            "h.currentPrice AS currentPrice, h.previousClosePrice AS previousClosePrice, " +
+            "h.targetPrice AS targetPrice, h.stopLossPrice AS stopLossPrice, h.lastUpdated AS lastUpdated " +
+            "FROM Holding h WHERE h.quantity > 0")
+    List<AlertPositionView> findAlertPositions();
+
+    @Query("SELECT h.id AS holdingId, h.portfolio.id AS portfolioId, h.symbol AS symbol, h.quantity AS quantity, " +
+            "h.currentPrice AS currentPrice, h.previousClosePrice AS previousClosePrice, " +
+            "h.targetPrice AS targetPrice, h.stopLossPrice AS stopLossPrice, h.lastUpdated AS lastUpdated " +
+            "FROM Holding h WHERE h.portfolio.id IN :portfolioIds AND h.quantity > 0")
+    List<AlertPositionView> findAlertPositionsByPortfolioIds(@Param("portfolioIds") Collection<String> portfolioIds);
+
     // Financial Calculations
 
     /**
@@ -246,6 +370,18 @@ public interface HoldingRepository extends JpaRepository<Holding, String>, JpaSp
     List<Holding> findHoldingsBelowStopLoss(@Param("portfolioId") String portfolioId,
                                             @Param("status") HoldingStatus status);
 
+    /**
+     * Find holdings at or above target, at or below stop loss, or priced at or below
+     * dayDropFactor times the previous close
+     */
+    @Query("SELECT h FROM Holding h WHERE h.portfolio.id = :portfolioId AND h.status = :status " +
+            "AND ((h.targetPrice IS NOT NULL AND h.currentPrice >= h.targetPrice) " +
+            "OR (h.stopLossPrice IS NOT NULL AND h.currentPrice <= h.stopLossPrice) " +
+            "OR (h.previousClosePrice > 0 AND h.currentPrice <= h.previousClosePrice * :dayDropFactor))")
+    List<Holding> findHoldingsRequiringAttention(@Param("portfolioId") String portfolioId,
+                                                 @Param("status") HoldingStatus status,
+                                                 @Param("dayDropFactor") BigDecimal dayDropFactor);
+
     /**
      * Find overconcentrated holdings (above percentage threshold of portfolio value)
      */
@@ -1,17 +1,20 @@
 package com.portfolio.management.repository;
 
 import com.portfolio.management.entity.Portfolio;
+import com.portfolio.management.enums.Currency;
 import com.portfolio.management.enums.PortfolioStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -87,6 +90,30 @@ public interface PortfolioRepository extends JpaRepository<Portfolio, String>, J
      */
     boolean existsByIdAndUserId(String portfolioId, String userId);
 
+    // Content Version Queries
+
+    /**
+     * Projection of a portfolio's content version and owner, used for conditional reads
+     */
+    interface ContentVersionView {
+        Long getContentVersion();
+
+        String getUserId();
+    }
+
+    /**
+     * Find content version and owner by primary key without loading the portfolio entity
+     */
+    @Query("SELECT p.contentVersion AS contentVersion, p.user.id AS userId FROM Portfolio p WHERE p.id = :portfolioId")
+    Optional<ContentVersionView> findContentVersionById(@Param("portfolioId") String portfolioId);
+
+    /**
+     * Bump content version for portfolios changed by bulk (set-based) updates
+     */
+    @Modifying
+    @Query("UPDATE Portfolio p SET p.contentVersion = p.contentVersion + 1 WHERE p.id IN :portfolioIds")
+    int incrementContentVersions(@Param("portfolioIds") Collection<String> portfolioIds);
+
     // Count Queries
 
     /**
@@ -146,6 +173,76 @@ public interface PortfolioRepository extends JpaRepository<Portfolio, String>, J
             "FROM Transaction t WHERE t.portfolio.id = :portfolioId AND t.type = 'DIVIDEND'")
     Optional<BigDecimal> calculateTotalDividends(@Param("portfolioId") String portfolioId);
 
+    // Batched Summary Queries
+
+    /**
+     * Load portfolios with their owner in one query
+     */
+    @Query("SELECT p FROM Portfolio p JOIN FETCH p.user WHERE p.id IN :portfolioIds")
+    List<Portfolio> findAllByIdWithUser(@Param("portfolioIds") Collection<String> portfolioIds);
+
+    /**
+     * Per-portfolio aggregates over active holdings, one row per currency the holdings are quoted in
+     */
+    interface HoldingTotalsView {
+        String getPortfolioId();
+
+        Currency getCurrency();
+
+        Long getHoldingsCount();
+
+        BigDecimal getTotalValue();
+
+        BigDecimal getTotalInvested();
+
+        BigDecimal getDayChange();
+    }
+
+    @Query("SELECT h.portfolio.id AS portfolioId, h.currency AS currency, COUNT(h) AS holdingsCount, " +
+            "COALESCE(SUM(h.quantity * h.currentPrice), 0) AS totalValue, " +
+            "COALESCE(SUM(h.quantity * h.averagePrice), 0) AS totalInvested, " +
+            "COALESCE(SUM(h.quantity * (h.currentPrice - h.previousClosePrice)), 0) AS dayChange " +
+            "FROM Holding h WHERE h.portfolio.id IN :portfolioIds AND h.status = 'ACTIVE' " +
+            "GROUP BY h.portfolio.id, h.currency")
+    List<HoldingTotalsView> summarizeHoldings(@Param("portfolioIds") Collection<String> portfolioIds);
+
+    /**
+     * Holding aggregates of one of a user's portfolios in one currency, with the portfolio's own
+     */
+    interface UserHoldingTotalsView extends HoldingTotalsView {
+        String getPortfolioName();
+
+        Currency getPortfolioCurrency();
+    }
+
+    @Query("SELECT p.id AS portfolioId, p.name AS portfolioName, p.currency AS portfolioCurrency, " +
+            "h.currency AS currency, COUNT(h) AS holdingsCount, " +
+            "COALESCE(SUM(h.quantity * h.currentPrice), 0) AS totalValue, " +
+            "COALESCE(SUM(h.quantity * h.averagePrice), 0) AS totalInvested, " +
+            "COALESCE(SUM(h.quantity * (h.currentPrice - h.previousClosePrice)), 0) AS dayChange " +
+            "FROM Holding h JOIN h.portfolio p WHERE p.user.id = :userId AND h.status = 'ACTIVE' " +
+            "GROUP BY p.id, p.name, p.currency, h.currency ORDER BY p.name, p.id")
+    List<UserHoldingTotalsView> summarizeHoldingsByUserId(@Param("userId") String userId);
+
+    /**
+     * Per-portfolio transaction count and dividend total, one row per currency the transactions are booked in
+     */
+    interface TransactionTotalsView {
+        String getPortfolioId();
+
+        Currency getCurrency();
+
+        Long getTransactionsCount();
+
+        BigDecimal getTotalDividends();
+    }
+
+    @Query("SELECT t.portfolio.id AS portfolioId, t.currency AS currency, COUNT(t) AS transactionsCount, " +
+            "COALESCE(SUM(CASE WHEN t.type = 'DIVIDEND' THEN t.price * t.quantity ELSE 0 END), 0) AS totalDividends " +
+            "FROM Transaction t WHERE t.portfolio.id IN :portfolioIds " +
+            "GROUP BY t.portfolio.id, t.currency")
+    List<TransactionTotalsView> summarizeTransactions(@Param("portfolioIds") Collection<String> portfolioIds);
+
     /**
      * Calculate portfolio performance over time period
      */
@@ -69,6 +69,9 @@ public interface UserRepository extends JpaRepository<User, String>, JpaSpecific
     @Query("SELECT u FROM User u LEFT JOIN FETCH u.watchlistItems w WHERE u.id = :userId")
     Optional<User> findByIdWithWatchlist(@Param("userId") String userId);
 
+    @Query("SELECT w.symbol FROM Watchlist w WHERE w.user.id = :userId")
+    List<String> findWatchlistSymbolsByUserId(@Param("userId") String userId);
+
     // Batch operations
     @Query("UPDATE User u SET u.isActive = false WHERE u.lastLoginAt < :cutoffDate")
     int deactivateInactiveUsers(@Param("cutoffDate") Instant cutoffDate);
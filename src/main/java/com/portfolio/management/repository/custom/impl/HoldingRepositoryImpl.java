@@ -56,33 +56,29 @@ public class HoldingRepositoryImpl implements HoldingRepositoryCustom {
 
     @Override
     public List<Holding> findHoldingsByRiskLevel(String userId, String riskLevel) {
-        // Simplified risk categorization based on gain/loss percentage volatility
-        String jpql;
-        switch (riskLevel.toLowerCase()) {
-            case "low":
-                jpql = """
-                        SELECT h FROM Holding h 
-                        WHERE h.portfolio.userId = :userId 
-                        AND ABS(h.gainLossPercent) <= 10
-                        ORDER BY h.gainLossPercent DESC
-                        """;
-                break;
-            case "high":
-                jpql = """
-                        SELECT h FROM Holding h 
-                        WHERE h.portfolio.userId = :userId 
-                        AND ABS(h.gainLossPercent) > 25
-                        ORDER BY h.gainLossPercent DESC
-                        """;
-                break;
-            default: // medium
-                jpql = """
-                        SELECT h FROM Holding h 
-                        WHERE h.portfolio.userId = :userId 
-                        AND ABS(h.gainLossPercent) > 10 AND ABS(h.gainLossPercent) <= 25
-                        ORDER BY h.gainLossPercent DESC
-                        """;
-        }
+        // Annualized volatility (percent) from the nightly risk run. Holdings it has not covered yet
+        // fall back to the size of their gain/loss.
+        String condition = switch (riskLevel.toLowerCase()) {
+            case "low" -> """
+                    (h.annualizedVolatility <= 15
+                     OR (h.annualizedVolatility IS NULL AND ABS(h.gainLossPercent) <= 10))
+                    """;
+            case "high" -> """
+                    (h.annualizedVolatility > 30
+                     OR (h.annualizedVolatility IS NULL AND ABS(h.gainLossPercent) > 25))
+                    """;
+            default -> """
+                    ((h.annualizedVolatility > 15 AND h.annualizedVolatility <= 30)
+                     OR (h.annualizedVolatility IS NULL AND ABS(h.gainLossPercent) > 10 AND ABS(h.gainLossPercent) <= 25))
+                    """; // medium
+        };
+
+        String jpql = """
+                SELECT h FROM Holding h 
+                WHERE h.portfolio.user.id = :userId 
+                AND """ + condition + """
+                ORDER BY h.annualizedVolatility DESC NULLS LAST, h.gainLossPercent DESC
+                """;
 
         TypedQuery<Holding> query = entityManager.createQuery(jpql, Holding.class);
         query.setParameter("userId", userId);
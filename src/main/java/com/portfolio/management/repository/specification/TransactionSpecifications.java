@@ -28,7 +28,8 @@ public class TransactionSpecifications {
             if (userId == null || userId.isEmpty()) {
                 return criteriaBuilder.conjunction();
             }
-            return criteriaBuilder.equal(root.get("portfolio").get("user").get("id"), userId);
+            // Denormalized owner column: no join, and it leads the user composite indexes
+            return criteriaBuilder.equal(root.get("userId"), userId);
         };
     }
 
@@ -60,6 +61,15 @@ public class TransactionSpecifications {
         };
     }
 
+    public static Specification<Transaction> symbolEquals(String symbol) {
+        return (root, query, criteriaBuilder) -> {
+            if (symbol == null || symbol.isEmpty()) {
+                return criteriaBuilder.conjunction();
+            }
+            return criteriaBuilder.equal(root.get("symbol"), symbol.toUpperCase());
+        };
+    }
+
     public static Specification<Transaction> hasCurrency(Currency currency) {
         return (root, query, criteriaBuilder) -> {
             if (currency == null) {
@@ -157,11 +167,32 @@ public class TransactionSpecifications {
             if (searchTerm == null || searchTerm.isEmpty()) {
                 return criteriaBuilder.conjunction();
             }
+            // Served by the pg_trgm GIN index on lower(notes) for terms of 3+ characters
             return criteriaBuilder.like(criteriaBuilder.lower(root.get("notes")),
                     "%" + searchTerm.toLowerCase() + "%");
         };
     }
 
+    /**
+     * Keyset predicate for listings ordered by (transactionDate DESC, id DESC): rows strictly
+     * after the given position. Written with a leading range on transactionDate so it can be
+     * used as an index bound.
+     */
+    public static Specification<Transaction> seekAfter(Instant transactionDate, String id) {
+        return (root, query, criteriaBuilder) -> {
+            if (transactionDate == null || id == null) {
+                return criteriaBuilder.conjunction();
+            }
+            return criteriaBuilder.and(
+                    criteriaBuilder.lessThanOrEqualTo(root.get("transactionDate"), transactionDate),
+                    criteriaBuilder.or(
+                            criteriaBuilder.lessThan(root.get("transactionDate"), transactionDate),
+                            criteriaBuilder.lessThan(root.get("id"), id)
+                    )
+            );
+        };
+    }
+
     public static Specification<Transaction> isHighValue(BigDecimal threshold) {
         return (root, query, criteriaBuilder) -> {
             if (threshold == null) {
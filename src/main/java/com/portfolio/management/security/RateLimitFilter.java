@@ -0,0 +1,174 @@
+package com.portfolio.management.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.portfolio.management.config.AppProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-client token-bucket rate limiter, registered after JwtAuthenticationFilter.
+ * Authenticated requests are bucketed by username, anonymous ones by remote address.
+ * Each bucket is a single AtomicLong packing the last refill time and the token balance,
+ * updated by CAS so the request path never takes a lock.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    // State layout: [ 40 bits refill time (ms since start) | 24 bits balance (milli-tokens) ]
+    private static final int BALANCE_BITS = 24;
+    private static final long BALANCE_MASK = (1L << BALANCE_BITS) - 1;
+    private static final long UNITS_PER_TOKEN = 1000;
+    private static final long MAX_CAPACITY = BALANCE_MASK / UNITS_PER_TOKEN;
+    private static final long WINDOW_MILLIS = 60_000;
+
+    private final boolean enabled;
+    private final long capacity;
+    private final long capacityUnits;
+    private final Map<String, Integer> endpointCosts;
+    private final Cache<String, AtomicLong> buckets;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final long startNanos = System.nanoTime();
+
+    public RateLimitFilter(AppProperties.RateLimiting properties) {
+        this.enabled = properties.isEnabled();
+        this.capacity = Math.max(1, Math.min(properties.getRequestsPerMinute(), MAX_CAPACITY));
+        this.capacityUnits = capacity * UNITS_PER_TOKEN;
+        this.endpointCosts = properties.getEndpointCosts();
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxTrackedClients())
+                .expireAfterAccess(Duration.ofMinutes(properties.getIdleExpiryMinutes()))
+                .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || HttpMethod.OPTIONS.matches(request.getMethod())
+                || pathWithinApplication(request).startsWith("/actuator/health");
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        String clientKey = resolveClientKey(request);
+        long cost = resolveCost(pathWithinApplication(request));
+        AtomicLong bucket = buckets.get(clientKey, key -> new AtomicLong(pack(nowMillis(), capacityUnits)));
+
+        long result = tryConsume(bucket, cost * UNITS_PER_TOKEN);
+        if (result < 0) {
+            reject(request, response, clientKey, -result);
+            return;
+        }
+
+        response.setHeader("X-RateLimit-Limit", String.valueOf(capacity));
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(result / UNITS_PER_TOKEN));
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Takes {@code costUnits} from the bucket. Returns the remaining balance in units when the
+     * request is admitted, or the negated wait in milliseconds until it would be.
+     */
+    private long tryConsume(AtomicLong bucket, long costUnits) {
+        long cost = Math.min(costUnits, capacityUnits);
+        long now = nowMillis();
+
+        while (true) {
+            long state = bucket.get();
+            long lastRefill = state >>> BALANCE_BITS;
+            long balance = state & BALANCE_MASK;
+
+            long refillAt = Math.max(now, lastRefill);
+            // Clamp to one window so the multiplication cannot overflow after long idle periods
+            long elapsed = Math.min(refillAt - lastRefill, WINDOW_MILLIS);
+            long available = Math.min(capacityUnits, balance + elapsed * capacityUnits / WINDOW_MILLIS);
+
+            if (available < cost) {
+                long deficit = cost - available;
+                return -Math.max(1, (deficit * WINDOW_MILLIS + capacityUnits - 1) / capacityUnits);
+            }
+
+            if (bucket.compareAndSet(state, pack(refillAt, available - cost))) {
+                return available - cost;
+            }
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response,
+                        String clientKey, long waitMillis) throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitMillis + 999) / 1000);
+        logger.warn("Rate limit exceeded for {} on {} {}", clientKey, request.getMethod(), request.getRequestURI());
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setHeader("X-RateLimit-Limit", String.valueOf(capacity));
+        response.setHeader("X-RateLimit-Remaining", "0");
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        body.put("error", HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase());
+        body.put("message", "Rate limit exceeded, retry after " + retryAfterSeconds + " seconds");
+        body.put("path", request.getServletPath());
+        body.put("timestamp", Instant.now().toString());
+
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private String resolveClientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private long resolveCost(String path) {
+        for (Map.Entry<String, Integer> entry : endpointCosts.entrySet()) {
+            if (pathMatcher.match(entry.getKey(), path)) {
+                return Math.max(1, entry.getValue());
+            }
+        }
+        return 1;
+    }
+
+    private String pathWithinApplication(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        return uri.startsWith(contextPath) ? uri.substring(contextPath.length()) : uri;
+    }
+
+    private long nowMillis() {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    private static long pack(long refillMillis, long balanceUnits) {
+        return (refillMillis << BALANCE_BITS) | balanceUnits;
+    }
+}
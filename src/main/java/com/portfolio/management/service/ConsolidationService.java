@@ -0,0 +1,15 @@
+package com.portfolio.management.service;
+
+import com.portfolio.management.dto.response.ConsolidatedValueResponse;
+
+/**
+ * Service interface for values consolidated across a user's portfolios
+ */
+public interface ConsolidationService {
+
+    /**
+     * The current user's holdings across all portfolios in one currency (the configured default
+     * when null), at the current FX snapshot
+     */
+    ConsolidatedValueResponse getCurrentUserConsolidatedValue(String currency);
+}
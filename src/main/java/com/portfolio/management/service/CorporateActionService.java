@@ -0,0 +1,28 @@
+package com.portfolio.management.service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Service interface for applying stock splits and dividends to every holding of a symbol
+ */
+public interface CorporateActionService {
+
+    /**
+     * Fetch split and dividend events since the given instant once per held symbol and apply
+     * those that have taken effect. Returns the number of events newly applied.
+     */
+    int syncCorporateActions(Instant since);
+
+    /**
+     * Split every position in the symbol opened before the split date by the given factor.
+     * Returns the number of holdings adjusted, 0 if the split was already applied.
+     */
+    int applyStockSplit(String symbol, Instant splitDate, BigDecimal splitFactor);
+
+    /**
+     * Record a dividend transaction for every holding of the symbol that held shares on the
+     * ex-dividend date. Returns the number of holdings paid, 0 if the dividend was already applied.
+     */
+    int applyDividend(String symbol, Instant exDividendDate, Instant paymentDate, BigDecimal dividendPerShare);
+}
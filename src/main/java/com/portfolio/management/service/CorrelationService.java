@@ -0,0 +1,25 @@
+package com.portfolio.management.service;
+
+import com.portfolio.management.dto.response.CorrelationMatrixResponse;
+import com.portfolio.management.dto.response.DiversificationResponse;
+
+/**
+ * Service interface for return correlations and correlation-based diversification
+ */
+public interface CorrelationService {
+
+    /**
+     * Correlation matrix of a portfolio's holdings; lookbackDays null means the configured default
+     */
+    CorrelationMatrixResponse getPortfolioCorrelation(String portfolioId, Integer lookbackDays);
+
+    /**
+     * Correlation matrix of every symbol held in any portfolio
+     */
+    CorrelationMatrixResponse getUniverseCorrelation(Integer lookbackDays);
+
+    /**
+     * Effective number of bets of a portfolio and the diversification score derived from it
+     */
+    DiversificationResponse getPortfolioDiversification(String portfolioId, Integer lookbackDays);
+}
@@ -0,0 +1,35 @@
+package com.portfolio.management.service;
+
+import com.portfolio.management.enums.Currency;
+import com.portfolio.management.service.marketdata.FxRateMatrix;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.NavigableMap;
+
+/**
+ * Service interface for exchange rates
+ */
+public interface FxRateService {
+
+    /**
+     * The current rate snapshot. Loaded on first use if the scheduled refresh has not run yet.
+     */
+    FxRateMatrix getCurrentRates();
+
+    /**
+     * The amount restated in another currency at the current snapshot, unrounded
+     */
+    BigDecimal convert(BigDecimal amount, Currency from, Currency to);
+
+    /**
+     * Stored daily rates as units of {@code to} per unit of {@code from}, from the given date on,
+     * in date order
+     */
+    NavigableMap<LocalDate, Double> getHistoricalRates(Currency from, Currency to, LocalDate since);
+
+    /**
+     * Fetches the latest rates, swaps in a new snapshot and records the day's rates in the history
+     */
+    FxRateMatrix refreshRates();
+}
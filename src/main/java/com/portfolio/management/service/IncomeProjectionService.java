@@ -0,0 +1,17 @@
+package com.portfolio.management.service;
+
+import com.portfolio.management.dto.response.IncomeProjectionResponse;
+
+import java.util.List;
+
+/**
+ * Service interface for forward-looking dividend income
+ */
+public interface IncomeProjectionService {
+
+    /**
+     * Projected dividend income of each of the current user's portfolios over the next twelve
+     * months, from cached dividend schedules. Never calls the market data provider.
+     */
+    List<IncomeProjectionResponse> getCurrentUserIncomeProjection();
+}
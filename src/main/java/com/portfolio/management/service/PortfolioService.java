@@ -114,6 +114,9 @@ public interface PortfolioService {
 
     void syncPortfolioWithBroker(String portfolioId, String brokerId);
 
+    // Conditional Reads
+    long getContentVersion(String portfolioId);
+
     // Utility Methods
     Portfolio getPortfolioEntityById(String portfolioId);
 
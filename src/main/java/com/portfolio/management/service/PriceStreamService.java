@@ -0,0 +1,20 @@
+package com.portfolio.management.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Service interface for live price streaming
+ */
+public interface PriceStreamService {
+
+    /**
+     * Open a Server-Sent Events stream of price changes for the current user's watchlist
+     * and active holdings
+     */
+    SseEmitter subscribe();
+
+    /**
+     * Fetch quotes for every symbol with an open stream; changes are pushed to subscribers
+     */
+    void refreshStreamedPrices();
+}
@@ -0,0 +1,16 @@
+package com.portfolio.management.service;
+
+import com.portfolio.management.dto.request.ProjectionRequest;
+import com.portfolio.management.dto.response.ProjectionResponse;
+
+/**
+ * Service interface for Monte Carlo portfolio projections
+ */
+public interface ProjectionService {
+
+    /**
+     * Simulated value of the portfolio at its current weights over the requested horizon,
+     * with the probability of reaching the target value if one is given
+     */
+    ProjectionResponse projectPortfolio(String portfolioId, ProjectionRequest request);
+}
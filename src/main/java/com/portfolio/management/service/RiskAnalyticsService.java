@@ -0,0 +1,23 @@
+package com.portfolio.management.service;
+
+import com.portfolio.management.dto.response.PortfolioRiskResponse;
+
+import java.util.List;
+
+/**
+ * Service interface for return-based risk metrics
+ */
+public interface RiskAnalyticsService {
+
+    /**
+     * Volatility, beta, VaR and expected shortfall of a portfolio and its holdings, from
+     * daily returns over the configured lookback
+     */
+    PortfolioRiskResponse getPortfolioRisk(String portfolioId);
+
+    /**
+     * Risk of every portfolio in one batch. Stores each holding's volatility and beta,
+     * which findHoldingsByRiskLevel classifies on.
+     */
+    List<PortfolioRiskResponse> calculateAllPortfolioRisk();
+}
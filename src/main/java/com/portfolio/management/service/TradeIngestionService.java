@@ -0,0 +1,17 @@
+package com.portfolio.management.service;
+
+import com.portfolio.management.dto.request.TradeBatchRequest;
+import com.portfolio.management.dto.response.TradeBatchResponse;
+
+/**
+ * Service interface for ingesting batches of buy and sell fills
+ */
+public interface TradeIngestionService {
+
+    /**
+     * Record every trade of the batch and apply it to its holding, all or nothing.
+     * Trades on the same holding are applied in transaction date order; a sell that
+     * exceeds the quantity held at that point rejects the whole batch.
+     */
+    TradeBatchResponse ingestTrades(TradeBatchRequest request);
+}
@@ -0,0 +1,18 @@
+package com.portfolio.management.service;
+
+import com.portfolio.management.dto.response.TransactionResponse;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Service interface for reading transactions that were archived out of the database
+ */
+public interface TransactionArchiveService {
+
+    /**
+     * Archived transactions of one portfolio, or of all the current user's portfolios when
+     * portfolioId is null, dated within [startDate, endDate), newest first, at most limit rows
+     */
+    List<TransactionResponse> getArchivedTransactions(String portfolioId, Instant startDate, Instant endDate, int limit);
+}
@@ -0,0 +1,32 @@
+package com.portfolio.management.service;
+
+import com.portfolio.management.dto.request.TransactionSearchRequest;
+import com.portfolio.management.dto.response.CursorPageResponse;
+import com.portfolio.management.dto.response.TransactionResponse;
+
+/**
+ * Service interface for reading transaction history
+ */
+public interface TransactionService {
+
+    // History (keyset pagination)
+
+    /**
+     * Get a page of a portfolio's transactions, newest first.
+     * A null cursor starts from the most recent transaction.
+     */
+    CursorPageResponse<TransactionResponse> getPortfolioTransactions(String portfolioId, String cursor, int size);
+
+    /**
+     * Get a page of the current user's transactions across all portfolios, newest first
+     */
+    CursorPageResponse<TransactionResponse> getCurrentUserTransactions(String cursor, int size);
+
+    // Search
+
+    /**
+     * Search transactions within one portfolio, or across the current user's portfolios,
+     * newest first with the same cursor pagination as the history listings
+     */
+    CursorPageResponse<TransactionResponse> searchTransactions(TransactionSearchRequest request, String cursor, int size);
+}
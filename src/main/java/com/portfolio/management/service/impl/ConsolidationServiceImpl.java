@@ -0,0 +1,122 @@
+package com.portfolio.management.service.impl;
+
+import com.portfolio.management.config.AppProperties;
+import com.portfolio.management.dto.response.ConsolidatedValueResponse;
+import com.portfolio.management.dto.response.ConsolidatedValueResponse.PortfolioValue;
+import com.portfolio.management.enums.Currency;
+import com.portfolio.management.exception.BadRequestException;
+import com.portfolio.management.repository.PortfolioRepository;
+import com.portfolio.management.repository.PortfolioRepository.UserHoldingTotalsView;
+import com.portfolio.management.security.UserPrincipal;
+import com.portfolio.management.service.ConsolidationService;
+import com.portfolio.management.service.FxRateService;
+import com.portfolio.management.service.impl.PortfolioSummaryEngine.HoldingTotals;
+import com.portfolio.management.service.marketdata.FxRateMatrix;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * ConsolidationService Implementation
+ * One grouped query returns the user's active holdings summed per portfolio and quoted currency.
+ * Each row is converted once at the current FX snapshot, into the portfolio currency and into the
+ * reporting currency, so net worth and the per-portfolio values come out of a single pass.
+ */
+@Service
+public class ConsolidationServiceImpl implements ConsolidationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConsolidationServiceImpl.class);
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final PortfolioRepository portfolioRepository;
+    private final FxRateService fxRateService;
+    private final String defaultCurrency;
+    private final Clock clock;
+
+    public ConsolidationServiceImpl(PortfolioRepository portfolioRepository,
+                                    FxRateService fxRateService,
+                                    AppProperties appProperties,
+                                    Clock clock) {
+        this.portfolioRepository = portfolioRepository;
+        this.fxRateService = fxRateService;
+        this.defaultCurrency = appProperties.getPortfolio().getDefaultCurrency();
+        this.clock = clock;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ConsolidatedValueResponse getCurrentUserConsolidatedValue(String currency) {
+        Currency reporting = parseCurrency(currency != null ? currency : defaultCurrency);
+        String userId = getCurrentUserPrincipal().getId();
+        FxRateMatrix rates = fxRateService.getCurrentRates();
+
+        Map<String, PortfolioValue> portfolios = new LinkedHashMap<>();
+        Map<String, BigDecimal> nativeValues = new LinkedHashMap<>();
+        HoldingTotals total = new HoldingTotals();
+        for (UserHoldingTotalsView row : portfolioRepository.summarizeHoldingsByUserId(userId)) {
+            PortfolioValue portfolio = portfolios.computeIfAbsent(row.getPortfolioId(), id -> {
+                PortfolioValue value = new PortfolioValue();
+                value.setPortfolioId(id);
+                value.setPortfolioName(row.getPortfolioName());
+                value.setCurrency(row.getPortfolioCurrency());
+                value.setConvertedValue(BigDecimal.ZERO);
+                return value;
+            });
+            nativeValues.merge(row.getPortfolioId(),
+                    rates.convert(row.getTotalValue(), row.getCurrency(), row.getPortfolioCurrency()), BigDecimal::add);
+            BigDecimal converted = rates.convert(row.getTotalValue(), row.getCurrency(), reporting);
+            portfolio.setConvertedValue(portfolio.getConvertedValue().add(converted));
+            total.add(row, rates, reporting);
+        }
+
+        ConsolidatedValueResponse response = new ConsolidatedValueResponse();
+        response.setCurrency(reporting);
+        response.setAsOf(clock.instant());
+        response.setRatesDate(rates.getRateDate());
+        response.setTotalValue(total.value.setScale(2, RoundingMode.HALF_UP));
+        response.setTotalInvested(total.invested.setScale(2, RoundingMode.HALF_UP));
+        BigDecimal gainLoss = total.value.subtract(total.invested);
+        response.setTotalGainLoss(gainLoss.setScale(2, RoundingMode.HALF_UP));
+        response.setGainLossPercentage(PortfolioSummaryEngine.percentOf(gainLoss, total.invested));
+        response.setDayChange(total.dayChange.setScale(2, RoundingMode.HALF_UP));
+        response.setHoldingsCount((int) total.count);
+        for (PortfolioValue portfolio : portfolios.values()) {
+            BigDecimal converted = portfolio.getConvertedValue();
+            portfolio.setValue(nativeValues.get(portfolio.getPortfolioId()).setScale(2, RoundingMode.HALF_UP));
+            portfolio.setWeightPercent(total.value.signum() > 0
+                    ? converted.multiply(HUNDRED).divide(total.value, 4, RoundingMode.HALF_UP)
+                    : BigDecimal.ZERO);
+            portfolio.setConvertedValue(converted.setScale(2, RoundingMode.HALF_UP));
+            response.getPortfolios().add(portfolio);
+        }
+
+        logger.debug("Consolidated {} portfolios of user {} in {}", portfolios.size(), userId, reporting);
+        return response;
+    }
+
+    private static Currency parseCurrency(String code) {
+        try {
+            return Currency.fromCode(code);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unsupported currency: " + code);
+        }
+    }
+
+    private UserPrincipal getCurrentUserPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal)) {
+            throw new BadRequestException("No authenticated user found");
+        }
+        return (UserPrincipal) authentication.getPrincipal();
+    }
+}
@@ -0,0 +1,300 @@
+package com.portfolio.management.service.impl;
+
+import com.portfolio.management.config.AppProperties;
+import com.portfolio.management.enums.TransactionType;
+import com.portfolio.management.exception.BadRequestException;
+import com.portfolio.management.repository.HoldingRepository;
+import com.portfolio.management.repository.PortfolioRepository;
+import com.portfolio.management.service.CorporateActionService;
+import com.portfolio.management.service.MarketDataService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.portfolio.management.constants.AppConstants.CACHE_HOLDINGS;
+import static com.portfolio.management.constants.AppConstants.CACHE_PORTFOLIOS;
+
+/**
+ * CorporateActionService Implementation
+ * Each event is one transaction of a fixed number of statements however many portfolios hold the
+ * symbol: a ledger insert that claims the event, one UPDATE (split) or INSERT ... SELECT
+ * (dividend) over all holders, and one content version bump for the portfolios touched. Derived
+ * holding values and portfolio totals are maintained by the holdings triggers. A ledger key that
+ * is already taken means the event was applied before, and nothing else runs. Events run with
+ * every portfolio writer held, so no queued write interleaves with the set-based statements.
+ */
+@Service
+public class CorporateActionServiceImpl implements CorporateActionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CorporateActionServiceImpl.class);
+
+    private static final String CLAIM_SPLIT =
+            "INSERT INTO corporate_actions (symbol, action_type, effective_date, split_factor) " +
+            "VALUES (?, 'split', ?, ?) ON CONFLICT DO NOTHING";
+    private static final String CLAIM_DIVIDEND =
+            "INSERT INTO corporate_actions (symbol, action_type, effective_date, dividend_per_share, payment_date) " +
+            "VALUES (?, 'dividend', ?, ?, ?) ON CONFLICT DO NOTHING";
+    private static final String RECORD_AFFECTED =
+            "UPDATE corporate_actions SET holdings_affected = ? WHERE symbol = ? AND action_type = ? AND effective_date = ?";
+
+    // Only shares held before the split date are multiplied: trades booked since then are already
+    // in post-split units, and positions opened since then were bought at post-split prices.
+    // Cost basis is unchanged, so the average price follows the new quantity.
+    private static final String SPLIT_HOLDINGS =
+            "WITH moved AS (" +
+            "SELECT h.id, COALESCE(SUM(CASE t.type WHEN ? THEN t.quantity WHEN ? THEN -t.quantity ELSE 0 END), 0) AS since_split " +
+            "FROM holdings h LEFT JOIN transactions t ON t.holding_id = h.id AND t.transaction_date >= ? " +
+            "WHERE h.symbol = ? AND h.quantity > 0 AND h.purchase_date < ? GROUP BY h.id), " +
+            "adjusted AS (" +
+            "SELECT h.id, ROUND((h.quantity - m.since_split) * ? + m.since_split, 6) AS quantity " +
+            "FROM holdings h JOIN moved m ON m.id = h.id WHERE h.quantity - m.since_split > 0) " +
+            "UPDATE holdings h SET quantity = a.quantity, " +
+            "average_price = ROUND(h.average_price * h.quantity / a.quantity, 4), " +
+            "current_price = ROUND(h.current_price / ?, 4), previous_close_price = ROUND(h.previous_close_price / ?, 4), " +
+            "target_price = ROUND(h.target_price / ?, 4), stop_loss_price = ROUND(h.stop_loss_price / ?, 4), " +
+            "version = h.version + 1 " +
+            "FROM adjusted a WHERE h.id = a.id AND a.quantity > 0 " +
+            "RETURNING h.id, h.portfolio_id";
+
+    // Shares held at the ex-date, in ex-date units: today's quantity less the trades booked since,
+    // each scaled by the splits applied after it, then scaled back by the splits applied after the
+    // ex-date. Holdings opened by import have no opening trade, so the ledger alone is not enough.
+    private static final String PAY_DIVIDEND =
+            "WITH splits AS (" +
+            "SELECT effective_date, split_factor FROM corporate_actions WHERE symbol = ? AND action_type = 'split'), " +
+            "moved AS (" +
+            "SELECT t.holding_id, SUM(CASE t.type WHEN ? THEN t.quantity ELSE -t.quantity END * f.factor) AS quantity " +
+            "FROM transactions t JOIN holdings h ON h.id = t.holding_id " +
+            "CROSS JOIN LATERAL (SELECT COALESCE(EXP(SUM(LN(s.split_factor))), 1) AS factor " +
+            "FROM splits s WHERE s.effective_date > t.transaction_date) f " +
+            "WHERE h.symbol = ? AND t.type IN (?, ?) AND t.transaction_date >= ? GROUP BY t.holding_id), " +
+            "entitled AS (" +
+            "SELECT h.id, ROUND((h.quantity - COALESCE(m.quantity, 0)) / " +
+            "(SELECT COALESCE(EXP(SUM(LN(s.split_factor))), 1) FROM splits s WHERE s.effective_date > ?), 6) AS shares " +
+            "FROM holdings h LEFT JOIN moved m ON m.holding_id = h.id WHERE h.symbol = ?) " +
+            "INSERT INTO transactions (id, portfolio_id, user_id, holding_id, type, symbol, quantity, price, " +
+            "total_amount, fees, currency, transaction_date, notes) " +
+            "SELECT gen_random_uuid()::text, h.portfolio_id, p.user_id, h.id, ?, h.symbol, e.shares, ?, " +
+            "ROUND(e.shares * ?, 2), 0, p.currency, ?, ? " +
+            "FROM entitled e JOIN holdings h ON h.id = e.id JOIN portfolios p ON p.id = h.portfolio_id " +
+            "WHERE e.shares > 0 " +
+            "RETURNING portfolio_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PortfolioMutationExecutor mutationExecutor;
+    private final HoldingRepository holdingRepository;
+    private final PortfolioRepository portfolioRepository;
+    private final MarketDataService marketDataService;
+    private final CacheManager cacheManager;
+    private final PriceAlertEngine priceAlertEngine;
+    private final AppProperties.CorporateActions properties;
+    private final Clock clock;
+
+    public CorporateActionServiceImpl(DataSource dataSource,
+                                      PortfolioMutationExecutor mutationExecutor,
+                                      HoldingRepository holdingRepository,
+                                      PortfolioRepository portfolioRepository,
+                                      MarketDataService marketDataService,
+                                      CacheManager cacheManager,
+                                      PriceAlertEngine priceAlertEngine,
+                                      AppProperties appProperties,
+                                      Clock clock) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.mutationExecutor = mutationExecutor;
+        this.holdingRepository = holdingRepository;
+        this.portfolioRepository = portfolioRepository;
+        this.marketDataService = marketDataService;
+        this.cacheManager = cacheManager;
+        this.priceAlertEngine = priceAlertEngine;
+        this.properties = appProperties.getCorporateActions();
+        this.clock = clock;
+    }
+
+    @Scheduled(cron = "${app.corporate-actions.sync-cron:0 30 22 * * MON-FRI}")
+    public void scheduledSync() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        syncCorporateActions(clock.instant().minus(Duration.ofDays(properties.getLookbackDays())));
+    }
+
+    @Override
+    public int syncCorporateActions(Instant since) {
+        Instant now = clock.instant();
+        List<String> symbols = holdingRepository.findDistinctHeldSymbols();
+        int applied = 0;
+
+        for (String symbol : symbols) {
+            // One provider round trip per symbol and event kind, however many portfolios hold it
+            List<Map<String, Object>> events = new ArrayList<>();
+            events.addAll(marketDataService.getStockSplits(symbol, since, now));
+            events.addAll(marketDataService.getDividendHistory(symbol, since, now));
+            // Oldest first, so a dividend after a split is paid on the split-adjusted quantity
+            events.sort(Comparator.comparing(CorporateActionServiceImpl::effectiveDate,
+                    Comparator.nullsLast(Comparator.naturalOrder())));
+
+            for (Map<String, Object> event : events) {
+                try {
+                    if (applyEvent(symbol, event, now)) {
+                        applied++;
+                    }
+                } catch (RuntimeException e) {
+                    // Not in the ledger, so the next sync retries it
+                    logger.error("Could not apply corporate action {} for {}: {}", event, symbol, e.getMessage());
+                }
+            }
+        }
+
+        logger.info("Corporate action sync over {} symbols applied {} events", symbols.size(), applied);
+        return applied;
+    }
+
+    @Override
+    public int applyStockSplit(String symbol, Instant splitDate, BigDecimal splitFactor) {
+        if (splitFactor == null || splitFactor.signum() <= 0) {
+            throw new BadRequestException("Split factor must be greater than zero");
+        }
+        Timestamp effective = Timestamp.from(splitDate);
+
+        Integer adjusted = mutationExecutor.executeExclusive(() -> {
+            if (jdbcTemplate.update(CLAIM_SPLIT, symbol, effective, splitFactor) == 0) {
+                return null;
+            }
+            List<String[]> holdings = jdbcTemplate.query(SPLIT_HOLDINGS,
+                    (rs, rowNum) -> new String[]{rs.getString("id"), rs.getString("portfolio_id")},
+                    TransactionType.BUY.name(), TransactionType.SELL.name(), effective, symbol, effective,
+                    splitFactor, splitFactor, splitFactor, splitFactor, splitFactor);
+
+            Set<String> portfolioIds = new LinkedHashSet<>();
+            List<String> holdingIds = new ArrayList<>(holdings.size());
+            for (String[] holding : holdings) {
+                holdingIds.add(holding[0]);
+                portfolioIds.add(holding[1]);
+            }
+            finish(symbol, "split", effective, holdings.size(), holdingIds, portfolioIds);
+            return holdings.size();
+        });
+
+        if (adjusted == null) {
+            logger.debug("Split of {} on {} already applied", symbol, splitDate);
+            return 0;
+        }
+        logger.info("Applied split of {} by factor {} to {} holdings", symbol, splitFactor, adjusted);
+        return adjusted;
+    }
+
+    @Override
+    public int applyDividend(String symbol, Instant exDividendDate, Instant paymentDate, BigDecimal dividendPerShare) {
+        if (dividendPerShare == null || dividendPerShare.signum() <= 0) {
+            throw new BadRequestException("Dividend per share must be greater than zero");
+        }
+        if (paymentDate.isBefore(exDividendDate)) {
+            throw new BadRequestException("Dividend payment date cannot be before the ex-dividend date");
+        }
+        Timestamp effective = Timestamp.from(exDividendDate);
+        Timestamp paid = Timestamp.from(paymentDate);
+
+        Integer paidHoldings = mutationExecutor.executeExclusive(() -> {
+            if (jdbcTemplate.update(CLAIM_DIVIDEND, symbol, effective, dividendPerShare, paid) == 0) {
+                return null;
+            }
+            List<String> portfolioIds = jdbcTemplate.queryForList(PAY_DIVIDEND, String.class,
+                    symbol, TransactionType.BUY.name(), symbol, TransactionType.BUY.name(), TransactionType.SELL.name(),
+                    effective, effective, symbol,
+                    TransactionType.DIVIDEND.name(), dividendPerShare, dividendPerShare, paid,
+                    "Dividend of " + dividendPerShare + " per share, ex-date " + exDividendDate);
+
+            // Quantities and values are unchanged; only the portfolios' transaction lists grew
+            finish(symbol, "dividend", effective, portfolioIds.size(), List.of(), new LinkedHashSet<>(portfolioIds));
+            return portfolioIds.size();
+        });
+
+        if (paidHoldings == null) {
+            logger.debug("Dividend of {} with ex-date {} already applied", symbol, exDividendDate);
+            return 0;
+        }
+        logger.info("Paid dividend of {} per share of {} to {} holdings", dividendPerShare, symbol, paidHoldings);
+        return paidHoldings;
+    }
+
+    private boolean applyEvent(String symbol, Map<String, Object> event, Instant now) {
+        if (event.containsKey("factor")) {
+            Instant splitDate = instant(event.get("date"));
+            if (splitDate == null || splitDate.isAfter(now)) {
+                return false;
+            }
+            return applyStockSplit(symbol, splitDate, decimal(event.get("factor"))) > 0;
+        }
+
+        Instant exDate = instant(event.get("exDate"));
+        Instant payDate = instant(event.get("payDate"));
+        // Booked on the payment date, so wait until it has passed
+        if (exDate == null || payDate == null || payDate.isAfter(now)) {
+            return false;
+        }
+        return applyDividend(symbol, exDate, payDate, decimal(event.get("amount"))) > 0;
+    }
+
+    private void finish(String symbol, String actionType, Timestamp effective, int affected,
+                        List<String> holdingIds, Set<String> portfolioIds) {
+        jdbcTemplate.update(RECORD_AFFECTED, affected, symbol, actionType, effective);
+        if (!portfolioIds.isEmpty()) {
+            portfolioRepository.incrementContentVersions(portfolioIds);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(CACHE_HOLDINGS, holdingIds);
+                evict(CACHE_PORTFOLIOS, portfolioIds);
+                // Split holdings' quantities and alert levels were rewritten in SQL
+                if (!holdingIds.isEmpty()) {
+                    priceAlertEngine.reloadPortfolios(portfolioIds);
+                }
+            }
+        });
+    }
+
+    private void evict(String cacheName, Iterable<String> keys) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            keys.forEach(cache::evict);
+        }
+    }
+
+    private static Instant effectiveDate(Map<String, Object> event) {
+        return instant(event.containsKey("factor") ? event.get("date") : event.get("exDate"));
+    }
+
+    private static Instant instant(Object value) {
+        if (value instanceof Instant instant) {
+            return instant;
+        }
+        return value != null ? Instant.parse(value.toString()) : null;
+    }
+
+    private static BigDecimal decimal(Object value) {
+        if (value instanceof BigDecimal decimal) {
+            return decimal;
+        }
+        return value != null ? new BigDecimal(value.toString()) : null;
+    }
+}
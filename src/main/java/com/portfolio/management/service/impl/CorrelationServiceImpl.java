@@ -0,0 +1,327 @@
+package com.portfolio.management.service.impl;
+
+import com.portfolio.management.config.AppProperties;
+import com.portfolio.management.dto.response.CorrelationMatrixResponse;
+import com.portfolio.management.dto.response.DiversificationResponse;
+import com.portfolio.management.exception.BadRequestException;
+import com.portfolio.management.repository.HoldingRepository;
+import com.portfolio.management.repository.HoldingRepository.RiskPositionView;
+import com.portfolio.management.service.CorrelationService;
+import com.portfolio.management.service.FxRateService;
+import com.portfolio.management.service.PortfolioService;
+import com.portfolio.management.service.impl.CovarianceEngine.CovarianceMatrix;
+import com.portfolio.management.service.impl.ReturnSeriesLoader.AlignedReturns;
+import com.portfolio.management.service.marketdata.FxRateMatrix;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * CorrelationService Implementation
+ * One covariance matrix over every held symbol is kept per lookback window for the UTC day.
+ * Portfolio matrices and diversification scores are cut out of it, so the O(n^2) work runs once
+ * per window and day. Matrices are built on the task executor, at most one build per window at a
+ * time, and precomputed just after midnight UTC; requests only read. A stale matrix, or one missing
+ * a newly bought symbol, is served while its replacement builds, and the symbol is reported as
+ * unpriced until then. Only a window that has never been built makes the request wait.
+ */
+@Service
+public class CorrelationServiceImpl implements CorrelationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CorrelationServiceImpl.class);
+
+    private final HoldingRepository holdingRepository;
+    private final PortfolioService portfolioService;
+    private final ReturnSeriesLoader seriesLoader;
+    private final CovarianceEngine engine;
+    private final FxRateService fxRateService;
+    private final AppProperties.Risk properties;
+    private final Clock clock;
+    private final Executor executor;
+    private final Map<Integer, UniverseMatrix> cache = new ConcurrentHashMap<>();
+    private final Map<Integer, CompletableFuture<UniverseMatrix>> builds = new ConcurrentHashMap<>();
+
+    public CorrelationServiceImpl(HoldingRepository holdingRepository,
+                                  PortfolioService portfolioService,
+                                  ReturnSeriesLoader seriesLoader,
+                                  CovarianceEngine engine,
+                                  FxRateService fxRateService,
+                                  AppProperties appProperties,
+                                  Clock clock,
+                                  @Qualifier("taskExecutor") Executor executor) {
+        this.holdingRepository = holdingRepository;
+        this.portfolioService = portfolioService;
+        this.seriesLoader = seriesLoader;
+        this.engine = engine;
+        this.fxRateService = fxRateService;
+        this.properties = appProperties.getRisk();
+        this.clock = clock;
+        this.executor = executor;
+    }
+
+    @Scheduled(cron = "${app.risk.correlation-refresh-cron:0 5 0 * * *}", zone = "UTC")
+    public void refreshMatrices() {
+        Set<Integer> windows = new TreeSet<>(properties.getCorrelationLookbacks());
+        windows.add(properties.getLookbackDays());
+        windows.forEach(lookbackDays -> build(lookbackDays, null));
+    }
+
+    @Override
+    public CorrelationMatrixResponse getPortfolioCorrelation(String portfolioId, Integer lookbackDays) {
+        portfolioService.validatePortfolioAccess(portfolioId);
+        int lookback = resolveLookback(lookbackDays);
+
+        PortfolioMatrix portfolio = portfolioMatrix(portfolioId, lookback);
+        CorrelationMatrixResponse response = toResponse(portfolio.matrix, lookback, portfolio.unpriced);
+        response.setPortfolioId(portfolioId);
+        return response;
+    }
+
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    public CorrelationMatrixResponse getUniverseCorrelation(Integer lookbackDays) {
+        int lookback = resolveLookback(lookbackDays);
+        UniverseMatrix universe = universe(lookback, null);
+
+        List<String> unpriced = new ArrayList<>();
+        for (String symbol : universe.requested) {
+            if (universe.matrix.indexOf(symbol) < 0) {
+                unpriced.add(symbol);
+            }
+        }
+        return toResponse(universe.matrix, lookback, unpriced);
+    }
+
+    @Override
+    public DiversificationResponse getPortfolioDiversification(String portfolioId, Integer lookbackDays) {
+        portfolioService.validatePortfolioAccess(portfolioId);
+        int lookback = resolveLookback(lookbackDays);
+
+        PortfolioMatrix portfolio = portfolioMatrix(portfolioId, lookback);
+        CovarianceMatrix matrix = portfolio.matrix;
+        int n = matrix.size();
+
+        DiversificationResponse response = new DiversificationResponse();
+        response.setPortfolioId(portfolioId);
+        response.setLookbackDays(lookback);
+        response.setAsOf(clock.instant());
+        response.setObservations(matrix.observations());
+        response.setPricedHoldings(n);
+        if (n == 0) {
+            return response;
+        }
+
+        double bets = CovarianceEngine.effectiveNumberOfBets(matrix, portfolio.weights);
+        if (Double.isFinite(bets)) {
+            response.setEffectiveNumberOfBets(BigDecimal.valueOf(bets).setScale(4, RoundingMode.HALF_UP));
+            double score = n > 1 ? Math.min(1, Math.max(0, (bets - 1) / (n - 1))) * 100 : 0;
+            response.setDiversificationScore(BigDecimal.valueOf(score).setScale(2, RoundingMode.HALF_UP));
+        }
+
+        double weightedCorrelation = 0;
+        double pairWeight = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                double weight = portfolio.weights[i] * portfolio.weights[j];
+                weightedCorrelation += weight * matrix.correlation(i, j);
+                pairWeight += weight;
+            }
+        }
+        if (pairWeight > 0) {
+            response.setAverageCorrelation(BigDecimal.valueOf(weightedCorrelation / pairWeight)
+                    .setScale(4, RoundingMode.HALF_UP));
+        }
+        return response;
+    }
+
+    private PortfolioMatrix portfolioMatrix(String portfolioId, int lookbackDays) {
+        List<RiskPositionView> positions = holdingRepository.findRiskPositionsByPortfolioId(portfolioId);
+        Set<String> symbols = new LinkedHashSet<>();
+        positions.forEach(position -> symbols.add(position.getSymbol()));
+        return new PortfolioMatrix(positions, universe(lookbackDays, symbols), fxRateService.getCurrentRates());
+    }
+
+    private int resolveLookback(Integer lookbackDays) {
+        if (lookbackDays == null) {
+            return properties.getLookbackDays();
+        }
+        if (lookbackDays != properties.getLookbackDays() && !properties.getCorrelationLookbacks().contains(lookbackDays)) {
+            throw new BadRequestException("lookbackDays must be one of " + properties.getCorrelationLookbacks());
+        }
+        return lookbackDays;
+    }
+
+    /**
+     * The window's matrix, waiting only when none has been built yet. A matrix that is stale or was
+     * not built over all of the required symbols (null: only the currently held ones) is returned
+     * as is and replaced in the background; a symbol bought after the build is held by then and so
+     * is included.
+     */
+    private UniverseMatrix universe(int lookbackDays, Collection<String> required) {
+        UniverseMatrix cached = cache.get(lookbackDays);
+        if (cached != null) {
+            if (!cached.isCurrent(today(), required)) {
+                build(lookbackDays, required);
+            }
+            return cached;
+        }
+        try {
+            return build(lookbackDays, required).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Starts a build of the window unless one is already running, whose result is then shared
+     */
+    private CompletableFuture<UniverseMatrix> build(int lookbackDays, Collection<String> required) {
+        CompletableFuture<UniverseMatrix> build = new CompletableFuture<>();
+        CompletableFuture<UniverseMatrix> running = builds.putIfAbsent(lookbackDays, build);
+        if (running != null) {
+            return running;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    UniverseMatrix matrix = buildMatrix(lookbackDays, required);
+                    cache.put(lookbackDays, matrix);
+                    build.complete(matrix);
+                } catch (RuntimeException | Error e) {
+                    logger.error("Could not build {}-day covariance matrix: {}", lookbackDays, e.getMessage());
+                    build.completeExceptionally(e);
+                } finally {
+                    builds.remove(lookbackDays, build);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            builds.remove(lookbackDays, build);
+            build.completeExceptionally(e);
+        }
+        return build;
+    }
+
+    private UniverseMatrix buildMatrix(int lookbackDays, Collection<String> required) {
+        long started = System.nanoTime();
+        LocalDate today = today();
+        Set<String> symbols = new TreeSet<>(holdingRepository.findDistinctHeldSymbols());
+        if (required != null) {
+            symbols.addAll(required);
+        }
+        AlignedReturns series = seriesLoader.load(symbols, properties.getBenchmarkSymbol(), lookbackDays);
+
+        List<String> priced = new ArrayList<>(symbols.size());
+        List<double[]> returns = new ArrayList<>(symbols.size());
+        for (String symbol : symbols) {
+            double[] symbolReturns = series.returns(symbol);
+            if (symbolReturns != null) {
+                priced.add(symbol);
+                returns.add(symbolReturns);
+            }
+        }
+        CovarianceMatrix matrix = engine.compute(priced, returns);
+        logger.info("Built {}-day covariance matrix over {} symbols ({} observations) in {} ms", lookbackDays,
+                priced.size(), matrix.observations(), (System.nanoTime() - started) / 1_000_000);
+        return new UniverseMatrix(today, symbols, matrix);
+    }
+
+    private LocalDate today() {
+        return LocalDate.now(clock.withZone(ZoneOffset.UTC));
+    }
+
+    private CorrelationMatrixResponse toResponse(CovarianceMatrix matrix, int lookbackDays, List<String> unpriced) {
+        CorrelationMatrixResponse response = new CorrelationMatrixResponse();
+        response.setLookbackDays(lookbackDays);
+        response.setAsOf(clock.instant());
+        response.setObservations(matrix.observations());
+        for (int i = 0; i < matrix.size(); i++) {
+            response.getSymbols().add(matrix.symbol(i));
+            double volatility = matrix.annualizedVolatility(i);
+            response.getAnnualizedVolatility().add(Double.isFinite(volatility)
+                    ? BigDecimal.valueOf(volatility * 100).setScale(4, RoundingMode.HALF_UP) : null);
+        }
+        response.setCorrelations(matrix.packedCorrelation());
+        response.setUnpricedSymbols(unpriced);
+        return response;
+    }
+
+    /**
+     * Covariance over the symbols it was built for; requested also holds those without history
+     */
+    private static final class UniverseMatrix {
+        private final LocalDate builtOn;
+        private final Set<String> requested;
+        private final CovarianceMatrix matrix;
+
+        private UniverseMatrix(LocalDate builtOn, Set<String> requested, CovarianceMatrix matrix) {
+            this.builtOn = builtOn;
+            this.requested = requested;
+            this.matrix = matrix;
+        }
+
+        private boolean isCurrent(LocalDate today, Collection<String> required) {
+            return builtOn.equals(today) && (required == null || requested.containsAll(required));
+        }
+    }
+
+    /**
+     * A portfolio's slice of the universe matrix in holding order, weighted by market value in the
+     * portfolio currency among the priced holdings. Returns stay in each symbol's own currency.
+     */
+    private static final class PortfolioMatrix {
+        private final CovarianceMatrix matrix;
+        private final double[] weights;
+        private final List<String> unpriced = new ArrayList<>();
+
+        private PortfolioMatrix(List<RiskPositionView> positions, UniverseMatrix universe, FxRateMatrix rates) {
+            List<Integer> covered = new ArrayList<>(positions.size());
+            List<Double> values = new ArrayList<>(positions.size());
+            double coveredValue = 0;
+            for (RiskPositionView position : positions) {
+                int index = universe.matrix.indexOf(position.getSymbol());
+                if (index < 0) {
+                    unpriced.add(position.getSymbol());
+                    continue;
+                }
+                BigDecimal marketValue = rates.convert(position.getMarketValue(), position.getCurrency(),
+                        position.getPortfolioCurrency());
+                double value = marketValue != null ? marketValue.doubleValue() : 0;
+                covered.add(index);
+                values.add(value);
+                coveredValue += value;
+            }
+
+            int[] indices = new int[covered.size()];
+            this.weights = new double[covered.size()];
+            for (int i = 0; i < indices.length; i++) {
+                indices[i] = covered.get(i);
+                weights[i] = coveredValue > 0 ? values.get(i) / coveredValue : 1.0 / indices.length;
+            }
+            this.matrix = universe.matrix.select(indices);
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package com.portfolio.management.service.impl;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Sample covariance and correlation of aligned daily return series.
+ * The demeaned series are copied into one contiguous row-major array and the upper triangle of
+ * the symbol x symbol matrix is cut into square tiles. Each tile pair is a fork/join leaf that
+ * walks the observations in blocks, so the rows of both tiles stay in cache while their dot
+ * products accumulate. Tile pairs write disjoint entries of the packed upper triangle: covariance
+ * as double, correlation as float.
+ */
+@Component
+class CovarianceEngine {
+
+    // Symbols per tile side and observations per pass over a tile pair: two tiles of
+    // 64 x 256 doubles are 256 KB, about one core's L2
+    private static final int TILE = 64;
+    private static final int TIME_BLOCK = 256;
+
+    private static final int JACOBI_MAX_SWEEPS = 64;
+
+    private final ForkJoinPool pool;
+
+    CovarianceEngine(@Qualifier("analyticsPool") ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Covariance of the series, which must all have the same length; symbols name them in order
+     */
+    CovarianceMatrix compute(List<String> symbols, List<double[]> returns) {
+        int n = symbols.size();
+        int observations = n > 0 ? returns.get(0).length : 0;
+
+        double[] centered = new double[n * observations];
+        for (int i = 0; i < n; i++) {
+            double[] series = returns.get(i);
+            double sum = 0;
+            for (int t = 0; t < observations; t++) {
+                sum += series[t];
+            }
+            double mean = sum / Math.max(1, observations);
+            int row = i * observations;
+            for (int t = 0; t < observations; t++) {
+                centered[row + t] = series[t] - mean;
+            }
+        }
+
+        double[] covariance = new double[packedSize(n)];
+        if (n > 0 && observations > 1) {
+            int tiles = (n + TILE - 1) / TILE;
+            int[] tileRows = new int[tiles * (tiles + 1) / 2];
+            int[] tileColumns = new int[tileRows.length];
+            int pair = 0;
+            for (int a = 0; a < tiles; a++) {
+                for (int b = a; b < tiles; b++) {
+                    tileRows[pair] = a;
+                    tileColumns[pair++] = b;
+                }
+            }
+            pool.invoke(new TileTask(centered, n, observations, tileRows, tileColumns, covariance, 0, pair));
+        }
+        return new CovarianceMatrix(symbols.toArray(new String[0]), observations, covariance);
+    }
+
+    /**
+     * Effective number of uncorrelated bets (Meucci): the exponential of the entropy of the
+     * portfolio variance split across the principal components of the covariance. One for a
+     * single risk source, n when the weights spread variance evenly over n independent ones.
+     * NaN when the portfolio has no variance.
+     */
+    static double effectiveNumberOfBets(CovarianceMatrix covariance, double[] weights) {
+        int n = covariance.size();
+        double[][] a = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = i; j < n; j++) {
+                a[i][j] = covariance.covariance(i, j);
+                a[j][i] = a[i][j];
+            }
+        }
+        double[][] vectors = jacobiEigen(a);
+
+        double[] contributions = new double[n];
+        double total = 0;
+        for (int k = 0; k < n; k++) {
+            double exposure = 0;
+            for (int i = 0; i < n; i++) {
+                exposure += vectors[i][k] * weights[i];
+            }
+            // Eigenvalues of a covariance are non-negative; clamp rounding noise
+            contributions[k] = exposure * exposure * Math.max(0, a[k][k]);
+            total += contributions[k];
+        }
+        if (!(total > 0)) {
+            return Double.NaN;
+        }
+        double entropy = 0;
+        for (double contribution : contributions) {
+            double share = contribution / total;
+            if (share > 0) {
+                entropy -= share * Math.log(share);
+            }
+        }
+        return Math.exp(entropy);
+    }
+
+    /**
+     * Cyclic Jacobi rotations on a symmetric matrix. Leaves the eigenvalues on the diagonal of
+     * a and returns the eigenvectors as columns.
+     */
+    private static double[][] jacobiEigen(double[][] a) {
+        int n = a.length;
+        double[][] v = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            v[i][i] = 1;
+        }
+
+        for (int sweep = 0; sweep < JACOBI_MAX_SWEEPS; sweep++) {
+            double offDiagonal = 0;
+            double diagonal = 0;
+            for (int p = 0; p < n; p++) {
+                diagonal += a[p][p] * a[p][p];
+                for (int q = p + 1; q < n; q++) {
+                    offDiagonal += a[p][q] * a[p][q];
+                }
+            }
+            if (offDiagonal <= 1e-24 * diagonal) {
+                break;
+            }
+
+            for (int p = 0; p < n - 1; p++) {
+                for (int q = p + 1; q < n; q++) {
+                    if (a[p][q] == 0) {
+                        continue;
+                    }
+                    double theta = (a[q][q] - a[p][p]) / (2 * a[p][q]);
+                    double t = Math.signum(theta) / (Math.abs(theta) + Math.sqrt(theta * theta + 1));
+                    if (theta == 0) {
+                        t = 1;
+                    }
+                    double c = 1 / Math.sqrt(t * t + 1);
+                    double s = t * c;
+                    for (int k = 0; k < n; k++) {
+                        double akp = a[k][p];
+                        double akq = a[k][q];
+                        a[k][p] = c * akp - s * akq;
+                        a[k][q] = s * akp + c * akq;
+                    }
+                    for (int k = 0; k < n; k++) {
+                        double apk = a[p][k];
+                        double aqk = a[q][k];
+                        a[p][k] = c * apk - s * aqk;
+                        a[q][k] = s * apk + c * aqk;
+                    }
+                    for (int k = 0; k < n; k++) {
+                        double vkp = v[k][p];
+                        double vkq = v[k][q];
+                        v[k][p] = c * vkp - s * vkq;
+                        v[k][q] = s * vkp + c * vkq;
+                    }
+                }
+            }
+        }
+        return v;
+    }
+
+    static int packedSize(int n) {
+        return n * (n + 1) / 2;
+    }
+
+    /**
+     * Offset of (i, j), i <= j, in a row-major packed upper triangle of order n
+     */
+    static int packedIndex(int n, int i, int j) {
+        return i * n - i * (i - 1) / 2 + (j - i);
+    }
+
+    /**
+     * Symmetric covariance and correlation of named series in packed upper-triangular storage.
+     * Correlation of a series without variance is zero off the diagonal.
+     */
+    static final class CovarianceMatrix {
+        private final String[] symbols;
+        private final Map<String, Integer> index;
+        private final int observations;
+        private final double[] covariance;
+        private final float[] correlation;
+
+        private CovarianceMatrix(String[] symbols, int observations, double[] covariance) {
+            int n = symbols.length;
+            this.symbols = symbols;
+            this.observations = observations;
+            this.covariance = covariance;
+            this.index = new HashMap<>(n * 2);
+            for (int i = 0; i < n; i++) {
+                index.put(symbols[i], i);
+            }
+
+            double[] deviation = new double[n];
+            for (int i = 0; i < n; i++) {
+                deviation[i] = Math.sqrt(covariance[packedIndex(n, i, i)]);
+            }
+            this.correlation = new float[covariance.length];
+            for (int i = 0, k = 0; i < n; i++) {
+                for (int j = i; j < n; j++, k++) {
+                    double scale = deviation[i] * deviation[j];
+                    correlation[k] = i == j ? 1f : scale > 0 ? (float) (covariance[k] / scale) : 0f;
+                }
+            }
+        }
+
+        int size() {
+            return symbols.length;
+        }
+
+        String symbol(int i) {
+            return symbols[i];
+        }
+
+        /**
+         * Position of the symbol, or -1 if it is not in the matrix
+         */
+        int indexOf(String symbol) {
+            Integer i = index.get(symbol);
+            return i != null ? i : -1;
+        }
+
+        boolean containsAll(Iterable<String> symbols) {
+            for (String symbol : symbols) {
+                if (!index.containsKey(symbol)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        int observations() {
+            return observations;
+        }
+
+        double covariance(int i, int j) {
+            return i <= j ? covariance[packedIndex(size(), i, j)] : covariance[packedIndex(size(), j, i)];
+        }
+
+        double correlation(int i, int j) {
+            return i <= j ? correlation[packedIndex(size(), i, j)] : correlation[packedIndex(size(), j, i)];
+        }
+
+        double annualizedVolatility(int i) {
+            return Math.sqrt(covariance(i, i) * RiskAnalyticsEngine.TRADING_DAYS);
+        }
+
+        /**
+         * The packed correlation triangle; callers must not modify it
+         */
+        float[] packedCorrelation() {
+            return correlation;
+        }
+
+        /**
+         * The matrix restricted to the given positions, in that order
+         */
+        CovarianceMatrix select(int[] positions) {
+            int m = positions.length;
+            String[] selected = new String[m];
+            double[] packed = new double[packedSize(m)];
+            for (int i = 0, k = 0; i < m; i++) {
+                selected[i] = symbols[positions[i]];
+                for (int j = i; j < m; j++) {
+                    packed[k++] = covariance(positions[i], positions[j]);
+                }
+            }
+            return new CovarianceMatrix(selected, observations, packed);
+        }
+    }
+
+    /**
+     * Splits a range of tile pairs; a leaf computes one tile pair over all observations
+     */
+    private static final class TileTask extends RecursiveAction {
+        private final double[] centered;
+        private final int n;
+        private final int observations;
+        private final int[] tileRows;
+        private final int[] tileColumns;
+        private final double[] covariance;
+        private final int from;
+        private final int to;
+
+        private TileTask(double[] centered, int n, int observations, int[] tileRows, int[] tileColumns,
+                         double[] covariance, int from, int to) {
+            this.centered = centered;
+            this.n = n;
+            this.observations = observations;
+            this.tileRows = tileRows;
+            this.tileColumns = tileColumns;
+            this.covariance = covariance;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new TileTask(centered, n, observations, tileRows, tileColumns, covariance, from, middle),
+                        new TileTask(centered, n, observations, tileRows, tileColumns, covariance, middle, to));
+                return;
+            }
+            if (from < to) {
+                computeTile(tileRows[from] * TILE, tileColumns[from] * TILE);
+            }
+        }
+
+        private void computeTile(int rowStart, int columnStart) {
+            int rowEnd = Math.min(n, rowStart + TILE);
+            int columnEnd = Math.min(n, columnStart + TILE);
+            for (int t0 = 0; t0 < observations; t0 += TIME_BLOCK) {
+                int t1 = Math.min(observations, t0 + TIME_BLOCK);
+                for (int i = rowStart; i < rowEnd; i++) {
+                    int rowI = i * observations;
+                    // On a diagonal tile only j >= i belongs to the upper triangle
+                    for (int j = Math.max(i, columnStart); j < columnEnd; j++) {
+                        int rowJ = j * observations;
+                        // Independent accumulators keep the adds from serializing on one register
+                        double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+                        int t = t0;
+                        for (; t + 3 < t1; t += 4) {
+                            s0 += centered[rowI + t] * centered[rowJ + t];
+                            s1 += centered[rowI + t + 1] * centered[rowJ + t + 1];
+                            s2 += centered[rowI + t + 2] * centered[rowJ + t + 2];
+                            s3 += centered[rowI + t + 3] * centered[rowJ + t + 3];
+                        }
+                        for (; t < t1; t++) {
+                            s0 += centered[rowI + t] * centered[rowJ + t];
+                        }
+                        covariance[packedIndex(n, i, j)] += (s0 + s1) + (s2 + s3);
+                    }
+                }
+            }
+
+            double denominator = observations - 1;
+            for (int i = rowStart; i < rowEnd; i++) {
+                for (int j = Math.max(i, columnStart); j < columnEnd; j++) {
+                    covariance[packedIndex(n, i, j)] /= denominator;
+                }
+            }
+        }
+    }
+}
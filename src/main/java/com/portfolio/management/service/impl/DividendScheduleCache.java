@@ -0,0 +1,185 @@
+package com.portfolio.management.service.impl;
+
+import com.portfolio.management.config.AppProperties;
+import com.portfolio.management.repository.HoldingRepository;
+import com.portfolio.management.service.MarketDataService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-symbol dividend schedules (payment frequency, last amount, last ex-date and payment lag)
+ * derived from the provider's dividend history. Refreshes fetch history for a batch of symbols
+ * and publish a new immutable map with one volatile write; lookups never call the provider.
+ * Symbols looked up before they were scheduled are queued for the next pending refresh.
+ */
+@Component
+class DividendScheduleCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(DividendScheduleCache.class);
+
+    private static final double DAYS_PER_YEAR = 365.25;
+    private static final int[] FREQUENCIES = {12, 4, 2, 1};
+
+    private final MarketDataService marketDataService;
+    private final HoldingRepository holdingRepository;
+    private final AppProperties.DividendSchedules properties;
+    private final Clock clock;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private volatile Map<String, DividendSchedule> schedules = Map.of();
+
+    DividendScheduleCache(MarketDataService marketDataService,
+                          HoldingRepository holdingRepository,
+                          AppProperties appProperties,
+                          Clock clock) {
+        this.marketDataService = marketDataService;
+        this.holdingRepository = holdingRepository;
+        this.properties = appProperties.getDividendSchedules();
+        this.clock = clock;
+    }
+
+    /**
+     * Schedule of the symbol, or null if it has not been fetched yet (it is then queued)
+     */
+    DividendSchedule find(String symbol) {
+        DividendSchedule schedule = schedules.get(symbol);
+        if (schedule == null) {
+            pending.add(symbol);
+        }
+        return schedule;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.dividend-schedules.refresh-cron:0 0 6 * * *}")
+    public void refreshHeldSymbols() {
+        refresh(holdingRepository.findDistinctHeldSymbols());
+    }
+
+    @Scheduled(fixedDelayString = "${app.dividend-schedules.pending-refresh-interval-ms:300000}")
+    public void refreshPending() {
+        if (!pending.isEmpty()) {
+            refresh(new ArrayList<>(pending));
+        }
+    }
+
+    void refresh(Collection<String> symbols) {
+        Instant now = clock.instant();
+        Instant from = now.minus(Duration.ofDays(properties.getHistoryDays()));
+        Map<String, DividendSchedule> fetched = new HashMap<>();
+        for (String symbol : symbols) {
+            // MarketDataService answers an empty history on provider failure; keep the old schedule then
+            List<Map<String, Object>> history = marketDataService.getDividendHistory(symbol, from, now);
+            if (!history.isEmpty() || !schedules.containsKey(symbol)) {
+                fetched.put(symbol, DividendSchedule.fromHistory(history));
+            }
+        }
+
+        synchronized (this) {
+            Map<String, DividendSchedule> next = new HashMap<>(schedules);
+            next.putAll(fetched);
+            schedules = Map.copyOf(next);
+        }
+        pending.removeAll(symbols);
+        logger.info("Refreshed dividend schedules for {} symbols ({} cached)", fetched.size(), schedules.size());
+    }
+
+    /**
+     * Regular dividend pattern of one symbol. A symbol without dividends has zero payments per year.
+     */
+    static final class DividendSchedule {
+        static final DividendSchedule NONE = new DividendSchedule(0, BigDecimal.ZERO, null, Duration.ZERO);
+
+        private final int paymentsPerYear;
+        private final BigDecimal lastAmount;
+        private final Instant lastExDate;
+        private final Duration paymentLag;
+
+        private DividendSchedule(int paymentsPerYear, BigDecimal lastAmount, Instant lastExDate, Duration paymentLag) {
+            this.paymentsPerYear = paymentsPerYear;
+            this.lastAmount = lastAmount;
+            this.lastExDate = lastExDate;
+            this.paymentLag = paymentLag;
+        }
+
+        static DividendSchedule fromHistory(List<Map<String, Object>> history) {
+            List<Map<String, Object>> events = new ArrayList<>();
+            for (Map<String, Object> event : history) {
+                if (event.get("exDate") != null && event.get("amount") != null) {
+                    events.add(event);
+                }
+            }
+            if (events.isEmpty()) {
+                return NONE;
+            }
+            events.sort(Comparator.comparing(event -> instant(event.get("exDate"))));
+
+            Map<String, Object> last = events.get(events.size() - 1);
+            Instant lastExDate = instant(last.get("exDate"));
+            Instant lastPayDate = last.get("payDate") != null ? instant(last.get("payDate")) : lastExDate;
+
+            // Median gap between ex-dates, snapped to monthly, quarterly, semi-annual or annual
+            int paymentsPerYear = 1;
+            if (events.size() > 1) {
+                List<Long> gaps = new ArrayList<>();
+                for (int i = 1; i < events.size(); i++) {
+                    gaps.add(Duration.between(instant(events.get(i - 1).get("exDate")),
+                            instant(events.get(i).get("exDate"))).toDays());
+                }
+                gaps.sort(null);
+                double observed = DAYS_PER_YEAR / Math.max(1, gaps.get(gaps.size() / 2));
+                for (int frequency : FREQUENCIES) {
+                    if (Math.abs(Math.log(observed / frequency)) < Math.abs(Math.log(observed / paymentsPerYear))) {
+                        paymentsPerYear = frequency;
+                    }
+                }
+            }
+
+            return new DividendSchedule(paymentsPerYear, decimal(last.get("amount")), lastExDate,
+                    Duration.between(lastExDate, lastPayDate));
+        }
+
+        int getPaymentsPerYear() {
+            return paymentsPerYear;
+        }
+
+        BigDecimal getLastAmount() {
+            return lastAmount;
+        }
+
+        Instant getLastExDate() {
+            return lastExDate;
+        }
+
+        Duration getPaymentLag() {
+            return paymentLag;
+        }
+
+        Duration getInterval() {
+            return Duration.ofSeconds(Math.round(DAYS_PER_YEAR * 86_400 / paymentsPerYear));
+        }
+
+        private static Instant instant(Object value) {
+            return value instanceof Instant instant ? instant : Instant.parse(value.toString());
+        }
+
+        private static BigDecimal decimal(Object value) {
+            return value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString());
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.portfolio.management.service.impl;
+
+import com.portfolio.management.config.AppProperties;
+import com.portfolio.management.enums.Currency;
+import com.portfolio.management.exception.MarketDataException;
+import com.portfolio.management.service.FxRateService;
+import com.portfolio.management.service.marketdata.FxRateMatrix;
+import com.portfolio.management.service.marketdata.FxRateProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * FxRateService Implementation
+ * The current rates live in one immutable FxRateMatrix behind an AtomicReference: a refresh
+ * fetches every quote in one batch, builds the full matrix and swaps it in, so readers never
+ * block and never mix rates from two refreshes. Each refresh also upserts the day's per-dollar
+ * rates into fx_rates, which keeps the daily history that returns are restated with.
+ */
+@Service
+public class FxRateServiceImpl implements FxRateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FxRateServiceImpl.class);
+
+    private static final String UPSERT_RATE =
+            "INSERT INTO fx_rates (rate_date, currency, units_per_usd) VALUES (?, ?, ?) " +
+            "ON CONFLICT (rate_date, currency) DO UPDATE SET units_per_usd = EXCLUDED.units_per_usd";
+    private static final String STORED_DATES =
+            "SELECT DISTINCT rate_date FROM fx_rates WHERE rate_date >= ?";
+    private static final String PAIR_HISTORY =
+            "SELECT rate_date, currency, units_per_usd FROM fx_rates " +
+            "WHERE rate_date >= ? AND currency IN (?, ?) ORDER BY rate_date";
+
+    private final FxRateProvider provider;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AppProperties.Fx properties;
+    private final Clock clock;
+    private final AtomicReference<FxRateMatrix> current = new AtomicReference<>();
+
+    public FxRateServiceImpl(FxRateProvider provider,
+                             DataSource dataSource,
+                             PlatformTransactionManager transactionManager,
+                             AppProperties appProperties,
+                             Clock clock) {
+        this.provider = provider;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // A refresh can be triggered by a read inside a read-only transaction; the history write needs its own
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.properties = appProperties.getFx();
+        this.clock = clock;
+    }
+
+    @Override
+    public FxRateMatrix getCurrentRates() {
+        FxRateMatrix rates = current.get();
+        return rates != null ? rates : refreshRates();
+    }
+
+    @Override
+    public BigDecimal convert(BigDecimal amount, Currency from, Currency to) {
+        return getCurrentRates().convert(amount, from, to);
+    }
+
+    @Override
+    public NavigableMap<LocalDate, Double> getHistoricalRates(Currency from, Currency to, LocalDate since) {
+        Map<LocalDate, Map<String, Double>> byDate = new TreeMap<>();
+        jdbcTemplate.query(PAIR_HISTORY, rs -> {
+            byDate.computeIfAbsent(rs.getDate("rate_date").toLocalDate(), date -> new HashMap<>())
+                    .put(rs.getString("currency"), rs.getDouble("units_per_usd"));
+        }, Date.valueOf(since), from.name(), to.name());
+
+        NavigableMap<LocalDate, Double> history = new TreeMap<>();
+        byDate.forEach((date, rates) -> {
+            Double fromRate = rates.get(from.name());
+            Double toRate = rates.get(to.name());
+            if (fromRate != null && toRate != null && fromRate > 0) {
+                history.put(date, toRate / fromRate);
+            }
+        });
+        return history;
+    }
+
+    @Override
+    public synchronized FxRateMatrix refreshRates() {
+        FxRateMatrix previous = current.get();
+        Map<Currency, BigDecimal> quotes;
+        try {
+            quotes = provider.fetchLatestRates();
+        } catch (RuntimeException e) {
+            if (previous != null) {
+                logger.warn("FX provider {} unavailable, keeping rates from {}: {}", provider.getName(),
+                        previous.getFetchedAt(), e.getMessage());
+                return previous;
+            }
+            throw e instanceof MarketDataException ? e : new MarketDataException("FX rates unavailable", e);
+        }
+
+        // A currency missing from this batch keeps its previous rate rather than dropping out
+        Map<Currency, BigDecimal> unitsPerUsd = new EnumMap<>(Currency.class);
+        if (previous != null) {
+            for (Currency currency : Currency.values()) {
+                if (hasRate(previous, currency)) {
+                    unitsPerUsd.put(currency, previous.rate(Currency.USD, currency));
+                }
+            }
+        }
+        unitsPerUsd.putAll(quotes);
+
+        LocalDate today = LocalDate.now(clock.withZone(ZoneOffset.UTC));
+        FxRateMatrix rates = FxRateMatrix.fromUsdRates(today, clock.instant(), unitsPerUsd);
+        current.set(rates);
+        logger.debug("Refreshed {} FX rates from {}", quotes.size(), provider.getName());
+        // History is best effort: a database outage must not take the live rates down with it
+        try {
+            store(Map.of(today, quotes));
+        } catch (RuntimeException e) {
+            logger.warn("Could not store FX rates for {}: {}", today, e.getMessage());
+        }
+        return rates;
+    }
+
+    @Scheduled(fixedDelayString = "${app.fx.refresh-interval-ms:3600000}")
+    public void scheduledRefresh() {
+        try {
+            refreshRates();
+        } catch (RuntimeException e) {
+            logger.error("FX rate refresh failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Fills the days of the history window that fx_rates does not have yet, in one provider call
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillHistory() {
+        LocalDate today = LocalDate.now(clock.withZone(ZoneOffset.UTC));
+        LocalDate from = today.minusDays(properties.getHistoryDays());
+        Set<LocalDate> stored = new HashSet<>();
+        jdbcTemplate.query(STORED_DATES, rs -> {
+            stored.add(rs.getDate("rate_date").toLocalDate());
+        }, Date.valueOf(from));
+
+        LocalDate firstMissing = from;
+        while (firstMissing.isBefore(today) && stored.contains(firstMissing)) {
+            firstMissing = firstMissing.plusDays(1);
+        }
+        if (!firstMissing.isBefore(today)) {
+            return;
+        }
+
+        try {
+            Map<LocalDate, Map<Currency, BigDecimal>> history =
+                    new TreeMap<>(provider.fetchHistoricalRates(firstMissing, today.minusDays(1)));
+            history.keySet().removeAll(stored);
+            int rows = store(history);
+            logger.info("Backfilled {} FX rates over {} days from {}", rows, history.size(), provider.getName());
+        } catch (RuntimeException e) {
+            logger.warn("FX history backfill from {} failed: {}", provider.getName(), e.getMessage());
+        }
+    }
+
+    private int store(Map<LocalDate, Map<Currency, BigDecimal>> ratesByDate) {
+        List<Object[]> rows = new ArrayList<>();
+        ratesByDate.forEach((date, rates) -> rates.forEach((currency, rate) ->
+                rows.add(new Object[]{Date.valueOf(date), currency.name(), rate})));
+        if (!rows.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPSERT_RATE, rows));
+        }
+        return rows.size();
+    }
+
+    private static boolean hasRate(FxRateMatrix rates, Currency currency) {
+        return !Double.isNaN(rates.doubleRate(Currency.USD, currency));
+    }
+}
@@ -1,5 +1,7 @@
 package com.portfolio.management.service.impl;
 
+import com.portfolio.management.config.AppProperties;
+import com.portfolio.management.config.HotPathWriters;
 import com.portfolio.management.dto.request.HoldingCreateRequest;
 import com.portfolio.management.dto.request.HoldingUpdateRequest;
 import com.portfolio.management.dto.response.HoldingResponse;
@@ -13,6 +15,7 @@ import com.portfolio.management.exception.ResourceNotFoundException;
 import com.portfolio.management.mapper.HoldingMapper;
 import com.portfolio.management.repository.HoldingRepository;
 import com.portfolio.management.security.UserPrincipal;
+import com.portfolio.management.service.FxRateService;
 import com.portfolio.management.service.HoldingService;
 import com.portfolio.management.service.MarketDataService;
 import com.portfolio.management.service.PortfolioService;
@@ -27,6 +30,7 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
@@ -53,92 +57,111 @@ public class HoldingServiceImpl implements HoldingService {
     private final PortfolioService portfolioService;
     private final MarketDataService marketDataService;
     private final ValidationService validationService;
+    private final HotPathWriters hotPathWriters;
+    private final PortfolioMutationExecutor mutationExecutor;
+    private final FxRateService fxRateService;
+    private final AppProperties.Alerts alertProperties;
 
     public HoldingServiceImpl(HoldingRepository holdingRepository,
                               HoldingMapper holdingMapper,
                               PortfolioService portfolioService,
                               MarketDataService marketDataService,
-                              ValidationService validationService) {
+                              ValidationService validationService,
+                              HotPathWriters hotPathWriters,
+                              PortfolioMutationExecutor mutationExecutor,
+                              FxRateService fxRateService,
+                              AppProperties appProperties) {
         this.holdingRepository = holdingRepository;
         this.holdingMapper = holdingMapper;
         this.portfolioService = portfolioService;
         this.marketDataService = marketDataService;
         this.validationService = validationService;
+        this.hotPathWriters = hotPathWriters;
+        this.mutationExecutor = mutationExecutor;
+        this.fxRateService = fxRateService;
+        this.alertProperties = appProperties.getAlerts();
     }
 
     // CRUD Operations
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public HoldingResponse addHolding(String portfolioId, HoldingCreateRequest request) {
         logger.info("Adding new holding {} to portfolio {}", request.getSymbol(), portfolioId);
 
         // Validate portfolio access
         portfolioService.validatePortfolioAccess(portfolioId);
-        Portfolio portfolio = portfolioService.getPortfolioEntityById(portfolioId);
 
         // Validate request
         validateHoldingCreateRequest(request);
 
-        // Check if holding already exists
-        if (symbolExistsInPortfolio(portfolioId, request.getSymbol())) {
-            throw new BadRequestException("Holding with symbol " + request.getSymbol() + " already exists in portfolio");
-        }
+        // Market data is fetched before queueing, so the writer never waits on the provider
+        BigDecimal marketPrice = request.getCurrentPrice() == null
+                ? marketDataService.getCurrentPrice(request.getSymbol()) : null;
+        Map<String, String> companyInfo = request.getSector() == null || request.getCountry() == null
+                ? marketDataService.getCompanyInfo(request.getSymbol()) : Map.of();
 
-        // Create holding entity
-        Holding holding = holdingMapper.toEntity(request);
-        holding.setPortfolio(portfolio);
+        return mutationExecutor.execute(portfolioId, () -> {
+            Portfolio portfolio = portfolioService.getPortfolioEntityById(portfolioId);
 
-        // Get current market price if not provided
-        if (request.getCurrentPrice() == null) {
-            BigDecimal marketPrice = marketDataService.getCurrentPrice(request.getSymbol());
-            holding.setCurrentPrice(marketPrice);
-        }
+            // Check if holding already exists
+            if (symbolExistsInPortfolio(portfolioId, request.getSymbol())) {
+                throw new BadRequestException("Holding with symbol " + request.getSymbol() + " already exists in portfolio");
+            }
 
-        // Set initial average price if not provided
-        if (request.getAveragePrice() == null) {
-            holding.setAveragePrice(holding.getCurrentPrice());
-        }
+            // Create holding entity
+            Holding holding = holdingMapper.toEntity(request);
+            holding.setPortfolio(portfolio);
+
+            // Get current market price if not provided
+            if (marketPrice != null) {
+                holding.setCurrentPrice(marketPrice);
+            }
+
+            // Set initial average price if not provided
+            if (request.getAveragePrice() == null) {
+                holding.setAveragePrice(holding.getCurrentPrice());
+            }
 
-        // Set sector and country from market data if not provided
-        if (request.getSector() == null || request.getCountry() == null) {
-            Map<String, String> companyInfo = marketDataService.getCompanyInfo(request.getSymbol());
+            // Set sector and country from market data if not provided
             if (holding.getSector() == null) {
                 holding.setSector(companyInfo.get("sector"));
             }
             if (holding.getCountry() == null) {
                 holding.setCountry(companyInfo.get("country"));
             }
-        }
 
-        Holding savedHolding = holdingRepository.save(holding);
-        logger.info("Holding {} created successfully with ID: {}", request.getSymbol(), savedHolding.getId());
+            Holding savedHolding = holdingRepository.save(holding);
+            logger.info("Holding {} created successfully with ID: {}", request.getSymbol(), savedHolding.getId());
 
-        // Refresh portfolio totals
-        portfolioService.refreshPortfolioValues(portfolioId);
+            // Refresh portfolio totals
+            portfolioService.refreshPortfolioValues(portfolioId);
 
-        return holdingMapper.toResponse(savedHolding);
+            return holdingMapper.toResponse(savedHolding);
+        });
     }
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     @CacheEvict(value = CACHE_HOLDINGS, key = "#holdingId")
     public HoldingResponse updateHolding(String holdingId, HoldingUpdateRequest request) {
-        logger.info("Updating holding: {}", holdingId);
+        return mutationExecutor.execute(portfolioIdOf(holdingId), () -> {
+            logger.info("Updating holding: {}", holdingId);
 
-        Holding holding = getHoldingEntityById(holdingId);
-        validateHoldingAccess(holdingId);
+            Holding holding = getHoldingEntityById(holdingId);
+            validateHoldingAccess(holdingId);
 
-        // Update fields from request
-        holdingMapper.updateEntityFromRequest(request, holding);
+            // Update fields from request
+            holdingMapper.updateEntityFromRequest(request, holding);
 
-        Holding updatedHolding = holdingRepository.save(holding);
-        logger.info("Holding {} updated successfully", holdingId);
+            Holding updatedHolding = holdingRepository.save(holding);
+            logger.info("Holding {} updated successfully", holdingId);
 
-        // Refresh portfolio totals
-        portfolioService.refreshPortfolioValues(holding.getPortfolio().getId());
+            // Refresh portfolio totals
+            portfolioService.refreshPortfolioValues(holding.getPortfolio().getId());
 
-        return holdingMapper.toResponse(updatedHolding);
+            return holdingMapper.toResponse(updatedHolding);
+        });
     }
 
     @Override
@@ -194,191 +217,215 @@ public class HoldingServiceImpl implements HoldingService {
     }
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     @CacheEvict(value = CACHE_HOLDINGS, key = "#holdingId")
     public void deleteHolding(String holdingId) {
-        logger.info("Deleting holding: {}", holdingId);
+        mutationExecutor.run(portfolioIdOf(holdingId), () -> {
+            logger.info("Deleting holding: {}", holdingId);
 
-        Holding holding = getHoldingEntityById(holdingId);
-        validateHoldingAccess(holdingId);
+            Holding holding = getHoldingEntityById(holdingId);
+            validateHoldingAccess(holdingId);
 
-        // Check if holding has non-zero quantity
-        if (holding.getQuantity().compareTo(BigDecimal.ZERO) != 0) {
-            throw new BadRequestException("Cannot delete holding with non-zero quantity. Current quantity: " + holding.getQuantity());
-        }
+            // Check if holding has non-zero quantity
+            if (holding.getQuantity().compareTo(BigDecimal.ZERO) != 0) {
+                throw new BadRequestException("Cannot delete holding with non-zero quantity. Current quantity: " + holding.getQuantity());
+            }
 
-        String portfolioId = holding.getPortfolio().getId();
-        holdingRepository.delete(holding);
+            String portfolioId = holding.getPortfolio().getId();
+            holdingRepository.delete(holding);
 
-        logger.info("Holding {} deleted successfully", holdingId);
+            logger.info("Holding {} deleted successfully", holdingId);
 
-        // Refresh portfolio totals
-        portfolioService.refreshPortfolioValues(portfolioId);
+            // Refresh portfolio totals
+            portfolioService.refreshPortfolioValues(portfolioId);
+        });
     }
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     @CacheEvict(value = CACHE_HOLDINGS, key = "#holdingId")
     public void deactivateHolding(String holdingId) {
-        logger.info("Deactivating holding: {}", holdingId);
+        mutationExecutor.run(portfolioIdOf(holdingId), () -> {
+            logger.info("Deactivating holding: {}", holdingId);
 
-        Holding holding = getHoldingEntityById(holdingId);
-        validateHoldingAccess(holdingId);
+            Holding holding = getHoldingEntityById(holdingId);
+            validateHoldingAccess(holdingId);
 
-        holding.setStatus(HoldingStatus.INACTIVE);
-        holdingRepository.save(holding);
+            holding.setStatus(HoldingStatus.INACTIVE);
+            holdingRepository.save(holding);
 
-        // Refresh portfolio totals
-        portfolioService.refreshPortfolioValues(holding.getPortfolio().getId());
+            // Refresh portfolio totals
+            portfolioService.refreshPortfolioValues(holding.getPortfolio().getId());
+        });
     }
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     @CacheEvict(value = CACHE_HOLDINGS, key = "#holdingId")
     public void reactivateHolding(String holdingId) {
-        logger.info("Reactivating holding: {}", holdingId);
+        mutationExecutor.run(portfolioIdOf(holdingId), () -> {
+            logger.info("Reactivating holding: {}", holdingId);
 
-        Holding holding = getHoldingEntityById(holdingId);
-        validateHoldingAccess(holdingId);
+            Holding holding = getHoldingEntityById(holdingId);
+            validateHoldingAccess(holdingId);
 
-        holding.setStatus(HoldingStatus.ACTIVE);
-        holdingRepository.save(holding);
+            holding.setStatus(HoldingStatus.ACTIVE);
+            holdingRepository.save(holding);
 
-        // Refresh portfolio totals
-        portfolioService.refreshPortfolioValues(holding.getPortfolio().getId());
+            // Refresh portfolio totals
+            portfolioService.refreshPortfolioValues(holding.getPortfolio().getId());
+        });
     }
 
     // Bulk Operations
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void updateMultipleHoldingStatuses(List<String> holdingIds, HoldingStatus status) {
-        holdingIds.forEach(id -> {
-            if (status == HoldingStatus.ACTIVE) {
-                reactivateHolding(id);
-            } else {
-                deactivateHolding(id);
-            }
+        // One transaction over every portfolio involved; the per-holding calls then run inline
+        mutationExecutor.executeAcross(portfolioIdsOf(holdingIds), () -> {
+            holdingIds.forEach(id -> {
+                if (status == HoldingStatus.ACTIVE) {
+                    reactivateHolding(id);
+                } else {
+                    deactivateHolding(id);
+                }
+            });
+            return null;
         });
     }
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void deleteMultipleHoldings(List<String> holdingIds) {
-        holdingIds.forEach(this::deleteHolding);
+        mutationExecutor.executeAcross(portfolioIdsOf(holdingIds), () -> {
+            holdingIds.forEach(this::deleteHolding);
+            return null;
+        });
     }
 
     // Price and Value Operations
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     @CacheEvict(value = CACHE_HOLDINGS, key = "#holdingId")
     public HoldingResponse updateHoldingPrice(String holdingId, BigDecimal newPrice) {
-        logger.info("Updating price for holding {} to {}", holdingId, newPrice);
+        return mutationExecutor.execute(portfolioIdOf(holdingId), () -> {
+            logger.info("Updating price for holding {} to {}", holdingId, newPrice);
 
-        Holding holding = getHoldingEntityById(holdingId);
-        validateHoldingAccess(holdingId);
+            Holding holding = getHoldingEntityById(holdingId);
+            validateHoldingAccess(holdingId);
 
-        if (newPrice.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new BadRequestException("Price must be greater than zero");
-        }
+            if (newPrice.compareTo(BigDecimal.ZERO) <= 0) {
+                throw new BadRequestException("Price must be greater than zero");
+            }
 
-        // Store previous price for day change calculation
-        holding.setPreviousClosePrice(holding.getCurrentPrice());
-        holding.setCurrentPrice(newPrice);
-        holding.setUpdatedAt(Instant.now());
+            // Store previous price for day change calculation
+            holding.setPreviousClosePrice(holding.getCurrentPrice());
+            holding.setCurrentPrice(newPrice);
+            holding.setUpdatedAt(Instant.now());
 
-        Holding updatedHolding = holdingRepository.save(holding);
+            Holding updatedHolding = holdingRepository.save(holding);
 
-        // Refresh portfolio totals
-        portfolioService.refreshPortfolioValues(holding.getPortfolio().getId());
+            // Refresh portfolio totals
+            portfolioService.refreshPortfolioValues(holding.getPortfolio().getId());
 
-        return createHoldingResponseWithCalculations(updatedHolding);
+            return createHoldingResponseWithCalculations(updatedHolding);
+        });
     }
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void updatePortfolioHoldingPrices(String portfolioId) {
         logger.info("Updating all holding prices for portfolio: {}", portfolioId);
 
         portfolioService.validatePortfolioAccess(portfolioId);
-        List<Holding> holdings = holdingRepository.findByPortfolioIdAndStatus(portfolioId, HoldingStatus.ACTIVE);
+        Set<String> symbols = holdingRepository.findByPortfolioIdAndStatus(portfolioId, HoldingStatus.ACTIVE).stream()
+                .map(Holding::getSymbol)
+                .collect(Collectors.toSet());
+        Map<String, BigDecimal> marketPrices = fetchMarketPrices(symbols);
 
-        for (Holding holding : holdings) {
-            try {
-                BigDecimal marketPrice = marketDataService.getCurrentPrice(holding.getSymbol());
+        mutationExecutor.run(portfolioId, () -> {
+            List<Holding> holdings = holdingRepository.findByPortfolioIdAndStatus(portfolioId, HoldingStatus.ACTIVE);
+            for (Holding holding : holdings) {
+                BigDecimal marketPrice = marketPrices.get(holding.getSymbol());
                 if (marketPrice != null) {
                     holding.setPreviousClosePrice(holding.getCurrentPrice());
                     holding.setCurrentPrice(marketPrice);
                     holding.setUpdatedAt(Instant.now());
                 }
-            } catch (Exception e) {
-                logger.warn("Failed to update price for holding {}: {}", holding.getSymbol(), e.getMessage());
             }
-        }
 
-        holdingRepository.saveAll(holdings);
-        portfolioService.refreshPortfolioValues(portfolioId);
+            holdingRepository.saveAll(holdings);
+            portfolioService.refreshPortfolioValues(portfolioId);
+        });
     }
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void updateHoldingPricesBySymbol(String symbol, BigDecimal newPrice) {
         logger.info("Updating price for all holdings of symbol {} to {}", symbol, newPrice);
 
         UserPrincipal currentUser = getCurrentUserPrincipal();
-        List<Holding> holdings = holdingRepository.findBySymbolAndPortfolioUserId(symbol, currentUser.getId());
-
-        for (Holding holding : holdings) {
-            holding.setPreviousClosePrice(holding.getCurrentPrice());
-            holding.setCurrentPrice(newPrice);
-            holding.setUpdatedAt(Instant.now());
+        Set<String> portfolioIds = holdingRepository.findBySymbolAndPortfolioUserId(symbol, currentUser.getId()).stream()
+                .map(h -> h.getPortfolio().getId())
+                .collect(Collectors.toSet());
+        if (portfolioIds.isEmpty()) {
+            return;
         }
 
-        holdingRepository.saveAll(holdings);
+        mutationExecutor.executeAcross(portfolioIds, () -> {
+            List<Holding> holdings = holdingRepository.findBySymbolAndPortfolioUserId(symbol, currentUser.getId());
+            for (Holding holding : holdings) {
+                holding.setPreviousClosePrice(holding.getCurrentPrice());
+                holding.setCurrentPrice(newPrice);
+                holding.setUpdatedAt(Instant.now());
+            }
 
-        // Refresh portfolio totals for affected portfolios
-        Set<String> portfolioIds = holdings.stream()
-                .map(h -> h.getPortfolio().getId())
-                .collect(Collectors.toSet());
+            holdingRepository.saveAll(holdings);
 
-        portfolioIds.forEach(portfolioService::refreshPortfolioValues);
+            // Refresh portfolio totals for affected portfolios; a portfolio that gained the symbol
+            // since the lookup above is not held by this write and is left to its next refresh
+            holdings.stream()
+                    .map(h -> h.getPortfolio().getId())
+                    .filter(portfolioIds::contains)
+                    .distinct()
+                    .forEach(portfolioService::refreshPortfolioValues);
+            return null;
+        });
     }
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void refreshAllHoldingPrices() {
         logger.info("Refreshing all holding prices with market data");
 
-        List<Holding> activeHoldings = holdingRepository.findByStatus(HoldingStatus.ACTIVE);
-        Map<String, List<Holding>> holdingsBySymbol = activeHoldings.stream()
-                .collect(Collectors.groupingBy(Holding::getSymbol));
-
-        Set<String> affectedPortfolios = new HashSet<>();
+        Set<String> symbols = holdingRepository.findByStatus(HoldingStatus.ACTIVE).stream()
+                .map(Holding::getSymbol)
+                .collect(Collectors.toSet());
+        Map<String, BigDecimal> marketPrices = fetchMarketPrices(symbols);
 
-        for (Map.Entry<String, List<Holding>> entry : holdingsBySymbol.entrySet()) {
-            try {
-                String symbol = entry.getKey();
-                List<Holding> symbolHoldings = entry.getValue();
+        // Touches any portfolio, so every writer is held
+        mutationExecutor.executeExclusive(() -> {
+            List<Holding> activeHoldings = holdingRepository.findByStatus(HoldingStatus.ACTIVE);
+            Set<String> affectedPortfolios = new HashSet<>();
 
-                BigDecimal marketPrice = marketDataService.getCurrentPrice(symbol);
+            for (Holding holding : activeHoldings) {
+                BigDecimal marketPrice = marketPrices.get(holding.getSymbol());
                 if (marketPrice != null) {
-                    for (Holding holding : symbolHoldings) {
-                        holding.setPreviousClosePrice(holding.getCurrentPrice());
-                        holding.setCurrentPrice(marketPrice);
-                        holding.setUpdatedAt(Instant.now());
-                        affectedPortfolios.add(holding.getPortfolio().getId());
-                    }
+                    holding.setPreviousClosePrice(holding.getCurrentPrice());
+                    holding.setCurrentPrice(marketPrice);
+                    holding.setUpdatedAt(Instant.now());
+                    affectedPortfolios.add(holding.getPortfolio().getId());
                 }
-            } catch (Exception e) {
-                logger.warn("Failed to update prices for symbol {}: {}", entry.getKey(), e.getMessage());
             }
-        }
 
-        holdingRepository.saveAll(activeHoldings);
+            holdingRepository.saveAll(activeHoldings);
 
-        // Refresh affected portfolios
-        affectedPortfolios.forEach(portfolioService::refreshPortfolioValues);
+            // Refresh affected portfolios
+            affectedPortfolios.forEach(portfolioService::refreshPortfolioValues);
+            return null;
+        });
     }
 
     // Financial Calculations
@@ -456,7 +503,9 @@ public class HoldingServiceImpl implements HoldingService {
         Holding holding = getHoldingEntityById(holdingId);
         validateHoldingAccess(holdingId);
 
-        BigDecimal holdingValue = calculateHoldingValue(holdingId);
+        // Both sides in the portfolio currency, which is what the portfolio value is reported in
+        BigDecimal holdingValue = fxRateService.convert(calculateHoldingValue(holdingId), holding.getCurrency(),
+                holding.getPortfolio().getCurrency());
         BigDecimal portfolioValue = portfolioService.calculatePortfolioValue(holding.getPortfolio().getId());
 
         if (portfolioValue.compareTo(BigDecimal.ZERO) == 0) {
@@ -467,171 +516,187 @@ public class HoldingServiceImpl implements HoldingService {
     }
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     @CacheEvict(value = CACHE_HOLDINGS, key = "#holdingId")
     public HoldingResponse recalculateHoldingMetrics(String holdingId) {
-        Holding holding = getHoldingEntityById(holdingId);
         validateHoldingAccess(holdingId);
+        String symbol = getHoldingEntityById(holdingId).getSymbol();
+        BigDecimal marketPrice = fetchMarketPrices(Set.of(symbol)).get(symbol);
 
-        // Update with latest market data if needed
-        try {
-            BigDecimal marketPrice = marketDataService.getCurrentPrice(holding.getSymbol());
+        return mutationExecutor.execute(portfolioIdOf(holdingId), () -> {
+            Holding holding = getHoldingEntityById(holdingId);
+
+            // Update with latest market data if needed
             if (marketPrice != null && !marketPrice.equals(holding.getCurrentPrice())) {
                 holding.setPreviousClosePrice(holding.getCurrentPrice());
                 holding.setCurrentPrice(marketPrice);
                 holding.setUpdatedAt(Instant.now());
             }
-        } catch (Exception e) {
-            logger.warn("Failed to update market price for holding {}: {}", holdingId, e.getMessage());
-        }
 
-        Holding updatedHolding = holdingRepository.save(holding);
-        portfolioService.refreshPortfolioValues(holding.getPortfolio().getId());
+            Holding updatedHolding = holdingRepository.save(holding);
+            portfolioService.refreshPortfolioValues(holding.getPortfolio().getId());
 
-        return createHoldingResponseWithCalculations(updatedHolding);
+            return createHoldingResponseWithCalculations(updatedHolding);
+        });
     }
 
     // Transaction Integration
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public HoldingResponse processBuyTransaction(String portfolioId, String symbol,
                                                  BigDecimal quantity, BigDecimal price,
                                                  BigDecimal fees, Instant transactionDate) {
-        logger.info("Processing buy transaction: {} shares of {} at {}", quantity, symbol, price);
+        return mutationExecutor.execute(portfolioId, () -> {
+            logger.info("Processing buy transaction: {} shares of {} at {}", quantity, symbol, price);
 
-        portfolioService.validatePortfolioAccess(portfolioId);
+            portfolioService.validatePortfolioAccess(portfolioId);
 
-        // Validate transaction data
-        if (quantity.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new BadRequestException("Quantity must be greater than zero");
-        }
-        if (price.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new BadRequestException("Price must be greater than zero");
-        }
+            // Validate transaction data
+            if (quantity.compareTo(BigDecimal.ZERO) <= 0) {
+                throw new BadRequestException("Quantity must be greater than zero");
+            }
+            if (price.compareTo(BigDecimal.ZERO) <= 0) {
+                throw new BadRequestException("Price must be greater than zero");
+            }
 
-        // Check if holding already exists
-        Optional<Holding> existingHolding = holdingRepository.findByPortfolioIdAndSymbol(portfolioId, symbol);
+            // Check if holding already exists
+            Optional<Holding> existingHolding = holdingRepository.findByPortfolioIdAndSymbol(portfolioId, symbol);
 
-        if (existingHolding.isPresent()) {
-            // Update existing holding
-            Holding holding = existingHolding.get();
-            updateAveragePrice(holding.getId(), holding.getQuantity().add(quantity), price, quantity);
-            holding.setQuantity(holding.getQuantity().add(quantity));
-            holding.setUpdatedAt(Instant.now());
+            if (existingHolding.isPresent()) {
+                // Update existing holding
+                Holding holding = existingHolding.get();
+                applyAveragePrice(holding, holding.getQuantity().add(quantity), price, quantity);
+                holding.setQuantity(holding.getQuantity().add(quantity));
+                holding.setStatus(HoldingStatus.ACTIVE);
+                holding.setUpdatedAt(Instant.now());
 
-            Holding updatedHolding = holdingRepository.save(holding);
-            portfolioService.refreshPortfolioValues(portfolioId);
+                Holding updatedHolding = holdingRepository.save(holding);
+                portfolioService.refreshPortfolioValues(portfolioId);
 
-            return createHoldingResponseWithCalculations(updatedHolding);
-        } else {
-            // Create new holding
-            HoldingCreateRequest createRequest = new HoldingCreateRequest();
-            createRequest.setSymbol(symbol);
-            createRequest.setQuantity(quantity);
-            createRequest.setAveragePrice(price);
-            createRequest.setCurrentPrice(price);
-
-            return addHolding(portfolioId, createRequest);
-        }
+                return createHoldingResponseWithCalculations(updatedHolding);
+            } else {
+                // Create new holding
+                HoldingCreateRequest createRequest = new HoldingCreateRequest();
+                createRequest.setSymbol(symbol);
+                createRequest.setQuantity(quantity);
+                createRequest.setAveragePrice(price);
+                createRequest.setCurrentPrice(price);
+
+                return addHolding(portfolioId, createRequest);
+            }
+        });
     }
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public HoldingResponse processSellTransaction(String holdingId, BigDecimal quantity,
                                                   BigDecimal price, BigDecimal fees,
                                                   Instant transactionDate) {
-        logger.info("Processing sell transaction: {} shares from holding {} at {}", quantity, holdingId, price);
+        return mutationExecutor.execute(portfolioIdOf(holdingId), () -> {
+            logger.info("Processing sell transaction: {} shares from holding {} at {}", quantity, holdingId, price);
 
-        Holding holding = getHoldingEntityById(holdingId);
-        validateHoldingAccess(holdingId);
+            Holding holding = getHoldingEntityById(holdingId);
+            validateHoldingAccess(holdingId);
 
-        // Validate sell quantity
-        if (quantity.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new BadRequestException("Sell quantity must be greater than zero");
-        }
-        if (quantity.compareTo(holding.getQuantity()) > 0) {
-            throw new InsufficientQuantityException(
-                    "Insufficient quantity. Available: " + holding.getQuantity() + ", Requested: " + quantity);
-        }
+            // Validate sell quantity
+            if (quantity.compareTo(BigDecimal.ZERO) <= 0) {
+                throw new BadRequestException("Sell quantity must be greater than zero");
+            }
+            if (quantity.compareTo(holding.getQuantity()) > 0) {
+                throw new InsufficientQuantityException(
+                        "Insufficient quantity. Available: " + holding.getQuantity() + ", Requested: " + quantity);
+            }
 
-        // Update holding quantity
-        BigDecimal newQuantity = holding.getQuantity().subtract(quantity);
-        holding.setQuantity(newQuantity);
-        holding.setCurrentPrice(price);
-        holding.setUpdatedAt(Instant.now());
+            // Update holding quantity
+            BigDecimal newQuantity = holding.getQuantity().subtract(quantity);
+            holding.setQuantity(newQuantity);
+            holding.setCurrentPrice(price);
+            holding.setUpdatedAt(Instant.now());
 
-        // If quantity becomes zero, deactivate holding
-        if (newQuantity.compareTo(BigDecimal.ZERO) == 0) {
-            holding.setStatus(HoldingStatus.SOLD_OUT);
-        }
+            // If quantity becomes zero, deactivate holding
+            if (newQuantity.compareTo(BigDecimal.ZERO) == 0) {
+                holding.setStatus(HoldingStatus.CLOSED);
+            }
 
-        Holding updatedHolding = holdingRepository.save(holding);
-        portfolioService.refreshPortfolioValues(holding.getPortfolio().getId());
+            Holding updatedHolding = holdingRepository.save(holding);
+            portfolioService.refreshPortfolioValues(holding.getPortfolio().getId());
 
-        return createHoldingResponseWithCalculations(updatedHolding);
+            return createHoldingResponseWithCalculations(updatedHolding);
+        });
     }
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public HoldingResponse processDividend(String holdingId, BigDecimal dividendPerShare,
                                            Instant exDividendDate, Instant paymentDate) {
-        logger.info("Processing dividend for holding {}: {} per share", holdingId, dividendPerShare);
+        return mutationExecutor.execute(portfolioIdOf(holdingId), () -> {
+            logger.info("Processing dividend for holding {}: {} per share", holdingId, dividendPerShare);
 
-        Holding holding = getHoldingEntityById(holdingId);
-        validateHoldingAccess(holdingId);
+            Holding holding = getHoldingEntityById(holdingId);
+            validateHoldingAccess(holdingId);
 
-        // Calculate total dividend
-        BigDecimal totalDividend = dividendPerShare.multiply(holding.getQuantity());
+            // Calculate total dividend
+            BigDecimal totalDividend = dividendPerShare.multiply(holding.getQuantity());
 
-        // Update holding with dividend information
-        holding.setLastDividendDate(paymentDate);
-        holding.setUpdatedAt(Instant.now());
+            // Update holding with dividend information
+            holding.setLastDividendDate(paymentDate);
+            holding.setUpdatedAt(Instant.now());
 
-        Holding updatedHolding = holdingRepository.save(holding);
-        portfolioService.refreshPortfolioValues(holding.getPortfolio().getId());
+            Holding updatedHolding = holdingRepository.save(holding);
+            portfolioService.refreshPortfolioValues(holding.getPortfolio().getId());
 
-        logger.info("Dividend processed: {} total dividend for holding {}", totalDividend, holdingId);
-        return createHoldingResponseWithCalculations(updatedHolding);
+            logger.info("Dividend processed: {} total dividend for holding {}", totalDividend, holdingId);
+            return createHoldingResponseWithCalculations(updatedHolding);
+        });
     }
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public HoldingResponse processStockSplit(String holdingId, BigDecimal splitRatio) {
-        logger.info("Processing stock split for holding {}: ratio {}", holdingId, splitRatio);
+        return mutationExecutor.execute(portfolioIdOf(holdingId), () -> {
+            logger.info("Processing stock split for holding {}: ratio {}", holdingId, splitRatio);
 
-        Holding holding = getHoldingEntityById(holdingId);
-        validateHoldingAccess(holdingId);
+            Holding holding = getHoldingEntityById(holdingId);
+            validateHoldingAccess(holdingId);
 
-        if (splitRatio.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new BadRequestException("Split ratio must be greater than zero");
-        }
+            if (splitRatio.compareTo(BigDecimal.ZERO) <= 0) {
+                throw new BadRequestException("Split ratio must be greater than zero");
+            }
 
-        // Adjust quantity and prices for split
-        holding.setQuantity(holding.getQuantity().multiply(splitRatio));
-        holding.setAveragePrice(holding.getAveragePrice().divide(splitRatio, 4, RoundingMode.HALF_UP));
-        holding.setCurrentPrice(holding.getCurrentPrice().divide(splitRatio, 4, RoundingMode.HALF_UP));
+            // Adjust quantity and prices for split
+            holding.setQuantity(holding.getQuantity().multiply(splitRatio));
+            holding.setAveragePrice(holding.getAveragePrice().divide(splitRatio, 4, RoundingMode.HALF_UP));
+            holding.setCurrentPrice(holding.getCurrentPrice().divide(splitRatio, 4, RoundingMode.HALF_UP));
 
-        if (holding.getPreviousClosePrice() != null) {
-            holding.setPreviousClosePrice(holding.getPreviousClosePrice().divide(splitRatio, 4, RoundingMode.HALF_UP));
-        }
+            if (holding.getPreviousClosePrice() != null) {
+                holding.setPreviousClosePrice(holding.getPreviousClosePrice().divide(splitRatio, 4, RoundingMode.HALF_UP));
+            }
 
-        holding.setUpdatedAt(Instant.now());
+            holding.setUpdatedAt(Instant.now());
 
-        Holding updatedHolding = holdingRepository.save(holding);
-        portfolioService.refreshPortfolioValues(holding.getPortfolio().getId());
+            Holding updatedHolding = holdingRepository.save(holding);
+            portfolioService.refreshPortfolioValues(holding.getPortfolio().getId());
 
-        logger.info("Stock split processed for holding {}", holdingId);
-        return createHoldingResponseWithCalculations(updatedHolding);
+            logger.info("Stock split processed for holding {}", holdingId);
+            return createHoldingResponseWithCalculations(updatedHolding);
+        });
     }
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void updateAveragePrice(String holdingId, BigDecimal newQuantity,
                                    BigDecimal transactionPrice, BigDecimal transactionQuantity) {
-        Holding holding = getHoldingEntityById(holdingId);
-        validateHoldingAccess(holdingId);
+        mutationExecutor.run(portfolioIdOf(holdingId), () -> {
+            Holding holding = getHoldingEntityById(holdingId);
+            validateHoldingAccess(holdingId);
+            applyAveragePrice(holding, newQuantity, transactionPrice, transactionQuantity);
+            holdingRepository.save(holding);
+        });
+    }
 
+    private void applyAveragePrice(Holding holding, BigDecimal newQuantity,
+                                   BigDecimal transactionPrice, BigDecimal transactionQuantity) {
         if (newQuantity.compareTo(BigDecimal.ZERO) <= 0) {
             return; // No update needed for zero quantity
         }
@@ -645,8 +710,6 @@ public class HoldingServiceImpl implements HoldingService {
 
         holding.setAveragePrice(newAveragePrice);
         holding.setUpdatedAt(Instant.now());
-
-        holdingRepository.save(holding);
     }
 
     // Portfolio Analysis
@@ -712,13 +775,7 @@ public class HoldingServiceImpl implements HoldingService {
     public List<HoldingResponse> getHoldingsAboveTargetPrice(String portfolioId) {
         portfolioService.validatePortfolioAccess(portfolioId);
 
-        List<Holding> holdings = holdingRepository.findByPortfolioIdAndStatus(portfolioId, HoldingStatus.ACTIVE);
-
-        return holdings.stream()
-                .filter(h -> h.getTargetPrice() != null &&
-                        h.getCurrentPrice().compareTo(h.getTargetPrice()) >= 0)
-                .map(this::createHoldingResponseWithCalculations)
-                .collect(Collectors.toList());
+        return toResponses(holdingRepository.findHoldingsAboveTargetPrice(portfolioId, HoldingStatus.ACTIVE));
     }
 
     @Override
@@ -726,46 +783,28 @@ public class HoldingServiceImpl implements HoldingService {
     public List<HoldingResponse> getHoldingsBelowStopLoss(String portfolioId) {
         portfolioService.validatePortfolioAccess(portfolioId);
 
-        List<Holding> holdings = holdingRepository.findByPortfolioIdAndStatus(portfolioId, HoldingStatus.ACTIVE);
-
-        return holdings.stream()
-                .filter(h -> h.getStopLossPrice() != null &&
-                        h.getCurrentPrice().compareTo(h.getStopLossPrice()) <= 0)
-                .map(this::createHoldingResponseWithCalculations)
-                .collect(Collectors.toList());
+        return toResponses(holdingRepository.findHoldingsBelowStopLoss(portfolioId, HoldingStatus.ACTIVE));
     }
 
+    /**
+     * Holdings above target, below stop loss, or down more than the day-drop threshold.
+     * Read from the database rather than the alert engine, whose index lags writes made by
+     * other instances and is empty until startup finishes or when alerts are disabled.
+     */
     @Override
     @Transactional(readOnly = true)
     public List<HoldingResponse> getHoldingsRequiringAttention(String portfolioId) {
         portfolioService.validatePortfolioAccess(portfolioId);
 
-        List<HoldingResponse> attentionHoldings = new ArrayList<>();
-
-        // Add holdings above target price
-        attentionHoldings.addAll(getHoldingsAboveTargetPrice(portfolioId));
-
-        // Add holdings below stop loss
-        attentionHoldings.addAll(getHoldingsBelowStopLoss(portfolioId));
+        BigDecimal dayDropFactor = HUNDRED.subtract(alertProperties.getDayDropPercent())
+                .divide(HUNDRED, 4, RoundingMode.HALF_UP);
+        return toResponses(holdingRepository.findHoldingsRequiringAttention(portfolioId, HoldingStatus.ACTIVE,
+                dayDropFactor));
+    }
 
-        // Add holdings with significant day losses (> 5%)
-        List<Holding> holdings = holdingRepository.findByPortfolioIdAndStatus(portfolioId, HoldingStatus.ACTIVE);
-        holdings.stream()
-                .filter(h -> {
-                    BigDecimal dayChangePercentage = calculateDayChangePercentage(h.getId());
-                    return dayChangePercentage.compareTo(BigDecimal.valueOf(-5)) <= 0;
-                })
+    private List<HoldingResponse> toResponses(List<Holding> holdings) {
+        return holdings.stream()
                 .map(this::createHoldingResponseWithCalculations)
-                .forEach(attentionHoldings::add);
-
-        // Remove duplicates and return
-        return attentionHoldings.stream()
-                .collect(Collectors.toMap(
-                        HoldingResponse::getId,
-                        h -> h,
-                        (existing, replacement) -> existing))
-                .values()
-                .stream()
                 .collect(Collectors.toList());
     }
 
@@ -973,34 +1012,36 @@ public class HoldingServiceImpl implements HoldingService {
     }
 
     // Validation and Utilities
+    // Lookups and access checks join the caller's transaction but never start one themselves
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public void validateHoldingAccess(String holdingId) {
         Holding holding = getHoldingEntityById(holdingId);
         portfolioService.validatePortfolioAccess(holding.getPortfolio().getId());
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public boolean holdingExists(String holdingId) {
         return holdingRepository.existsById(holdingId);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public boolean isHoldingInPortfolio(String holdingId, String portfolioId) {
         return holdingRepository.existsByIdAndPortfolioId(holdingId, portfolioId);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Holding getHoldingEntityById(String holdingId) {
         return holdingRepository.findById(holdingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Holding not found with ID: " + holdingId));
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public boolean symbolExistsInPortfolio(String portfolioId, String symbol) {
         return holdingRepository.existsByPortfolioIdAndSymbol(portfolioId, symbol);
     }
@@ -1018,7 +1059,7 @@ public class HoldingServiceImpl implements HoldingService {
     // Synchronization
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void syncHoldingWithBroker(String holdingId, String brokerId) {
         logger.info("Syncing holding {} with broker {}", holdingId, brokerId);
 
@@ -1030,7 +1071,7 @@ public class HoldingServiceImpl implements HoldingService {
     }
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void syncPortfolioHoldingsWithBroker(String portfolioId, String brokerId) {
         logger.info("Syncing all holdings in portfolio {} with broker {}", portfolioId, brokerId);
 
@@ -1041,17 +1082,26 @@ public class HoldingServiceImpl implements HoldingService {
     // Market Data Integration
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public HoldingResponse updateHoldingWithMarketData(String holdingId) {
         logger.info("Updating holding {} with latest market data", holdingId);
 
-        Holding holding = getHoldingEntityById(holdingId);
+        String symbol = getHoldingEntityById(holdingId).getSymbol();
         validateHoldingAccess(holdingId);
 
+        BigDecimal marketPrice;
+        Map<String, String> companyInfo;
         try {
             // Get latest market data
-            BigDecimal marketPrice = marketDataService.getCurrentPrice(holding.getSymbol());
-            Map<String, String> companyInfo = marketDataService.getCompanyInfo(holding.getSymbol());
+            marketPrice = marketDataService.getCurrentPrice(symbol);
+            companyInfo = marketDataService.getCompanyInfo(symbol);
+        } catch (Exception e) {
+            logger.error("Failed to update holding {} with market data: {}", holdingId, e.getMessage());
+            throw new BadRequestException("Failed to update holding with market data: " + e.getMessage());
+        }
+
+        return mutationExecutor.execute(portfolioIdOf(holdingId), () -> {
+            Holding holding = getHoldingEntityById(holdingId);
 
             // Update price
             if (marketPrice != null) {
@@ -1073,15 +1123,11 @@ public class HoldingServiceImpl implements HoldingService {
             portfolioService.refreshPortfolioValues(holding.getPortfolio().getId());
 
             return createHoldingResponseWithCalculations(updatedHolding);
-
-        } catch (Exception e) {
-            logger.error("Failed to update holding {} with market data: {}", holdingId, e.getMessage());
-            throw new BadRequestException("Failed to update holding with market data: " + e.getMessage());
-        }
+        });
     }
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void scheduleHoldingPriceUpdates() {
         logger.info("Scheduling price updates for all active holdings");
         refreshAllHoldingPrices();
@@ -1155,25 +1201,25 @@ public class HoldingServiceImpl implements HoldingService {
 
         List<HoldingResponse> holdings = getPortfolioHoldings(portfolioId);
 
-        // Implementation would depend on export format (CSV, Excel, JSON, etc.)
-        // For now, return JSON as bytes
+        // JSON, SMILE and CBOR go through the pre-built list writers; other formats fall back to JSON
         try {
-            // This would use a proper JSON library like Jackson
-            String jsonData = holdings.toString(); // Simplified
-            return jsonData.getBytes();
+            HotPathWriters.Format writerFormat = HotPathWriters.Format.fromName(format);
+            return hotPathWriters.writeList(holdings, HoldingResponse.class, writerFormat);
         } catch (Exception e) {
             throw new BadRequestException("Failed to export holdings data: " + e.getMessage());
         }
     }
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<HoldingResponse> importHoldingsData(String portfolioId, byte[] fileData, String format) {
         portfolioService.validatePortfolioAccess(portfolioId);
 
-        // Implementation would depend on import format and parsing logic
-        // This is a placeholder implementation
-        throw new BadRequestException("Import functionality not yet implemented");
+        // Implementation would depend on import format and parsing logic; the rows are to be
+        // written on the portfolio's writer like every other holding change
+        return mutationExecutor.execute(portfolioId, () -> {
+            throw new BadRequestException("Import functionality not yet implemented");
+        });
     }
 
     // Helper Methods
@@ -1278,6 +1324,36 @@ public class HoldingServiceImpl implements HoldingService {
         return BigDecimal.ZERO;
     }
 
+    // Writer stripe key for mutations addressed by holding
+    private String portfolioIdOf(String holdingId) {
+        return holdingRepository.findPortfolioIdById(holdingId)
+                .orElseThrow(() -> new ResourceNotFoundException("Holding not found with ID: " + holdingId));
+    }
+
+    private Set<String> portfolioIdsOf(List<String> holdingIds) {
+        Set<String> portfolioIds = new LinkedHashSet<>();
+        holdingIds.forEach(holdingId -> portfolioIds.add(portfolioIdOf(holdingId)));
+        return portfolioIds;
+    }
+
+    /**
+     * Current prices by symbol, fetched before a write is queued; symbols whose lookup fails are left out
+     */
+    private Map<String, BigDecimal> fetchMarketPrices(Set<String> symbols) {
+        Map<String, BigDecimal> prices = new HashMap<>();
+        for (String symbol : symbols) {
+            try {
+                BigDecimal marketPrice = marketDataService.getCurrentPrice(symbol);
+                if (marketPrice != null) {
+                    prices.put(symbol, marketPrice);
+                }
+            } catch (Exception e) {
+                logger.warn("Failed to update price for symbol {}: {}", symbol, e.getMessage());
+            }
+        }
+        return prices;
+    }
+
     private UserPrincipal getCurrentUserPrincipal() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal)) {
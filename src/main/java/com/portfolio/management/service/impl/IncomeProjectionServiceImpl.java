@@ -0,0 +1,156 @@
+package com.portfolio.management.service.impl;
+
+import com.portfolio.management.dto.response.IncomeProjectionResponse;
+import com.portfolio.management.exception.BadRequestException;
+import com.portfolio.management.repository.HoldingRepository;
+import com.portfolio.management.repository.HoldingRepository.IncomePositionView;
+import com.portfolio.management.security.UserPrincipal;
+import com.portfolio.management.service.IncomeProjectionService;
+import com.portfolio.management.service.impl.DividendScheduleCache.DividendSchedule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * IncomeProjectionService Implementation
+ * One query loads the user's open positions across all portfolios; each position is projected
+ * from its symbol's cached DividendSchedule by rolling the last ex-date forward at the schedule's
+ * interval, at the last declared amount. Payments are bucketed by UTC calendar month, starting
+ * with the current one. Suspended dividends (no ex-date for two intervals) project nothing.
+ */
+@Service
+public class IncomeProjectionServiceImpl implements IncomeProjectionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IncomeProjectionServiceImpl.class);
+
+    private static final int HORIZON_MONTHS = 12;
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final HoldingRepository holdingRepository;
+    private final DividendScheduleCache scheduleCache;
+    private final Clock clock;
+
+    public IncomeProjectionServiceImpl(HoldingRepository holdingRepository,
+                                       DividendScheduleCache scheduleCache,
+                                       Clock clock) {
+        this.holdingRepository = holdingRepository;
+        this.scheduleCache = scheduleCache;
+        this.clock = clock;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<IncomeProjectionResponse> getCurrentUserIncomeProjection() {
+        String userId = getCurrentUserPrincipal().getId();
+        Instant now = clock.instant();
+        YearMonth firstMonth = YearMonth.from(now.atZone(ZoneOffset.UTC));
+        Instant horizon = firstMonth.plusMonths(HORIZON_MONTHS).atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+
+        Map<String, Projection> projections = new LinkedHashMap<>();
+        for (IncomePositionView position : holdingRepository.findIncomePositionsByUserId(userId)) {
+            Projection projection = projections.computeIfAbsent(position.getPortfolioId(),
+                    id -> new Projection(position, now));
+            DividendSchedule schedule = scheduleCache.find(position.getSymbol());
+            if (schedule == null) {
+                projection.response.getUnscheduledSymbols().add(position.getSymbol());
+            } else {
+                projection.add(position, schedule, now, horizon, firstMonth);
+            }
+        }
+
+        List<IncomeProjectionResponse> responses = new ArrayList<>(projections.size());
+        for (Projection projection : projections.values()) {
+            responses.add(projection.finish());
+        }
+        logger.debug("Projected dividend income for {} portfolios of user {}", responses.size(), userId);
+        return responses;
+    }
+
+    private static final class Projection {
+        private final IncomeProjectionResponse response = new IncomeProjectionResponse();
+        private final BigDecimal[] monthly = new BigDecimal[HORIZON_MONTHS];
+        private BigDecimal marketValue = BigDecimal.ZERO;
+        private int payingHoldings;
+
+        private Projection(IncomePositionView position, Instant now) {
+            response.setPortfolioId(position.getPortfolioId());
+            response.setPortfolioName(position.getPortfolioName());
+            response.setCurrency(position.getCurrency());
+            response.setAsOf(now);
+            Arrays.fill(monthly, BigDecimal.ZERO);
+        }
+
+        private void add(IncomePositionView position, DividendSchedule schedule, Instant now, Instant horizon,
+                         YearMonth firstMonth) {
+            if (position.getMarketValue() != null) {
+                marketValue = marketValue.add(position.getMarketValue());
+            }
+            if (schedule.getPaymentsPerYear() == 0) {
+                return;
+            }
+            Duration interval = schedule.getInterval();
+            if (schedule.getLastExDate().plus(interval.multipliedBy(2)).isBefore(now)) {
+                return;
+            }
+
+            BigDecimal perPayment = position.getQuantity().multiply(schedule.getLastAmount());
+            boolean paying = false;
+            // The last declared dividend counts too while its payment is still ahead
+            for (Instant exDate = schedule.getLastExDate(); ; exDate = exDate.plus(interval)) {
+                Instant payDate = exDate.plus(schedule.getPaymentLag());
+                if (!payDate.isBefore(horizon)) {
+                    break;
+                }
+                if (payDate.isAfter(now)) {
+                    int month = (int) ChronoUnit.MONTHS.between(firstMonth, YearMonth.from(payDate.atZone(ZoneOffset.UTC)));
+                    monthly[month] = monthly[month].add(perPayment);
+                    paying = true;
+                }
+            }
+            if (paying) {
+                payingHoldings++;
+            }
+        }
+
+        private IncomeProjectionResponse finish() {
+            BigDecimal total = BigDecimal.ZERO;
+            List<BigDecimal> months = new ArrayList<>(HORIZON_MONTHS);
+            for (BigDecimal income : monthly) {
+                total = total.add(income);
+                months.add(income.setScale(2, RoundingMode.HALF_UP));
+            }
+            response.setMonthlyIncome(months);
+            response.setProjectedIncome(total.setScale(2, RoundingMode.HALF_UP));
+            response.setProjectedYieldPercent(marketValue.signum() > 0
+                    ? total.multiply(HUNDRED).divide(marketValue, 4, RoundingMode.HALF_UP)
+                    : BigDecimal.ZERO);
+            response.setPayingHoldings(payingHoldings);
+            return response;
+        }
+    }
+
+    private UserPrincipal getCurrentUserPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal)) {
+            throw new BadRequestException("No authenticated user found");
+        }
+        return (UserPrincipal) authentication.getPrincipal();
+    }
+}
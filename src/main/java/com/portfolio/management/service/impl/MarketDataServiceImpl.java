@@ -1,7 +1,21 @@
 package com.portfolio.management.service.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.portfolio.management.exception.MarketDataException;
 import com.portfolio.management.service.MarketDataService;
+import com.portfolio.management.service.marketdata.HedgedQuoteClient;
+import com.portfolio.management.service.marketdata.PriceStreamHub;
+import com.portfolio.management.service.marketdata.SymbolSearchIndex;
+import com.portfolio.management.service.marketdata.SymbolUniverse;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -11,23 +25,44 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalTime;
 import java.time.ZoneId;
 import java.util.*;
+import java.util.function.Supplier;
 
 /**
  * Market Data Service Implementation
  * Provides integration with external market data providers
  * Note: This is a simplified implementation. In production, you would integrate
  * with services like Alpha Vantage, IEX Cloud, Yahoo Finance, etc.
+ * Every provider call runs inside the "marketData" resilience envelope
+ * (retry, circuit breaker, rate limiter, bulkhead); quotes fall back to the last known price.
+ * Quotes are fetched through HedgedQuoteClient, which hedges slow chunks across providers.
  */
 @Service
 public class MarketDataServiceImpl implements MarketDataService {
 
     private static final Logger logger = LoggerFactory.getLogger(MarketDataServiceImpl.class);
+    private static final String PROVIDER = "marketData";
+    private static final int SYMBOL_SEARCH_LIMIT = 10;
 
     private final RestTemplate restTemplate;
+    private final HedgedQuoteClient quoteClient;
+    private final SymbolUniverse symbolUniverse;
+    private final PriceStreamHub priceStreamHub;
+    private final PriceAlertEngine priceAlertEngine;
+    private final Retry retry;
+    private final CircuitBreaker circuitBreaker;
+    private final RateLimiter rateLimiter;
+    private final Bulkhead bulkhead;
+
+    // Last successfully fetched quote per symbol, served while the provider is unavailable
+    private final Cache<String, BigDecimal> lastKnownPrices = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofDays(1))
+            .build();
 
     @Value("${market.data.api.key:demo_key}")
     private String apiKey;
@@ -39,22 +74,80 @@ public class MarketDataServiceImpl implements MarketDataService {
     private int cacheDurationSeconds;
 
     // Mock data for demonstration - in production, remove this
-    private final Map<String, BigDecimal> mockPrices = new HashMap<>();
     private final Map<String, Map<String, String>> mockCompanyInfo = new HashMap<>();
 
-    public MarketDataServiceImpl(RestTemplate restTemplate) {
+    public MarketDataServiceImpl(RestTemplate restTemplate,
+                                 HedgedQuoteClient quoteClient,
+                                 SymbolUniverse symbolUniverse,
+                                 PriceStreamHub priceStreamHub,
+                                 PriceAlertEngine priceAlertEngine,
+                                 RetryRegistry retryRegistry,
+                                 CircuitBreakerRegistry circuitBreakerRegistry,
+                                 RateLimiterRegistry rateLimiterRegistry,
+                                 BulkheadRegistry bulkheadRegistry) {
         this.restTemplate = restTemplate;
+        this.quoteClient = quoteClient;
+        this.symbolUniverse = symbolUniverse;
+        this.priceStreamHub = priceStreamHub;
+        this.priceAlertEngine = priceAlertEngine;
+        this.retry = retryRegistry.retry(PROVIDER);
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(PROVIDER);
+        this.rateLimiter = rateLimiterRegistry.rateLimiter(PROVIDER);
+        this.bulkhead = bulkheadRegistry.bulkhead(PROVIDER);
         initializeMockData();
     }
 
     @Override
     public BigDecimal getCurrentPrice(String symbol) {
-        return null;
+        String upperSymbol = symbol.toUpperCase();
+
+        try {
+            BigDecimal price = callQuoteClient(() -> quoteClient.fetchQuotes(List.of(upperSymbol))).get(upperSymbol);
+            if (price != null) {
+                lastKnownPrices.put(upperSymbol, price);
+                priceStreamHub.publish(upperSymbol, price);
+                priceAlertEngine.onPrice(upperSymbol, price);
+            }
+            return price;
+
+        } catch (Exception e) {
+            BigDecimal lastKnown = lastKnownPrices.getIfPresent(upperSymbol);
+            if (lastKnown != null) {
+                logger.warn("Provider unavailable for {}, serving last known price: {}", upperSymbol, e.getMessage());
+                return lastKnown;
+            }
+            throw e instanceof MarketDataException ? (MarketDataException) e
+                    : new MarketDataException("Market data provider unavailable for symbol: " + upperSymbol, e);
+        }
     }
 
     @Override
     public Map<String, BigDecimal> getCurrentPrices(List<String> symbols) {
-        return Map.of();
+        List<String> upperSymbols = symbols.stream().map(String::toUpperCase).distinct().toList();
+        Map<String, BigDecimal> prices = new HashMap<>();
+
+        try {
+            prices.putAll(callQuoteClient(() -> quoteClient.fetchQuotes(upperSymbols)));
+            lastKnownPrices.putAll(prices);
+            priceStreamHub.publishAll(prices);
+            priceAlertEngine.onPrices(prices);
+        } catch (Exception e) {
+            logger.warn("Batch quote fetch failed for {} symbols: {}", upperSymbols.size(), e.getMessage());
+        }
+
+        // Symbols missing from the answer fall back to their last known price
+        for (String symbol : upperSymbols) {
+            if (!prices.containsKey(symbol)) {
+                BigDecimal lastKnown = lastKnownPrices.getIfPresent(symbol);
+                if (lastKnown != null) {
+                    prices.put(symbol, lastKnown);
+                } else {
+                    logger.warn("No price available for symbol {}", symbol);
+                }
+            }
+        }
+
+        return prices;
     }
 
     @Override
@@ -71,7 +164,7 @@ public class MarketDataServiceImpl implements MarketDataService {
             }
 
             // Fallback API call simulation
-            return fetchCompanyInfoFromApi(symbol);
+            return callProvider(() -> fetchCompanyInfoFromApi(symbol));
 
         } catch (Exception e) {
             logger.error("Failed to fetch company info for symbol {}: {}", symbol, e.getMessage());
@@ -93,7 +186,9 @@ public class MarketDataServiceImpl implements MarketDataService {
 
         try {
             // In production, this would make an API call to get historical data
-            return fetchHistoricalPricesFromApi(symbol, startDate, endDate);
+            // Resolve the anchor quote first so the history call does not hold two bulkhead permits
+            BigDecimal currentPrice = getCurrentPrice(symbol);
+            return callProvider(() -> fetchHistoricalPricesFromApi(currentPrice, startDate, endDate));
 
         } catch (Exception e) {
             logger.error("Failed to fetch historical prices for symbol {}: {}", symbol, e.getMessage());
@@ -145,18 +240,20 @@ public class MarketDataServiceImpl implements MarketDataService {
     }
 
     @Override
-    @Cacheable(value = "symbol_search", key = "#query")
     public List<Map<String, Object>> searchSymbols(String query) {
         logger.debug("Searching symbols with query: {}", query);
 
-        try {
-            // In production, this would search through a symbols database or API
-            return searchSymbolsFromApi(query);
-
-        } catch (Exception e) {
-            logger.error("Failed to search symbols with query {}: {}", query, e.getMessage());
-            return Collections.emptyList();
+        // Answered from the in-memory universe index; typeahead never reaches the provider
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (SymbolSearchIndex.Instrument instrument : symbolUniverse.search(query, SYMBOL_SEARCH_LIMIT)) {
+            Map<String, Object> result = new HashMap<>();
+            result.put("symbol", instrument.getSymbol());
+            result.put("name", instrument.getName());
+            result.put("type", instrument.getType());
+            result.put("exchange", instrument.getExchange());
+            results.add(result);
         }
+        return results;
     }
 
     @Override
@@ -181,7 +278,7 @@ public class MarketDataServiceImpl implements MarketDataService {
 
         try {
             // In production, this would fetch from dividend data API
-            return fetchDividendHistoryFromApi(symbol, startDate, endDate);
+            return callProvider(() -> fetchDividendHistoryFromApi(symbol, startDate, endDate));
 
         } catch (Exception e) {
             logger.error("Failed to fetch dividend history for symbol {}: {}", symbol, e.getMessage());
@@ -195,7 +292,7 @@ public class MarketDataServiceImpl implements MarketDataService {
 
         try {
             // In production, this would fetch from stock splits API
-            return fetchStockSplitsFromApi(symbol, startDate, endDate);
+            return callProvider(() -> fetchStockSplitsFromApi(symbol, startDate, endDate));
 
         } catch (Exception e) {
             logger.error("Failed to fetch stock splits for symbol {}: {}", symbol, e.getMessage());
@@ -205,37 +302,28 @@ public class MarketDataServiceImpl implements MarketDataService {
 
     // Private helper methods
 
-    private BigDecimal fetchPriceFromApi(String symbol) {
-        try {
-            // Simulate API call with mock data
-            String upperSymbol = symbol.toUpperCase();
-
-            // Return mock price with some variation if available
-            if (mockPrices.containsKey(upperSymbol)) {
-                BigDecimal basePrice = mockPrices.get(upperSymbol);
-                BigDecimal variation = basePrice.multiply(BigDecimal.valueOf((Math.random() - 0.5) * 0.02));
-                return basePrice.add(variation).setScale(2, BigDecimal.ROUND_HALF_UP);
-            }
-
-            // For unknown symbols, return a random price
-            double randomPrice = 50 + (Math.random() * 200); // Random price between $50-$250
-            return BigDecimal.valueOf(randomPrice).setScale(2, BigDecimal.ROUND_HALF_UP);
-
-            /* In production, this would be:
-            String url = baseUrl + "/quote?symbol=" + symbol + "&apikey=" + apiKey;
-            ResponseEntity<Map> response = restTemplate.getForEntity(url, Map.class);
-
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                Map<String, Object> data = response.getBody();
-                Double price = (Double) data.get("price");
-                return price != null ? BigDecimal.valueOf(price) : null;
-            }
-            */
+    /**
+     * Runs a provider call as Retry(CircuitBreaker(RateLimiter(Bulkhead(call)))), the same
+     * order the resilience4j annotations apply. Rejections from an open breaker, the rate
+     * limiter or a full bulkhead are not retried (see resilience4j.retry ignore-exceptions).
+     */
+    private <T> T callProvider(Supplier<T> call) {
+        Supplier<T> guarded = Bulkhead.decorateSupplier(bulkhead, call);
+        guarded = RateLimiter.decorateSupplier(rateLimiter, guarded);
+        guarded = CircuitBreaker.decorateSupplier(circuitBreaker, guarded);
+        guarded = Retry.decorateSupplier(retry, guarded);
+        return guarded.get();
+    }
 
-        } catch (Exception e) {
-            logger.error("API call failed for symbol {}: {}", symbol, e.getMessage());
-            throw new MarketDataException("Failed to fetch price from API", e);
-        }
+    /**
+     * Runs a quote client call as Retry(CircuitBreaker(call)). The client passes each attempt,
+     * hedges included, through the bulkhead and rate limiter itself, so they are not applied
+     * again around the whole batch.
+     */
+    private <T> T callQuoteClient(Supplier<T> call) {
+        Supplier<T> guarded = CircuitBreaker.decorateSupplier(circuitBreaker, call);
+        guarded = Retry.decorateSupplier(retry, guarded);
+        return guarded.get();
     }
 
     private Map<String, String> fetchCompanyInfoFromApi(String symbol) {
@@ -257,11 +345,10 @@ public class MarketDataServiceImpl implements MarketDataService {
         }
     }
 
-    private List<Map<String, Object>> fetchHistoricalPricesFromApi(String symbol, Instant startDate, Instant endDate) {
+    private List<Map<String, Object>> fetchHistoricalPricesFromApi(BigDecimal currentPrice, Instant startDate, Instant endDate) {
         try {
             // Simulate historical price data
             List<Map<String, Object>> historicalData = new ArrayList<>();
-            BigDecimal currentPrice = getCurrentPrice(symbol);
 
             // Generate mock historical data (daily prices going back)
             long days = java.time.Duration.between(startDate, endDate).toDays();
@@ -285,35 +372,6 @@ public class MarketDataServiceImpl implements MarketDataService {
         }
     }
 
-    private List<Map<String, Object>> searchSymbolsFromApi(String query) {
-        try {
-            List<Map<String, Object>> results = new ArrayList<>();
-
-            // Simple mock search - in production, this would search a symbols database
-            String upperQuery = query.toUpperCase();
-
-            for (String symbol : mockPrices.keySet()) {
-                if (symbol.contains(upperQuery)) {
-                    Map<String, Object> result = new HashMap<>();
-                    result.put("symbol", symbol);
-                    result.put("name", symbol + " Corporation");
-                    result.put("type", "stock");
-                    result.put("exchange", "NASDAQ");
-
-                    results.add(result);
-
-                    if (results.size() >= 10) break; // Limit results
-                }
-            }
-
-            return results;
-
-        } catch (Exception e) {
-            logger.error("Failed to search symbols: {}", e.getMessage());
-            return Collections.emptyList();
-        }
-    }
-
     private List<Map<String, Object>> fetchDividendHistoryFromApi(String symbol, Instant startDate, Instant endDate) {
         try {
             // Mock dividend data
@@ -379,18 +437,6 @@ public class MarketDataServiceImpl implements MarketDataService {
     }
 
     private void initializeMockData() {
-        // Initialize some mock stock prices for testing
-        mockPrices.put("AAPL", BigDecimal.valueOf(175.50));
-        mockPrices.put("GOOGL", BigDecimal.valueOf(2650.75));
-        mockPrices.put("MSFT", BigDecimal.valueOf(335.20));
-        mockPrices.put("AMZN", BigDecimal.valueOf(3200.00));
-        mockPrices.put("TSLA", BigDecimal.valueOf(850.25));
-        mockPrices.put("META", BigDecimal.valueOf(310.80));
-        mockPrices.put("NFLX", BigDecimal.valueOf(425.60));
-        mockPrices.put("NVDA", BigDecimal.valueOf(780.90));
-        mockPrices.put("AMD", BigDecimal.valueOf(125.40));
-        mockPrices.put("INTC", BigDecimal.valueOf(55.75));
-
         // Initialize mock company info
         mockCompanyInfo.put("AAPL", createCompanyInfo("AAPL", "Apple Inc.", "Technology", "US"));
         mockCompanyInfo.put("GOOGL", createCompanyInfo("GOOGL", "Alphabet Inc.", "Communication Services", "US"));
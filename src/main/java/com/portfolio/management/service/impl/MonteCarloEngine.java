@@ -0,0 +1,213 @@
+package com.portfolio.management.service.impl;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.random.RandomGenerator;
+
+/**
+ * Monte Carlo simulation of a portfolio's cumulative log return. Paths are split across
+ * fork/join tasks, each with its own SplittableRandom split off its parent's before forking, so
+ * a seeded run gives the same result on any pool size. Paths are never stored: every leaf folds
+ * its path values at each year end into a fixed-bin histogram of log growth, and leaves merge
+ * histograms as they join. Percentiles are read from the merged histogram.
+ */
+@Component
+class MonteCarloEngine {
+
+    // Log growth range of the histogram (e^-8 to e^8 of the starting value) and its resolution,
+    // about 0.4% of value per bin; paths beyond the range land in the edge bins
+    private static final double LOG_RANGE = 8;
+    private static final int BINS = 4096;
+    private static final double BIN_WIDTH = 2 * LOG_RANGE / BINS;
+
+    // Paths per leaf, fixed so the split tree (and a seeded result) does not depend on the
+    // pool; one leaf's histogram is years x 16 KB
+    private static final int PATHS_PER_TASK = 4096;
+
+    private final ForkJoinPool pool;
+
+    MonteCarloEngine(@Qualifier("analyticsPool") ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Simulates the paths; targetLogGrowth is log(target / start), or NaN without a target
+     */
+    Simulation simulate(StepModel model, int paths, int years, double targetLogGrowth, long seed) {
+        return pool.invoke(new PathTask(model, years, targetLogGrowth, new SplittableRandom(seed), 0, paths));
+    }
+
+    /**
+     * Log returns of a year's steps
+     */
+    interface StepModel {
+        int stepsPerYear();
+
+        double nextStep(RandomGenerator random);
+    }
+
+    /**
+     * Normal log returns: under geometric Brownian motion a portfolio rebalanced to constant
+     * weights is itself a GBM, so one annual draw per year is exact
+     */
+    static StepModel geometricBrownianMotion(double annualDrift, double annualVolatility) {
+        return new StepModel() {
+            @Override
+            public int stepsPerYear() {
+                return 1;
+            }
+
+            @Override
+            public double nextStep(RandomGenerator random) {
+                return annualDrift + annualVolatility * random.nextGaussian();
+            }
+        };
+    }
+
+    /**
+     * Historical block log returns drawn uniformly with replacement
+     */
+    static StepModel bootstrap(double[] blockReturns, int blocksPerYear) {
+        return new StepModel() {
+            @Override
+            public int stepsPerYear() {
+                return blocksPerYear;
+            }
+
+            @Override
+            public double nextStep(RandomGenerator random) {
+                return blockReturns[random.nextInt(blockReturns.length)];
+            }
+        };
+    }
+
+    /**
+     * Merged statistics of all paths, per year end (index 0 is the end of the first year)
+     */
+    static final class Simulation {
+        private final int[][] histogram;
+        // Sum of growth factors (value / start), for the mean
+        private final double[] growthSum;
+        private final int[] aboveTarget;
+        private int touchedTarget;
+        private int paths;
+
+        private Simulation(int years) {
+            this.histogram = new int[years][BINS];
+            this.growthSum = new double[years];
+            this.aboveTarget = new int[years];
+        }
+
+        private Simulation merge(Simulation other) {
+            for (int year = 0; year < histogram.length; year++) {
+                int[] into = histogram[year];
+                int[] from = other.histogram[year];
+                for (int bin = 0; bin < BINS; bin++) {
+                    into[bin] += from[bin];
+                }
+                growthSum[year] += other.growthSum[year];
+                aboveTarget[year] += other.aboveTarget[year];
+            }
+            touchedTarget += other.touchedTarget;
+            paths += other.paths;
+            return this;
+        }
+
+        int paths() {
+            return paths;
+        }
+
+        int years() {
+            return histogram.length;
+        }
+
+        /**
+         * Growth factor at the quantile (0 to 1) of the year's distribution, interpolated
+         * within its histogram bin
+         */
+        double growthQuantile(int year, double quantile) {
+            int[] counts = histogram[year];
+            double rank = quantile * paths;
+            long cumulative = 0;
+            for (int bin = 0; bin < BINS; bin++) {
+                if (cumulative + counts[bin] >= rank && counts[bin] > 0) {
+                    double fraction = (rank - cumulative) / counts[bin];
+                    return Math.exp(-LOG_RANGE + (bin + fraction) * BIN_WIDTH);
+                }
+                cumulative += counts[bin];
+            }
+            return Math.exp(LOG_RANGE);
+        }
+
+        double meanGrowth(int year) {
+            return growthSum[year] / paths;
+        }
+
+        double fractionAboveTarget(int year) {
+            return (double) aboveTarget[year] / paths;
+        }
+
+        double fractionTouchedTarget() {
+            return (double) touchedTarget / paths;
+        }
+    }
+
+    private static final class PathTask extends RecursiveTask<Simulation> {
+        private final StepModel model;
+        private final int years;
+        private final double target;
+        private final SplittableRandom random;
+        private final int from;
+        private final int to;
+
+        private PathTask(StepModel model, int years, double target, SplittableRandom random, int from, int to) {
+            this.model = model;
+            this.years = years;
+            this.target = target;
+            this.random = random;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Simulation compute() {
+            if (to - from > PATHS_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                PathTask left = new PathTask(model, years, target, random.split(), from, middle);
+                PathTask right = new PathTask(model, years, target, random, middle, to);
+                left.fork();
+                Simulation merged = right.compute();
+                return merged.merge(left.join());
+            }
+
+            Simulation simulation = new Simulation(years);
+            int steps = model.stepsPerYear();
+            for (int path = from; path < to; path++) {
+                double growth = 0;
+                boolean touched = false;
+                for (int year = 0; year < years; year++) {
+                    for (int step = 0; step < steps; step++) {
+                        growth += model.nextStep(random);
+                    }
+                    int bin = (int) ((growth + LOG_RANGE) / BIN_WIDTH);
+                    simulation.histogram[year][Math.max(0, Math.min(BINS - 1, bin))]++;
+                    simulation.growthSum[year] += Math.exp(growth);
+                    // NaN target compares false, so nothing is counted without one
+                    if (growth >= target) {
+                        simulation.aboveTarget[year]++;
+                        touched = true;
+                    }
+                }
+                if (touched) {
+                    simulation.touchedTarget++;
+                }
+            }
+            simulation.paths = to - from;
+            return simulation;
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package com.portfolio.management.service.impl;
+
+import com.portfolio.management.config.AppProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serializes all writes to a portfolio through a single writer thread.
+ * Portfolios are hashed onto a fixed set of stripes, each drained by one thread. Writes to one
+ * portfolio therefore never overlap, so its read-modify-write cycles cannot lose updates or wait
+ * on row locks. Stripes share nothing, so portfolios on different stripes are written in parallel.
+ * A worker takes everything queued on its stripe and applies each portfolio's mutations in one
+ * transaction: a burst costs one commit, and rows touched by several mutations, such as the
+ * portfolio totals, are written once at flush. If that transaction fails, the mutations are
+ * replayed one per transaction, so only the failing one sees an error.
+ * <p>
+ * A mutation is applied at most once and only if its caller is still waiting: a caller that
+ * gives up cancels it, and a writer that has already claimed it makes the caller wait for the
+ * outcome. Writes spanning portfolios on several stripes hold those stripes at a barrier and
+ * run on the caller's thread in one transaction.
+ */
+@Component
+class PortfolioMutationExecutor implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(PortfolioMutationExecutor.class);
+
+    private static final ThreadLocal<Boolean> ON_WRITER = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private final List<Stripe> stripes = new ArrayList<>();
+    // Two barriers queued on shared stripes in different orders would wait on each other
+    private final ReentrantLock crossStripeLock = new ReentrantLock();
+    private final TransactionTemplate transactionTemplate;
+    private final int maxCoalesced;
+    private final long timeoutMs;
+
+    PortfolioMutationExecutor(PlatformTransactionManager transactionManager, AppProperties appProperties) {
+        AppProperties.Mutations properties = appProperties.getMutations();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxCoalesced = properties.getMaxCoalesced();
+        this.timeoutMs = properties.getTimeoutMs();
+        for (int i = 0; i < properties.getStripes(); i++) {
+            stripes.add(new Stripe(i));
+        }
+    }
+
+    /**
+     * Run a mutation of the given portfolio on its writer and wait for the result.
+     * Runs inline when the caller is already a writer (nested mutation) or already inside a
+     * transaction, whose work it then joins; queueing there could wait on the caller's own locks.
+     */
+    <T> T execute(String portfolioId, Supplier<T> mutation) {
+        if (runsInline()) {
+            return mutation.get();
+        }
+
+        Mutation<T> queued = new Mutation<>(portfolioId, mutation, SecurityContextHolder.getContext());
+        stripeOf(portfolioId).queue.add(queued);
+        try {
+            return queued.result.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        } catch (TimeoutException e) {
+            if (queued.cancel()) {
+                throw new IllegalStateException("Timed out waiting for the writer of portfolio " + portfolioId, e);
+            }
+            // Already being applied, so its outcome is the caller's outcome
+            return awaitClaimed(queued);
+        } catch (InterruptedException e) {
+            try {
+                if (queued.cancel()) {
+                    throw new IllegalStateException("Interrupted waiting for the writer of portfolio " + portfolioId, e);
+                }
+                return awaitClaimed(queued);
+            } finally {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    void run(String portfolioId, Runnable mutation) {
+        execute(portfolioId, () -> {
+            mutation.run();
+            return null;
+        });
+    }
+
+    /**
+     * Run one mutation over several portfolios in a single transaction. Portfolios sharing a
+     * stripe go through {@link #execute}; otherwise every stripe involved finishes what is queued
+     * ahead, then waits while the mutation runs on the caller's thread.
+     */
+    <T> T executeAcross(Collection<String> portfolioIds, Supplier<T> mutation) {
+        Set<Stripe> involved = new LinkedHashSet<>();
+        portfolioIds.forEach(portfolioId -> involved.add(stripeOf(portfolioId)));
+        if (involved.size() == 1) {
+            return execute(portfolioIds.iterator().next(), mutation);
+        }
+        return acrossStripes(involved, mutation);
+    }
+
+    /**
+     * Run a mutation that may touch any portfolio, such as a set-based update by symbol, with
+     * every writer held.
+     */
+    <T> T executeExclusive(Supplier<T> mutation) {
+        return acrossStripes(stripes, mutation);
+    }
+
+    @Override
+    public void destroy() {
+        stripes.forEach(stripe -> stripe.thread.interrupt());
+    }
+
+    private static boolean runsInline() {
+        return ON_WRITER.get() || TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    private Stripe stripeOf(String portfolioId) {
+        return stripes.get(Math.floorMod(portfolioId.hashCode(), stripes.size()));
+    }
+
+    private <T> T acrossStripes(Collection<Stripe> involved, Supplier<T> mutation) {
+        if (runsInline()) {
+            return mutation.get();
+        }
+
+        try {
+            if (!crossStripeLock.tryLock(timeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Timed out waiting for another cross-portfolio write");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for another cross-portfolio write", e);
+        }
+        Barrier barrier = new Barrier(involved.size());
+        try {
+            involved.forEach(stripe -> stripe.queue.add(barrier));
+            // Released on every path; writers that arrive after a timeout pass straight through
+            try {
+                if (!barrier.arrived.await(timeoutMs, TimeUnit.MILLISECONDS)) {
+                    throw new IllegalStateException("Timed out waiting for " + involved.size() + " portfolio writers");
+                }
+                ON_WRITER.set(Boolean.TRUE);
+                try {
+                    return transactionTemplate.execute(status -> mutation.get());
+                } finally {
+                    ON_WRITER.remove();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted waiting for the portfolio writers", e);
+            } finally {
+                barrier.released.countDown();
+            }
+        } finally {
+            crossStripeLock.unlock();
+        }
+    }
+
+    private void applyGroup(List<Mutation<?>> group) {
+        if (group.size() == 1) {
+            applyAlone(group.get(0));
+            return;
+        }
+        try {
+            // Committed under the first caller's identity, which keeps its read-your-writes routing
+            inContext(group.get(0).securityContext, () ->
+                    transactionTemplate.executeWithoutResult(status -> group.forEach(Mutation::apply)));
+            group.forEach(Mutation::complete);
+        } catch (RuntimeException e) {
+            logger.debug("Coalesced write of {} mutations for portfolio {} failed, applying one by one: {}",
+                    group.size(), group.get(0).portfolioId, e.getMessage());
+            group.forEach(this::applyAlone);
+        }
+    }
+
+    private void applyAlone(Mutation<?> mutation) {
+        try {
+            inContext(mutation.securityContext, () ->
+                    transactionTemplate.executeWithoutResult(status -> mutation.apply()));
+            mutation.complete();
+        } catch (RuntimeException | Error e) {
+            mutation.result.completeExceptionally(e);
+        }
+    }
+
+    private static <T> T awaitClaimed(Mutation<T> mutation) {
+        try {
+            return mutation.result.join();
+        } catch (CompletionException e) {
+            throw rethrow(e.getCause());
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException("Portfolio mutation failed", cause);
+    }
+
+    private static void inContext(SecurityContext context, Runnable action) {
+        SecurityContext previous = SecurityContextHolder.getContext();
+        SecurityContextHolder.setContext(context);
+        try {
+            action.run();
+        } finally {
+            SecurityContextHolder.setContext(previous);
+        }
+    }
+
+    private interface Task {
+    }
+
+    private static final class Mutation<T> implements Task {
+        private final String portfolioId;
+        private final Supplier<T> body;
+        private final SecurityContext securityContext;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        // Set once, by the writer claiming it or the caller cancelling it
+        private final AtomicBoolean taken = new AtomicBoolean();
+        private T value;
+
+        private Mutation(String portfolioId, Supplier<T> body, SecurityContext securityContext) {
+            this.portfolioId = portfolioId;
+            this.body = body;
+            this.securityContext = securityContext;
+        }
+
+        private boolean claim() {
+            return taken.compareAndSet(false, true);
+        }
+
+        private boolean cancel() {
+            return taken.compareAndSet(false, true);
+        }
+
+        private void apply() {
+            inContext(securityContext, () -> value = body.get());
+        }
+
+        // Only after commit, so callers never see results of a rolled-back transaction
+        private void complete() {
+            result.complete(value);
+        }
+    }
+
+    private static final class Barrier implements Task {
+        private final CountDownLatch arrived;
+        private final CountDownLatch released = new CountDownLatch(1);
+
+        private Barrier(int stripes) {
+            this.arrived = new CountDownLatch(stripes);
+        }
+
+        private void hold() throws InterruptedException {
+            arrived.countDown();
+            released.await();
+        }
+    }
+
+    private final class Stripe implements Runnable {
+        private final BlockingQueue<Task> queue = new LinkedBlockingQueue<>();
+        private final Thread thread;
+
+        private Stripe(int index) {
+            this.thread = new Thread(this, "portfolio-writer-" + index);
+            this.thread.setDaemon(true);
+            this.thread.start();
+        }
+
+        @Override
+        public void run() {
+            ON_WRITER.set(Boolean.TRUE);
+            List<Task> batch = new ArrayList<>();
+            List<Mutation<?>> segment = new ArrayList<>();
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    batch.add(queue.take());
+                    queue.drainTo(batch, maxCoalesced - 1);
+
+                    // Mutations queued ahead of a barrier are committed before the stripe is held
+                    while (!batch.isEmpty()) {
+                        Task task = batch.remove(0);
+                        if (task instanceof Barrier barrier) {
+                            applySegment(segment);
+                            barrier.hold();
+                        } else if (task instanceof Mutation<?> mutation && mutation.claim()) {
+                            segment.add(mutation);
+                        }
+                    }
+                    applySegment(segment);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            IllegalStateException stopped = new IllegalStateException("Portfolio writer stopped");
+            segment.forEach(mutation -> mutation.result.completeExceptionally(stopped));
+            batch.addAll(queue);
+            for (Task task : batch) {
+                if (task instanceof Mutation<?> mutation) {
+                    mutation.result.completeExceptionally(stopped);
+                }
+            }
+        }
+
+        private void applySegment(List<Mutation<?>> segment) {
+            // Per-portfolio groups keep submission order
+            Map<String, List<Mutation<?>>> groups = new LinkedHashMap<>();
+            for (Mutation<?> mutation : segment) {
+                groups.computeIfAbsent(mutation.portfolioId, id -> new ArrayList<>()).add(mutation);
+            }
+            for (List<Mutation<?>> group : groups.values()) {
+                try {
+                    applyGroup(group);
+                } catch (RuntimeException | Error e) {
+                    group.forEach(mutation -> mutation.result.completeExceptionally(e));
+                }
+            }
+            segment.clear();
+        }
+    }
+}
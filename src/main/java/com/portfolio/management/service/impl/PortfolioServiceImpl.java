@@ -13,6 +13,7 @@ import com.portfolio.management.exception.ResourceNotFoundException;
 import com.portfolio.management.mapper.PortfolioMapper;
 import com.portfolio.management.repository.PortfolioRepository;
 import com.portfolio.management.security.UserPrincipal;
+import com.portfolio.management.service.FxRateService;
 import com.portfolio.management.service.PortfolioService;
 import com.portfolio.management.service.UserService;
 import com.portfolio.management.service.ValidationService;
@@ -26,6 +27,8 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
@@ -51,15 +54,24 @@ public class PortfolioServiceImpl implements PortfolioService {
     private final PortfolioMapper portfolioMapper;
     private final UserService userService;
     private final ValidationService validationService;
+    private final PortfolioSummaryEngine summaryEngine;
+    private final PortfolioMutationExecutor mutationExecutor;
+    private final FxRateService fxRateService;
 
     public PortfolioServiceImpl(PortfolioRepository portfolioRepository,
                                 PortfolioMapper portfolioMapper,
                                 UserService userService,
-                                ValidationService validationService) {
+                                ValidationService validationService,
+                                PortfolioSummaryEngine summaryEngine,
+                                PortfolioMutationExecutor mutationExecutor,
+                                FxRateService fxRateService) {
         this.portfolioRepository = portfolioRepository;
         this.portfolioMapper = portfolioMapper;
         this.userService = userService;
         this.validationService = validationService;
+        this.summaryEngine = summaryEngine;
+        this.mutationExecutor = mutationExecutor;
+        this.fxRateService = fxRateService;
     }
 
     @Override
@@ -108,34 +120,37 @@ public class PortfolioServiceImpl implements PortfolioService {
     }
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     @CacheEvict(value = CACHE_PORTFOLIOS, key = "#portfolioId")
     public PortfolioResponse updatePortfolio(String portfolioId, PortfolioUpdateRequest request) {
-        logger.info("Updating portfolio: {}", portfolioId);
+        return mutationExecutor.execute(portfolioId, () -> {
+            logger.info("Updating portfolio: {}", portfolioId);
 
-        Portfolio portfolio = getPortfolioEntityById(portfolioId);
-        validatePortfolioAccess(portfolioId);
+            Portfolio portfolio = getPortfolioEntityById(portfolioId);
+            validatePortfolioAccess(portfolioId);
 
-        // Validate request data
-        if (request.getName() != null) {
-            validationService.validateNotEmpty(request.getName(), "portfolio name");
+            // Validate request data
+            if (request.getName() != null) {
+                validationService.validateNotEmpty(request.getName(), "portfolio name");
 
-            // Check if new name already exists for this user (excluding current portfolio)
-            if (!request.getName().equals(portfolio.getName()) &&
-                    portfolioRepository.existsByUserIdAndNameAndIdNot(portfolio.getUser().getId(), request.getName(), portfolioId)) {
-                throw new BadRequestException("Portfolio with name '" + request.getName() + "' already exists");
+                // Check if new name already exists for this user (excluding current portfolio)
+                if (!request.getName().equals(portfolio.getName()) &&
+                        portfolioRepository.existsByUserIdAndNameAndIdNot(portfolio.getUser().getId(), request.getName(), portfolioId)) {
+                    throw new BadRequestException("Portfolio with name '" + request.getName() + "' already exists");
+                }
+                portfolio.setName(request.getName());
             }
-            portfolio.setName(request.getName());
-        }
 
-        if (request.getDescription() != null) {
-            portfolio.setDescription(request.getDescription());
-        }
+            if (request.getDescription() != null) {
+                portfolio.setDescription(request.getDescription());
+            }
 
-        Portfolio updatedPortfolio = portfolioRepository.save(portfolio);
-        logger.info("Portfolio updated successfully: {}", portfolioId);
+            portfolio.incrementContentVersion();
+            Portfolio updatedPortfolio = portfolioRepository.save(portfolio);
+            logger.info("Portfolio updated successfully: {}", portfolioId);
 
-        return portfolioMapper.toResponse(updatedPortfolio);
+            return portfolioMapper.toResponse(updatedPortfolio);
+        });
     }
 
     @Override
@@ -146,7 +161,7 @@ public class PortfolioServiceImpl implements PortfolioService {
         validatePortfolioAccess(portfolioId);
 
         // Ensure portfolio totals are up to date
-        portfolio.recalculateTotals();
+        portfolio.recalculateTotals(fxRateService.getCurrentRates());
 
         return portfolioMapper.toResponse(portfolio);
     }
@@ -171,28 +186,31 @@ public class PortfolioServiceImpl implements PortfolioService {
     }
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     @CacheEvict(value = CACHE_PORTFOLIOS, key = "#portfolioId")
     public void deletePortfolio(String portfolioId) {
-        logger.info("Deleting portfolio: {}", portfolioId);
+        mutationExecutor.run(portfolioId, () -> {
+            logger.info("Deleting portfolio: {}", portfolioId);
 
-        Portfolio portfolio = getPortfolioEntityById(portfolioId);
-        validatePortfolioAccess(portfolioId);
+            Portfolio portfolio = getPortfolioEntityById(portfolioId);
+            validatePortfolioAccess(portfolioId);
 
-        // Check if portfolio has active holdings
-        if (portfolio.getHoldingsCount() > 0) {
-            throw new BadRequestException("Cannot delete portfolio with active holdings. Please close all positions first.");
-        }
+            // Check if portfolio has active holdings
+            if (portfolio.getHoldingsCount() > 0) {
+                throw new BadRequestException("Cannot delete portfolio with active holdings. Please close all positions first.");
+            }
 
-        // Soft delete by deactivating
-        portfolio.deactivate();
-        portfolioRepository.save(portfolio);
+            // Soft delete by deactivating
+            portfolio.deactivate();
+            portfolio.incrementContentVersion();
+            portfolioRepository.save(portfolio);
 
-        logger.info("Portfolio deleted (deactivated): {}", portfolioId);
+            logger.info("Portfolio deleted (deactivated): {}", portfolioId);
+        });
     }
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     @CacheEvict(value = CACHE_PORTFOLIOS, key = "#portfolioId")
     public void archivePortfolio(String portfolioId) {
         // Since Portfolio entity doesn't have archived status, we'll deactivate it
@@ -200,37 +218,43 @@ public class PortfolioServiceImpl implements PortfolioService {
     }
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     @CacheEvict(value = CACHE_PORTFOLIOS, key = "#portfolioId")
     public void activatePortfolio(String portfolioId) {
-        logger.info("Activating portfolio: {}", portfolioId);
+        mutationExecutor.run(portfolioId, () -> {
+            logger.info("Activating portfolio: {}", portfolioId);
 
-        Portfolio portfolio = getPortfolioEntityById(portfolioId);
-        validatePortfolioAccess(portfolioId);
+            Portfolio portfolio = getPortfolioEntityById(portfolioId);
+            validatePortfolioAccess(portfolioId);
 
-        portfolio.activate();
-        portfolioRepository.save(portfolio);
+            portfolio.activate();
+            portfolio.incrementContentVersion();
+            portfolioRepository.save(portfolio);
 
-        logger.info("Portfolio activated: {}", portfolioId);
+            logger.info("Portfolio activated: {}", portfolioId);
+        });
     }
 
     // Helper method for deactivating portfolio
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     @CacheEvict(value = CACHE_PORTFOLIOS, key = "#portfolioId")
     public void deactivatePortfolio(String portfolioId) {
-        logger.info("Deactivating portfolio: {}", portfolioId);
+        mutationExecutor.run(portfolioId, () -> {
+            logger.info("Deactivating portfolio: {}", portfolioId);
 
-        Portfolio portfolio = getPortfolioEntityById(portfolioId);
-        validatePortfolioAccess(portfolioId);
+            Portfolio portfolio = getPortfolioEntityById(portfolioId);
+            validatePortfolioAccess(portfolioId);
 
-        portfolio.deactivate();
-        portfolioRepository.save(portfolio);
+            portfolio.deactivate();
+            portfolio.incrementContentVersion();
+            portfolioRepository.save(portfolio);
 
-        logger.info("Portfolio deactivated: {}", portfolioId);
+            logger.info("Portfolio deactivated: {}", portfolioId);
+        });
     }
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     @CacheEvict(value = CACHE_PORTFOLIOS, key = "#portfolioId")
     public void updatePortfolioStatus(String portfolioId, PortfolioStatus status) {
         // Convert PortfolioStatus enum to boolean operations
@@ -274,68 +298,36 @@ public class PortfolioServiceImpl implements PortfolioService {
     }
 
     @Override
-    @Transactional(readOnly = true)
+    // Repeatable read so the summary queries share one snapshot
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
     public PortfolioSummaryResponse getPortfolioSummary(String portfolioId) {
-        Portfolio portfolio = getPortfolioEntityById(portfolioId);
-        validatePortfolioAccess(portfolioId);
-
-        // Recalculate totals to ensure accuracy
-        portfolio.recalculateTotals();
-
-        // Get calculated values from portfolio entity
-        BigDecimal totalValue = portfolio.getTotalValue();
-        BigDecimal totalInvested = portfolio.getTotalCost();
-        BigDecimal totalGainLoss = portfolio.getTotalGainLoss();
-        BigDecimal gainLossPercentage = portfolio.getTotalGainLossPercent();
-        BigDecimal dayChange = calculateDayChange(portfolioId);
-        BigDecimal dayChangePercentage = calculateDayChangePercentage(portfolioId);
-        BigDecimal totalDividends = getTotalDividends(portfolioId);
-        Integer holdingsCount = portfolio.getHoldingsCount();
-        Integer transactionsCount = portfolio.getTransactions().size();
-
-        return portfolioMapper.toSummaryResponse(
-                portfolio, totalValue, totalInvested, totalGainLoss,
-                gainLossPercentage, dayChange, dayChangePercentage,
-                totalDividends, holdingsCount, transactionsCount
-        );
+        return summaryEngine.summarize(List.of(portfolioId), this::validateAccess).get(0);
     }
 
     @Override
     @Transactional(readOnly = true)
     public BigDecimal calculatePortfolioValue(String portfolioId) {
-        Portfolio portfolio = getPortfolioEntityById(portfolioId);
-        validatePortfolioAccess(portfolioId);
-
-        portfolio.recalculateTotals();
-        return portfolio.getTotalValue();
+        return holdingTotals(portfolioId).value;
     }
 
     @Override
     @Transactional(readOnly = true)
     public BigDecimal calculatePortfolioGainLoss(String portfolioId) {
-        Portfolio portfolio = getPortfolioEntityById(portfolioId);
-        validatePortfolioAccess(portfolioId);
-
-        portfolio.recalculateTotals();
-        return portfolio.getTotalGainLoss();
+        PortfolioSummaryEngine.HoldingTotals totals = holdingTotals(portfolioId);
+        return totals.value.subtract(totals.invested);
     }
 
     @Override
     @Transactional(readOnly = true)
     public BigDecimal calculatePortfolioGainLossPercentage(String portfolioId) {
-        Portfolio portfolio = getPortfolioEntityById(portfolioId);
-        validatePortfolioAccess(portfolioId);
-
-        portfolio.recalculateTotals();
-        return portfolio.getTotalGainLossPercent();
+        PortfolioSummaryEngine.HoldingTotals totals = holdingTotals(portfolioId);
+        return PortfolioSummaryEngine.percentOf(totals.value.subtract(totals.invested), totals.invested);
     }
 
     @Override
     @Transactional(readOnly = true)
     public BigDecimal calculateDayChange(String portfolioId) {
-        validatePortfolioAccess(portfolioId);
-        return portfolioRepository.calculateDayChange(portfolioId)
-                .orElse(BigDecimal.ZERO);
+        return holdingTotals(portfolioId).dayChange;
     }
 
     @Override
@@ -370,7 +362,7 @@ public class PortfolioServiceImpl implements PortfolioService {
     public BigDecimal getTotalInvested(String portfolioId) {
         Portfolio portfolio = getPortfolioEntityById(portfolioId);
         validatePortfolioAccess(portfolioId);
-        portfolio.recalculateTotals();
+        portfolio.recalculateTotals(fxRateService.getCurrentRates());
         return portfolio.getTotalCost();
     }
 
@@ -390,11 +382,11 @@ public class PortfolioServiceImpl implements PortfolioService {
     }
 
     @Override
-    @Transactional(readOnly = true)
+    // Repeatable read so the summary queries share one snapshot
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
     public List<PortfolioSummaryResponse> comparePortfolios(List<String> portfolioIds) {
-        return portfolioIds.stream()
-                .map(this::getPortfolioSummary)
-                .collect(Collectors.toList());
+        // One batch for all ids instead of a full summary round trip per portfolio
+        return summaryEngine.summarize(portfolioIds, this::validateAccess);
     }
 
     @Override
@@ -467,19 +459,12 @@ public class PortfolioServiceImpl implements PortfolioService {
         return maxAllocation.compareTo(BigDecimal.valueOf(40)) <= 0;
     }
 
+    // Joins the caller's transaction; called on its own it only runs the lookup query
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public void validatePortfolioAccess(String portfolioId) {
         Portfolio portfolio = getPortfolioEntityById(portfolioId);
-        UserPrincipal currentUser = getCurrentUserPrincipal();
-
-        if (!portfolio.getUser().getId().equals(currentUser.getId())) {
-            // Check if user has admin role
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            if (auth == null || !auth.getAuthorities().stream()
-                    .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"))) {
-                throw new BadRequestException("Access denied: You can only access your own portfolios");
-            }
-        }
+        validateOwnerAccess(portfolio.getUser().getId());
     }
 
     @Override
@@ -562,15 +547,22 @@ public class PortfolioServiceImpl implements PortfolioService {
     }
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void updateMultiplePortfolioStatuses(List<String> portfolioIds, PortfolioStatus status) {
-        portfolioIds.forEach(id -> updatePortfolioStatus(id, status));
+        // All or nothing, so one transaction with every portfolio's writer held
+        mutationExecutor.executeAcross(portfolioIds, () -> {
+            portfolioIds.forEach(id -> updatePortfolioStatus(id, status));
+            return null;
+        });
     }
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void deleteMultiplePortfolios(List<String> portfolioIds) {
-        portfolioIds.forEach(this::deletePortfolio);
+        mutationExecutor.executeAcross(portfolioIds, () -> {
+            portfolioIds.forEach(this::deletePortfolio);
+            return null;
+        });
     }
 
     @Override
@@ -591,19 +583,22 @@ public class PortfolioServiceImpl implements PortfolioService {
     }
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void refreshPortfolioValues(String portfolioId) {
-        logger.info("Refreshing portfolio values: {}", portfolioId);
+        mutationExecutor.run(portfolioId, () -> {
+            logger.info("Refreshing portfolio values: {}", portfolioId);
 
-        Portfolio portfolio = getPortfolioEntityById(portfolioId);
-        validatePortfolioAccess(portfolioId);
+            Portfolio portfolio = getPortfolioEntityById(portfolioId);
+            validatePortfolioAccess(portfolioId);
 
-        portfolio.recalculateTotals();
-        portfolioRepository.save(portfolio);
+            portfolio.recalculateTotals(fxRateService.getCurrentRates());
+            portfolio.incrementContentVersion();
+            portfolioRepository.save(portfolio);
+        });
     }
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void refreshAllPortfolioValues(String userId) {
 //        List<Portfolio> userPortfolios = portfolioRepository.findByUserIdAndIsActiveTrue(userId);
         List<Portfolio> userPortfolios = portfolioRepository.findByUserIdAndStatus(userId,PortfolioStatus.ACTIVE);
@@ -611,7 +606,7 @@ public class PortfolioServiceImpl implements PortfolioService {
     }
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void syncPortfolioWithBroker(String portfolioId, String brokerId) {
         logger.info("Syncing portfolio {} with broker {}", portfolioId, brokerId);
         validatePortfolioAccess(portfolioId);
@@ -620,23 +615,39 @@ public class PortfolioServiceImpl implements PortfolioService {
         refreshPortfolioValues(portfolioId);
     }
 
-    // Utility Methods
+    // Conditional Reads
 
+    /**
+     * Single indexed read of the portfolio content version; no entities are loaded.
+     * Callers must read the version before building the response body so a concurrent
+     * write can only make the ETag older than the body, never newer.
+     */
     @Override
     @Transactional(readOnly = true)
+    public long getContentVersion(String portfolioId) {
+        PortfolioRepository.ContentVersionView view = portfolioRepository.findContentVersionById(portfolioId)
+                .orElseThrow(() -> new ResourceNotFoundException("Portfolio not found with ID: " + portfolioId));
+        validateOwnerAccess(view.getUserId());
+        return view.getContentVersion() != null ? view.getContentVersion() : 0L;
+    }
+
+    // Utility Methods
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Portfolio getPortfolioEntityById(String portfolioId) {
         return portfolioRepository.findById(portfolioId)
                 .orElseThrow(() -> new ResourceNotFoundException("Portfolio not found with ID: " + portfolioId));
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public boolean portfolioExists(String portfolioId) {
         return portfolioRepository.existsById(portfolioId);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public boolean isPortfolioOwnedByUser(String portfolioId, String userId) {
         return portfolioRepository.existsByIdAndUserId(portfolioId, userId);
     }
@@ -662,6 +673,30 @@ public class PortfolioServiceImpl implements PortfolioService {
 
     // Helper Methods
 
+    private void validateAccess(Portfolio portfolio) {
+        validateOwnerAccess(portfolio.getUser().getId());
+    }
+
+    // Holding totals converted into the portfolio currency, after the access check
+    private PortfolioSummaryEngine.HoldingTotals holdingTotals(String portfolioId) {
+        Portfolio portfolio = getPortfolioEntityById(portfolioId);
+        validateAccess(portfolio);
+        return summaryEngine.holdingTotals(portfolio);
+    }
+
+    private void validateOwnerAccess(String ownerId) {
+        UserPrincipal currentUser = getCurrentUserPrincipal();
+
+        if (!ownerId.equals(currentUser.getId())) {
+            // Check if user has admin role
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            if (auth == null || !auth.getAuthorities().stream()
+                    .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"))) {
+                throw new BadRequestException("Access denied: You can only access your own portfolios");
+            }
+        }
+    }
+
     private UserPrincipal getCurrentUserPrincipal() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal)) {
@@ -0,0 +1,170 @@
+package com.portfolio.management.service.impl;
+
+import com.portfolio.management.dto.response.PortfolioSummaryResponse;
+import com.portfolio.management.entity.Portfolio;
+import com.portfolio.management.enums.Currency;
+import com.portfolio.management.exception.ResourceNotFoundException;
+import com.portfolio.management.mapper.PortfolioMapper;
+import com.portfolio.management.repository.PortfolioRepository;
+import com.portfolio.management.repository.PortfolioRepository.HoldingTotalsView;
+import com.portfolio.management.repository.PortfolioRepository.TransactionTotalsView;
+import com.portfolio.management.service.FxRateService;
+import com.portfolio.management.service.marketdata.FxRateMatrix;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Builds portfolio summaries for any number of portfolios with three grouped queries:
+ * the portfolios (with owner), holding aggregates and transaction aggregates. The cost stays
+ * constant as the id list grows and no holding or transaction collection is loaded. The queries
+ * run one after another in a single repeatable-read transaction, so they see one snapshot and
+ * use one connection. Holding and transaction aggregates come back per currency and are folded
+ * into the portfolio currency at the current FX snapshot.
+ */
+@Component
+class PortfolioSummaryEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(PortfolioSummaryEngine.class);
+
+    private final PortfolioRepository portfolioRepository;
+    private final PortfolioMapper portfolioMapper;
+    private final FxRateService fxRateService;
+
+    PortfolioSummaryEngine(PortfolioRepository portfolioRepository,
+                           PortfolioMapper portfolioMapper,
+                           FxRateService fxRateService) {
+        this.portfolioRepository = portfolioRepository;
+        this.portfolioMapper = portfolioMapper;
+        this.fxRateService = fxRateService;
+    }
+
+    /**
+     * Summaries in the order of the given ids. Every portfolio is passed to
+     * {@code accessCheck} before any summary is returned.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    List<PortfolioSummaryResponse> summarize(Collection<String> portfolioIds, Consumer<Portfolio> accessCheck) {
+        Set<String> ids = new LinkedHashSet<>(portfolioIds);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        logger.debug("Summarizing {} portfolios", ids.size());
+
+        Map<String, Portfolio> portfoliosById = portfolioRepository.findAllByIdWithUser(ids).stream()
+                .collect(Collectors.toMap(Portfolio::getId, Function.identity()));
+        for (String id : ids) {
+            Portfolio portfolio = portfoliosById.get(id);
+            if (portfolio == null) {
+                throw new ResourceNotFoundException("Portfolio not found with ID: " + id);
+            }
+            accessCheck.accept(portfolio);
+        }
+
+        FxRateMatrix rates = fxRateService.getCurrentRates();
+        Map<String, HoldingTotals> holdingsById = new HashMap<>();
+        for (HoldingTotalsView row : portfolioRepository.summarizeHoldings(ids)) {
+            Currency currency = portfoliosById.get(row.getPortfolioId()).getCurrency();
+            holdingsById.computeIfAbsent(row.getPortfolioId(), id -> new HoldingTotals()).add(row, rates, currency);
+        }
+        Map<String, TransactionTotals> transactionsById = new HashMap<>();
+        for (TransactionTotalsView row : portfolioRepository.summarizeTransactions(ids)) {
+            Currency currency = portfoliosById.get(row.getPortfolioId()).getCurrency();
+            transactionsById.computeIfAbsent(row.getPortfolioId(), id -> new TransactionTotals()).add(row, rates, currency);
+        }
+
+        List<PortfolioSummaryResponse> summaries = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            summaries.add(toSummary(portfoliosById.get(id), holdingsById.get(id), transactionsById.get(id)));
+        }
+        return summaries;
+    }
+
+    private PortfolioSummaryResponse toSummary(Portfolio portfolio, HoldingTotals holdings,
+                                               TransactionTotals transactions) {
+        // Portfolios without active holdings or transactions have no row in the grouped results
+        BigDecimal totalValue = holdings != null ? holdings.value : BigDecimal.ZERO;
+        BigDecimal totalInvested = holdings != null ? holdings.invested : BigDecimal.ZERO;
+        BigDecimal dayChange = holdings != null ? holdings.dayChange : BigDecimal.ZERO;
+        int holdingsCount = holdings != null ? (int) holdings.count : 0;
+        BigDecimal totalDividends = transactions != null ? transactions.dividends : BigDecimal.ZERO;
+        int transactionsCount = transactions != null ? (int) transactions.count : 0;
+
+        BigDecimal totalGainLoss = totalValue.subtract(totalInvested);
+        BigDecimal gainLossPercentage = percentOf(totalGainLoss, totalInvested);
+        BigDecimal dayChangePercentage = totalValue.signum() == 0
+                ? BigDecimal.ZERO
+                : percentOf(dayChange, totalValue.subtract(dayChange));
+
+        return portfolioMapper.toSummaryResponse(
+                portfolio, totalValue, totalInvested, totalGainLoss,
+                gainLossPercentage, dayChange, dayChangePercentage,
+                totalDividends, holdingsCount, transactionsCount
+        );
+    }
+
+    /**
+     * Holding totals of one portfolio in its own currency. The caller checks access.
+     */
+    HoldingTotals holdingTotals(Portfolio portfolio) {
+        FxRateMatrix rates = fxRateService.getCurrentRates();
+        HoldingTotals totals = new HoldingTotals();
+        for (HoldingTotalsView row : portfolioRepository.summarizeHoldings(List.of(portfolio.getId()))) {
+            totals.add(row, rates, portfolio.getCurrency());
+        }
+        return totals;
+    }
+
+    static BigDecimal percentOf(BigDecimal amount, BigDecimal base) {
+        if (base.signum() == 0) {
+            return BigDecimal.ZERO;
+        }
+        return amount.divide(base, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100));
+    }
+
+    /**
+     * Holding aggregates of one portfolio summed over currencies, in one target currency
+     */
+    static final class HoldingTotals {
+        long count;
+        BigDecimal value = BigDecimal.ZERO;
+        BigDecimal invested = BigDecimal.ZERO;
+        BigDecimal dayChange = BigDecimal.ZERO;
+
+        void add(HoldingTotalsView row, FxRateMatrix rates, Currency currency) {
+            count += row.getHoldingsCount();
+            value = value.add(rates.convert(row.getTotalValue(), row.getCurrency(), currency));
+            invested = invested.add(rates.convert(row.getTotalInvested(), row.getCurrency(), currency));
+            dayChange = dayChange.add(rates.convert(row.getDayChange(), row.getCurrency(), currency));
+        }
+    }
+
+    /**
+     * Transaction aggregates of one portfolio summed over currencies, in one target currency
+     */
+    static final class TransactionTotals {
+        long count;
+        BigDecimal dividends = BigDecimal.ZERO;
+
+        void add(TransactionTotalsView row, FxRateMatrix rates, Currency currency) {
+            count += row.getTransactionsCount();
+            dividends = dividends.add(rates.convert(row.getTotalDividends(), row.getCurrency(), currency));
+        }
+    }
+
+}
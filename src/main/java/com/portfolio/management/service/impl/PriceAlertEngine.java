@@ -0,0 +1,462 @@
+package com.portfolio.management.service.impl;
+
+import com.portfolio.management.config.AppProperties;
+import com.portfolio.management.enums.PriceAlertType;
+import com.portfolio.management.event.HoldingChangedEvent;
+import com.portfolio.management.event.PriceAlertEvent;
+import com.portfolio.management.repository.HoldingRepository;
+import com.portfolio.management.repository.HoldingRepository.AlertPositionView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Incremental alert state for every open holding.
+ * Each symbol keeps its holdings' target, stop-loss and day-drop levels in sorted maps. A price
+ * tick from p0 to p1 only visits the levels between the two prices (a range query, O(log n +
+ * hits)) and flips the alert bits of those holdings; a PriceAlertEvent is published for every
+ * rule that starts or stops matching. A holding write carries the price it was valued at; when
+ * that is newer than the symbol's last tick, the book moves to it as it would on a tick, so a
+ * manual price update or a split is evaluated against the written price. Concentration depends on all holdings of a portfolio, so
+ * ticks only mark the symbol and a periodic sweep re-checks the portfolios that hold it.
+ * <p>
+ * Holdings follow JPA writes through HoldingChangedEvent after commit. A write that changes
+ * quantity, current or previous-close price, target or stop loss in SQL must call
+ * reloadPortfolios after commit: today that is the corporate-action split. The symbol risk
+ * update touches none of these columns. Anything else, such as bulk loads or another
+ * instance's writes, is picked up by the nightly rebuild. Changes committed while a rebuild
+ * reads its snapshot are held back and applied on top of it in order.
+ * <p>
+ * The index only drives alert events; the holding risk queries read the database.
+ */
+@Component
+class PriceAlertEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(PriceAlertEngine.class);
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final HoldingRepository holdingRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AppProperties.Alerts properties;
+    private final Clock clock;
+
+    private final Map<String, SymbolBook> books = new ConcurrentHashMap<>();
+    private final Map<String, Position> positions = new ConcurrentHashMap<>();
+    private final Map<String, Set<Position>> positionsByPortfolio = new ConcurrentHashMap<>();
+    // Concentration work for the next sweep
+    private final Set<String> dirtySymbols = ConcurrentHashMap.newKeySet();
+    private final Set<String> dirtyPortfolios = ConcurrentHashMap.newKeySet();
+    private volatile boolean loaded;
+    // Changes arriving while a rebuild reads its snapshot; rebuilding is guarded by this queue
+    private final Queue<Consumer<List<PriceAlertEvent>>> deferred = new ArrayDeque<>();
+    private boolean rebuilding;
+
+    PriceAlertEngine(HoldingRepository holdingRepository,
+                     ApplicationEventPublisher eventPublisher,
+                     AppProperties appProperties,
+                     Clock clock) {
+        this.holdingRepository = holdingRepository;
+        this.eventPublisher = eventPublisher;
+        this.properties = appProperties.getAlerts();
+        this.clock = clock;
+    }
+
+    /**
+     * A price from the quote path. Symbols nobody holds are ignored.
+     */
+    void onPrice(String symbol, BigDecimal price) {
+        SymbolBook book = books.get(symbol);
+        if (book == null || price == null || !properties.isEnabled()) {
+            return;
+        }
+        List<PriceAlertEvent> events = new ArrayList<>();
+        if (book.onPrice(price, clock.instant(), events)) {
+            dirtySymbols.add(symbol);
+        }
+        publish(events);
+    }
+
+    void onPrices(Map<String, BigDecimal> prices) {
+        prices.forEach(this::onPrice);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHoldingChanged(HoldingChangedEvent event) {
+        change(events -> {
+            if (event.isRemoved() || event.getQuantity() == null || event.getQuantity().signum() <= 0) {
+                remove(event.getHoldingId(), events);
+            } else {
+                upsert(event.getHoldingId(), event.getPortfolioId(), event.getSymbol(), event.getQuantity(),
+                        event.getCurrentPrice(), event.getLastUpdated(), event.getPreviousClosePrice(),
+                        event.getTargetPrice(), event.getStopLossPrice(), events);
+            }
+        });
+    }
+
+    /**
+     * Re-reads the holdings of the portfolios after a write that bypassed JPA
+     */
+    void reloadPortfolios(Collection<String> portfolioIds) {
+        if (portfolioIds.isEmpty()) {
+            return;
+        }
+        change(events -> apply(holdingRepository.findAlertPositionsByPortfolioIds(portfolioIds), portfolioIds, events));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.alerts.rebuild-cron:0 0 4 * * *}")
+    public synchronized void rebuild() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long started = System.nanoTime();
+        boolean wasLoaded = loaded;
+        List<PriceAlertEvent> events = new ArrayList<>();
+        synchronized (deferred) {
+            rebuilding = true;
+        }
+        try {
+            apply(holdingRepository.findAlertPositions(), null, events);
+            loaded = true;
+        } finally {
+            replayDeferred(events);
+        }
+        sweepConcentration(new HashSet<>(positionsByPortfolio.keySet()), events);
+        // The first load establishes state; alerts already matching at startup are not news
+        if (wasLoaded) {
+            publish(events);
+        }
+        logger.info("Indexed alert levels of {} holdings over {} symbols in {} ms", positions.size(), books.size(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @Scheduled(fixedDelayString = "${app.alerts.concentration-sweep-interval-ms:30000}")
+    public void sweepConcentration() {
+        if (!loaded) {
+            return;
+        }
+        Set<String> portfolioIds = new HashSet<>();
+        drain(dirtyPortfolios, portfolioIds::add);
+        drain(dirtySymbols, symbol -> {
+            SymbolBook book = books.get(symbol);
+            if (book != null) {
+                book.holders().forEach(position -> portfolioIds.add(position.portfolioId));
+            }
+        });
+        List<PriceAlertEvent> events = new ArrayList<>();
+        sweepConcentration(portfolioIds, events);
+        publish(events);
+    }
+
+    /**
+     * Applies a change now, or after the snapshot when a rebuild is reading one. Before the first
+     * load there is nothing to update: the first snapshot is read after the change committed.
+     */
+    private void change(Consumer<List<PriceAlertEvent>> change) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        synchronized (deferred) {
+            if (rebuilding) {
+                deferred.add(change);
+                return;
+            }
+        }
+        if (!loaded) {
+            return;
+        }
+        List<PriceAlertEvent> events = new ArrayList<>();
+        change.accept(events);
+        publish(events);
+    }
+
+    private void replayDeferred(List<PriceAlertEvent> events) {
+        while (true) {
+            List<Consumer<List<PriceAlertEvent>>> batch;
+            synchronized (deferred) {
+                if (deferred.isEmpty()) {
+                    rebuilding = false;
+                    return;
+                }
+                batch = new ArrayList<>(deferred);
+                deferred.clear();
+            }
+            if (!loaded) {
+                continue;
+            }
+            for (Consumer<List<PriceAlertEvent>> change : batch) {
+                try {
+                    change.accept(events);
+                } catch (RuntimeException e) {
+                    logger.warn("Dropped an alert index change made during rebuild: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void sweepConcentration(Set<String> portfolioIds, List<PriceAlertEvent> events) {
+        BigDecimal limit = BigDecimal.valueOf(properties.getConcentrationPercent());
+        for (String portfolioId : portfolioIds) {
+            Set<Position> holdings = positionsByPortfolio.get(portfolioId);
+            if (holdings == null) {
+                continue;
+            }
+            List<Position> members = new ArrayList<>(holdings);
+            double[] values = new double[members.size()];
+            double total = 0;
+            for (int i = 0; i < values.length; i++) {
+                Position position = members.get(i);
+                SymbolBook book = books.get(position.symbol);
+                BigDecimal price = book != null ? book.price() : null;
+                values[i] = price != null ? position.quantity * price.doubleValue() : 0;
+                total += values[i];
+            }
+            for (int i = 0; i < values.length; i++) {
+                boolean concentrated = total > 0 && values[i] * 100 / total > properties.getConcentrationPercent();
+                transition(members.get(i), PriceAlertType.CONCENTRATION, concentrated, null, limit, events);
+            }
+        }
+    }
+
+    /**
+     * Replaces the positions of the given portfolios (all portfolios when null) with the rows
+     */
+    private void apply(List<AlertPositionView> rows, Collection<String> portfolioIds, List<PriceAlertEvent> events) {
+        Set<String> seen = new HashSet<>();
+        for (AlertPositionView row : rows) {
+            seen.add(row.getHoldingId());
+            upsert(row.getHoldingId(), row.getPortfolioId(), row.getSymbol(), row.getQuantity(), row.getCurrentPrice(),
+                    row.getLastUpdated(), row.getPreviousClosePrice(), row.getTargetPrice(), row.getStopLossPrice(),
+                    events);
+        }
+        for (Position position : new ArrayList<>(positions.values())) {
+            boolean inScope = portfolioIds == null || portfolioIds.contains(position.portfolioId);
+            if (inScope && !seen.contains(position.holdingId)) {
+                remove(position.holdingId, events);
+            }
+        }
+    }
+
+    private void upsert(String holdingId, String portfolioId, String symbol, BigDecimal quantity,
+                        BigDecimal currentPrice, Instant pricedAt, BigDecimal previousClose, BigDecimal target,
+                        BigDecimal stopLoss, List<PriceAlertEvent> events) {
+        Position position = positions.computeIfAbsent(holdingId, id -> {
+            Position created = new Position(id, portfolioId, symbol);
+            positionsByPortfolio.computeIfAbsent(portfolioId, p -> ConcurrentHashMap.newKeySet()).add(created);
+            return created;
+        });
+        BigDecimal dropLevel = null;
+        if (previousClose != null && previousClose.signum() > 0) {
+            dropLevel = previousClose.multiply(HUNDRED.subtract(properties.getDayDropPercent()))
+                    .divide(HUNDRED, 4, RoundingMode.HALF_UP);
+        }
+        books.computeIfAbsent(symbol, s -> new SymbolBook())
+                .put(position, quantity.doubleValue(), currentPrice, pricedAt, target, stopLoss, dropLevel, events);
+        dirtyPortfolios.add(portfolioId);
+    }
+
+    private void remove(String holdingId, List<PriceAlertEvent> events) {
+        Position position = positions.remove(holdingId);
+        if (position == null) {
+            return;
+        }
+        SymbolBook book = books.get(position.symbol);
+        if (book != null) {
+            book.remove(position);
+        }
+        positionsByPortfolio.computeIfPresent(position.portfolioId, (id, members) -> {
+            members.remove(position);
+            return members.isEmpty() ? null : members;
+        });
+        // Raised alerts end with the holding
+        for (PriceAlertType type : PriceAlertType.values()) {
+            transition(position, type, false, null, null, events);
+        }
+        dirtyPortfolios.add(position.portfolioId);
+    }
+
+    private void transition(Position position, PriceAlertType type, boolean matching, BigDecimal price,
+                            BigDecimal threshold, List<PriceAlertEvent> events) {
+        int mask = type.mask();
+        int previous = position.alerts.getAndUpdate(alerts -> matching ? alerts | mask : alerts & ~mask);
+        if (((previous & mask) != 0) != matching) {
+            events.add(new PriceAlertEvent(position.holdingId, position.portfolioId, position.symbol, type, matching,
+                    price, threshold, clock.instant()));
+        }
+    }
+
+    private void publish(List<PriceAlertEvent> events) {
+        for (PriceAlertEvent event : events) {
+            logger.debug("{} alert {} for holding {} ({} at {})", event.getType(), event.isRaised() ? "raised" : "cleared",
+                    event.getHoldingId(), event.getSymbol(), event.getPrice());
+            eventPublisher.publishEvent(event);
+        }
+    }
+
+    private static void drain(Set<String> set, Consumer<String> action) {
+        for (String value : new ArrayList<>(set)) {
+            set.remove(value);
+            action.accept(value);
+        }
+    }
+
+    private static final class Position {
+        private final String holdingId;
+        private final String portfolioId;
+        private final String symbol;
+        // Bits of PriceAlertType currently matching; concentration is written outside the book lock
+        private final AtomicInteger alerts = new AtomicInteger();
+        private volatile double quantity;
+        // Levels as indexed, guarded by the symbol's book
+        private BigDecimal target;
+        private BigDecimal stopLoss;
+        private BigDecimal dropLevel;
+
+        private Position(String holdingId, String portfolioId, String symbol) {
+            this.holdingId = holdingId;
+            this.portfolioId = portfolioId;
+            this.symbol = symbol;
+        }
+    }
+
+    /**
+     * Sorted alert levels of one symbol: targets match at or above their level, stop-loss and
+     * day-drop levels at or below theirs
+     */
+    private final class SymbolBook {
+        private final Map<String, Position> holders = new HashMap<>();
+        private final TreeMap<BigDecimal, List<Position>> targets = new TreeMap<>();
+        private final TreeMap<BigDecimal, List<Position>> stopLosses = new TreeMap<>();
+        private final TreeMap<BigDecimal, List<Position>> dayDrops = new TreeMap<>();
+        private BigDecimal lastPrice;
+        private Instant lastPriceAt;
+
+        private synchronized BigDecimal price() {
+            return lastPrice;
+        }
+
+        private synchronized List<Position> holders() {
+            return new ArrayList<>(holders.values());
+        }
+
+        private synchronized void put(Position position, double quantity, BigDecimal currentPrice, Instant pricedAt,
+                                      BigDecimal target, BigDecimal stopLoss, BigDecimal dropLevel,
+                                      List<PriceAlertEvent> events) {
+            // Out of the book while it moves, so its old levels do not flip
+            remove(position);
+            if (currentPrice != null && (lastPrice == null
+                    || pricedAt != null && (lastPriceAt == null || pricedAt.isAfter(lastPriceAt)))) {
+                onPrice(currentPrice, pricedAt, events);
+            }
+            position.quantity = quantity;
+            position.target = target;
+            position.stopLoss = stopLoss;
+            position.dropLevel = dropLevel;
+            holders.put(position.holdingId, position);
+            index(targets, target, position);
+            index(stopLosses, stopLoss, position);
+            index(dayDrops, dropLevel, position);
+            evaluate(position, events);
+        }
+
+        private synchronized void remove(Position position) {
+            unindex(position);
+            holders.remove(position.holdingId);
+        }
+
+        /**
+         * Moves the book to the price as of {@code at}, flipping only the levels crossed on the way.
+         * Returns false if the price did not change.
+         */
+        private synchronized boolean onPrice(BigDecimal price, Instant at, List<PriceAlertEvent> events) {
+            BigDecimal previous = lastPrice;
+            lastPrice = price;
+            lastPriceAt = at;
+            if (previous == null) {
+                holders.values().forEach(position -> evaluate(position, events));
+                return true;
+            }
+            int direction = price.compareTo(previous);
+            if (direction > 0) {
+                crossed(targets.subMap(previous, false, price, true), PriceAlertType.TARGET_REACHED, true, price, events);
+                crossed(stopLosses.subMap(previous, true, price, false), PriceAlertType.STOP_LOSS, false, price, events);
+                crossed(dayDrops.subMap(previous, true, price, false), PriceAlertType.DAY_DROP, false, price, events);
+            } else if (direction < 0) {
+                crossed(targets.subMap(price, false, previous, true), PriceAlertType.TARGET_REACHED, false, price, events);
+                crossed(stopLosses.subMap(price, true, previous, false), PriceAlertType.STOP_LOSS, true, price, events);
+                crossed(dayDrops.subMap(price, true, previous, false), PriceAlertType.DAY_DROP, true, price, events);
+            }
+            return direction != 0;
+        }
+
+        private void evaluate(Position position, List<PriceAlertEvent> events) {
+            if (lastPrice == null) {
+                return;
+            }
+            transition(position, PriceAlertType.TARGET_REACHED,
+                    position.target != null && lastPrice.compareTo(position.target) >= 0, lastPrice, position.target,
+                    events);
+            transition(position, PriceAlertType.STOP_LOSS,
+                    position.stopLoss != null && lastPrice.compareTo(position.stopLoss) <= 0, lastPrice,
+                    position.stopLoss, events);
+            transition(position, PriceAlertType.DAY_DROP,
+                    position.dropLevel != null && lastPrice.compareTo(position.dropLevel) <= 0, lastPrice,
+                    position.dropLevel, events);
+        }
+
+        private void crossed(Map<BigDecimal, List<Position>> levels, PriceAlertType type, boolean matching,
+                             BigDecimal price, List<PriceAlertEvent> events) {
+            for (Map.Entry<BigDecimal, List<Position>> level : levels.entrySet()) {
+                for (Position position : level.getValue()) {
+                    transition(position, type, matching, price, level.getKey(), events);
+                }
+            }
+        }
+
+        private void unindex(Position position) {
+            unindex(targets, position.target, position);
+            unindex(stopLosses, position.stopLoss, position);
+            unindex(dayDrops, position.dropLevel, position);
+        }
+
+        private void index(TreeMap<BigDecimal, List<Position>> levels, BigDecimal level, Position position) {
+            if (level != null) {
+                levels.computeIfAbsent(level, l -> new ArrayList<>(1)).add(position);
+            }
+        }
+
+        private void unindex(TreeMap<BigDecimal, List<Position>> levels, BigDecimal level, Position position) {
+            if (level == null) {
+                return;
+            }
+            List<Position> atLevel = levels.get(level);
+            if (atLevel != null && atLevel.remove(position) && atLevel.isEmpty()) {
+                levels.remove(level);
+            }
+        }
+    }
+}
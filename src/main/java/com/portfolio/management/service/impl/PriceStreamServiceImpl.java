@@ -0,0 +1,93 @@
+package com.portfolio.management.service.impl;
+
+import com.portfolio.management.config.AppProperties;
+import com.portfolio.management.enums.HoldingStatus;
+import com.portfolio.management.exception.BadRequestException;
+import com.portfolio.management.repository.HoldingRepository;
+import com.portfolio.management.repository.UserRepository;
+import com.portfolio.management.security.UserPrincipal;
+import com.portfolio.management.service.MarketDataService;
+import com.portfolio.management.service.PriceStreamService;
+import com.portfolio.management.service.marketdata.PriceStreamHub;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * PriceStreamService Implementation
+ * Replaces per-client polling with one batched quote fetch per refresh interval covering
+ * the union of all streamed symbols; the market data service pushes what changed to the hub.
+ */
+@Service
+public class PriceStreamServiceImpl implements PriceStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PriceStreamServiceImpl.class);
+
+    private final PriceStreamHub priceStreamHub;
+    private final MarketDataService marketDataService;
+    private final HoldingRepository holdingRepository;
+    private final UserRepository userRepository;
+    private final AppProperties appProperties;
+
+    public PriceStreamServiceImpl(PriceStreamHub priceStreamHub,
+                                  MarketDataService marketDataService,
+                                  HoldingRepository holdingRepository,
+                                  UserRepository userRepository,
+                                  AppProperties appProperties) {
+        this.priceStreamHub = priceStreamHub;
+        this.marketDataService = marketDataService;
+        this.holdingRepository = holdingRepository;
+        this.userRepository = userRepository;
+        this.appProperties = appProperties;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SseEmitter subscribe() {
+        if (!appProperties.getStreaming().isEnabled()) {
+            throw new BadRequestException("Price streaming is disabled");
+        }
+
+        String userId = getCurrentUserPrincipal().getId();
+        Set<String> symbols = new TreeSet<>(userRepository.findWatchlistSymbolsByUserId(userId));
+        symbols.addAll(holdingRepository.findDistinctSymbolsByUserIdAndStatus(userId, HoldingStatus.ACTIVE));
+        if (symbols.isEmpty()) {
+            throw new BadRequestException("Nothing to stream: watchlist and holdings are empty");
+        }
+
+        logger.debug("User {} subscribing to prices for {} symbols", userId, symbols.size());
+        return priceStreamHub.subscribe(userId, Set.copyOf(symbols));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.streaming.refresh-interval-ms:5000}")
+    public void refreshStreamedPrices() {
+        List<String> symbols = priceStreamHub.getSubscribedSymbols();
+        if (symbols.isEmpty()) {
+            return;
+        }
+
+        try {
+            marketDataService.getCurrentPrices(symbols);
+        } catch (Exception e) {
+            logger.warn("Price stream refresh failed for {} symbols: {}", symbols.size(), e.getMessage());
+        }
+    }
+
+    private UserPrincipal getCurrentUserPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal)) {
+            throw new BadRequestException("No authenticated user found");
+        }
+        return (UserPrincipal) authentication.getPrincipal();
+    }
+}
@@ -0,0 +1,234 @@
+package com.portfolio.management.service.impl;
+
+import com.portfolio.management.config.AppProperties;
+import com.portfolio.management.dto.request.ProjectionRequest;
+import com.portfolio.management.dto.response.ProjectionResponse;
+import com.portfolio.management.dto.response.ProjectionYearResponse;
+import com.portfolio.management.enums.ProjectionModel;
+import com.portfolio.management.exception.BadRequestException;
+import com.portfolio.management.repository.HoldingRepository;
+import com.portfolio.management.repository.HoldingRepository.RiskPositionView;
+import com.portfolio.management.service.FxRateService;
+import com.portfolio.management.service.PortfolioService;
+import com.portfolio.management.service.ProjectionService;
+import com.portfolio.management.service.impl.MonteCarloEngine.Simulation;
+import com.portfolio.management.service.impl.MonteCarloEngine.StepModel;
+import com.portfolio.management.service.impl.ReturnSeriesLoader.AlignedReturns;
+import com.portfolio.management.service.marketdata.FxRateMatrix;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * ProjectionService Implementation
+ * The holdings' aligned daily returns are folded into one portfolio series at the current
+ * market value weights, rebalanced daily, so cross-holding correlation is carried by the series
+ * itself. Holdings quoted in another currency are valued at the current FX snapshot and their
+ * returns restated into the portfolio currency. GBM takes the series' drift and volatility; the
+ * bootstrap resamples its overlapping multi-day blocks. Either way the simulation is one
+ * dimensional, whatever the holding count.
+ */
+@Service
+public class ProjectionServiceImpl implements ProjectionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjectionServiceImpl.class);
+
+    private static final double[] PERCENTILES = {0.05, 0.25, 0.50, 0.75, 0.95};
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final HoldingRepository holdingRepository;
+    private final PortfolioService portfolioService;
+    private final ReturnSeriesLoader seriesLoader;
+    private final MonteCarloEngine engine;
+    private final FxRateService fxRateService;
+    private final AppProperties.Projections properties;
+    private final String benchmarkSymbol;
+    private final Clock clock;
+
+    public ProjectionServiceImpl(HoldingRepository holdingRepository,
+                                 PortfolioService portfolioService,
+                                 ReturnSeriesLoader seriesLoader,
+                                 MonteCarloEngine engine,
+                                 FxRateService fxRateService,
+                                 AppProperties appProperties,
+                                 Clock clock) {
+        this.holdingRepository = holdingRepository;
+        this.portfolioService = portfolioService;
+        this.seriesLoader = seriesLoader;
+        this.engine = engine;
+        this.fxRateService = fxRateService;
+        this.properties = appProperties.getProjections();
+        this.benchmarkSymbol = appProperties.getRisk().getBenchmarkSymbol();
+        this.clock = clock;
+    }
+
+    @Override
+    public ProjectionResponse projectPortfolio(String portfolioId, ProjectionRequest request) {
+        portfolioService.validatePortfolioAccess(portfolioId);
+        long started = System.nanoTime();
+
+        List<RiskPositionView> positions = holdingRepository.findRiskPositionsByPortfolioId(portfolioId);
+        FxRateMatrix rates = fxRateService.getCurrentRates();
+        BigDecimal[] values = new BigDecimal[positions.size()];
+        BigDecimal startingValue = BigDecimal.ZERO;
+        Set<String> symbols = new LinkedHashSet<>();
+        for (int i = 0; i < values.length; i++) {
+            RiskPositionView position = positions.get(i);
+            symbols.add(position.getSymbol());
+            values[i] = rates.convert(position.getMarketValue(), position.getCurrency(), position.getPortfolioCurrency());
+            if (values[i] != null) {
+                startingValue = startingValue.add(values[i]);
+            }
+        }
+        if (startingValue.signum() <= 0) {
+            throw new BadRequestException("Portfolio has no market value to project");
+        }
+
+        ProjectionResponse response = new ProjectionResponse();
+        double[] daily = portfolioReturns(positions, values, seriesLoader.load(symbols, benchmarkSymbol,
+                properties.getHistoryDays()), response.getUnpricedSymbols());
+        int blockDays = Math.max(1, properties.getBlockDays());
+        if (daily.length < 2 * blockDays) {
+            throw new BadRequestException("Not enough price history to project portfolio " + portfolioId);
+        }
+
+        double mean = 0;
+        for (double value : daily) {
+            mean += value;
+        }
+        mean /= daily.length;
+        double squares = 0;
+        for (double value : daily) {
+            squares += (value - mean) * (value - mean);
+        }
+        double drift = mean * RiskAnalyticsEngine.TRADING_DAYS;
+        double volatility = Math.sqrt(squares / (daily.length - 1) * RiskAnalyticsEngine.TRADING_DAYS);
+
+        StepModel model = request.getModel() == ProjectionModel.BOOTSTRAP
+                ? MonteCarloEngine.bootstrap(blockReturns(daily, blockDays),
+                Math.max(1, (int) Math.round(RiskAnalyticsEngine.TRADING_DAYS / blockDays)))
+                : MonteCarloEngine.geometricBrownianMotion(drift, volatility);
+        double targetLogGrowth = request.getTargetValue() != null
+                ? Math.log(request.getTargetValue().doubleValue() / startingValue.doubleValue()) : Double.NaN;
+        long seed = request.getSeed() != null ? request.getSeed() : ThreadLocalRandom.current().nextLong();
+        Simulation simulation = engine.simulate(model, request.getPaths(), request.getHorizonYears(),
+                targetLogGrowth, seed);
+
+        response.setPortfolioId(portfolioId);
+        response.setModel(request.getModel());
+        response.setPaths(simulation.paths());
+        response.setHorizonYears(simulation.years());
+        response.setAsOf(clock.instant());
+        response.setStartingValue(startingValue.setScale(2, RoundingMode.HALF_UP));
+        response.setObservations(daily.length);
+        response.setAnnualizedDrift(percent(drift));
+        response.setAnnualizedVolatility(percent(volatility));
+        response.setTargetValue(request.getTargetValue());
+        for (int year = 0; year < simulation.years(); year++) {
+            response.getYears().add(toYear(simulation, year, startingValue, request.getTargetValue() != null));
+        }
+        if (request.getTargetValue() != null) {
+            response.setProbabilityOfReachingTarget(percent(simulation.fractionAboveTarget(simulation.years() - 1)));
+            response.setProbabilityOfTouchingTarget(percent(simulation.fractionTouchedTarget()));
+        }
+
+        logger.info("Projected portfolio {} over {} years with {} {} paths in {} ms", portfolioId,
+                simulation.years(), simulation.paths(), request.getModel(), (System.nanoTime() - started) / 1_000_000);
+        return response;
+    }
+
+    /**
+     * Daily log returns, in the portfolio currency, of the priced holdings at market value weights,
+     * rebalanced daily
+     */
+    private double[] portfolioReturns(List<RiskPositionView> positions, BigDecimal[] positionValues,
+                                      AlignedReturns series, List<String> unpriced) {
+        List<double[]> covered = new ArrayList<>();
+        List<Double> values = new ArrayList<>();
+        double coveredValue = 0;
+        for (int i = 0; i < positionValues.length; i++) {
+            RiskPositionView position = positions.get(i);
+            double[] returns = seriesLoader.returnsIn(series, position.getSymbol(), position.getCurrency(),
+                    position.getPortfolioCurrency());
+            if (returns == null) {
+                unpriced.add(position.getSymbol());
+                continue;
+            }
+            double value = positionValues[i] != null ? positionValues[i].doubleValue() : 0;
+            covered.add(returns);
+            values.add(value);
+            coveredValue += value;
+        }
+        if (covered.isEmpty() || coveredValue <= 0) {
+            return new double[0];
+        }
+
+        double[] daily = new double[series.observations()];
+        double[] growth = new double[daily.length];
+        for (int i = 0; i < covered.size(); i++) {
+            double weight = values.get(i) / coveredValue;
+            double[] returns = covered.get(i);
+            for (int t = 0; t < growth.length; t++) {
+                growth[t] += weight * Math.exp(returns[t]);
+            }
+        }
+        for (int t = 0; t < daily.length; t++) {
+            daily[t] = Math.log(growth[t]);
+        }
+        return daily;
+    }
+
+    /**
+     * Overlapping sums of blockDays consecutive daily log returns
+     */
+    private static double[] blockReturns(double[] daily, int blockDays) {
+        double[] blocks = new double[daily.length - blockDays + 1];
+        double window = 0;
+        for (int t = 0; t < blockDays; t++) {
+            window += daily[t];
+        }
+        blocks[0] = window;
+        for (int t = blockDays; t < daily.length; t++) {
+            window += daily[t] - daily[t - blockDays];
+            blocks[t - blockDays + 1] = window;
+        }
+        return blocks;
+    }
+
+    private static ProjectionYearResponse toYear(Simulation simulation, int year, BigDecimal startingValue,
+                                                 boolean hasTarget) {
+        BigDecimal[] values = new BigDecimal[PERCENTILES.length];
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            values[i] = value(startingValue, simulation.growthQuantile(year, PERCENTILES[i]));
+        }
+        ProjectionYearResponse response = new ProjectionYearResponse();
+        response.setYear(year + 1);
+        response.setPercentile5(values[0]);
+        response.setPercentile25(values[1]);
+        response.setMedian(values[2]);
+        response.setPercentile75(values[3]);
+        response.setPercentile95(values[4]);
+        response.setMean(value(startingValue, simulation.meanGrowth(year)));
+        if (hasTarget) {
+            response.setProbabilityAboveTarget(percent(simulation.fractionAboveTarget(year)));
+        }
+        return response;
+    }
+
+    private static BigDecimal value(BigDecimal startingValue, double growth) {
+        return startingValue.multiply(BigDecimal.valueOf(growth)).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal percent(double fraction) {
+        return BigDecimal.valueOf(fraction).multiply(HUNDRED).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,238 @@
+package com.portfolio.management.service.impl;
+
+import com.portfolio.management.enums.Currency;
+import com.portfolio.management.service.FxRateService;
+import com.portfolio.management.service.MarketDataService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Loads daily closes from the market data provider and turns them into log return series aligned
+ * on one trading calendar, the benchmark's dates (the union of all dates if the benchmark has no
+ * history). A symbol without a close on a calendar day carries its previous close forward, so
+ * the day's return is zero. Closes are kept per symbol for the rest of the UTC day; a shorter
+ * lookback is served from a longer cached history. Daily FX rates from fx_rates are cached and
+ * aligned the same way, keyed by currency pair, to restate a series in another currency.
+ */
+@Component
+class ReturnSeriesLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReturnSeriesLoader.class);
+
+    private final MarketDataService marketDataService;
+    private final FxRateService fxRateService;
+    private final Clock clock;
+    private final Map<String, DailyCloses> cache = new ConcurrentHashMap<>();
+
+    ReturnSeriesLoader(MarketDataService marketDataService, FxRateService fxRateService, Clock clock) {
+        this.marketDataService = marketDataService;
+        this.fxRateService = fxRateService;
+        this.clock = clock;
+    }
+
+    /**
+     * Aligned returns for the symbols and the benchmark over the lookback. Symbols without
+     * any history are left out of the result.
+     */
+    AlignedReturns load(Collection<String> symbols, String benchmarkSymbol, int lookbackDays) {
+        LocalDate today = LocalDate.now(clock.withZone(ZoneOffset.UTC));
+        DailyCloses benchmark = closes(benchmarkSymbol, today, lookbackDays);
+
+        Map<String, DailyCloses> histories = new HashMap<>();
+        for (String symbol : symbols) {
+            DailyCloses history = closes(symbol, today, lookbackDays);
+            if (history.dates.length > 0) {
+                histories.put(symbol, history);
+            }
+        }
+
+        LocalDate[] calendar = benchmark.dates;
+        if (calendar.length == 0) {
+            logger.warn("No history for benchmark {}, aligning on the union of holding dates", benchmarkSymbol);
+            TreeSet<LocalDate> union = new TreeSet<>();
+            histories.values().forEach(history -> union.addAll(Arrays.asList(history.dates)));
+            calendar = union.toArray(new LocalDate[0]);
+        }
+
+        Map<String, double[]> returns = new HashMap<>();
+        for (Map.Entry<String, DailyCloses> history : histories.entrySet()) {
+            returns.put(history.getKey(), align(history.getValue(), calendar));
+        }
+        double[] benchmarkReturns = benchmark.dates.length > 0 ? align(benchmark, calendar)
+                : new double[Math.max(0, calendar.length - 1)];
+        return new AlignedReturns(today, lookbackDays, calendar, benchmarkReturns, returns);
+    }
+
+    /**
+     * The symbol's returns restated from the currency it is quoted in to another: each day's log
+     * change of the exchange rate is added to the day's return. Null if the symbol has no history.
+     */
+    double[] returnsIn(AlignedReturns series, String symbol, Currency from, Currency to) {
+        double[] returns = series.returns(symbol);
+        if (returns == null || from == null || to == null || from == to) {
+            return returns;
+        }
+        double[] fx = series.fxReturns.computeIfAbsent(from.name() + "/" + to.name(),
+                pair -> align(fxCloses(from, to, series.loadedOn, series.lookbackDays), series.calendar));
+        double[] restated = new double[returns.length];
+        for (int t = 0; t < restated.length; t++) {
+            restated[t] = returns[t] + fx[t];
+        }
+        return restated;
+    }
+
+    private DailyCloses fxCloses(Currency from, Currency to, LocalDate today, int lookbackDays) {
+        String key = "FX:" + from.name() + "/" + to.name();
+        DailyCloses cached = cache.get(key);
+        if (cached != null && cached.loadedOn.equals(today) && cached.lookbackDays >= lookbackDays) {
+            return cached.since(today.minusDays(lookbackDays));
+        }
+
+        Map<LocalDate, Double> history = fxRateService.getHistoricalRates(from, to, today.minusDays(lookbackDays));
+        LocalDate[] dates = history.keySet().toArray(new LocalDate[0]);
+        double[] rates = new double[dates.length];
+        int i = 0;
+        for (double rate : history.values()) {
+            rates[i++] = rate;
+        }
+        DailyCloses loaded = new DailyCloses(today, lookbackDays, dates, rates);
+        // Without stored rates the series is left in its own currency; retry on the next load
+        if (dates.length > 0) {
+            cache.put(key, loaded);
+        } else {
+            logger.warn("No FX history for {}/{}, returns are not restated", from, to);
+        }
+        return loaded;
+    }
+
+    private DailyCloses closes(String symbol, LocalDate today, int lookbackDays) {
+        DailyCloses cached = cache.get(symbol);
+        if (cached != null && cached.loadedOn.equals(today) && cached.lookbackDays >= lookbackDays) {
+            return cached.since(today.minusDays(lookbackDays));
+        }
+
+        Instant end = clock.instant();
+        List<Map<String, Object>> history =
+                marketDataService.getHistoricalPrices(symbol, end.minus(Duration.ofDays(lookbackDays)), end);
+        // Last close of each UTC day, in date order
+        TreeMap<LocalDate, Double> byDate = new TreeMap<>();
+        for (Map<String, Object> day : history) {
+            Object date = day.get("date");
+            Object close = day.get("close");
+            if (date == null || close == null) {
+                continue;
+            }
+            Instant instant = date instanceof Instant value ? value : Instant.parse(date.toString());
+            double price = close instanceof BigDecimal value ? value.doubleValue() : Double.parseDouble(close.toString());
+            if (price > 0) {
+                byDate.put(LocalDate.ofInstant(instant, ZoneOffset.UTC), price);
+            }
+        }
+
+        LocalDate[] dates = byDate.keySet().toArray(new LocalDate[0]);
+        double[] prices = new double[dates.length];
+        int i = 0;
+        for (double price : byDate.values()) {
+            prices[i++] = price;
+        }
+        DailyCloses loaded = new DailyCloses(today, lookbackDays, dates, prices);
+        // An empty answer is usually a provider failure; retry on the next load instead of caching it
+        if (dates.length > 0) {
+            cache.put(symbol, loaded);
+        }
+        return loaded;
+    }
+
+    private static double[] align(DailyCloses history, LocalDate[] calendar) {
+        double[] returns = new double[Math.max(0, calendar.length - 1)];
+        int next = 0;
+        double previous = Double.NaN;
+        for (int t = 0; t < calendar.length; t++) {
+            double close = previous;
+            while (next < history.dates.length && !history.dates[next].isAfter(calendar[t])) {
+                close = history.prices[next++];
+            }
+            if (t > 0 && previous > 0 && close > 0) {
+                returns[t - 1] = Math.log(close / previous);
+            }
+            previous = close;
+        }
+        return returns;
+    }
+
+    private static final class DailyCloses {
+        private final LocalDate loadedOn;
+        private final int lookbackDays;
+        private final LocalDate[] dates;
+        private final double[] prices;
+
+        private DailyCloses(LocalDate loadedOn, int lookbackDays, LocalDate[] dates, double[] prices) {
+            this.loadedOn = loadedOn;
+            this.lookbackDays = lookbackDays;
+            this.dates = dates;
+            this.prices = prices;
+        }
+
+        private DailyCloses since(LocalDate from) {
+            int start = 0;
+            while (start < dates.length && dates[start].isBefore(from)) {
+                start++;
+            }
+            if (start == 0) {
+                return this;
+            }
+            return new DailyCloses(loadedOn, lookbackDays, Arrays.copyOfRange(dates, start, dates.length),
+                    Arrays.copyOfRange(prices, start, prices.length));
+        }
+    }
+
+    /**
+     * Daily log returns on a common calendar; every array has the same length
+     */
+    static final class AlignedReturns {
+        private final LocalDate loadedOn;
+        private final int lookbackDays;
+        private final LocalDate[] calendar;
+        private final double[] benchmark;
+        private final Map<String, double[]> bySymbol;
+        // Aligned FX log changes by currency pair, filled as returns are restated
+        private final Map<String, double[]> fxReturns = new ConcurrentHashMap<>();
+
+        private AlignedReturns(LocalDate loadedOn, int lookbackDays, LocalDate[] calendar, double[] benchmark,
+                               Map<String, double[]> bySymbol) {
+            this.loadedOn = loadedOn;
+            this.lookbackDays = lookbackDays;
+            this.calendar = calendar;
+            this.benchmark = benchmark;
+            this.bySymbol = bySymbol;
+        }
+
+        double[] benchmark() {
+            return benchmark;
+        }
+
+        double[] returns(String symbol) {
+            return bySymbol.get(symbol);
+        }
+
+        int observations() {
+            return benchmark.length;
+        }
+    }
+}
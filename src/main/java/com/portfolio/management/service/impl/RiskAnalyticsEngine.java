@@ -0,0 +1,302 @@
+package com.portfolio.management.service.impl;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Risk metrics over aligned daily log return series held in primitive arrays.
+ * Per holding: annualized volatility and beta against the benchmark. Per portfolio: the
+ * value-weighted return series, its volatility and beta, and one-day historical VaR and
+ * expected shortfall at 95% and 99%. Holdings of a portfolio are split into fork/join subtasks
+ * that each fold their weighted returns into a partial series; batches split across portfolios
+ * first. Inner loops are plain double arithmetic over arrays.
+ */
+@Component
+class RiskAnalyticsEngine {
+
+    static final double TRADING_DAYS = 252;
+
+    // Holdings per leaf task; below this, forking costs more than the arithmetic
+    private static final int HOLDINGS_PER_TASK = 32;
+
+    private final ForkJoinPool pool;
+
+    RiskAnalyticsEngine(@Qualifier("analyticsPool") ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Risk of one portfolio. returns[i] is holding i's series, weights sum to one.
+     */
+    PortfolioRisk analyze(double[][] returns, double[] weights, double[] benchmark) {
+        Benchmark market = new Benchmark(benchmark);
+        return pool.invoke(new PortfolioTask(returns, weights, market));
+    }
+
+    /**
+     * Risk of many portfolios against the same benchmark, in input order
+     */
+    List<PortfolioRisk> analyzeAll(List<double[][]> returns, List<double[]> weights, double[] benchmark) {
+        Benchmark market = new Benchmark(benchmark);
+        PortfolioRisk[] results = new PortfolioRisk[returns.size()];
+        pool.invoke(new BatchTask(returns, weights, market, results, 0, results.length));
+        return Arrays.asList(results);
+    }
+
+    static double annualizedVolatility(double[] returns) {
+        int n = returns.length;
+        if (n < 2) {
+            return Double.NaN;
+        }
+        double sum = 0;
+        for (int t = 0; t < n; t++) {
+            sum += returns[t];
+        }
+        double mean = sum / n;
+        double squares = 0;
+        for (int t = 0; t < n; t++) {
+            double deviation = returns[t] - mean;
+            squares += deviation * deviation;
+        }
+        return Math.sqrt(squares / (n - 1) * TRADING_DAYS);
+    }
+
+    static double beta(double[] returns, Benchmark market) {
+        int n = returns.length;
+        if (n < 2 || market.variance == 0) {
+            return Double.NaN;
+        }
+        double sum = 0;
+        for (int t = 0; t < n; t++) {
+            sum += returns[t];
+        }
+        double mean = sum / n;
+        double covariance = 0;
+        for (int t = 0; t < n; t++) {
+            covariance += (returns[t] - mean) * (market.returns[t] - market.mean);
+        }
+        return covariance / (n - 1) / market.variance;
+    }
+
+    /**
+     * Historical VaR and expected shortfall as positive loss fractions: the loss at the
+     * (1 - confidence) quantile of the sorted returns and the mean loss beyond it
+     */
+    static double[] tailRisk(double[] sortedReturns, double confidence) {
+        int n = sortedReturns.length;
+        if (n == 0) {
+            return new double[]{Double.NaN, Double.NaN};
+        }
+        int cutoff = Math.min(n - 1, (int) Math.floor((1 - confidence) * n));
+        double tail = 0;
+        for (int t = 0; t <= cutoff; t++) {
+            tail += sortedReturns[t];
+        }
+        return new double[]{-sortedReturns[cutoff], -tail / (cutoff + 1)};
+    }
+
+    static final class Benchmark {
+        private final double[] returns;
+        private final double mean;
+        private final double variance;
+
+        Benchmark(double[] returns) {
+            int n = returns.length;
+            double sum = 0;
+            for (int t = 0; t < n; t++) {
+                sum += returns[t];
+            }
+            double mean = n > 0 ? sum / n : 0;
+            double squares = 0;
+            for (int t = 0; t < n; t++) {
+                double deviation = returns[t] - mean;
+                squares += deviation * deviation;
+            }
+            this.returns = returns;
+            this.mean = mean;
+            this.variance = n > 1 ? squares / (n - 1) : 0;
+        }
+    }
+
+    /**
+     * Metrics of one portfolio; holding arrays are indexed like the input series
+     */
+    static final class PortfolioRisk {
+        private final double[] holdingVolatility;
+        private final double[] holdingBeta;
+        private final double volatility;
+        private final double beta;
+        private final double valueAtRisk95;
+        private final double expectedShortfall95;
+        private final double valueAtRisk99;
+        private final double expectedShortfall99;
+        private final int observations;
+
+        private PortfolioRisk(double[] holdingVolatility, double[] holdingBeta, double[] portfolioReturns,
+                              Benchmark market) {
+            this.holdingVolatility = holdingVolatility;
+            this.holdingBeta = holdingBeta;
+            this.volatility = annualizedVolatility(portfolioReturns);
+            this.beta = RiskAnalyticsEngine.beta(portfolioReturns, market);
+            this.observations = portfolioReturns.length;
+
+            double[] sorted = portfolioReturns.clone();
+            Arrays.sort(sorted);
+            double[] tail95 = tailRisk(sorted, 0.95);
+            double[] tail99 = tailRisk(sorted, 0.99);
+            this.valueAtRisk95 = tail95[0];
+            this.expectedShortfall95 = tail95[1];
+            this.valueAtRisk99 = tail99[0];
+            this.expectedShortfall99 = tail99[1];
+        }
+
+        double holdingVolatility(int i) {
+            return holdingVolatility[i];
+        }
+
+        double holdingBeta(int i) {
+            return holdingBeta[i];
+        }
+
+        double volatility() {
+            return volatility;
+        }
+
+        double beta() {
+            return beta;
+        }
+
+        double valueAtRisk95() {
+            return valueAtRisk95;
+        }
+
+        double expectedShortfall95() {
+            return expectedShortfall95;
+        }
+
+        double valueAtRisk99() {
+            return valueAtRisk99;
+        }
+
+        double expectedShortfall99() {
+            return expectedShortfall99;
+        }
+
+        int observations() {
+            return observations;
+        }
+    }
+
+    private static final class PortfolioTask extends RecursiveTask<PortfolioRisk> {
+        private final double[][] returns;
+        private final double[] weights;
+        private final Benchmark market;
+
+        private PortfolioTask(double[][] returns, double[] weights, Benchmark market) {
+            this.returns = returns;
+            this.weights = weights;
+            this.market = market;
+        }
+
+        @Override
+        protected PortfolioRisk compute() {
+            double[] volatility = new double[returns.length];
+            double[] beta = new double[returns.length];
+            // No priced holdings: an empty series, so every portfolio metric is undefined
+            double[] portfolioReturns = returns.length == 0 ? new double[0]
+                    : new HoldingsTask(returns, weights, market, volatility, beta, 0, returns.length).compute();
+            return new PortfolioRisk(volatility, beta, portfolioReturns, market);
+        }
+    }
+
+    /**
+     * Computes holding metrics for [from, to) into the shared arrays (disjoint indices) and
+     * returns the weighted sum of those holdings' series
+     */
+    private static final class HoldingsTask extends RecursiveTask<double[]> {
+        private final double[][] returns;
+        private final double[] weights;
+        private final Benchmark market;
+        private final double[] volatility;
+        private final double[] beta;
+        private final int from;
+        private final int to;
+
+        private HoldingsTask(double[][] returns, double[] weights, Benchmark market,
+                             double[] volatility, double[] beta, int from, int to) {
+            this.returns = returns;
+            this.weights = weights;
+            this.market = market;
+            this.volatility = volatility;
+            this.beta = beta;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected double[] compute() {
+            if (to - from > HOLDINGS_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                HoldingsTask left = new HoldingsTask(returns, weights, market, volatility, beta, from, middle);
+                HoldingsTask right = new HoldingsTask(returns, weights, market, volatility, beta, middle, to);
+                left.fork();
+                double[] sum = right.compute();
+                double[] other = left.join();
+                for (int t = 0; t < sum.length; t++) {
+                    sum[t] += other[t];
+                }
+                return sum;
+            }
+
+            double[] weighted = new double[market.returns.length];
+            for (int i = from; i < to; i++) {
+                double[] series = returns[i];
+                double weight = weights[i];
+                volatility[i] = annualizedVolatility(series);
+                beta[i] = RiskAnalyticsEngine.beta(series, market);
+                for (int t = 0; t < weighted.length; t++) {
+                    weighted[t] += weight * series[t];
+                }
+            }
+            return weighted;
+        }
+    }
+
+    private static final class BatchTask extends RecursiveAction {
+        private final List<double[][]> returns;
+        private final List<double[]> weights;
+        private final Benchmark market;
+        private final PortfolioRisk[] results;
+        private final int from;
+        private final int to;
+
+        private BatchTask(List<double[][]> returns, List<double[]> weights, Benchmark market,
+                          PortfolioRisk[] results, int from, int to) {
+            this.returns = returns;
+            this.weights = weights;
+            this.market = market;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new BatchTask(returns, weights, market, results, from, middle),
+                        new BatchTask(returns, weights, market, results, middle, to));
+                return;
+            }
+            if (from < to) {
+                results[from] = new PortfolioTask(returns.get(from), weights.get(from), market).compute();
+            }
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.portfolio.management.service.impl;
+
+import com.portfolio.management.config.AppProperties;
+import com.portfolio.management.dto.response.HoldingRiskResponse;
+import com.portfolio.management.dto.response.PortfolioRiskResponse;
+import com.portfolio.management.repository.HoldingRepository;
+import com.portfolio.management.repository.HoldingRepository.RiskPositionView;
+import com.portfolio.management.service.FxRateService;
+import com.portfolio.management.service.PortfolioService;
+import com.portfolio.management.service.RiskAnalyticsService;
+import com.portfolio.management.service.impl.ReturnSeriesLoader.AlignedReturns;
+import com.portfolio.management.service.impl.RiskAnalyticsEngine.PortfolioRisk;
+import com.portfolio.management.service.marketdata.FxRateMatrix;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * RiskAnalyticsService Implementation
+ * Positions come from one narrow projection query and price history from ReturnSeriesLoader,
+ * fetched once per distinct symbol; no transaction is held while the provider is called. The
+ * math runs in RiskAnalyticsEngine. Holdings quoted in another currency than their portfolio
+ * are weighted at the current FX snapshot and their returns restated with daily FX history, so
+ * a portfolio's risk is measured in its own currency. The batch run stores volatility and beta
+ * per symbol with one UPDATE per symbol, since every holding of a symbol shares them. The holdings
+ * triggers only fire for quantity and price columns, so that UPDATE does not re-aggregate portfolio
+ * totals or touch the portfolios' timestamps.
+ */
+@Service
+public class RiskAnalyticsServiceImpl implements RiskAnalyticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RiskAnalyticsServiceImpl.class);
+
+    private static final String UPDATE_SYMBOL_RISK =
+            "UPDATE holdings SET annualized_volatility = ?, beta = ?, risk_calculated_at = ? WHERE symbol = ?";
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final HoldingRepository holdingRepository;
+    private final PortfolioService portfolioService;
+    private final ReturnSeriesLoader seriesLoader;
+    private final RiskAnalyticsEngine engine;
+    private final FxRateService fxRateService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AppProperties.Risk properties;
+    private final Clock clock;
+
+    public RiskAnalyticsServiceImpl(HoldingRepository holdingRepository,
+                                    PortfolioService portfolioService,
+                                    ReturnSeriesLoader seriesLoader,
+                                    RiskAnalyticsEngine engine,
+                                    FxRateService fxRateService,
+                                    DataSource dataSource,
+                                    PlatformTransactionManager transactionManager,
+                                    AppProperties appProperties,
+                                    Clock clock) {
+        this.holdingRepository = holdingRepository;
+        this.portfolioService = portfolioService;
+        this.seriesLoader = seriesLoader;
+        this.engine = engine;
+        this.fxRateService = fxRateService;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = appProperties.getRisk();
+        this.clock = clock;
+    }
+
+    @Override
+    public PortfolioRiskResponse getPortfolioRisk(String portfolioId) {
+        portfolioService.validatePortfolioAccess(portfolioId);
+
+        List<RiskPositionView> positions = holdingRepository.findRiskPositionsByPortfolioId(portfolioId);
+        AlignedReturns series = loadSeries(positions);
+        RiskInput input = riskInput(positions, series, fxRateService.getCurrentRates());
+        PortfolioRisk risk = engine.analyze(input.returns, input.weights, series.benchmark());
+        return toResponse(portfolioId, input, risk, clock.instant());
+    }
+
+    @Scheduled(cron = "${app.risk.nightly-cron:0 0 2 * * *}")
+    public void nightlyRiskRun() {
+        if (properties.isNightlyEnabled()) {
+            calculateAllPortfolioRisk();
+        }
+    }
+
+    @Override
+    public List<PortfolioRiskResponse> calculateAllPortfolioRisk() {
+        long started = System.nanoTime();
+
+        Map<String, List<RiskPositionView>> byPortfolio = new LinkedHashMap<>();
+        List<RiskPositionView> positions = holdingRepository.findAllRiskPositions();
+        for (RiskPositionView position : positions) {
+            byPortfolio.computeIfAbsent(position.getPortfolioId(), id -> new ArrayList<>()).add(position);
+        }
+        AlignedReturns series = loadSeries(positions);
+        FxRateMatrix rates = fxRateService.getCurrentRates();
+
+        List<String> portfolioIds = new ArrayList<>(byPortfolio.keySet());
+        List<RiskInput> inputs = new ArrayList<>(portfolioIds.size());
+        List<double[][]> returns = new ArrayList<>(portfolioIds.size());
+        List<double[]> weights = new ArrayList<>(portfolioIds.size());
+        for (String portfolioId : portfolioIds) {
+            RiskInput input = riskInput(byPortfolio.get(portfolioId), series, rates);
+            inputs.add(input);
+            returns.add(input.returns);
+            weights.add(input.weights);
+        }
+        List<PortfolioRisk> results = engine.analyzeAll(returns, weights, series.benchmark());
+
+        Instant now = clock.instant();
+        List<PortfolioRiskResponse> responses = new ArrayList<>(results.size());
+        for (int i = 0; i < results.size(); i++) {
+            responses.add(toResponse(portfolioIds.get(i), inputs.get(i), results.get(i), now));
+        }
+        int symbols = storeSymbolRisk(inputs, responses, now);
+
+        logger.info("Calculated risk for {} portfolios ({} holdings, {} symbols) in {} ms", responses.size(),
+                positions.size(), symbols, (System.nanoTime() - started) / 1_000_000);
+        return responses;
+    }
+
+    private AlignedReturns loadSeries(List<RiskPositionView> positions) {
+        Set<String> symbols = new LinkedHashSet<>();
+        positions.forEach(position -> symbols.add(position.getSymbol()));
+        return seriesLoader.load(symbols, properties.getBenchmarkSymbol(), properties.getLookbackDays());
+    }
+
+    /**
+     * Converts market values to the portfolio currency and restates returns of holdings quoted
+     * in another currency
+     */
+    private RiskInput riskInput(List<RiskPositionView> positions, AlignedReturns series, FxRateMatrix rates) {
+        BigDecimal[] values = new BigDecimal[positions.size()];
+        double[][] returns = new double[positions.size()][];
+        for (int i = 0; i < values.length; i++) {
+            RiskPositionView position = positions.get(i);
+            values[i] = rates.convert(position.getMarketValue(), position.getCurrency(), position.getPortfolioCurrency());
+            returns[i] = seriesLoader.returnsIn(series, position.getSymbol(), position.getCurrency(),
+                    position.getPortfolioCurrency());
+        }
+        return new RiskInput(positions, values, returns);
+    }
+
+    private int storeSymbolRisk(List<RiskInput> inputs, List<PortfolioRiskResponse> responses, Instant calculatedAt) {
+        // A symbol's stored figures are in its own currency, so take them from a holding that was not restated
+        Map<String, HoldingRiskResponse> bySymbol = new LinkedHashMap<>();
+        for (int r = 0; r < responses.size(); r++) {
+            List<RiskPositionView> positions = inputs.get(r).positions;
+            List<HoldingRiskResponse> holdings = responses.get(r).getHoldings();
+            for (int i = 0; i < holdings.size(); i++) {
+                HoldingRiskResponse holding = holdings.get(i);
+                RiskPositionView position = positions.get(i);
+                if (holding.getAnnualizedVolatility() != null && position.getCurrency() == position.getPortfolioCurrency()) {
+                    bySymbol.putIfAbsent(holding.getSymbol(), holding);
+                }
+            }
+        }
+
+        Timestamp timestamp = Timestamp.from(calculatedAt);
+        List<Object[]> rows = new ArrayList<>(bySymbol.size());
+        for (HoldingRiskResponse holding : bySymbol.values()) {
+            rows.add(new Object[]{holding.getAnnualizedVolatility(), holding.getBeta(), timestamp, holding.getSymbol()});
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPDATE_SYMBOL_RISK, rows));
+        return rows.size();
+    }
+
+    private PortfolioRiskResponse toResponse(String portfolioId, RiskInput input, PortfolioRisk risk, Instant asOf) {
+        PortfolioRiskResponse response = new PortfolioRiskResponse();
+        response.setPortfolioId(portfolioId);
+        response.setBenchmarkSymbol(properties.getBenchmarkSymbol());
+        response.setAsOf(asOf);
+        response.setObservations(risk.observations());
+        response.setMarketValue(input.marketValue.setScale(2, RoundingMode.HALF_UP));
+        response.setAnnualizedVolatility(percent(risk.volatility()));
+        response.setBeta(ratio(risk.beta()));
+        response.setValueAtRisk95(percent(risk.valueAtRisk95()));
+        response.setExpectedShortfall95(percent(risk.expectedShortfall95()));
+        response.setValueAtRisk99(percent(risk.valueAtRisk99()));
+        response.setExpectedShortfall99(percent(risk.expectedShortfall99()));
+
+        for (int i = 0; i < input.positions.size(); i++) {
+            RiskPositionView position = input.positions.get(i);
+            HoldingRiskResponse holding = new HoldingRiskResponse();
+            holding.setHoldingId(position.getHoldingId());
+            holding.setSymbol(position.getSymbol());
+            if (input.marketValue.signum() > 0 && input.values[i] != null) {
+                holding.setWeightPercent(input.values[i].multiply(HUNDRED)
+                        .divide(input.marketValue, 4, RoundingMode.HALF_UP));
+            }
+            int series = input.seriesIndex[i];
+            if (series >= 0) {
+                holding.setAnnualizedVolatility(percent(risk.holdingVolatility(series)));
+                holding.setBeta(ratio(risk.holdingBeta(series)));
+            }
+            response.getHoldings().add(holding);
+        }
+        return response;
+    }
+
+    private static BigDecimal percent(double fraction) {
+        return Double.isFinite(fraction) ? BigDecimal.valueOf(fraction * 100).setScale(4, RoundingMode.HALF_UP) : null;
+    }
+
+    private static BigDecimal ratio(double value) {
+        return Double.isFinite(value) ? BigDecimal.valueOf(value).setScale(4, RoundingMode.HALF_UP) : null;
+    }
+
+    /**
+     * Engine input for one portfolio: the series of the positions that have price history,
+     * weighted by market value among those positions
+     */
+    private static final class RiskInput {
+        private final List<RiskPositionView> positions;
+        // Market value of each position in the portfolio currency
+        private final BigDecimal[] values;
+        private final BigDecimal marketValue;
+        // Index into returns/weights for each position, -1 if it has no history
+        private final int[] seriesIndex;
+        private final double[][] returns;
+        private final double[] weights;
+
+        private RiskInput(List<RiskPositionView> positions, BigDecimal[] positionValues, double[][] positionReturns) {
+            this.positions = positions;
+            this.values = positionValues;
+            this.seriesIndex = new int[positions.size()];
+
+            BigDecimal total = BigDecimal.ZERO;
+            List<double[]> covered = new ArrayList<>();
+            double[] coveredValues = new double[positions.size()];
+            double coveredValue = 0;
+            for (int i = 0; i < positions.size(); i++) {
+                double value = positionValues[i] != null ? positionValues[i].doubleValue() : 0;
+                if (positionValues[i] != null) {
+                    total = total.add(positionValues[i]);
+                }
+                double[] returns = positionReturns[i];
+                if (returns == null) {
+                    seriesIndex[i] = -1;
+                    continue;
+                }
+                seriesIndex[i] = covered.size();
+                coveredValues[covered.size()] = value;
+                covered.add(returns);
+                coveredValue += value;
+            }
+
+            this.marketValue = total;
+            this.returns = covered.toArray(new double[0][]);
+            this.weights = new double[covered.size()];
+            for (int i = 0; i < weights.length; i++) {
+                weights[i] = coveredValue > 0 ? coveredValues[i] / coveredValue : 1.0 / weights.length;
+            }
+        }
+    }
+}
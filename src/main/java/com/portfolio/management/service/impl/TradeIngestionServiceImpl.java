@@ -0,0 +1,297 @@
+package com.portfolio.management.service.impl;
+
+import com.portfolio.management.dto.request.TradeBatchRequest;
+import com.portfolio.management.dto.request.TransactionCreateRequest;
+import com.portfolio.management.dto.response.TradeBatchResponse;
+import com.portfolio.management.entity.Holding;
+import com.portfolio.management.entity.Portfolio;
+import com.portfolio.management.entity.Transaction;
+import com.portfolio.management.enums.HoldingStatus;
+import com.portfolio.management.enums.HoldingType;
+import com.portfolio.management.enums.TransactionType;
+import com.portfolio.management.exception.BadRequestException;
+import com.portfolio.management.exception.InsufficientQuantityException;
+import com.portfolio.management.exception.ResourceNotFoundException;
+import com.portfolio.management.mapper.HoldingMapper;
+import com.portfolio.management.repository.HoldingRepository;
+import com.portfolio.management.repository.PortfolioRepository;
+import com.portfolio.management.repository.TransactionRepository;
+import com.portfolio.management.service.FxRateService;
+import com.portfolio.management.service.MarketDataService;
+import com.portfolio.management.service.PortfolioService;
+import com.portfolio.management.service.TradeIngestionService;
+import com.portfolio.management.service.marketdata.FxRateMatrix;
+import com.portfolio.management.service.marketdata.SymbolSearchIndex.Instrument;
+import com.portfolio.management.service.marketdata.SymbolUniverse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.portfolio.management.constants.AppConstants.CACHE_HOLDINGS;
+import static com.portfolio.management.constants.AppConstants.CACHE_PORTFOLIOS;
+
+/**
+ * TradeIngestionService Implementation
+ * A batch is applied in one transaction with a fixed number of round trips: one query for the
+ * portfolios, one locking query for the affected holdings, then a single flush that inserts the
+ * transactions and new holdings in JDBC batches and updates each touched holding and portfolio
+ * once. Quantities and weighted average prices are folded in memory per holding. The batch runs
+ * on the portfolio writer, or with the writers of every portfolio it touches held.
+ */
+@Service
+public class TradeIngestionServiceImpl implements TradeIngestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TradeIngestionServiceImpl.class);
+    private static final Comparator<TransactionCreateRequest> BY_TRANSACTION_DATE =
+            Comparator.comparing(TransactionCreateRequest::getTransactionDate);
+
+    private final PortfolioRepository portfolioRepository;
+    private final HoldingRepository holdingRepository;
+    private final TransactionRepository transactionRepository;
+    private final PortfolioService portfolioService;
+    private final MarketDataService marketDataService;
+    private final SymbolUniverse symbolUniverse;
+    private final HoldingMapper holdingMapper;
+    private final CacheManager cacheManager;
+    private final PortfolioMutationExecutor mutationExecutor;
+    private final FxRateService fxRateService;
+
+    public TradeIngestionServiceImpl(PortfolioRepository portfolioRepository,
+                                     HoldingRepository holdingRepository,
+                                     TransactionRepository transactionRepository,
+                                     PortfolioService portfolioService,
+                                     MarketDataService marketDataService,
+                                     SymbolUniverse symbolUniverse,
+                                     HoldingMapper holdingMapper,
+                                     CacheManager cacheManager,
+                                     PortfolioMutationExecutor mutationExecutor,
+                                     FxRateService fxRateService) {
+        this.portfolioRepository = portfolioRepository;
+        this.holdingRepository = holdingRepository;
+        this.transactionRepository = transactionRepository;
+        this.portfolioService = portfolioService;
+        this.marketDataService = marketDataService;
+        this.symbolUniverse = symbolUniverse;
+        this.holdingMapper = holdingMapper;
+        this.cacheManager = cacheManager;
+        this.mutationExecutor = mutationExecutor;
+        this.fxRateService = fxRateService;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public TradeBatchResponse ingestTrades(TradeBatchRequest request) {
+        List<TransactionCreateRequest> trades = request.getTrades();
+        validateTrades(trades, Instant.now());
+
+        Set<String> portfolioIds = new LinkedHashSet<>();
+        trades.forEach(trade -> portfolioIds.add(trade.getPortfolioId()));
+        return mutationExecutor.executeAcross(portfolioIds, () -> applyTrades(trades));
+    }
+
+    private TradeBatchResponse applyTrades(List<TransactionCreateRequest> trades) {
+        // Portfolio -> symbol -> trades, in request order until sorted below
+        Map<String, Map<String, List<TransactionCreateRequest>>> grouped = new LinkedHashMap<>();
+        Set<String> symbols = new LinkedHashSet<>();
+        Set<String> keys = new LinkedHashSet<>();
+        for (TransactionCreateRequest trade : trades) {
+            grouped.computeIfAbsent(trade.getPortfolioId(), id -> new LinkedHashMap<>())
+                    .computeIfAbsent(trade.getSymbol(), symbol -> new ArrayList<>())
+                    .add(trade);
+            symbols.add(trade.getSymbol());
+            keys.add(trade.getPortfolioId() + ":" + trade.getSymbol());
+        }
+        logger.info("Ingesting {} trades across {} portfolios", trades.size(), grouped.size());
+
+        Map<String, Portfolio> portfolios = loadPortfolios(grouped.keySet());
+        Map<String, Map<String, Holding>> existing = new HashMap<>();
+        // Only the touched portfolio and symbol pairs, not their cross product
+        for (Holding holding : holdingRepository.findByPortfolioSymbolKeysOrderById(grouped.keySet(), symbols, keys)) {
+            existing.computeIfAbsent(holding.getPortfolio().getId(), id -> new HashMap<>())
+                    .put(holding.getSymbol(), holding);
+        }
+
+        List<Holding> created = new ArrayList<>();
+        List<Holding> touched = new ArrayList<>();
+        List<Transaction> transactions = new ArrayList<>(trades.size());
+        FxRateMatrix rates = fxRateService.getCurrentRates();
+
+        for (Map.Entry<String, Map<String, List<TransactionCreateRequest>>> portfolioTrades : grouped.entrySet()) {
+            Portfolio portfolio = portfolios.get(portfolioTrades.getKey());
+            Map<String, Holding> portfolioHoldings = existing.getOrDefault(portfolio.getId(), Map.of());
+
+            for (Map.Entry<String, List<TransactionCreateRequest>> symbolTrades : portfolioTrades.getValue().entrySet()) {
+                List<TransactionCreateRequest> fills = symbolTrades.getValue();
+                fills.sort(BY_TRANSACTION_DATE);
+
+                Holding holding = portfolioHoldings.get(symbolTrades.getKey());
+                if (holding == null) {
+                    holding = newHolding(portfolio, fills);
+                    created.add(holding);
+                }
+                applyFills(holding, fills);
+                touched.add(holding);
+
+                for (TransactionCreateRequest fill : fills) {
+                    transactions.add(new Transaction(portfolio, holding, fill.getType(), fill.getSymbol(),
+                            fill.getQuantity(), fill.getPrice(), fill.getFees(), portfolio.getCurrency(),
+                            fill.getTransactionDate(), fill.getNotes()));
+                }
+            }
+
+            // Totals include the in-memory holding values above; the portfolio row is written once at flush
+            portfolio.recalculateTotals(rates);
+            portfolio.incrementContentVersion();
+        }
+
+        holdingRepository.saveAll(created);
+        transactionRepository.saveAll(transactions);
+        evictAfterCommit(touched, portfolios.keySet());
+
+        TradeBatchResponse response = new TradeBatchResponse();
+        response.setTradesProcessed(trades.size());
+        response.setHoldingsCreated(created.size());
+        response.setHoldingsUpdated(touched.size() - created.size());
+        response.setPortfoliosUpdated(portfolios.size());
+        response.setHoldings(touched.stream().map(holdingMapper::toResponse).toList());
+
+        logger.info("Ingested {} trades: {} holdings created, {} updated, {} portfolios",
+                trades.size(), response.getHoldingsCreated(), response.getHoldingsUpdated(), portfolios.size());
+        return response;
+    }
+
+    private void validateTrades(List<TransactionCreateRequest> trades, Instant now) {
+        for (int i = 0; i < trades.size(); i++) {
+            TransactionCreateRequest trade = trades.get(i);
+            if (trade.getType() != TransactionType.BUY && trade.getType() != TransactionType.SELL) {
+                throw new BadRequestException("Trade " + i + ": only buy and sell trades can be batched");
+            }
+            if (trade.getFees() == null) {
+                trade.setFees(BigDecimal.ZERO);
+            } else if (trade.getFees().signum() < 0) {
+                throw new BadRequestException("Trade " + i + ": fees cannot be negative");
+            }
+            if (trade.getTransactionDate() == null) {
+                trade.setTransactionDate(now);
+            } else if (trade.getTransactionDate().isAfter(now)) {
+                throw new BadRequestException("Trade " + i + ": transaction date cannot be in the future");
+            }
+        }
+    }
+
+    private Map<String, Portfolio> loadPortfolios(Set<String> portfolioIds) {
+        Map<String, Portfolio> portfolios = new LinkedHashMap<>();
+        portfolioRepository.findAllById(portfolioIds).forEach(portfolio -> portfolios.put(portfolio.getId(), portfolio));
+        for (String portfolioId : portfolioIds) {
+            if (!portfolios.containsKey(portfolioId)) {
+                throw new ResourceNotFoundException("Portfolio not found with ID: " + portfolioId);
+            }
+            // Served from the persistence context loaded above
+            portfolioService.validatePortfolioAccess(portfolioId);
+        }
+        return portfolios;
+    }
+
+    /**
+     * Fold fills into quantity and weighted average price. Sells reduce quantity at the
+     * current average; intermediate values keep full precision and are rounded once. As with
+     * single trades, the holding is priced at the latest fill and is closed at zero.
+     */
+    private void applyFills(Holding holding, List<TransactionCreateRequest> fills) {
+        BigDecimal quantity = holding.getQuantity();
+        BigDecimal averagePrice = holding.getAveragePrice();
+
+        for (TransactionCreateRequest fill : fills) {
+            if (fill.getType() == TransactionType.BUY) {
+                BigDecimal newQuantity = quantity.add(fill.getQuantity());
+                averagePrice = quantity.multiply(averagePrice).add(fill.getQuantity().multiply(fill.getPrice()))
+                        .divide(newQuantity, MathContext.DECIMAL64);
+                quantity = newQuantity;
+            } else {
+                if (fill.getQuantity().compareTo(quantity) > 0) {
+                    throw new InsufficientQuantityException("Insufficient quantity of " + holding.getSymbol() +
+                            " at " + fill.getTransactionDate() + ". Available: " + quantity +
+                            ", Requested: " + fill.getQuantity());
+                }
+                quantity = quantity.subtract(fill.getQuantity());
+            }
+        }
+
+        holding.setQuantity(quantity);
+        holding.setAveragePrice(averagePrice.setScale(4, RoundingMode.HALF_UP));
+        holding.setCurrentPrice(fills.get(fills.size() - 1).getPrice());
+        if (quantity.signum() == 0) {
+            holding.setStatus(HoldingStatus.CLOSED);
+        } else if (holding.getStatus() == HoldingStatus.CLOSED) {
+            holding.setStatus(HoldingStatus.ACTIVE);
+        }
+        holding.setUpdatedAt(Instant.now());
+        holding.recalculateValues();
+    }
+
+    private Holding newHolding(Portfolio portfolio, List<TransactionCreateRequest> fills) {
+        TransactionCreateRequest firstFill = fills.get(0);
+        String symbol = firstFill.getSymbol();
+        String companyName;
+        String market;
+        HoldingType type = HoldingType.STOCK;
+
+        // The reference universe answers in memory; only unlisted symbols go to the provider
+        Optional<Instrument> instrument = symbolUniverse.find(symbol);
+        if (instrument.isPresent()) {
+            companyName = instrument.get().getName();
+            market = instrument.get().getExchange();
+            if (HoldingType.ETF.getCode().equalsIgnoreCase(instrument.get().getType())) {
+                type = HoldingType.ETF;
+            }
+        } else {
+            companyName = marketDataService.getCompanyInfo(symbol).getOrDefault("name", symbol);
+            market = "UNKNOWN";
+        }
+
+        // Priced at the latest fill until the next market refresh
+        BigDecimal lastPrice = fills.get(fills.size() - 1).getPrice();
+        Holding holding = new Holding(portfolio, symbol, companyName, type, market, portfolio.getCurrency(),
+                BigDecimal.ZERO, BigDecimal.ZERO, lastPrice, null, firstFill.getTransactionDate());
+        portfolio.addHolding(holding);
+        return holding;
+    }
+
+    private void evictAfterCommit(List<Holding> holdings, Set<String> portfolioIds) {
+        List<String> holdingIds = holdings.stream().map(Holding::getId).toList();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(CACHE_HOLDINGS, holdingIds);
+                evict(CACHE_PORTFOLIOS, portfolioIds);
+            }
+        });
+    }
+
+    private void evict(String cacheName, Iterable<String> keys) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            keys.forEach(cache::evict);
+        }
+    }
+}
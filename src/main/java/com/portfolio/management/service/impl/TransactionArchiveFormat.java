@@ -0,0 +1,111 @@
+package com.portfolio.management.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.portfolio.management.dto.response.TransactionResponse;
+import com.portfolio.management.enums.TransactionType;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Layout of transaction archives: gzip-compressed, one JSON object per transactions row keyed
+ * by column name, in (transaction_date, id) order. One archive per monthly partition, stored in
+ * transaction_archives.content.
+ */
+final class TransactionArchiveFormat {
+
+    static final String COLUMNS = "id, portfolio_id, user_id, holding_id, type, symbol, quantity, price, " +
+            "total_amount, fees, currency, transaction_date, notes, created_at";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Independent of the HTTP ObjectMapper so its settings cannot change the file format; decimals stay exact
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+
+    private TransactionArchiveFormat() {
+    }
+
+    static BufferedWriter openWriter(OutputStream out) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(out, BUFFER_SIZE), StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    static BufferedReader openReader(InputStream in) throws IOException {
+        return new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(in, BUFFER_SIZE), StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    static String toLine(ResultSet resultSet) throws SQLException, JsonProcessingException {
+        ObjectNode row = MAPPER.createObjectNode();
+        row.put("id", resultSet.getString("id"));
+        row.put("portfolio_id", resultSet.getString("portfolio_id"));
+        row.put("user_id", resultSet.getString("user_id"));
+        row.put("holding_id", resultSet.getString("holding_id"));
+        row.put("type", resultSet.getString("type"));
+        row.put("symbol", resultSet.getString("symbol"));
+        row.put("quantity", resultSet.getBigDecimal("quantity"));
+        row.put("price", resultSet.getBigDecimal("price"));
+        row.put("total_amount", resultSet.getBigDecimal("total_amount"));
+        row.put("fees", resultSet.getBigDecimal("fees"));
+        row.put("currency", resultSet.getString("currency"));
+        row.put("transaction_date", instantText(resultSet.getTimestamp("transaction_date")));
+        row.put("notes", resultSet.getString("notes"));
+        row.put("created_at", instantText(resultSet.getTimestamp("created_at")));
+        return MAPPER.writeValueAsString(row);
+    }
+
+    static JsonNode parseLine(String line) throws JsonProcessingException {
+        return MAPPER.readTree(line);
+    }
+
+    static TransactionResponse toResponse(JsonNode row) {
+        return TransactionResponse.builder()
+                .id(row.path("id").asText())
+                .portfolioId(row.path("portfolio_id").asText())
+                .holdingId(textOrNull(row, "holding_id"))
+                .type(TransactionType.fromCode(row.path("type").asText()))
+                .symbol(row.path("symbol").asText())
+                .quantity(row.path("quantity").decimalValue())
+                .price(row.path("price").decimalValue())
+                .totalAmount(row.path("total_amount").decimalValue())
+                .fees(row.path("fees").decimalValue())
+                .transactionDate(transactionDate(row))
+                .createdAt(instantOrNull(row, "created_at"))
+                .notes(textOrNull(row, "notes"))
+                .build();
+    }
+
+    static Instant transactionDate(JsonNode row) {
+        return Instant.parse(row.path("transaction_date").asText());
+    }
+
+    private static String instantText(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toInstant().toString() : null;
+    }
+
+    private static Instant instantOrNull(JsonNode row, String column) {
+        String text = textOrNull(row, column);
+        return text != null ? Instant.parse(text) : null;
+    }
+
+    private static String textOrNull(JsonNode row, String column) {
+        JsonNode value = row.get(column);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+}
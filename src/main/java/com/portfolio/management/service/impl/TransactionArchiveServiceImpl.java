@@ -0,0 +1,134 @@
+package com.portfolio.management.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.portfolio.management.dto.response.TransactionResponse;
+import com.portfolio.management.exception.BadRequestException;
+import com.portfolio.management.security.UserPrincipal;
+import com.portfolio.management.service.PortfolioService;
+import com.portfolio.management.service.TransactionArchiveService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.portfolio.management.constants.AppConstants.DEFAULT_ARCHIVE_RESULTS;
+import static com.portfolio.management.constants.AppConstants.MAX_ARCHIVE_RESULTS;
+
+/**
+ * TransactionArchiveService Implementation
+ * Reads the archives written by TransactionPartitionManager. transaction_archives narrows the
+ * request to the months overlapping the date range; those archives are loaded one at a time and
+ * scanned newest month first, and the scan stops once the limit is reached. No database connection
+ * is held while a month is decompressed.
+ * Archive reads are rare, so the bean is created on the first one rather than at startup.
+ */
+@Service
+@Lazy
+public class TransactionArchiveServiceImpl implements TransactionArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionArchiveServiceImpl.class);
+
+    private static final String FIND_ARCHIVES =
+            "SELECT partition_name FROM transaction_archives WHERE range_start < ? AND range_end > ? ORDER BY range_start DESC";
+    private static final String LOAD_ARCHIVE =
+            "SELECT content FROM transaction_archives WHERE partition_name = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PortfolioService portfolioService;
+
+    public TransactionArchiveServiceImpl(DataSource dataSource,
+                                         PortfolioService portfolioService) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.portfolioService = portfolioService;
+    }
+
+    @Override
+    public List<TransactionResponse> getArchivedTransactions(String portfolioId, Instant startDate, Instant endDate, int limit) {
+        if (startDate == null || endDate == null || !startDate.isBefore(endDate)) {
+            throw new BadRequestException("Archive queries need a start date before the end date");
+        }
+        int maxRows = limit <= 0 ? DEFAULT_ARCHIVE_RESULTS : Math.min(limit, MAX_ARCHIVE_RESULTS);
+
+        String ownerColumn;
+        String ownerId;
+        if (portfolioId != null && !portfolioId.isBlank()) {
+            portfolioService.validatePortfolioAccess(portfolioId);
+            ownerColumn = "portfolio_id";
+            ownerId = portfolioId;
+        } else {
+            ownerColumn = "user_id";
+            ownerId = getCurrentUserPrincipal().getId();
+        }
+        logger.debug("Reading archived transactions for {} {} between {} and {}", ownerColumn, ownerId, startDate, endDate);
+
+        List<String> archives = jdbcTemplate.queryForList(FIND_ARCHIVES, String.class,
+                endDate.atOffset(ZoneOffset.UTC), startDate.atOffset(ZoneOffset.UTC));
+
+        List<TransactionResponse> results = new ArrayList<>();
+        for (String archive : archives) {
+            byte[] content = jdbcTemplate.queryForObject(LOAD_ARCHIVE, byte[].class, archive);
+            List<TransactionResponse> month = readMatches(archive, content, ownerColumn, ownerId, startDate, endDate);
+            // Files are in ascending date order
+            Collections.reverse(month);
+            for (TransactionResponse transaction : month) {
+                results.add(transaction);
+                if (results.size() == maxRows) {
+                    return results;
+                }
+            }
+        }
+        return results;
+    }
+
+    private List<TransactionResponse> readMatches(String archive, byte[] content, String ownerColumn, String ownerId,
+                                                  Instant startDate, Instant endDate) {
+        List<TransactionResponse> matches = new ArrayList<>();
+        try (BufferedReader reader = TransactionArchiveFormat.openReader(new ByteArrayInputStream(content))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // Most lines belong to other owners; skip them without parsing
+                if (!line.contains(ownerId)) {
+                    continue;
+                }
+                JsonNode row = TransactionArchiveFormat.parseLine(line);
+                if (!ownerId.equals(row.path(ownerColumn).asText())) {
+                    continue;
+                }
+                Instant transactionDate = TransactionArchiveFormat.transactionDate(row);
+                if (transactionDate.isBefore(startDate)) {
+                    continue;
+                }
+                if (!transactionDate.isBefore(endDate)) {
+                    break;
+                }
+                matches.add(TransactionArchiveFormat.toResponse(row));
+            }
+        } catch (IOException e) {
+            logger.error("Could not read transaction archive {}", archive, e);
+            throw new UncheckedIOException("Transaction archive unreadable: " + archive, e);
+        }
+        return matches;
+    }
+
+    private UserPrincipal getCurrentUserPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal)) {
+            throw new BadRequestException("No authenticated user found");
+        }
+        return (UserPrincipal) authentication.getPrincipal();
+    }
+}
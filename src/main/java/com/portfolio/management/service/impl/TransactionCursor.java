@@ -0,0 +1,56 @@
+package com.portfolio.management.service.impl;
+
+import com.portfolio.management.entity.Transaction;
+import com.portfolio.management.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a transaction listing ordered by (transactionDate DESC, id DESC).
+ * Clients only see the opaque URL-safe Base64 token.
+ */
+final class TransactionCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private final Instant transactionDate;
+    private final String id;
+
+    private TransactionCursor(Instant transactionDate, String id) {
+        this.transactionDate = transactionDate;
+        this.id = id;
+    }
+
+    static TransactionCursor after(Transaction last) {
+        return new TransactionCursor(last.getTransactionDate(), last.getId());
+    }
+
+    static TransactionCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator <= 0 || separator == raw.length() - 1) {
+                throw new BadRequestException("Invalid pagination cursor");
+            }
+            return new TransactionCursor(Instant.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid pagination cursor");
+        }
+    }
+
+    String encode() {
+        String raw = transactionDate.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    Instant getTransactionDate() {
+        return transactionDate;
+    }
+
+    String getId() {
+        return id;
+    }
+}
@@ -0,0 +1,187 @@
+package com.portfolio.management.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.portfolio.management.config.AppProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the monthly partitions of the transactions table.
+ * Partitions are created ahead of time so inserts never fall into the default partition; rows that
+ * did while the job was down are moved into their month's partition when it is created.
+ * Months older than the retention horizon are compacted: the partition is share-locked, exported
+ * gzip-compressed into transaction_archives, then detached and dropped in the same transaction, so
+ * the archive holds exactly the rows removed and is visible to every instance once committed.
+ * A month is buffered in memory while it is compressed.
+ */
+@Component
+class TransactionPartitionManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionPartitionManager.class);
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("transactions_y(\\d{4})m(\\d{2})");
+    private static final String LIST_PARTITIONS =
+            "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+            "WHERE i.inhparent = 'transactions'::regclass";
+    private static final String RECORD_ARCHIVE =
+            "INSERT INTO transaction_archives (partition_name, range_start, range_end, content, row_count) " +
+            "VALUES (?, ?, ?, ?, ?) ON CONFLICT (partition_name) DO UPDATE SET " +
+            "range_start = EXCLUDED.range_start, range_end = EXCLUDED.range_end, content = EXCLUDED.content, " +
+            "row_count = EXCLUDED.row_count, archived_at = CURRENT_TIMESTAMP";
+    private static final int EXPORT_FETCH_SIZE = 1_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AppProperties.Partitioning properties;
+    // Partition bounds are UTC months
+    private final Clock clock;
+
+    TransactionPartitionManager(DataSource dataSource,
+                                PlatformTransactionManager transactionManager,
+                                AppProperties appProperties,
+                                Clock clock) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        // Stream partition exports instead of loading a month of rows at once
+        this.jdbcTemplate.setFetchSize(EXPORT_FETCH_SIZE);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = appProperties.getPartitioning();
+        this.clock = clock.withZone(ZoneOffset.UTC);
+    }
+
+    /**
+     * Make sure upcoming partitions exist, and rows that fell into the default partition are moved
+     * out of it, even if the application was down when the job last ran
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            createFuturePartitions();
+        } catch (DataAccessException e) {
+            logger.error("Could not create upcoming transaction partitions: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${app.partitioning.maintenance-cron:0 15 3 * * *}")
+    public void maintainPartitions() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        createFuturePartitions();
+        if (properties.isArchiveEnabled()) {
+            archiveExpiredPartitions();
+        }
+    }
+
+    void createFuturePartitions() {
+        YearMonth currentMonth = YearMonth.now(clock);
+        Integer created = jdbcTemplate.queryForObject("SELECT create_transaction_partitions(?, ?)", Integer.class,
+                currentMonth.atDay(1), properties.getMonthsAhead() + 1);
+        if (created != null && created > 0) {
+            logger.info("Created {} transaction partitions through {}", created,
+                    currentMonth.plusMonths(properties.getMonthsAhead()));
+        }
+    }
+
+    void archiveExpiredPartitions() {
+        YearMonth oldestRetained = YearMonth.now(clock).minusMonths(properties.getRetentionMonths());
+
+        // Oldest first, so a failure never leaves a gap behind newer archived months
+        Map<YearMonth, String> expired = new TreeMap<>();
+        for (String name : jdbcTemplate.queryForList(LIST_PARTITIONS, String.class)) {
+            Matcher matcher = PARTITION_NAME.matcher(name);
+            if (matcher.matches()) {
+                YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+                if (month.isBefore(oldestRetained)) {
+                    expired.put(month, name);
+                }
+            }
+        }
+
+        for (Map.Entry<YearMonth, String> partition : expired.entrySet()) {
+            try {
+                archivePartition(partition.getValue(), partition.getKey());
+            } catch (RuntimeException e) {
+                logger.error("Archiving transaction partition {} failed, will retry on the next run",
+                        partition.getValue(), e);
+                return;
+            }
+        }
+    }
+
+    private void archivePartition(String partition, YearMonth month) {
+        Long rows = transactionTemplate.execute(status -> {
+            // One archiver at a time across instances; the lock is released with the transaction
+            Boolean locked = jdbcTemplate.queryForObject(
+                    "SELECT pg_try_advisory_xact_lock(hashtext('transaction_archival'))", Boolean.class);
+            Boolean exists = jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition);
+            if (!Boolean.TRUE.equals(locked) || !Boolean.TRUE.equals(exists)) {
+                return null;
+            }
+
+            jdbcTemplate.execute("SET LOCAL lock_timeout = '10s'");
+            // Blocks late writes to the month while it is exported; reads continue
+            jdbcTemplate.execute("LOCK TABLE " + partition + " IN SHARE MODE");
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            long exported = export(partition, content);
+
+            jdbcTemplate.update(RECORD_ARCHIVE, partition,
+                    month.atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC),
+                    month.plusMonths(1).atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC),
+                    content.toByteArray(), exported);
+            jdbcTemplate.execute("ALTER TABLE transactions DETACH PARTITION " + partition);
+            jdbcTemplate.execute("DROP TABLE " + partition);
+            return exported;
+        });
+
+        if (rows != null) {
+            logger.info("Archived transaction partition {} ({} rows)", partition, rows);
+        }
+    }
+
+    private long export(String partition, OutputStream target) {
+        AtomicLong rows = new AtomicLong();
+        try (BufferedWriter writer = TransactionArchiveFormat.openWriter(target)) {
+            jdbcTemplate.query("SELECT " + TransactionArchiveFormat.COLUMNS + " FROM " + partition +
+                    " ORDER BY transaction_date, id", resultSet -> {
+                try {
+                    writer.write(TransactionArchiveFormat.toLine(resultSet));
+                    writer.newLine();
+                } catch (JsonProcessingException e) {
+                    throw new IllegalStateException("Could not serialize transaction " + resultSet.getString("id"), e);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                rows.incrementAndGet();
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not compress partition " + partition, e);
+        }
+        return rows.get();
+    }
+}
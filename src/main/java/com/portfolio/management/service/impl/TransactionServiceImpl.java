@@ -0,0 +1,173 @@
+package com.portfolio.management.service.impl;
+
+import com.portfolio.management.dto.request.TransactionSearchRequest;
+import com.portfolio.management.dto.response.CursorPageResponse;
+import com.portfolio.management.dto.response.TransactionResponse;
+import com.portfolio.management.entity.Transaction;
+import com.portfolio.management.exception.BadRequestException;
+import com.portfolio.management.mapper.TransactionMapper;
+import com.portfolio.management.repository.TransactionRepository;
+import com.portfolio.management.security.UserPrincipal;
+import com.portfolio.management.service.PortfolioService;
+import com.portfolio.management.service.TransactionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static com.portfolio.management.constants.AppConstants.DEFAULT_PAGE_SIZE;
+import static com.portfolio.management.constants.AppConstants.DEFAULT_TRANSACTION_SEARCH_DAYS;
+import static com.portfolio.management.constants.AppConstants.MAX_PAGE_SIZE;
+import static com.portfolio.management.repository.specification.TransactionSpecifications.*;
+
+/**
+ * TransactionService Implementation
+ * History listings seek on (transactionDate, id) instead of using OFFSET, so every page
+ * costs one index range scan regardless of depth, and no COUNT query is issued.
+ * Searches always anchor on a portfolio or user plus a date range, so they start from one
+ * of the (owner, ..., transaction_date) composite indexes rather than a sequential scan.
+ */
+@Service
+@Transactional(readOnly = true)
+public class TransactionServiceImpl implements TransactionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionServiceImpl.class);
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Order.desc("transactionDate"), Sort.Order.desc("id"));
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionMapper transactionMapper;
+    private final PortfolioService portfolioService;
+
+    public TransactionServiceImpl(TransactionRepository transactionRepository,
+                                  TransactionMapper transactionMapper,
+                                  PortfolioService portfolioService) {
+        this.transactionRepository = transactionRepository;
+        this.transactionMapper = transactionMapper;
+        this.portfolioService = portfolioService;
+    }
+
+    // History (keyset pagination)
+
+    @Override
+    public CursorPageResponse<TransactionResponse> getPortfolioTransactions(String portfolioId, String cursor, int size) {
+        logger.debug("Fetching transactions for portfolio {} after cursor {}", portfolioId, cursor);
+        portfolioService.validatePortfolioAccess(portfolioId);
+
+        Pageable limit = limit(size);
+        Slice<Transaction> slice;
+        if (cursor == null || cursor.isBlank()) {
+            slice = transactionRepository.findPortfolioTransactionsFirstPage(portfolioId, limit);
+        } else {
+            TransactionCursor position = TransactionCursor.decode(cursor);
+            slice = transactionRepository.findPortfolioTransactionsAfter(
+                    portfolioId, position.getTransactionDate(), position.getId(), limit);
+        }
+
+        return toPage(slice);
+    }
+
+    @Override
+    public CursorPageResponse<TransactionResponse> getCurrentUserTransactions(String cursor, int size) {
+        String userId = getCurrentUserPrincipal().getId();
+        logger.debug("Fetching transactions for user {} after cursor {}", userId, cursor);
+
+        Pageable limit = limit(size);
+        Slice<Transaction> slice;
+        if (cursor == null || cursor.isBlank()) {
+            slice = transactionRepository.findUserTransactionsFirstPage(userId, limit);
+        } else {
+            TransactionCursor position = TransactionCursor.decode(cursor);
+            slice = transactionRepository.findUserTransactionsAfter(
+                    userId, position.getTransactionDate(), position.getId(), limit);
+        }
+
+        return toPage(slice);
+    }
+
+    // Search
+
+    @Override
+    public CursorPageResponse<TransactionResponse> searchTransactions(TransactionSearchRequest request, String cursor, int size) {
+        Instant endDate = request.getEndDate() != null ? request.getEndDate() : Instant.now();
+        Instant startDate = request.getStartDate() != null ? request.getStartDate()
+                : endDate.minus(Duration.ofDays(DEFAULT_TRANSACTION_SEARCH_DAYS));
+        if (startDate.isAfter(endDate)) {
+            throw new BadRequestException("Search start date must not be after end date");
+        }
+
+        // Anchor: equality on the leading index column (portfolio or user)
+        Specification<Transaction> spec;
+        if (request.getPortfolioId() != null && !request.getPortfolioId().isBlank()) {
+            portfolioService.validatePortfolioAccess(request.getPortfolioId());
+            spec = belongsToPortfolio(request.getPortfolioId());
+        } else {
+            spec = belongsToUser(getCurrentUserPrincipal().getId());
+        }
+
+        // Remaining equality columns, then the date range, in composite index column order
+        spec = spec.and(symbolEquals(request.getSymbol()))
+                .and(hasType(request.getType()))
+                .and(transactionDateBetween(startDate, endDate));
+
+        if (cursor != null && !cursor.isBlank()) {
+            TransactionCursor position = TransactionCursor.decode(cursor);
+            spec = spec.and(seekAfter(position.getTransactionDate(), position.getId()));
+        }
+
+        // Residual filters are applied to rows already narrowed by the index
+        spec = spec.and(hasCurrency(request.getCurrency()))
+                .and(totalAmountBetween(request.getMinAmount(), request.getMaxAmount()))
+                .and(priceBetween(request.getMinPrice(), request.getMaxPrice()))
+                .and(feesBetween(request.getMinFees(), request.getMaxFees()))
+                .and(notesContain(request.getNotes()));
+
+        int pageSize = limit(size).getPageSize();
+        List<Transaction> rows = transactionRepository.findBy(spec,
+                query -> query.sortBy(KEYSET_SORT).limit(pageSize + 1).all());
+
+        boolean hasNext = rows.size() > pageSize;
+        List<Transaction> content = hasNext ? rows.subList(0, pageSize) : rows;
+        return toPage(new SliceImpl<>(content, PageRequest.of(0, pageSize), hasNext));
+    }
+
+    // Helper Methods
+
+    private Pageable limit(int size) {
+        int pageSize = size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        // Always page 0: the cursor predicate does the seeking, so no OFFSET is generated
+        return PageRequest.of(0, pageSize);
+    }
+
+    private CursorPageResponse<TransactionResponse> toPage(Slice<Transaction> slice) {
+        List<Transaction> transactions = slice.getContent();
+        String nextCursor = slice.hasNext() && !transactions.isEmpty()
+                ? TransactionCursor.after(transactions.get(transactions.size() - 1)).encode()
+                : null;
+
+        List<TransactionResponse> content = transactions.stream()
+                .map(transactionMapper::toResponse)
+                .toList();
+
+        return new CursorPageResponse<>(content, content.size(), slice.hasNext(), nextCursor);
+    }
+
+    private UserPrincipal getCurrentUserPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal)) {
+            throw new BadRequestException("No authenticated user found");
+        }
+        return (UserPrincipal) authentication.getPrincipal();
+    }
+}
@@ -0,0 +1,119 @@
+package com.portfolio.management.service.marketdata;
+
+import com.portfolio.management.exception.MarketDataException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * In-process quote provider for local runs and offline tests.
+ * Latency and failures are drawn from an injectable distribution, so hedging and
+ * routing can be exercised without a network.
+ */
+public class FakeQuoteProvider implements QuoteProvider {
+
+    public static final Map<String, BigDecimal> DEFAULT_PRICES = Map.of(
+            "AAPL", BigDecimal.valueOf(175.50),
+            "GOOGL", BigDecimal.valueOf(2650.75),
+            "MSFT", BigDecimal.valueOf(335.20),
+            "AMZN", BigDecimal.valueOf(3200.00),
+            "TSLA", BigDecimal.valueOf(850.25),
+            "META", BigDecimal.valueOf(310.80),
+            "NFLX", BigDecimal.valueOf(425.60),
+            "NVDA", BigDecimal.valueOf(780.90),
+            "AMD", BigDecimal.valueOf(125.40),
+            "INTC", BigDecimal.valueOf(55.75)
+    );
+
+    /**
+     * Source of simulated response delays
+     */
+    @FunctionalInterface
+    public interface LatencyDistribution {
+
+        long nextDelayMillis(SplittableRandom random);
+
+        static LatencyDistribution none() {
+            return random -> 0;
+        }
+
+        static LatencyDistribution fixed(long millis) {
+            return random -> millis;
+        }
+
+        static LatencyDistribution uniform(long minMillis, long maxMillis) {
+            return random -> random.nextLong(minMillis, maxMillis + 1);
+        }
+
+        /**
+         * Mostly {@code fastMillis}, with {@code slowProbability} of a {@code slowMillis} stall
+         */
+        static LatencyDistribution longTail(long fastMillis, long slowMillis, double slowProbability) {
+            return random -> random.nextDouble() < slowProbability ? slowMillis : fastMillis;
+        }
+    }
+
+    private final String name;
+    private final Map<String, BigDecimal> basePrices;
+    private final LatencyDistribution latency;
+    private final double errorRate;
+    private final SplittableRandom seedRandom;
+
+    public FakeQuoteProvider(String name, LatencyDistribution latency) {
+        this(name, DEFAULT_PRICES, latency, 0.0, System.nanoTime());
+    }
+
+    public FakeQuoteProvider(String name, Map<String, BigDecimal> basePrices,
+                             LatencyDistribution latency, double errorRate, long seed) {
+        this.name = name;
+        this.basePrices = Map.copyOf(basePrices);
+        this.latency = latency;
+        this.errorRate = errorRate;
+        this.seedRandom = new SplittableRandom(seed);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Map<String, BigDecimal> fetchQuotes(List<String> symbols) {
+        SplittableRandom random = nextRandom();
+        sleep(latency.nextDelayMillis(random));
+
+        if (random.nextDouble() < errorRate) {
+            throw new MarketDataException("Simulated provider failure", null, "fetchQuotes", name);
+        }
+
+        Map<String, BigDecimal> quotes = new HashMap<>();
+        for (String symbol : symbols) {
+            // Unknown symbols get a price between $50 and $250, as the old mock did
+            BigDecimal basePrice = basePrices.getOrDefault(symbol, BigDecimal.valueOf(50 + random.nextDouble() * 200));
+            BigDecimal variation = basePrice.multiply(BigDecimal.valueOf((random.nextDouble() - 0.5) * 0.02));
+            quotes.put(symbol, basePrice.add(variation).setScale(2, RoundingMode.HALF_UP));
+        }
+        return quotes;
+    }
+
+    // SplittableRandom is not thread-safe; each call gets its own split
+    private synchronized SplittableRandom nextRandom() {
+        return seedRandom.split();
+    }
+
+    private void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw MarketDataException.connectionFailure(name, e);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.portfolio.management.service.marketdata;
+
+import com.portfolio.management.enums.Currency;
+import com.portfolio.management.exception.MarketDataException;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of every cross rate between the supported currencies, indexed by
+ * currency ordinal. Built once per refresh from the per-dollar quotes, so a conversion is two
+ * array reads and never sees rates from two different refreshes.
+ */
+public final class FxRateMatrix {
+
+    private static final MathContext PRECISION = MathContext.DECIMAL64;
+
+    private final LocalDate rateDate;
+    private final Instant fetchedAt;
+    // rates[from][to]: units of `to` per unit of `from`; null when either side is unquoted
+    private final BigDecimal[][] rates;
+    private final double[][] doubleRates;
+
+    private FxRateMatrix(LocalDate rateDate, Instant fetchedAt, BigDecimal[][] rates) {
+        this.rateDate = rateDate;
+        this.fetchedAt = fetchedAt;
+        this.rates = rates;
+        this.doubleRates = new double[rates.length][rates.length];
+        for (int i = 0; i < rates.length; i++) {
+            for (int j = 0; j < rates.length; j++) {
+                doubleRates[i][j] = rates[i][j] != null ? rates[i][j].doubleValue() : Double.NaN;
+            }
+        }
+    }
+
+    /**
+     * Builds the matrix from units of each currency per US dollar
+     */
+    public static FxRateMatrix fromUsdRates(LocalDate rateDate, Instant fetchedAt, Map<Currency, BigDecimal> unitsPerUsd) {
+        Currency[] currencies = Currency.values();
+        BigDecimal[][] rates = new BigDecimal[currencies.length][currencies.length];
+        for (Currency from : currencies) {
+            BigDecimal fromRate = unitsPerUsd.get(from);
+            for (Currency to : currencies) {
+                BigDecimal toRate = unitsPerUsd.get(to);
+                if (from == to) {
+                    rates[from.ordinal()][to.ordinal()] = BigDecimal.ONE;
+                } else if (fromRate != null && toRate != null && fromRate.signum() > 0) {
+                    rates[from.ordinal()][to.ordinal()] = toRate.divide(fromRate, PRECISION);
+                }
+            }
+        }
+        return new FxRateMatrix(rateDate, fetchedAt, rates);
+    }
+
+    public LocalDate getRateDate() {
+        return rateDate;
+    }
+
+    public Instant getFetchedAt() {
+        return fetchedAt;
+    }
+
+    /**
+     * Units of {@code to} per unit of {@code from}
+     */
+    public BigDecimal rate(Currency from, Currency to) {
+        BigDecimal rate = rates[from.ordinal()][to.ordinal()];
+        if (rate == null) {
+            throw new MarketDataException("No exchange rate from " + from + " to " + to);
+        }
+        return rate;
+    }
+
+    /**
+     * Units of {@code to} per unit of {@code from}, NaN when unquoted
+     */
+    public double doubleRate(Currency from, Currency to) {
+        return doubleRates[from.ordinal()][to.ordinal()];
+    }
+
+    /**
+     * The amount restated in another currency, unrounded; null stays null
+     */
+    public BigDecimal convert(BigDecimal amount, Currency from, Currency to) {
+        if (amount == null || from == to) {
+            return amount;
+        }
+        return amount.multiply(rate(from, to), PRECISION);
+    }
+}
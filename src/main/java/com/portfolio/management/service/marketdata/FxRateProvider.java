@@ -0,0 +1,29 @@
+package com.portfolio.management.service.marketdata;
+
+import com.portfolio.management.enums.Currency;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * A source of exchange rates, quoted as units of each currency per US dollar.
+ * Currencies the source does not quote are omitted from the results.
+ */
+public interface FxRateProvider {
+
+    /**
+     * Provider name, used for logging
+     */
+    String getName();
+
+    /**
+     * Latest rates for all quoted currencies
+     */
+    Map<Currency, BigDecimal> fetchLatestRates();
+
+    /**
+     * Daily closing rates for each date from {@code from} to {@code to} inclusive that the source has
+     */
+    Map<LocalDate, Map<Currency, BigDecimal>> fetchHistoricalRates(LocalDate from, LocalDate to);
+}
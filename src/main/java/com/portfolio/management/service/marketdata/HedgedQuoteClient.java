@@ -0,0 +1,258 @@
+package com.portfolio.management.service.marketdata;
+
+import com.portfolio.management.exception.MarketDataException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Batch quote client with hedged requests and latency-aware routing.
+ * Symbols are split into chunks fetched in parallel. Each chunk goes to the provider with
+ * the best EWMA score; if it has not answered within that provider's recent latency
+ * percentile (or fails first), a duplicate goes to the next-best provider, or the same
+ * one when only one is configured, and the first answer wins. Every attempt, hedges
+ * included, passes through the attempt guard (the provider bulkhead and rate limiter), and
+ * the losing attempt is cancelled once a chunk has its answer.
+ */
+public class HedgedQuoteClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(HedgedQuoteClient.class);
+    private static final int MIN_SAMPLES_FOR_PERCENTILE = 20;
+
+    private final List<QuoteProvider> providers;
+    private final Map<String, ProviderStats> stats = new LinkedHashMap<>();
+    private final Executor executor;
+    private final UnaryOperator<Supplier<Map<String, BigDecimal>>> attemptGuard;
+    private final int chunkSize;
+    private final double hedgePercentile;
+    private final long minHedgeDelayMillis;
+    private final long maxHedgeDelayMillis;
+    private final long timeoutMillis;
+
+    public HedgedQuoteClient(List<QuoteProvider> providers, Executor executor, int chunkSize,
+                             double hedgePercentile, Duration minHedgeDelay, Duration maxHedgeDelay,
+                             Duration timeout) {
+        this(providers, executor, UnaryOperator.identity(), chunkSize, hedgePercentile, minHedgeDelay,
+                maxHedgeDelay, timeout);
+    }
+
+    public HedgedQuoteClient(List<QuoteProvider> providers, Executor executor,
+                             UnaryOperator<Supplier<Map<String, BigDecimal>>> attemptGuard, int chunkSize,
+                             double hedgePercentile, Duration minHedgeDelay, Duration maxHedgeDelay,
+                             Duration timeout) {
+        if (providers.isEmpty()) {
+            throw new IllegalArgumentException("At least one quote provider is required");
+        }
+        this.providers = List.copyOf(providers);
+        this.providers.forEach(provider -> stats.put(provider.getName(), new ProviderStats(provider.getName())));
+        this.executor = executor;
+        this.attemptGuard = attemptGuard;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.hedgePercentile = hedgePercentile;
+        this.minHedgeDelayMillis = minHedgeDelay.toMillis();
+        this.maxHedgeDelayMillis = maxHedgeDelay.toMillis();
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    /**
+     * Fetch quotes for upper-case symbols. Chunks that fail on every attempt or miss the
+     * batch timeout are left out, so callers should expect a partial map.
+     */
+    public Map<String, BigDecimal> fetchQuotes(List<String> symbols) {
+        if (symbols.isEmpty()) {
+            return Map.of();
+        }
+
+        List<CompletableFuture<Map<String, BigDecimal>>> chunks = new ArrayList<>();
+        for (int from = 0; from < symbols.size(); from += chunkSize) {
+            List<String> chunk = List.copyOf(symbols.subList(from, Math.min(from + chunkSize, symbols.size())));
+            chunks.add(fetchChunk(chunk));
+        }
+
+        try {
+            CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[0]))
+                    .get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            logger.warn("Quote batch of {} symbols timed out after {} ms", symbols.size(), timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            chunks.forEach(chunk -> chunk.cancel(true));
+            throw new MarketDataException("Interrupted while fetching quotes", e);
+        } catch (Exception e) {
+            // Individual chunk failures are handled below
+        }
+        // Late chunks are abandoned, which cancels their attempts
+        chunks.forEach(chunk -> chunk.cancel(true));
+
+        Map<String, BigDecimal> quotes = new HashMap<>();
+        for (CompletableFuture<Map<String, BigDecimal>> chunk : chunks) {
+            if (chunk.isDone() && !chunk.isCompletedExceptionally()) {
+                quotes.putAll(chunk.join());
+            }
+        }
+        if (quotes.isEmpty()) {
+            throw new MarketDataException("No quote provider answered for " + symbols.size() + " symbols");
+        }
+        return quotes;
+    }
+
+    public List<ProviderStats> getProviderStats() {
+        return List.copyOf(stats.values());
+    }
+
+    private CompletableFuture<Map<String, BigDecimal>> fetchChunk(List<String> chunk) {
+        QuoteProvider primary = rankProviders().get(0);
+        ChunkFetch fetch = new ChunkFetch(chunk);
+
+        fetch.start(primary);
+        CompletableFuture.delayedExecutor(hedgeDelayMillis(primary), TimeUnit.MILLISECONDS, executor)
+                .execute(() -> fetch.hedge(primary));
+        return fetch.result;
+    }
+
+    private List<QuoteProvider> rankProviders() {
+        List<QuoteProvider> ranked = new ArrayList<>(providers);
+        ranked.sort(Comparator.comparingDouble(provider -> stats.get(provider.getName()).score()));
+        return ranked;
+    }
+
+    private QuoteProvider alternateFor(QuoteProvider provider) {
+        for (QuoteProvider candidate : rankProviders()) {
+            if (candidate != provider) {
+                return candidate;
+            }
+        }
+        return provider;
+    }
+
+    private long hedgeDelayMillis(QuoteProvider provider) {
+        long percentile = stats.get(provider.getName()).latencyPercentile(hedgePercentile, MIN_SAMPLES_FOR_PERCENTILE);
+        if (percentile < 0) {
+            return maxHedgeDelayMillis;
+        }
+        return Math.max(minHedgeDelayMillis, Math.min(percentile, maxHedgeDelayMillis));
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * The attempts for one chunk. At most one hedge is sent: when the hedge delay passes or the
+     * first attempt fails, whichever comes first. The chunk fails once every attempt started has.
+     */
+    private final class ChunkFetch {
+        private final List<String> symbols;
+        private final CompletableFuture<Map<String, BigDecimal>> result = new CompletableFuture<>();
+        private final Queue<Future<?>> attempts = new ConcurrentLinkedQueue<>();
+        private boolean hedged;
+        private int started;
+        private int failed;
+
+        private ChunkFetch(List<String> symbols) {
+            this.symbols = symbols;
+            // Queued losers never run; running ones are interrupted
+            result.whenComplete((quotes, error) -> attempts.forEach(attempt -> attempt.cancel(true)));
+        }
+
+        private synchronized void start(QuoteProvider provider) {
+            started++;
+            Attempt attempt = new Attempt(provider);
+            attempts.add(attempt.task);
+            if (result.isDone()) {
+                attempt.task.cancel(false);
+                return;
+            }
+
+            try {
+                executor.execute(attempt.task);
+            } catch (RejectedExecutionException e) {
+                onFailure(provider, e, false);
+            }
+        }
+
+        private synchronized void hedge(QuoteProvider primary) {
+            if (!hedged && !result.isDone()) {
+                hedged = true;
+                QuoteProvider alternate = alternateFor(primary);
+                logger.debug("Hedging {} symbols from {} to {}", symbols.size(), primary.getName(), alternate.getName());
+                start(alternate);
+            }
+        }
+
+        private synchronized void onFailure(QuoteProvider provider, RuntimeException cause, boolean mayHedge) {
+            failed++;
+            if (!hedged && mayHedge && !result.isDone()) {
+                hedged = true;
+                start(alternateFor(provider));
+            } else {
+                // No hedge after a rejection either, so the timer cannot send one later
+                hedged = true;
+                if (failed >= started) {
+                    result.completeExceptionally(cause);
+                }
+            }
+        }
+
+        private final class Attempt implements Callable<Void> {
+            private final QuoteProvider provider;
+            private final Supplier<Map<String, BigDecimal>> call;
+            private final FutureTask<Void> task = new FutureTask<>(this);
+
+            private Attempt(QuoteProvider provider) {
+                this.provider = provider;
+                this.call = attemptGuard.apply(() -> provider.fetchQuotes(symbols));
+            }
+
+            @Override
+            public Void call() {
+                ProviderStats providerStats = stats.get(provider.getName());
+                long start = System.nanoTime();
+                try {
+                    Map<String, BigDecimal> quotes = call.get();
+                    providerStats.recordSuccess(elapsedMillis(start));
+                    // Off the cancel list first, so completing the chunk does not interrupt this thread
+                    attempts.remove(task);
+                    result.complete(quotes);
+                } catch (BulkheadFullException | RequestNotPermitted e) {
+                    // Our own limits, not the provider's health; a hedge would only hit them again
+                    logger.debug("Quote attempt on {} rejected: {}", provider.getName(), e.getMessage());
+                    onFailure(provider, e, false);
+                } catch (RuntimeException e) {
+                    if (result.isDone()) {
+                        // A cancelled loser did not fail, but was at least this slow; without
+                        // the sample a slow primary that always loses would never be demoted
+                        providerStats.recordCensored(elapsedMillis(start));
+                    } else {
+                        providerStats.recordFailure(elapsedMillis(start));
+                        logger.debug("Quote provider {} failed: {}", provider.getName(), e.getMessage());
+                    }
+                    onFailure(provider, e, true);
+                }
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.portfolio.management.service.marketdata;
+
+import com.portfolio.management.config.AppProperties;
+import com.portfolio.management.dto.response.PriceTickResponse;
+import com.portfolio.management.exception.BadRequestException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Fan-out point for live prices.
+ * Open streams are indexed by symbol, so a quote update touches only the connections that
+ * asked for that symbol. Publishing never blocks on a client: ticks are handed to each
+ * PriceSubscription, which coalesces them and writes from the stream executor. Idle
+ * connections cost an entry in the index and a periodic heartbeat, nothing more.
+ */
+@Component
+public class PriceStreamHub {
+
+    private static final Logger logger = LoggerFactory.getLogger(PriceStreamHub.class);
+
+    private final AppProperties.Streaming properties;
+    private final Executor executor;
+
+    private final Map<String, Set<PriceSubscription>> subscribersBySymbol = new ConcurrentHashMap<>();
+    private final Set<PriceSubscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final Map<String, Integer> connectionsByUser = new ConcurrentHashMap<>();
+    // Last streamed price per subscribed symbol, for change calculation and initial snapshots
+    private final Map<String, BigDecimal> lastPrices = new ConcurrentHashMap<>();
+
+    public PriceStreamHub(AppProperties appProperties,
+                          @Qualifier("priceStreamExecutor") Executor executor) {
+        this.properties = appProperties.getStreaming();
+        this.executor = executor;
+    }
+
+    /**
+     * Open a stream for the given symbols. The current price of every symbol already being
+     * streamed is sent straight away.
+     */
+    public SseEmitter subscribe(String userId, Set<String> symbols) {
+        if (subscriptions.size() >= properties.getMaxConnections()) {
+            throw new BadRequestException("Price stream capacity reached, retry later");
+        }
+        connectionsByUser.compute(userId, (id, open) -> {
+            int count = open == null ? 0 : open;
+            if (count >= properties.getMaxConnectionsPerUser()) {
+                throw new BadRequestException("Maximum of " + properties.getMaxConnectionsPerUser()
+                        + " concurrent price streams per user exceeded");
+            }
+            return count + 1;
+        });
+
+        SseEmitter emitter = newEmitter(Duration.ofMinutes(properties.getConnectionTimeoutMinutes()).toMillis());
+        PriceSubscription subscription = new PriceSubscription(userId, symbols, emitter, executor, this::unsubscribe);
+
+        emitter.onCompletion(() -> unsubscribe(subscription));
+        emitter.onTimeout(() -> {
+            unsubscribe(subscription);
+            emitter.complete();
+        });
+        emitter.onError(e -> unsubscribe(subscription));
+
+        subscriptions.add(subscription);
+        for (String symbol : symbols) {
+            subscribersBySymbol.compute(symbol, (s, subscribers) -> {
+                Set<PriceSubscription> updated = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+                updated.add(subscription);
+                return updated;
+            });
+        }
+        logger.debug("Opened price stream for user {} on {} symbols ({} open)", userId, symbols.size(), subscriptions.size());
+
+        Instant now = Instant.now();
+        for (String symbol : symbols) {
+            BigDecimal price = lastPrices.get(symbol);
+            if (price != null) {
+                subscription.offer(new PriceTickResponse(symbol, price, null, null, now));
+            }
+        }
+        subscription.heartbeat(); // flushes response headers so the client sees the stream open
+
+        return emitter;
+    }
+
+    /**
+     * Called from the quote refresh path. Unchanged prices and symbols nobody streams are dropped here.
+     */
+    public void publish(String symbol, BigDecimal price) {
+        if (price == null) {
+            return;
+        }
+        Set<PriceSubscription> subscribers = subscribersBySymbol.get(symbol);
+        if (subscribers == null || subscribers.isEmpty()) {
+            return;
+        }
+
+        BigDecimal previous = lastPrices.put(symbol, price);
+        if (previous != null && previous.compareTo(price) == 0) {
+            return;
+        }
+
+        PriceTickResponse tick = toTick(symbol, price, previous);
+        for (PriceSubscription subscription : subscribers) {
+            subscription.offer(tick);
+        }
+    }
+
+    public void publishAll(Map<String, BigDecimal> prices) {
+        prices.forEach(this::publish);
+    }
+
+    /**
+     * Symbols with at least one open stream; the refresher fetches exactly these.
+     */
+    public List<String> getSubscribedSymbols() {
+        return new ArrayList<>(subscribersBySymbol.keySet());
+    }
+
+    public int getOpenStreamCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Heartbeats idle streams and disconnects clients whose socket has stopped accepting writes.
+     * Also retries drains that were rejected while the stream executor was saturated.
+     */
+    @Scheduled(fixedDelayString = "${app.streaming.heartbeat-interval-ms:15000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        long heartbeatNanos = Duration.ofMillis(properties.getHeartbeatIntervalMs()).toNanos();
+        long stallNanos = Duration.ofMillis(properties.getStallTimeoutMs()).toNanos();
+
+        for (PriceSubscription subscription : subscriptions) {
+            if (subscription.stalledNanos(now) > stallNanos) {
+                logger.info("Disconnecting stalled price stream for user {}", subscription.getUserId());
+                unsubscribe(subscription);
+                subscription.getEmitter().complete();
+            } else if (subscription.idleNanos(now) >= heartbeatNanos) {
+                subscription.heartbeat();
+            }
+        }
+    }
+
+    SseEmitter newEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    // Idempotent: the emitter callbacks, the sweep and a failed write may all get here for one stream
+    private void unsubscribe(PriceSubscription subscription) {
+        subscription.close();
+        if (!subscriptions.remove(subscription)) {
+            return;
+        }
+        for (String symbol : subscription.getSymbols()) {
+            subscribersBySymbol.computeIfPresent(symbol, (s, subscribers) -> {
+                subscribers.remove(subscription);
+                if (subscribers.isEmpty()) {
+                    lastPrices.remove(symbol);
+                    return null;
+                }
+                return subscribers;
+            });
+        }
+        connectionsByUser.computeIfPresent(subscription.getUserId(), (id, open) -> open <= 1 ? null : open - 1);
+        logger.debug("Closed price stream for user {} ({} open)", subscription.getUserId(), subscriptions.size());
+    }
+
+    private PriceTickResponse toTick(String symbol, BigDecimal price, BigDecimal previous) {
+        if (previous == null || previous.signum() == 0) {
+            return new PriceTickResponse(symbol, price, null, null, Instant.now());
+        }
+        BigDecimal change = price.subtract(previous);
+        BigDecimal changePercent = change.multiply(BigDecimal.valueOf(100))
+                .divide(previous, 4, RoundingMode.HALF_UP);
+        return new PriceTickResponse(symbol, price, change, changePercent, Instant.now());
+    }
+}
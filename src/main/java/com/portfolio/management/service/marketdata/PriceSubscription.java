@@ -0,0 +1,166 @@
+package com.portfolio.management.service.marketdata;
+
+import com.portfolio.management.dto.response.PriceTickResponse;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * One open price stream.
+ * Ticks are coalesced per symbol into {@code pending}: whatever arrives while a write is in
+ * flight replaces the older tick for that symbol, so a slow client receives the latest price
+ * per symbol instead of a growing backlog. At most one drain task per connection is queued or
+ * running, which also serializes writes to the emitter. A failed write hands the subscription
+ * back to {@code onFailure} so the owner can release it; the emitter may never report the error.
+ */
+final class PriceSubscription {
+
+    static final String PRICES_EVENT = "prices";
+
+    private final String userId;
+    private final Set<String> symbols;
+    private final SseEmitter emitter;
+    private final Executor executor;
+    private final Consumer<PriceSubscription> onFailure;
+
+    private final Map<String, PriceTickResponse> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile boolean heartbeatDue;
+    private volatile long lastWriteNanos = System.nanoTime();
+    // Non-zero while a write is blocked on the client's socket
+    private volatile long writeStartedNanos;
+
+    PriceSubscription(String userId, Set<String> symbols, SseEmitter emitter, Executor executor,
+                      Consumer<PriceSubscription> onFailure) {
+        this.userId = userId;
+        this.symbols = symbols;
+        this.emitter = emitter;
+        this.executor = executor;
+        this.onFailure = onFailure;
+    }
+
+    String getUserId() {
+        return userId;
+    }
+
+    Set<String> getSymbols() {
+        return symbols;
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    void offer(PriceTickResponse tick) {
+        if (closed.get()) {
+            return;
+        }
+        pending.put(tick.getSymbol(), tick);
+        scheduleDrain();
+    }
+
+    void heartbeat() {
+        heartbeatDue = true;
+        scheduleDrain();
+    }
+
+    long idleNanos(long now) {
+        return now - lastWriteNanos;
+    }
+
+    long stalledNanos(long now) {
+        long started = writeStartedNanos;
+        return started == 0 ? 0 : now - started;
+    }
+
+    /**
+     * Marks the subscription closed. Returns true only for the first caller.
+     */
+    boolean close() {
+        if (!closed.compareAndSet(false, true)) {
+            return false;
+        }
+        pending.clear();
+        return true;
+    }
+
+    private void scheduleDrain() {
+        if (!draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            // Pool saturated: ticks stay coalesced in pending and the next heartbeat sweep retries
+            draining.set(false);
+        }
+    }
+
+    private void drain() {
+        try {
+            while (!closed.get()) {
+                List<PriceTickResponse> batch = takePending();
+                if (!batch.isEmpty()) {
+                    write(SseEmitter.event().name(PRICES_EVENT).data(batch, MediaType.APPLICATION_JSON));
+                } else if (heartbeatDue) {
+                    heartbeatDue = false;
+                    write(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    break;
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away or the emitter already completed
+            if (!closed.get()) {
+                onFailure.accept(this);
+                emitter.completeWithError(e);
+            }
+        } finally {
+            draining.set(false);
+        }
+
+        // A tick may have landed between the last empty check and releasing the flag
+        if (!closed.get() && (!pending.isEmpty() || heartbeatDue)) {
+            scheduleDrain();
+        }
+    }
+
+    private List<PriceTickResponse> takePending() {
+        List<PriceTickResponse> batch = new ArrayList<>(pending.size());
+        Iterator<String> keys = pending.keySet().iterator();
+        while (keys.hasNext()) {
+            PriceTickResponse tick = pending.remove(keys.next());
+            if (tick != null) {
+                batch.add(tick);
+            }
+        }
+        return batch;
+    }
+
+    private void write(SseEmitter.SseEventBuilder event) throws IOException {
+        writeStartedNanos = System.nanoTime();
+        try {
+            emitter.send(event);
+        } finally {
+            writeStartedNanos = 0;
+            lastWriteNanos = System.nanoTime();
+        }
+        heartbeatDue = false;
+    }
+}
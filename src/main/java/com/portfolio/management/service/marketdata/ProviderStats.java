@@ -0,0 +1,122 @@
+package com.portfolio.management.service.marketdata;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Rolling latency and error statistics for one quote provider.
+ * EWMA values are kept as double bits in AtomicLongs and updated by CAS; a small ring of
+ * recent latencies backs the percentile used as the hedge delay.
+ */
+public class ProviderStats {
+
+    private static final double ALPHA = 0.2;
+    private static final int WINDOW_SIZE = 128;
+    // Weight of the error rate in the routing score: a provider failing half its calls
+    // ranks like one three times slower
+    private static final double ERROR_PENALTY = 4.0;
+    // Flat cost so a provider that fails fast does not outrank a slower healthy one
+    private static final double FAILURE_COST_MILLIS = 1000.0;
+
+    private final String providerName;
+    private final AtomicLong ewmaLatencyBits = new AtomicLong(Double.doubleToLongBits(0.0));
+    private final AtomicLong ewmaErrorBits = new AtomicLong(Double.doubleToLongBits(0.0));
+    private final AtomicLongArray recentLatencies = new AtomicLongArray(WINDOW_SIZE);
+    private final AtomicInteger samples = new AtomicInteger();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    public ProviderStats(String providerName) {
+        this.providerName = providerName;
+    }
+
+    public void recordSuccess(long latencyMillis) {
+        boolean first = calls.getAndIncrement() == 0;
+        update(ewmaLatencyBits, latencyMillis, first);
+        update(ewmaErrorBits, 0.0, first);
+        int index = samples.getAndIncrement();
+        recentLatencies.set(Math.floorMod(index, WINDOW_SIZE), latencyMillis);
+    }
+
+    public void recordFailure(long latencyMillis) {
+        boolean first = calls.getAndIncrement() == 0;
+        update(ewmaLatencyBits, latencyMillis, first);
+        update(ewmaErrorBits, 1.0, first);
+    }
+
+    /**
+     * A call abandoned after {@code elapsedMillis}, e.g. a hedge loser: its latency is at least
+     * that long. It only raises the latency average, never lowers it, and stays out of the error
+     * rate and the percentile window.
+     */
+    public void recordCensored(long elapsedMillis) {
+        boolean first = calls.getAndIncrement() == 0;
+        while (true) {
+            long current = ewmaLatencyBits.get();
+            double value = Double.longBitsToDouble(current);
+            if (!first && elapsedMillis <= value) {
+                return;
+            }
+            double next = first ? elapsedMillis : value + ALPHA * (elapsedMillis - value);
+            if (ewmaLatencyBits.compareAndSet(current, Double.doubleToLongBits(next))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Lower is better. Providers with no samples score 0 so they get tried.
+     */
+    public double score() {
+        double errorRate = getEwmaErrorRate();
+        return getEwmaLatencyMillis() * (1.0 + ERROR_PENALTY * errorRate) + FAILURE_COST_MILLIS * errorRate;
+    }
+
+    /**
+     * Latency percentile over the recent successful calls, or -1 while fewer than
+     * {@code minSamples} have been seen.
+     */
+    public long latencyPercentile(double percentile, int minSamples) {
+        int count = Math.min(samples.get(), WINDOW_SIZE);
+        if (count < minSamples || count == 0) {
+            return -1;
+        }
+
+        long[] window = new long[count];
+        for (int i = 0; i < count; i++) {
+            window[i] = recentLatencies.get(i);
+        }
+        Arrays.sort(window);
+        int rank = (int) Math.ceil(percentile / 100.0 * count) - 1;
+        return window[Math.max(0, Math.min(rank, count - 1))];
+    }
+
+    public String getProviderName() {
+        return providerName;
+    }
+
+    public double getEwmaLatencyMillis() {
+        return Double.longBitsToDouble(ewmaLatencyBits.get());
+    }
+
+    public double getEwmaErrorRate() {
+        return Double.longBitsToDouble(ewmaErrorBits.get());
+    }
+
+    public int getCallCount() {
+        return calls.get();
+    }
+
+    private void update(AtomicLong bits, double sample, boolean seed) {
+        while (true) {
+            long current = bits.get();
+            double value = Double.longBitsToDouble(current);
+            // The first call seeds the average instead of being blended with zero
+            double next = seed ? sample : value + ALPHA * (sample - value);
+            if (bits.compareAndSet(current, Double.doubleToLongBits(next))) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.portfolio.management.service.marketdata;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A market data endpoint that can price a batch of symbols.
+ * Implementations block until the provider answers or fails.
+ */
+public interface QuoteProvider {
+
+    /**
+     * Provider name, used for routing statistics and logging
+     */
+    String getName();
+
+    /**
+     * Fetch current prices for the given upper-case symbols.
+     * Symbols the provider does not know are omitted from the result.
+     */
+    Map<String, BigDecimal> fetchQuotes(List<String> symbols);
+}
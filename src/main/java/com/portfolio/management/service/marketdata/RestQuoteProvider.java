@@ -0,0 +1,69 @@
+package com.portfolio.management.service.marketdata;
+
+import com.portfolio.management.exception.MarketDataException;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * HTTP quote provider: GET {baseUrl}/quote?symbols=A,B&apikey=... answering {"A": 1.23, ...}.
+ * Timeouts come from the shared RestTemplate.
+ */
+public class RestQuoteProvider implements QuoteProvider {
+
+    private static final ParameterizedTypeReference<Map<String, Number>> QUOTES_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private final String name;
+    private final String baseUrl;
+    private final String apiKey;
+    private final RestTemplate restTemplate;
+
+    public RestQuoteProvider(String name, String baseUrl, String apiKey, RestTemplate restTemplate) {
+        this.name = name;
+        this.baseUrl = baseUrl;
+        this.apiKey = apiKey;
+        this.restTemplate = restTemplate;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Map<String, BigDecimal> fetchQuotes(List<String> symbols) {
+        String url = UriComponentsBuilder.fromHttpUrl(baseUrl)
+                .path("/quote")
+                .queryParam("symbols", String.join(",", symbols))
+                .queryParam("apikey", apiKey)
+                .toUriString();
+
+        try {
+            ResponseEntity<Map<String, Number>> response =
+                    restTemplate.exchange(url, HttpMethod.GET, null, QUOTES_TYPE);
+
+            Map<String, BigDecimal> quotes = new HashMap<>();
+            if (response.getBody() != null) {
+                response.getBody().forEach((symbol, price) -> {
+                    if (price != null) {
+                        quotes.put(symbol.toUpperCase(), new BigDecimal(price.toString()));
+                    }
+                });
+            }
+            return quotes;
+
+        } catch (RestClientException e) {
+            throw MarketDataException.connectionFailure(name, e);
+        }
+    }
+}
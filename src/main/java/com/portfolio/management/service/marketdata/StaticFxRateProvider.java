@@ -0,0 +1,75 @@
+package com.portfolio.management.service.marketdata;
+
+import com.portfolio.management.enums.Currency;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * In-process FX source for local runs and offline tests.
+ * Each day's rate is a deterministic function of the date: a slow seasonal swing plus a small
+ * seeded daily move around the base rate, so history is stable across restarts.
+ */
+public class StaticFxRateProvider implements FxRateProvider {
+
+    public static final Map<Currency, BigDecimal> DEFAULT_RATES = Map.of(
+            Currency.USD, BigDecimal.ONE,
+            Currency.CAD, new BigDecimal("1.3600"),
+            Currency.EUR, new BigDecimal("0.9200"),
+            Currency.GBP, new BigDecimal("0.7900")
+    );
+
+    private final String name;
+    private final Map<Currency, BigDecimal> baseRates;
+    private final Clock clock;
+
+    public StaticFxRateProvider(String name, Map<Currency, BigDecimal> baseRates, Clock clock) {
+        this.name = name;
+        this.baseRates = Map.copyOf(baseRates);
+        this.clock = clock;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Map<Currency, BigDecimal> fetchLatestRates() {
+        return ratesOn(LocalDate.now(clock.withZone(ZoneOffset.UTC)));
+    }
+
+    @Override
+    public Map<LocalDate, Map<Currency, BigDecimal>> fetchHistoricalRates(LocalDate from, LocalDate to) {
+        Map<LocalDate, Map<Currency, BigDecimal>> history = new LinkedHashMap<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            history.put(date, ratesOn(date));
+        }
+        return history;
+    }
+
+    private Map<Currency, BigDecimal> ratesOn(LocalDate date) {
+        Map<Currency, BigDecimal> rates = new EnumMap<>(Currency.class);
+        long day = date.toEpochDay();
+        for (Map.Entry<Currency, BigDecimal> base : baseRates.entrySet()) {
+            Currency currency = base.getKey();
+            if (currency == Currency.USD) {
+                rates.put(currency, BigDecimal.ONE);
+                continue;
+            }
+            // About +/-4% over a year, phase-shifted per currency, and a 0.2% daily move
+            double swing = 0.04 * Math.sin(2 * Math.PI * (day + 97L * currency.ordinal()) / 365.25);
+            double move = 0.002 * new SplittableRandom(day * 31 + currency.ordinal()).nextGaussian();
+            double rate = base.getValue().doubleValue() * Math.exp(swing + move);
+            rates.put(currency, BigDecimal.valueOf(rate).setScale(8, RoundingMode.HALF_UP));
+        }
+        return rates;
+    }
+}
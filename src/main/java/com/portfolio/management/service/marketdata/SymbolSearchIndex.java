@@ -0,0 +1,340 @@
+package com.portfolio.management.service.marketdata;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Immutable typeahead index over an instrument universe.
+ * Tickers and company-name tokens live in two array-backed tries. A query is answered by
+ * an exact/prefix walk and, when that leaves room, a one-edit (substitution, insertion,
+ * deletion or transposition) prefix walk; no provider call is made.
+ * Instances are safe to share between threads and are replaced wholesale on reload.
+ */
+public final class SymbolSearchIndex {
+
+    private static final int EXACT_TICKER = 1000;
+    private static final int TICKER_PREFIX = 800;
+    private static final int NAME_PREFIX = 600;
+    private static final int FUZZY_TICKER = 400;
+    private static final int FUZZY_NAME = 300;
+    private static final int MIN_FUZZY_LENGTH = 3;
+    // Subtree collection stops after this many candidates per limit requested
+    private static final int CANDIDATES_PER_RESULT = 4;
+    private static final Set<String> NAME_STOP_WORDS = Set.of(
+            "inc", "corp", "corporation", "co", "company", "the", "ltd", "limited", "plc",
+            "group", "holdings", "incorporated", "and", "of", "class");
+
+    /**
+     * One tradable instrument from the reference universe
+     */
+    public static final class Instrument {
+        private final String symbol;
+        private final String name;
+        private final String exchange;
+        private final String type;
+
+        public Instrument(String symbol, String name, String exchange, String type) {
+            this.symbol = symbol;
+            this.name = name;
+            this.exchange = exchange;
+            this.type = type;
+        }
+
+        public String getSymbol() {
+            return symbol;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getExchange() {
+            return exchange;
+        }
+
+        public String getType() {
+            return type;
+        }
+    }
+
+    private final Instrument[] instruments;
+    private final Node tickerRoot;
+    private final Node nameRoot;
+
+    private SymbolSearchIndex(Instrument[] instruments, Node tickerRoot, Node nameRoot) {
+        this.instruments = instruments;
+        this.tickerRoot = tickerRoot;
+        this.nameRoot = nameRoot;
+    }
+
+    public static SymbolSearchIndex build(List<Instrument> universe) {
+        Instrument[] instruments = universe.toArray(new Instrument[0]);
+        Builder tickers = new Builder();
+        Builder names = new Builder();
+
+        for (int id = 0; id < instruments.length; id++) {
+            tickers.add(normalize(instruments[id].getSymbol()), id);
+            for (String token : tokenize(instruments[id].getName())) {
+                if (!NAME_STOP_WORDS.contains(token)) {
+                    names.add(token, id);
+                }
+            }
+        }
+
+        return new SymbolSearchIndex(instruments, tickers.root.freeze(), names.root.freeze());
+    }
+
+    public int size() {
+        return instruments.length;
+    }
+
+    /**
+     * Every instrument in universe file order
+     */
+    public List<Instrument> instruments() {
+        return List.of(instruments);
+    }
+
+    /**
+     * Ranked matches for a typeahead query: exact ticker, ticker prefix, company-name prefix,
+     * then one-edit ticker and name matches.
+     */
+    public List<Instrument> search(String query, int limit) {
+        if (query == null || limit <= 0) {
+            return Collections.emptyList();
+        }
+        String normalized = normalize(query.trim());
+        if (normalized.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        int maxCandidates = limit * CANDIDATES_PER_RESULT;
+        Map<Integer, Integer> scores = new HashMap<>();
+
+        Node tickerNode = tickerRoot.walk(normalized);
+        if (tickerNode != null) {
+            for (int id : tickerNode.ids) {
+                scores.merge(id, EXACT_TICKER, Math::max);
+            }
+            collect(tickerNode, normalized.length(), normalized.length(), TICKER_PREFIX, maxCandidates, scores);
+        }
+
+        matchName(normalized, maxCandidates, scores);
+
+        // Typo tolerance is for single words; multi-word queries already narrow by every word
+        if (scores.size() < limit && normalized.length() >= MIN_FUZZY_LENGTH && normalized.indexOf(' ') < 0) {
+            Map<Node, Integer> tickerHits = new IdentityHashMap<>();
+            fuzzy(tickerRoot, normalized, 0, false, 0, tickerHits);
+            tickerHits.forEach((node, depth) ->
+                    collect(node, depth, normalized.length(), FUZZY_TICKER, maxCandidates, scores));
+
+            String token = lastToken(normalized);
+            Map<Node, Integer> nameHits = new IdentityHashMap<>();
+            fuzzy(nameRoot, token, 0, false, 0, nameHits);
+            nameHits.forEach((node, depth) ->
+                    collect(node, depth, token.length(), FUZZY_NAME, maxCandidates, scores));
+        }
+
+        List<Map.Entry<Integer, Integer>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort(Comparator.<Map.Entry<Integer, Integer>>comparingInt(Map.Entry::getValue).reversed()
+                .thenComparingInt(entry -> instruments[entry.getKey()].getSymbol().length())
+                .thenComparing(entry -> instruments[entry.getKey()].getSymbol()));
+
+        List<Instrument> results = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (int i = 0; i < ranked.size() && i < limit; i++) {
+            results.add(instruments[ranked.get(i).getKey()]);
+        }
+        return results;
+    }
+
+    // Multi-word queries ("bank of mon") must prefix-match a name token for every word
+    private void matchName(String normalized, int maxCandidates, Map<Integer, Integer> scores) {
+        List<String> tokens = tokenize(normalized);
+        tokens.removeIf(NAME_STOP_WORDS::contains);
+        if (tokens.isEmpty()) {
+            return;
+        }
+        if (tokens.size() == 1) {
+            Node node = nameRoot.walk(tokens.get(0));
+            if (node != null) {
+                collect(node, tokens.get(0).length(), tokens.get(0).length(), NAME_PREFIX, maxCandidates, scores);
+            }
+            return;
+        }
+
+        Set<Integer> matched = null;
+        for (String token : tokens) {
+            Node node = nameRoot.walk(token);
+            if (node == null) {
+                return;
+            }
+            Map<Integer, Integer> tokenScores = new HashMap<>();
+            collect(node, token.length(), token.length(), NAME_PREFIX, Integer.MAX_VALUE, tokenScores);
+            if (matched == null) {
+                matched = new TreeSet<>(tokenScores.keySet());
+            } else {
+                matched.retainAll(tokenScores.keySet());
+            }
+        }
+
+        int count = 0;
+        for (int id : matched) {
+            if (count++ >= maxCandidates) {
+                break;
+            }
+            scores.merge(id, NAME_PREFIX, Math::max);
+        }
+    }
+
+    /**
+     * Breadth-first over the subtree so shorter completions are scored first; each extra
+     * character beyond the query costs one point.
+     */
+    private void collect(Node start, int startDepth, int queryLength, int baseScore,
+                         int maxCandidates, Map<Integer, Integer> scores) {
+        ArrayDeque<Node> queue = new ArrayDeque<>();
+        ArrayDeque<Integer> depths = new ArrayDeque<>();
+        queue.add(start);
+        depths.add(startDepth);
+
+        while (!queue.isEmpty() && scores.size() < maxCandidates) {
+            Node node = queue.poll();
+            int depth = depths.poll();
+            int score = baseScore - Math.max(0, depth - queryLength);
+            for (int id : node.ids) {
+                scores.merge(id, score, Math::max);
+            }
+            for (Node child : node.children) {
+                queue.add(child);
+                depths.add(depth + 1);
+            }
+        }
+    }
+
+    /**
+     * Records trie nodes reachable by consuming the whole query with exactly one edit
+     */
+    private void fuzzy(Node node, String query, int pos, boolean edited, int depth, Map<Node, Integer> hits) {
+        if (pos == query.length()) {
+            if (edited) {
+                hits.putIfAbsent(node, depth);
+            }
+            return;
+        }
+
+        char c = query.charAt(pos);
+        Node next = node.child(c);
+        if (next != null) {
+            fuzzy(next, query, pos + 1, edited, depth + 1, hits);
+        }
+        if (edited) {
+            return;
+        }
+
+        for (int i = 0; i < node.labels.length; i++) {
+            if (node.labels[i] != c) {
+                fuzzy(node.children[i], query, pos + 1, true, depth + 1, hits);   // substitution
+            }
+            fuzzy(node.children[i], query, pos, true, depth + 1, hits);           // extra char in key
+        }
+        fuzzy(node, query, pos + 1, true, depth, hits);                             // extra char in query
+
+        if (pos + 1 < query.length()) {                                            // transposition
+            Node swapped = node.child(query.charAt(pos + 1));
+            Node back = swapped != null ? swapped.child(c) : null;
+            if (back != null) {
+                fuzzy(back, query, pos + 2, true, depth + 2, hits);
+            }
+        }
+    }
+
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private static List<String> tokenize(String value) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : normalize(value).split("[^a-z0-9]+")) {
+            if (token.length() >= 2) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static String lastToken(String normalized) {
+        List<String> tokens = tokenize(normalized);
+        return tokens.isEmpty() ? normalized : tokens.get(tokens.size() - 1);
+    }
+
+    /**
+     * Frozen trie node: children sorted by label for binary search, ids of the instruments
+     * whose key ends here
+     */
+    private static final class Node {
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private final char[] labels;
+        private final Node[] children;
+        private final int[] ids;
+
+        private Node(char[] labels, Node[] children, int[] ids) {
+            this.labels = labels;
+            this.children = children;
+            this.ids = ids;
+        }
+
+        Node child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node walk(String key) {
+            Node node = this;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            return node;
+        }
+    }
+
+    private static final class Builder {
+        private final MutableNode root = new MutableNode();
+
+        void add(String key, int id) {
+            MutableNode node = root;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), label -> new MutableNode());
+            }
+            node.ids.add(id);
+        }
+    }
+
+    private static final class MutableNode {
+        private final TreeMap<Character, MutableNode> children = new TreeMap<>();
+        private final TreeSet<Integer> ids = new TreeSet<>();
+
+        Node freeze() {
+            char[] labels = new char[children.size()];
+            Node[] frozen = children.isEmpty() ? Node.NO_CHILDREN : new Node[children.size()];
+            int i = 0;
+            for (Map.Entry<Character, MutableNode> entry : children.entrySet()) {
+                labels[i] = entry.getKey();
+                frozen[i] = entry.getValue().freeze();
+                i++;
+            }
+            return new Node(labels, frozen, ids.stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.portfolio.management.service.marketdata;
+
+import com.portfolio.management.exception.MarketDataException;
+import com.portfolio.management.service.marketdata.SymbolSearchIndex.Instrument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Holds the current SymbolSearchIndex built from the reference universe file
+ * (CSV: ticker,name,exchange,type). A reload builds a complete new index off to the side and
+ * publishes it with a single volatile write, so searches never see a half-built index.
+ * File-based universes are re-read automatically when their modification time changes.
+ */
+@Component
+public class SymbolUniverse {
+
+    private static final Logger logger = LoggerFactory.getLogger(SymbolUniverse.class);
+
+    private final Resource universe;
+    private volatile SymbolSearchIndex index;
+    private volatile long loadedModified;
+
+    public SymbolUniverse(ResourceLoader resourceLoader,
+                          @Value("${market.data.symbols.location:classpath:market/symbols.csv}") String location) {
+        this.universe = resourceLoader.getResource(location);
+        reload();
+    }
+
+    public List<Instrument> search(String query, int limit) {
+        return index.search(query, limit);
+    }
+
+    /**
+     * The instrument listed under exactly this ticker, if it is in the universe
+     */
+    public Optional<Instrument> find(String symbol) {
+        return index.search(symbol, 1).stream()
+                .filter(instrument -> instrument.getSymbol().equalsIgnoreCase(symbol))
+                .findFirst();
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    public List<Instrument> getInstruments() {
+        return index.instruments();
+    }
+
+    /**
+     * Rebuild the index from the universe file. A failed reload keeps the current index.
+     */
+    public synchronized void reload() {
+        try {
+            long modified = lastModified();
+            List<Instrument> instruments = read();
+            SymbolSearchIndex rebuilt = SymbolSearchIndex.build(instruments);
+            this.index = rebuilt;
+            this.loadedModified = modified;
+            logger.info("Loaded symbol universe with {} instruments from {}", rebuilt.size(), universe.getDescription());
+        } catch (IOException | RuntimeException e) {
+            if (index == null) {
+                throw new MarketDataException("Failed to load symbol universe from " + universe.getDescription(), e);
+            }
+            logger.error("Symbol universe reload failed, keeping {} instruments: {}", index.size(), e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${market.data.symbols.reload-check-ms:60000}")
+    public void reloadIfChanged() {
+        long modified = lastModified();
+        if (modified > 0 && modified != loadedModified) {
+            reload();
+        }
+    }
+
+    private List<Instrument> read() throws IOException {
+        List<Instrument> instruments = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(universe.getInputStream(), StandardCharsets.UTF_8))) {
+            String line = reader.readLine(); // header
+            int lineNumber = 1;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                List<String> fields = parseCsvLine(line);
+                if (fields.size() < 4) {
+                    logger.warn("Skipping malformed symbol universe line {}: {}", lineNumber, line);
+                    continue;
+                }
+                instruments.add(new Instrument(fields.get(0).trim().toUpperCase(), fields.get(1).trim(),
+                        fields.get(2).trim(), fields.get(3).trim()));
+            }
+        }
+        return instruments;
+    }
+
+    // Minimal CSV: comma-separated, double quotes around fields containing commas, "" for a quote
+    private static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private long lastModified() {
+        try {
+            return universe.isFile() ? universe.lastModified() : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
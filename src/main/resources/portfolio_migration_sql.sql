@@ -47,7 +47,7 @@ CREATE TABLE portfolios (
     description TEXT,
     user_id VARCHAR(50) NOT NULL REFERENCES users(id) ON DELETE CASCADE,
     broker VARCHAR(100) NOT NULL,
-    currency VARCHAR(3) NOT NULL CHECK (currency IN ('USD', 'CAD')),
+    currency VARCHAR(3) NOT NULL CHECK (currency IN ('USD', 'CAD', 'EUR', 'GBP')),
     total_value DECIMAL(15,2) NOT NULL DEFAULT 0,
     total_cost DECIMAL(15,2) NOT NULL DEFAULT 0,
     total_gain_loss DECIMAL(15,2) NOT NULL DEFAULT 0,
@@ -55,6 +55,7 @@ CREATE TABLE portfolios (
     created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
     is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    content_version BIGINT NOT NULL DEFAULT 0,
     
     -- Composite unique constraint for user and portfolio name
     CONSTRAINT uk_user_portfolio_name UNIQUE (user_id, name)
@@ -66,40 +67,152 @@ CREATE TABLE holdings (
     portfolio_id VARCHAR(50) NOT NULL REFERENCES portfolios(id) ON DELETE CASCADE,
     symbol VARCHAR(20) NOT NULL,
     company_name VARCHAR(200) NOT NULL,
-    type VARCHAR(20) NOT NULL CHECK (type IN ('stock', 'etf')),
+    type VARCHAR(20) NOT NULL CHECK (type IN ('STOCK', 'ETF', 'MUTUAL_FUND', 'BOND', 'OPTION', 'CRYPTO')),
     market VARCHAR(50) NOT NULL,
-    currency VARCHAR(3) NOT NULL CHECK (currency IN ('USD', 'CAD')),
+    currency VARCHAR(3) NOT NULL CHECK (currency IN ('USD', 'CAD', 'EUR', 'GBP')),
     quantity DECIMAL(15,6) NOT NULL CHECK (quantity >= 0),
     average_price DECIMAL(15,4) NOT NULL CHECK (average_price >= 0),
     current_price DECIMAL(15,4) NOT NULL CHECK (current_price >= 0),
+    previous_close_price DECIMAL(15,4),
+    -- Alert levels watched by the price alert engine
+    target_price DECIMAL(15,4) CHECK (target_price > 0),
+    stop_loss_price DECIMAL(15,4) CHECK (stop_loss_price > 0),
     total_cost DECIMAL(15,2) NOT NULL DEFAULT 0,
     current_value DECIMAL(15,2) NOT NULL DEFAULT 0,
     gain_loss DECIMAL(15,2) NOT NULL DEFAULT 0,
     gain_loss_percent DECIMAL(8,4) NOT NULL DEFAULT 0,
+    -- HoldingStatus name; CLOSED once sold down to zero
+    status VARCHAR(20) NOT NULL DEFAULT 'ACTIVE',
     sector VARCHAR(100),
     purchase_date TIMESTAMP WITH TIME ZONE NOT NULL,
     last_updated TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    -- Annualized volatility in percent and beta against the benchmark, from the nightly risk run
+    annualized_volatility DECIMAL(8,4),
+    beta DECIMAL(8,4),
+    risk_calculated_at TIMESTAMP WITH TIME ZONE,
     created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    -- Optimistic lock of the Holding entity; set-based writes of JPA-managed columns bump it too
+    version BIGINT NOT NULL DEFAULT 0,
     
     -- Composite unique constraint for portfolio and symbol
     CONSTRAINT uk_portfolio_symbol UNIQUE (portfolio_id, symbol)
 );
 
--- Create Transactions table
+-- Create Transactions table, range-partitioned by month on transaction_date.
+-- Recent activity lives in small partitions whose indexes stay cache-resident; months past the
+-- retention horizon are compressed into transaction_archives and detached (TransactionPartitionManager).
+-- The partition key has to be part of the primary key.
 CREATE TABLE transactions (
-    id VARCHAR(50) PRIMARY KEY,
+    id VARCHAR(50) NOT NULL,
     portfolio_id VARCHAR(50) NOT NULL REFERENCES portfolios(id) ON DELETE CASCADE,
+    -- Denormalized from portfolios.user_id so per-user history can seek on one index
+    user_id VARCHAR(50) REFERENCES users(id) ON DELETE CASCADE,
     holding_id VARCHAR(50) REFERENCES holdings(id) ON DELETE SET NULL,
-    type VARCHAR(20) NOT NULL CHECK (type IN ('buy', 'sell', 'dividend')),
+    type VARCHAR(20) NOT NULL CHECK (type IN ('BUY', 'SELL', 'DIVIDEND')),
     symbol VARCHAR(20) NOT NULL,
     quantity DECIMAL(15,6) NOT NULL,
     price DECIMAL(15,4) NOT NULL CHECK (price >= 0),
     total_amount DECIMAL(15,2) NOT NULL,
     fees DECIMAL(15,2) NOT NULL DEFAULT 0,
-    currency VARCHAR(3) NOT NULL CHECK (currency IN ('USD', 'CAD')),
+    currency VARCHAR(3) NOT NULL CHECK (currency IN ('USD', 'CAD', 'EUR', 'GBP')),
     transaction_date TIMESTAMP WITH TIME ZONE NOT NULL,
     notes TEXT,
-    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, transaction_date)
+) PARTITION BY RANGE (transaction_date);
+
+-- Catches rows outside every monthly range (e.g. backdated into an archived month, or inserted while
+-- the maintenance job was down); create_transaction_partitions moves the latter out again
+CREATE TABLE transactions_default PARTITION OF transactions DEFAULT;
+
+-- Months moved out of the transactions table, gzip-compressed in the row so every instance can read them
+CREATE TABLE transaction_archives (
+    partition_name VARCHAR(63) PRIMARY KEY,
+    range_start TIMESTAMP WITH TIME ZONE NOT NULL,
+    range_end TIMESTAMP WITH TIME ZONE NOT NULL,
+    -- TransactionArchiveFormat: gzip of one JSON object per row
+    content BYTEA NOT NULL,
+    row_count BIGINT NOT NULL,
+    archived_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Create monthly partitions transactions_yYYYYmMM for [from_month, from_month + months), skipping existing ones.
+-- Also called by the partition maintenance job to stay ahead of incoming data. Starts earlier when the default
+-- partition holds rows of an unarchived month before from_month: those rows are moved into the month's new
+-- partition as it is attached, since a partition cannot be created over rows still in the default one.
+-- Archived months are never recreated; their late rows stay in the default partition.
+CREATE OR REPLACE FUNCTION create_transaction_partitions(from_month DATE, months INTEGER)
+RETURNS INTEGER AS $$
+DECLARE
+    month_start DATE := date_trunc('month', from_month)::date;
+    last_month DATE := (date_trunc('month', from_month) + (months - 1) * INTERVAL '1 month')::date;
+    oldest_unpartitioned DATE;
+    partition_table TEXT;
+    lower_bound TIMESTAMP WITH TIME ZONE;
+    upper_bound TIMESTAMP WITH TIME ZONE;
+    created INTEGER := 0;
+BEGIN
+    -- Keeps inserts out of the default partition until its rows have been moved
+    LOCK TABLE transactions_default IN EXCLUSIVE MODE;
+    SELECT date_trunc('month', MIN(d.transaction_date) AT TIME ZONE 'UTC')::date INTO oldest_unpartitioned
+    FROM transactions_default d
+    WHERE NOT EXISTS (SELECT 1 FROM transaction_archives a
+                      WHERE d.transaction_date >= a.range_start AND d.transaction_date < a.range_end);
+    month_start := LEAST(month_start, COALESCE(oldest_unpartitioned, month_start));
+
+    WHILE month_start <= last_month LOOP
+        partition_table := 'transactions_y' || to_char(month_start, 'YYYY') || 'm' || to_char(month_start, 'MM');
+        lower_bound := month_start::timestamp AT TIME ZONE 'UTC';
+        upper_bound := (month_start + INTERVAL '1 month')::timestamp AT TIME ZONE 'UTC';
+        IF to_regclass(partition_table) IS NULL
+                AND NOT EXISTS (SELECT 1 FROM transaction_archives a WHERE a.partition_name = partition_table) THEN
+            IF EXISTS (SELECT 1 FROM transactions_default
+                       WHERE transaction_date >= lower_bound AND transaction_date < upper_bound) THEN
+                EXECUTE format('CREATE TABLE %I (LIKE transactions INCLUDING DEFAULTS INCLUDING CONSTRAINTS)',
+                               partition_table);
+                EXECUTE format('WITH moved AS (DELETE FROM transactions_default WHERE transaction_date >= %L ' ||
+                               'AND transaction_date < %L RETURNING *) INSERT INTO %I SELECT * FROM moved',
+                               lower_bound, upper_bound, partition_table);
+                EXECUTE format('ALTER TABLE transactions ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                               partition_table, lower_bound, upper_bound);
+            ELSE
+                EXECUTE format('CREATE TABLE %I PARTITION OF transactions FOR VALUES FROM (%L) TO (%L)',
+                               partition_table, lower_bound, upper_bound);
+            END IF;
+            created := created + 1;
+        END IF;
+        month_start := (month_start + INTERVAL '1 month')::date;
+    END LOOP;
+    RETURN created;
+END;
+$$ language 'plpgsql';
+
+-- From the first sample transaction through three months past the current one
+SELECT create_transaction_partitions(DATE '2024-01-01',
+    ((EXTRACT(YEAR FROM age(date_trunc('month', CURRENT_DATE), DATE '2024-01-01')) * 12
+      + EXTRACT(MONTH FROM age(date_trunc('month', CURRENT_DATE), DATE '2024-01-01')))::integer + 4));
+
+-- Idempotency ledger for corporate actions: an event is applied to holdings in the same
+-- transaction that inserts its row here, so a re-delivered event finds the key taken and is skipped
+CREATE TABLE corporate_actions (
+    symbol VARCHAR(20) NOT NULL,
+    action_type VARCHAR(20) NOT NULL CHECK (action_type IN ('split', 'dividend')),
+    -- Split date or ex-dividend date
+    effective_date TIMESTAMP WITH TIME ZONE NOT NULL,
+    split_factor DECIMAL(15,6),
+    dividend_per_share DECIMAL(15,4),
+    payment_date TIMESTAMP WITH TIME ZONE,
+    holdings_affected INTEGER NOT NULL DEFAULT 0,
+    applied_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (symbol, action_type, effective_date)
+);
+
+-- Daily exchange rates as units of each currency per US dollar; any cross rate is a ratio of two rows
+CREATE TABLE fx_rates (
+    rate_date DATE NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    units_per_usd DECIMAL(18,8) NOT NULL CHECK (units_per_usd > 0),
+    PRIMARY KEY (rate_date, currency)
 );
 
 -- Create Watchlist table
@@ -130,13 +243,28 @@ CREATE INDEX idx_holdings_symbol ON holdings(symbol);
 CREATE INDEX idx_holdings_type ON holdings(type);
 CREATE INDEX idx_holdings_sector ON holdings(sector);
 CREATE INDEX idx_holdings_last_updated ON holdings(last_updated);
+CREATE INDEX idx_holdings_annualized_volatility ON holdings(annualized_volatility);
 
-CREATE INDEX idx_transactions_portfolio_id ON transactions(portfolio_id);
+-- Indexes on transactions are partitioned: each monthly partition gets its own copy.
+-- Keyset pagination: seek on (transaction_date, id) within a portfolio or user.
+-- The portfolio index also serves plain portfolio_id lookups.
+CREATE INDEX idx_transactions_portfolio_date_id ON transactions(portfolio_id, transaction_date DESC, id DESC);
+CREATE INDEX idx_transactions_user_date_id ON transactions(user_id, transaction_date DESC, id DESC);
 CREATE INDEX idx_transactions_holding_id ON transactions(holding_id);
-CREATE INDEX idx_transactions_type ON transactions(type);
 CREATE INDEX idx_transactions_symbol ON transactions(symbol);
 CREATE INDEX idx_transactions_transaction_date ON transactions(transaction_date);
 
+-- Transaction search: owner first, then equality filters, then the date range
+CREATE INDEX idx_transactions_portfolio_symbol_date ON transactions(portfolio_id, symbol, transaction_date DESC);
+CREATE INDEX idx_transactions_user_symbol_date ON transactions(user_id, symbol, transaction_date DESC);
+CREATE INDEX idx_transactions_user_type_date ON transactions(user_id, type, transaction_date DESC);
+-- Only annotated rows, for "transactions with notes" listings
+CREATE INDEX idx_transactions_user_noted_date ON transactions(user_id, transaction_date DESC)
+    WHERE notes IS NOT NULL AND notes <> '';
+-- Substring notes search (lower(notes) LIKE '%term%') via trigrams
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX idx_transactions_notes_trgm ON transactions USING gin (lower(notes) gin_trgm_ops);
+
 CREATE INDEX idx_watchlist_user_id ON watchlist(user_id);
 CREATE INDEX idx_watchlist_symbol ON watchlist(symbol);
 CREATE INDEX idx_watchlist_added_date ON watchlist(added_date);
@@ -168,21 +296,21 @@ INSERT INTO portfolios (id, name, description, user_id, broker, currency, total_
 
 -- Insert Holdings data
 INSERT INTO holdings (id, portfolio_id, symbol, company_name, type, market, currency, quantity, average_price, current_price, total_cost, current_value, gain_loss, gain_loss_percent, sector, purchase_date, last_updated) VALUES
-('1', '1', 'AAPL', 'Apple Inc.', 'stock', 'NASDAQ', 'USD', 150, 180.25, 234.5, 27037.5, 35175, 8137.5, 30.11, 'Technology', '2024-01-25T00:00:00.000Z', '2024-08-26T16:00:00.000Z'),
-('2', '1', 'GOOGL', 'Alphabet Inc. Class A', 'stock', 'NASDAQ', 'USD', 80, 142.75, 168.25, 11420, 13460, 2040, 17.87, 'Technology', '2024-02-10T00:00:00.000Z', '2024-08-26T16:00:00.000Z'),
-('3', '1', 'VTI', 'Vanguard Total Stock Market ETF', 'etf', 'NYSE', 'USD', 200, 245.8, 262.15, 49160, 52430, 3270, 6.66, 'Diversified', '2024-01-30T00:00:00.000Z', '2024-08-26T16:00:00.000Z'),
-('4', '2', 'RY.TO', 'Royal Bank of Canada', 'stock', 'TSX', 'CAD', 100, 125.5, 132.75, 12550, 13275, 725, 5.78, 'Financial Services', '2024-02-20T00:00:00.000Z', '2024-08-26T16:00:00.000Z'),
-('5', '2', 'VCN.TO', 'Vanguard FTSE Canada All Cap Index ETF', 'etf', 'TSX', 'CAD', 300, 45.2, 47.85, 13560, 14355, 795, 5.86, 'Diversified', '2024-03-01T00:00:00.000Z', '2024-08-26T16:00:00.000Z'),
-('6', '3', 'TSLA', 'Tesla, Inc.', 'stock', 'NASDAQ', 'USD', 50, 280, 245.5, 14000, 12275, -1725, -12.32, 'Consumer Cyclical', '2024-03-15T00:00:00.000Z', '2024-08-26T16:00:00.000Z'),
-('7', '3', 'NVDA', 'NVIDIA Corporation', 'stock', 'NASDAQ', 'USD', 30, 450, 520.75, 13500, 15622.5, 2122.5, 15.72, 'Technology', '2024-04-01T00:00:00.000Z', '2024-08-26T16:00:00.000Z'),
-('b4f3', 'c9bf', 'TSLA1', 'TSLA', 'stock', 'NASDAQ', 'USD', 1, 100, 200, 100, 200, 100, 100, 'Technology', '2025-09-16T17:51:37.333Z', '2025-09-16T17:59:50.982Z');
+('1', '1', 'AAPL', 'Apple Inc.', 'STOCK', 'NASDAQ', 'USD', 150, 180.25, 234.5, 27037.5, 35175, 8137.5, 30.11, 'Technology', '2024-01-25T00:00:00.000Z', '2024-08-26T16:00:00.000Z'),
+('2', '1', 'GOOGL', 'Alphabet Inc. Class A', 'STOCK', 'NASDAQ', 'USD', 80, 142.75, 168.25, 11420, 13460, 2040, 17.87, 'Technology', '2024-02-10T00:00:00.000Z', '2024-08-26T16:00:00.000Z'),
+('3', '1', 'VTI', 'Vanguard Total Stock Market ETF', 'ETF', 'NYSE', 'USD', 200, 245.8, 262.15, 49160, 52430, 3270, 6.66, 'Diversified', '2024-01-30T00:00:00.000Z', '2024-08-26T16:00:00.000Z'),
+('4', '2', 'RY.TO', 'Royal Bank of Canada', 'STOCK', 'TSX', 'CAD', 100, 125.5, 132.75, 12550, 13275, 725, 5.78, 'Financial Services', '2024-02-20T00:00:00.000Z', '2024-08-26T16:00:00.000Z'),
+('5', '2', 'VCN.TO', 'Vanguard FTSE Canada All Cap Index ETF', 'ETF', 'TSX', 'CAD', 300, 45.2, 47.85, 13560, 14355, 795, 5.86, 'Diversified', '2024-03-01T00:00:00.000Z', '2024-08-26T16:00:00.000Z'),
+('6', '3', 'TSLA', 'Tesla, Inc.', 'STOCK', 'NASDAQ', 'USD', 50, 280, 245.5, 14000, 12275, -1725, -12.32, 'Consumer Cyclical', '2024-03-15T00:00:00.000Z', '2024-08-26T16:00:00.000Z'),
+('7', '3', 'NVDA', 'NVIDIA Corporation', 'STOCK', 'NASDAQ', 'USD', 30, 450, 520.75, 13500, 15622.5, 2122.5, 15.72, 'Technology', '2024-04-01T00:00:00.000Z', '2024-08-26T16:00:00.000Z'),
+('b4f3', 'c9bf', 'TSLA1', 'TSLA', 'STOCK', 'NASDAQ', 'USD', 1, 100, 200, 100, 200, 100, 100, 'Technology', '2025-09-16T17:51:37.333Z', '2025-09-16T17:59:50.982Z');
 
 -- Insert Transactions data
 INSERT INTO transactions (id, portfolio_id, holding_id, type, symbol, quantity, price, total_amount, fees, currency, transaction_date, notes) VALUES
-('1', '1', '1', 'buy', 'AAPL', 100, 175.5, 17550, 9.95, 'USD', '2024-01-25T10:30:00.000Z', 'Initial purchase'),
-('2', '1', '1', 'buy', 'AAPL', 50, 190, 9500, 9.95, 'USD', '2024-03-15T14:20:00.000Z', 'Additional shares'),
-('3', '1', '2', 'buy', 'GOOGL', 80, 142.75, 11420, 9.95, 'USD', '2024-02-10T11:45:00.000Z', 'New position'),
-('4', '2', '4', 'buy', 'RY.TO', 100, 125.5, 12550, 9.99, 'CAD', '2024-02-20T09:15:00.000Z', 'Canadian dividend stock');
+('1', '1', '1', 'BUY', 'AAPL', 100, 175.5, 17550, 9.95, 'USD', '2024-01-25T10:30:00.000Z', 'Initial purchase'),
+('2', '1', '1', 'BUY', 'AAPL', 50, 190, 9500, 9.95, 'USD', '2024-03-15T14:20:00.000Z', 'Additional shares'),
+('3', '1', '2', 'BUY', 'GOOGL', 80, 142.75, 11420, 9.95, 'USD', '2024-02-10T11:45:00.000Z', 'New position'),
+('4', '2', '4', 'BUY', 'RY.TO', 100, 125.5, 12550, 9.99, 'CAD', '2024-02-20T09:15:00.000Z', 'Canadian dividend stock');
 
 -- Insert Watchlist data
 INSERT INTO watchlist (id, user_id, symbol, company_name, current_price, change_percent, added_date) VALUES
@@ -206,6 +334,18 @@ CREATE TRIGGER update_holdings_updated_at BEFORE UPDATE ON holdings FOR EACH ROW
 CREATE TRIGGER update_watchlist_updated_at BEFORE UPDATE ON watchlist FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
 CREATE TRIGGER update_brokers_updated_at BEFORE UPDATE ON brokers FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
 
+-- Factor converting an amount between currencies at the latest stored per-dollar rates.
+-- A currency without a stored rate yet counts at face value.
+CREATE OR REPLACE FUNCTION fx_factor(from_currency VARCHAR, to_currency VARCHAR)
+RETURNS NUMERIC AS $$
+    SELECT CASE WHEN from_currency = to_currency THEN 1 ELSE COALESCE(
+        (SELECT CASE WHEN to_currency = 'USD' THEN 1 ELSE
+            (SELECT units_per_usd FROM fx_rates WHERE currency = to_currency ORDER BY rate_date DESC LIMIT 1) END)
+        / NULLIF((SELECT CASE WHEN from_currency = 'USD' THEN 1 ELSE
+            (SELECT units_per_usd FROM fx_rates WHERE currency = from_currency ORDER BY rate_date DESC LIMIT 1) END), 0),
+        1) END
+$$ LANGUAGE sql STABLE;
+
 -- Create functions to automatically calculate portfolio totals when holdings change
 CREATE OR REPLACE FUNCTION update_portfolio_totals()
 RETURNS TRIGGER AS $$
@@ -219,20 +359,20 @@ BEGIN
         portfolio_record.id := NEW.portfolio_id;
     END IF;
 
-    -- Update portfolio totals based on current holdings
-    UPDATE portfolios SET
+    -- Update portfolio totals based on current holdings, in the portfolio currency
+    UPDATE portfolios p SET
         total_value = COALESCE((
-            SELECT SUM(current_value) 
-            FROM holdings 
-            WHERE portfolio_id = portfolio_record.id
+            SELECT SUM(h.current_value * fx_factor(h.currency, p.currency))
+            FROM holdings h
+            WHERE h.portfolio_id = portfolio_record.id
         ), 0),
         total_cost = COALESCE((
-            SELECT SUM(total_cost) 
-            FROM holdings 
-            WHERE portfolio_id = portfolio_record.id
+            SELECT SUM(h.total_cost * fx_factor(h.currency, p.currency))
+            FROM holdings h
+            WHERE h.portfolio_id = portfolio_record.id
         ), 0),
         updated_at = CURRENT_TIMESTAMP
-    WHERE id = portfolio_record.id;
+    WHERE p.id = portfolio_record.id;
 
     -- Update calculated fields
     UPDATE portfolios SET
@@ -248,9 +388,10 @@ BEGIN
 END;
 $$ language 'plpgsql';
 
--- Apply trigger to holdings table
+-- Apply trigger to holdings table. Only changes to the columns the totals derive from re-aggregate
+-- the portfolio, so bookkeeping writes such as the nightly risk metrics leave it untouched
 CREATE TRIGGER trigger_update_portfolio_totals 
-    AFTER INSERT OR UPDATE OR DELETE ON holdings 
+    AFTER INSERT OR DELETE OR UPDATE OF portfolio_id, quantity, average_price, current_price ON holdings 
     FOR EACH ROW EXECUTE FUNCTION update_portfolio_totals();
 
 -- Create function to automatically update holding calculated fields
@@ -273,19 +414,37 @@ $$ language 'plpgsql';
 
 -- Apply trigger to holdings table
 CREATE TRIGGER trigger_update_holding_calculated_fields 
-    BEFORE INSERT OR UPDATE ON holdings 
+    BEFORE INSERT OR UPDATE OF quantity, average_price, current_price ON holdings 
     FOR EACH ROW EXECUTE FUNCTION update_holding_calculated_fields();
 
+-- Keep transactions.user_id in step with the owning portfolio
+CREATE OR REPLACE FUNCTION set_transaction_user_id()
+RETURNS TRIGGER AS $$
+BEGIN
+    SELECT user_id INTO NEW.user_id FROM portfolios WHERE id = NEW.portfolio_id;
+    RETURN NEW;
+END;
+$$ language 'plpgsql';
+
+CREATE TRIGGER trigger_set_transaction_user_id
+    BEFORE INSERT OR UPDATE OF portfolio_id ON transactions
+    FOR EACH ROW EXECUTE FUNCTION set_transaction_user_id();
+
+-- Backfill rows inserted above, before the trigger existed
+UPDATE transactions t SET user_id = p.user_id FROM portfolios p WHERE p.id = t.portfolio_id;
+ALTER TABLE transactions ALTER COLUMN user_id SET NOT NULL;
+
 -- Grant permissions (adjust as needed for your application user)
 -- GRANT ALL PRIVILEGES ON ALL TABLES IN SCHEMA public TO portfolio_app_user;
 -- GRANT ALL PRIVILEGES ON ALL SEQUENCES IN SCHEMA public TO portfolio_app_user;
 
 -- Add some additional constraints for data integrity
 ALTER TABLE transactions ADD CONSTRAINT check_transaction_amount 
-    CHECK (total_amount >= 0 OR type = 'sell');
+    CHECK (total_amount >= 0 OR type = 'SELL');
 
+-- Sold-out positions stay as CLOSED rows with quantity 0
 ALTER TABLE holdings ADD CONSTRAINT check_holding_values
-    CHECK (quantity > 0 AND average_price > 0 AND current_price >= 0);
+    CHECK (quantity >= 0 AND average_price >= 0 AND current_price >= 0);
 
 -- Create view for portfolio summary with holdings count
 CREATE VIEW portfolio_summary AS
@@ -344,7 +503,9 @@ ORDER BY p.user_id, p.id, sector_value DESC;
 COMMENT ON TABLE users IS 'User accounts for the portfolio management system';
 COMMENT ON TABLE portfolios IS 'Investment portfolios belonging to users';
 COMMENT ON TABLE holdings IS 'Individual stock/ETF holdings within portfolios';
-COMMENT ON TABLE transactions IS 'Transaction history for portfolio holdings';
+COMMENT ON TABLE transactions IS 'Transaction history for portfolio holdings, partitioned monthly by transaction_date';
+COMMENT ON TABLE transaction_archives IS 'Transaction months compressed out of transactions and detached from it';
+COMMENT ON TABLE corporate_actions IS 'Splits and dividends already applied to holdings, one row per event';
 COMMENT ON TABLE watchlist IS 'User watchlists for tracking potential investments';
 COMMENT ON TABLE brokers IS 'Available brokerage firms and their fee structures';
 
@@ -0,0 +1,85 @@
+package com.portfolio.management.benchmark;
+
+import com.portfolio.management.datagen.DatasetSpec;
+import com.portfolio.management.datagen.SyntheticDataLoader;
+import com.portfolio.management.datagen.Table;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.util.StreamUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+/**
+ * One PostgreSQL container per benchmark JVM, with the production migration applied and a
+ * synthetic dataset loaded before the application context starts. Docker is required.
+ */
+final class BenchmarkDatabase {
+
+    private static final Logger logger = LoggerFactory.getLogger(BenchmarkDatabase.class);
+
+    private static final String IMAGE = System.getProperty("benchmark.postgres-image", "postgres:16-alpine");
+    private static final String[] SCRIPTS = {"portfolio_migration_sql.sql", "benchmark/postgres-entity-compat.sql"};
+
+    private static PostgreSQLContainer<?> container;
+    private static DatasetSpec dataset;
+    private static Map<Table, Long> rowCounts;
+
+    private BenchmarkDatabase() {
+    }
+
+    static synchronized PostgreSQLContainer<?> start() {
+        if (container != null) {
+            return container;
+        }
+        PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(IMAGE)
+                .withDatabaseName("portfolio_management")
+                .withCommand("postgres", "-c", "max_connections=200", "-c", "fsync=off",
+                        "-c", "synchronous_commit=off", "-c", "full_page_writes=off");
+        postgres.start();
+        try {
+            for (String script : SCRIPTS) {
+                execute(postgres, script);
+            }
+            dataset = DatasetSpec.fromSystemProperties();
+            rowCounts = new SyntheticDataLoader(() -> open(postgres), true).load(dataset);
+        } catch (IOException | SQLException e) {
+            postgres.stop();
+            throw new IllegalStateException("Benchmark database setup failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            postgres.stop();
+            throw new IllegalStateException("Interrupted while loading the benchmark dataset", e);
+        }
+        logger.info("Benchmark database ready at {} with {}", postgres.getJdbcUrl(), rowCounts);
+        container = postgres;
+        return container;
+    }
+
+    static DatasetSpec dataset() {
+        return dataset;
+    }
+
+    static Map<Table, Long> rowCounts() {
+        return rowCounts;
+    }
+
+    static Connection open(PostgreSQLContainer<?> postgres) throws SQLException {
+        return DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+    }
+
+    // Whole script in one simple-query call, so the driver keeps dollar-quoted function bodies intact
+    private static void execute(PostgreSQLContainer<?> postgres, String script) throws IOException, SQLException {
+        String sql = StreamUtils.copyToString(new ClassPathResource(script).getInputStream(), StandardCharsets.UTF_8);
+        try (Connection connection = open(postgres); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.portfolio.management.benchmark;
+
+import com.portfolio.management.security.UserPrincipal;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A generated user the workloads act as, with the symbols and prices held in each active portfolio
+ */
+final class BenchmarkUser {
+
+    private final String id;
+    private final Authentication authentication;
+    private final Map<String, Map<String, BigDecimal>> holdings = new LinkedHashMap<>();
+    private List<String> portfolioIds = List.of();
+
+    BenchmarkUser(String id, String username, String email) {
+        this.id = id;
+        UserPrincipal principal = new UserPrincipal(id, username, email, null, null, null, true, null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        this.authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+
+    void addHolding(String portfolioId, String symbol, BigDecimal price) {
+        holdings.computeIfAbsent(portfolioId, key -> new LinkedHashMap<>()).put(symbol, price);
+        portfolioIds = new ArrayList<>(holdings.keySet());
+    }
+
+    String getId() {
+        return id;
+    }
+
+    Authentication getAuthentication() {
+        return authentication;
+    }
+
+    List<String> getPortfolioIds() {
+        return portfolioIds;
+    }
+
+    Map<String, BigDecimal> getHoldings(String portfolioId) {
+        return holdings.get(portfolioId);
+    }
+}
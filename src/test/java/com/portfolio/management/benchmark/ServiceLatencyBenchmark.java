@@ -0,0 +1,260 @@
+package com.portfolio.management.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.portfolio.management.datagen.DatasetSpec;
+import com.portfolio.management.dto.request.TradeBatchRequest;
+import com.portfolio.management.dto.request.TransactionCreateRequest;
+import com.portfolio.management.enums.TransactionType;
+import com.portfolio.management.service.HoldingService;
+import com.portfolio.management.service.PortfolioService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * End-to-end latency of whole user-facing operations against a generated dataset in PostgreSQL.
+ * Each workload runs with concurrent clients through MockMvc (full filter chain, serialization)
+ * or the service layer, and the run writes a JSON report for comparing branches.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test}; Docker is required. Knobs (system properties):
+ * benchmark.clients, benchmark.operations, benchmark.warmup, benchmark.refresh-operations,
+ * benchmark.users, benchmark.label, benchmark.report-directory, and the datagen.* dataset settings.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "spring.jpa.properties.hibernate.use_sql_comments=false",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "app.initialization.enabled=false",
+        "app.rate-limiting.enabled=false",
+        "app.replication.enabled=false",
+        "app.corporate-actions.enabled=false",
+        "app.risk.nightly-enabled=false",
+        "app.partitioning.archive-enabled=false",
+        "market.data.fake.fast-ms=5",
+        "market.data.fake.slow-probability=0",
+        "logging.level.com.portfolio.management=WARN",
+        "logging.level.com.portfolio.management.benchmark=INFO"
+})
+@AutoConfigureMockMvc
+@Tag("benchmark")
+class ServiceLatencyBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(ServiceLatencyBenchmark.class);
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 8);
+    private static final int OPERATIONS = Integer.getInteger("benchmark.operations", 2_000);
+    private static final int WARMUP = Integer.getInteger("benchmark.warmup", 500);
+    private static final int REFRESH_OPERATIONS = Integer.getInteger("benchmark.refresh-operations", 5);
+    private static final int USERS = Integer.getInteger("benchmark.users", 500);
+    private static final String LABEL = System.getProperty("benchmark.label", "local");
+    private static final String REPORT_DIRECTORY = System.getProperty("benchmark.report-directory", "target/benchmark");
+
+    private static final int HISTORY_PAGES = 5;
+    private static final int PAGE_SIZE = 50;
+    private static final int TRADES_PER_BATCH = 3;
+    private static final Pattern TRADABLE_SYMBOL = Pattern.compile("^[A-Z]{1,10}$");
+
+    private static final String SAMPLE_HOLDINGS =
+            "SELECT u.id AS user_id, u.username, u.email, p.id AS portfolio_id, h.symbol, h.current_price " +
+            "FROM users u JOIN portfolios p ON p.user_id = u.id AND p.is_active " +
+            "JOIN holdings h ON h.portfolio_id = p.id " +
+            "WHERE u.id IN (SELECT id FROM users ORDER BY username LIMIT ?) ORDER BY u.username, p.id, h.symbol";
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        PostgreSQLContainer<?> postgres = BenchmarkDatabase.start();
+        registry.add("spring.datasource.url", () -> StatementCountingDriver.wrap(postgres.getJdbcUrl()));
+        registry.add("spring.datasource.driver-class-name", StatementCountingDriver.class::getName);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PortfolioService portfolioService;
+
+    @Autowired
+    private HoldingService holdingService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void serviceLatency() throws Exception {
+        DatasetSpec dataset = BenchmarkDatabase.dataset();
+        WorkloadRunner runner = new WorkloadRunner(loadUsers(), dataset.getSeed());
+        List<WorkloadResult> results = new ArrayList<>();
+
+        // Read workloads first; trade submission and the price refresh change the data they read
+        results.add(runner.run("dashboard", CLIENTS, WARMUP, OPERATIONS, this::dashboard));
+        results.add(runner.run("holdings-page", CLIENTS, WARMUP, OPERATIONS, this::holdingsPage));
+        results.add(runner.run("transaction-history", CLIENTS, WARMUP / HISTORY_PAGES, OPERATIONS / HISTORY_PAGES,
+                this::transactionHistory));
+        results.add(runner.run("trade-submission", CLIENTS, WARMUP, OPERATIONS, this::submitTrades));
+        results.add(runner.run("price-refresh", 1, 1, REFRESH_OPERATIONS,
+                (user, random) -> holdingService.refreshAllHoldingPrices()));
+
+        writeReport(dataset, results);
+        // After the report, so a failed run still leaves its (invalid) numbers behind
+        assertThat(results).as("workloads with failed operations").allMatch(WorkloadResult::isValid);
+    }
+
+    /**
+     * The landing page: portfolio list, net worth, and the summary card of each portfolio
+     */
+    private void dashboard(BenchmarkUser user, SplittableRandom random) throws Exception {
+        portfolioService.getCurrentUserPortfolios(PageRequest.of(0, 20));
+        perform(user, get("/portfolios/consolidated"));
+        for (String portfolioId : user.getPortfolioIds()) {
+            perform(user, get("/portfolios/{portfolioId}/summary", portfolioId));
+        }
+    }
+
+    private void holdingsPage(BenchmarkUser user, SplittableRandom random) throws Exception {
+        perform(user, get("/portfolios/{portfolioId}/holdings", randomPortfolio(user, random)));
+    }
+
+    /**
+     * First page of the user's history and the next ones a scrolling client would fetch
+     */
+    private void transactionHistory(BenchmarkUser user, SplittableRandom random) throws Exception {
+        String cursor = null;
+        for (int page = 0; page < HISTORY_PAGES; page++) {
+            MockHttpServletRequestBuilder request = get("/transactions").param("size", String.valueOf(PAGE_SIZE));
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode body = objectMapper.readTree(perform(user, request).getResponse().getContentAsByteArray());
+            JsonNode next = body.get("nextCursor");
+            if (next == null || next.isNull()) {
+                return;
+            }
+            cursor = next.asText();
+        }
+    }
+
+    /**
+     * A small batch of buys into positions the portfolio already holds, near their last price
+     */
+    private void submitTrades(BenchmarkUser user, SplittableRandom random) throws Exception {
+        String portfolioId = randomPortfolio(user, random);
+        List<Map.Entry<String, BigDecimal>> tradable = user.getHoldings(portfolioId).entrySet().stream()
+                .filter(holding -> TRADABLE_SYMBOL.matcher(holding.getKey()).matches())
+                .toList();
+        if (tradable.isEmpty()) {
+            return;
+        }
+        List<TransactionCreateRequest> trades = new ArrayList<>();
+        for (int i = 0; i < TRADES_PER_BATCH; i++) {
+            Map.Entry<String, BigDecimal> holding = tradable.get(random.nextInt(tradable.size()));
+            TransactionCreateRequest trade = new TransactionCreateRequest();
+            trade.setPortfolioId(portfolioId);
+            trade.setType(TransactionType.BUY);
+            trade.setSymbol(holding.getKey());
+            trade.setQuantity(BigDecimal.valueOf(1 + random.nextInt(10)));
+            trade.setPrice(holding.getValue());
+            trade.setTransactionDate(Instant.now());
+            trades.add(trade);
+        }
+        perform(user, post("/transactions/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(new TradeBatchRequest(trades))));
+    }
+
+    private MvcResult perform(BenchmarkUser user, MockHttpServletRequestBuilder request) throws Exception {
+        RequestBuilder authenticated = request.accept(MediaType.APPLICATION_JSON).with(authentication(user.getAuthentication()));
+        MvcResult result = mockMvc.perform(authenticated).andReturn();
+        int status = result.getResponse().getStatus();
+        if (status >= 400) {
+            throw new IllegalStateException(request.buildRequest(null).getRequestURI() + " returned " + status);
+        }
+        return result;
+    }
+
+    private static String randomPortfolio(BenchmarkUser user, SplittableRandom random) {
+        List<String> portfolioIds = user.getPortfolioIds();
+        return portfolioIds.get(random.nextInt(portfolioIds.size()));
+    }
+
+    private List<BenchmarkUser> loadUsers() {
+        Map<String, BenchmarkUser> users = new LinkedHashMap<>();
+        new JdbcTemplate(dataSource).query(SAMPLE_HOLDINGS, rs -> {
+            String userId = rs.getString("user_id");
+            BenchmarkUser user = users.get(userId);
+            if (user == null) {
+                user = new BenchmarkUser(userId, rs.getString("username"), rs.getString("email"));
+                users.put(userId, user);
+            }
+            user.addHolding(rs.getString("portfolio_id"), rs.getString("symbol"), rs.getBigDecimal("current_price"));
+        }, USERS);
+        logger.info("Running workloads as {} users", users.size());
+        return new ArrayList<>(users.values());
+    }
+
+    private void writeReport(DatasetSpec dataset, List<WorkloadResult> results) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", LABEL);
+        report.put("startedAt", Instant.now());
+        report.put("javaVersion", Runtime.version().toString());
+        report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        report.put("dataset", dataset.toString());
+        report.put("rowCounts", BenchmarkDatabase.rowCounts());
+        report.put("clients", CLIENTS);
+        report.put("valid", results.stream().allMatch(WorkloadResult::isValid));
+        report.put("workloads", results);
+
+        Path directory = Path.of(REPORT_DIRECTORY);
+        Files.createDirectories(directory);
+        String timestamp = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC).format(Instant.now());
+        Path file = directory.resolve("service-latency-" + LABEL.replaceAll("[^A-Za-z0-9._-]", "_") + "-" + timestamp + ".json");
+        ObjectMapper writer = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT);
+        writer.writeValue(file.toFile(), report);
+        logger.info("Benchmark report written to {}", file.toAbsolutePath());
+    }
+}
@@ -0,0 +1,126 @@
+package com.portfolio.management.benchmark;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * JDBC driver for {@code jdbc:counting:<url>} that hands out the real driver's connections behind
+ * proxies counting every statement execution. It sits under the connection pool, so JPA, JdbcTemplate
+ * and the replica router are all counted without changing how transactions bind connections.
+ * A batch counts as one execution, as it is one round trip.
+ */
+public class StatementCountingDriver implements Driver {
+
+    private static final String PREFIX = "jdbc:counting:";
+    private static final LongAdder EXECUTIONS = new LongAdder();
+
+    static {
+        try {
+            DriverManager.registerDriver(new StatementCountingDriver());
+        } catch (SQLException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    public static String wrap(String jdbcUrl) {
+        return PREFIX + jdbcUrl.substring("jdbc:".length());
+    }
+
+    /**
+     * Statements executed through any counting connection since startup
+     */
+    public static long executions() {
+        return EXECUTIONS.sum();
+    }
+
+    @Override
+    public Connection connect(String url, Properties info) throws SQLException {
+        if (!acceptsURL(url)) {
+            return null;
+        }
+        Connection connection = DriverManager.getConnection("jdbc:" + url.substring(PREFIX.length()), info);
+        return proxy(Connection.class, connection, this::connectionCall);
+    }
+
+    @Override
+    public boolean acceptsURL(String url) {
+        return url != null && url.startsWith(PREFIX);
+    }
+
+    @Override
+    public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+        return new DriverPropertyInfo[0];
+    }
+
+    @Override
+    public int getMajorVersion() {
+        return 1;
+    }
+
+    @Override
+    public int getMinorVersion() {
+        return 0;
+    }
+
+    @Override
+    public boolean jdbcCompliant() {
+        return false;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    private Object connectionCall(Object target, Method method, Object[] args) throws Throwable {
+        Object result = invoke(target, method, args);
+        if (result instanceof CallableStatement statement) {
+            return proxy(CallableStatement.class, statement, this::statementCall);
+        }
+        if (result instanceof PreparedStatement statement) {
+            return proxy(PreparedStatement.class, statement, this::statementCall);
+        }
+        if (result instanceof Statement statement) {
+            return proxy(Statement.class, statement, this::statementCall);
+        }
+        return result;
+    }
+
+    private Object statementCall(Object target, Method method, Object[] args) throws Throwable {
+        if (method.getName().startsWith("execute")) {
+            EXECUTIONS.increment();
+        }
+        return invoke(target, method, args);
+    }
+
+    private interface Call {
+        Object handle(Object target, Method method, Object[] args) throws Throwable;
+    }
+
+    private static <T> T proxy(Class<T> type, T target, Call call) {
+        InvocationHandler handler = (proxy, method, args) -> call.handle(target, method, args);
+        return type.cast(Proxy.newProxyInstance(StatementCountingDriver.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.portfolio.management.benchmark;
+
+import org.HdrHistogram.Histogram;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Measurements of one workload, shaped for the JSON report. Latencies are in milliseconds and
+ * cover successful operations only; a result with errors is marked invalid. The encoded histogram
+ * (compressed, base64, microseconds) keeps the full distribution for comparing runs with
+ * HdrHistogram tooling.
+ */
+public class WorkloadResult {
+
+    private static final String[] PERCENTILE_KEYS = {"p50", "p90", "p95", "p99", "p99.9"};
+    private static final double[] PERCENTILES = {50, 90, 95, 99, 99.9};
+
+    private final String name;
+    private final int clients;
+    private final long operations;
+    private final long errors;
+    private final long durationMs;
+    private final double throughputPerSecond;
+    private final Map<String, Double> latencyMs = new LinkedHashMap<>();
+    private final double sqlStatementsPerOperation;
+    private final long allocatedBytesPerOperation;
+    private final long otherThreadsAllocatedBytesPerOperation;
+    private final String histogram;
+
+    WorkloadResult(String name, int clients, Histogram latencies, long errors, long durationNanos,
+                   long sqlStatements, long allocatedBytes, long otherThreadsAllocatedBytes) {
+        long operations = latencies.getTotalCount();
+        this.name = name;
+        this.clients = clients;
+        this.operations = operations;
+        this.errors = errors;
+        this.durationMs = durationNanos / 1_000_000;
+        this.throughputPerSecond = round(operations * 1e9 / Math.max(1, durationNanos));
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            latencyMs.put(PERCENTILE_KEYS[i], round(latencies.getValueAtPercentile(PERCENTILES[i]) / 1000.0));
+        }
+        latencyMs.put("max", round(latencies.getMaxValue() / 1000.0));
+        latencyMs.put("mean", round(latencies.getMean() / 1000.0));
+        this.sqlStatementsPerOperation = round((double) sqlStatements / Math.max(1, operations));
+        this.allocatedBytesPerOperation = allocatedBytes / Math.max(1, operations);
+        this.otherThreadsAllocatedBytesPerOperation = otherThreadsAllocatedBytes / Math.max(1, operations);
+
+        ByteBuffer buffer = ByteBuffer.allocate(latencies.getNeededByteBufferCapacity());
+        int length = latencies.encodeIntoCompressedByteBuffer(buffer);
+        this.histogram = Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-22s %6d ops %4d err %9.1f ops/s  p50 %8.2f  p99 %8.2f  p99.9 %8.2f ms  %7.1f sql/op  " +
+                        "%10d B/op  %10d B/op other threads%s",
+                name, operations, errors, throughputPerSecond, latencyMs.get("p50"), latencyMs.get("p99"),
+                latencyMs.get("p99.9"), sqlStatementsPerOperation, allocatedBytesPerOperation,
+                otherThreadsAllocatedBytesPerOperation, isValid() ? "" : "  INVALID");
+    }
+
+    // Getters
+    public String getName() {
+        return name;
+    }
+
+    public int getClients() {
+        return clients;
+    }
+
+    public long getOperations() {
+        return operations;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * False when any operation failed; the numbers then describe a different workload
+     */
+    public boolean isValid() {
+        return errors == 0;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public double getThroughputPerSecond() {
+        return throughputPerSecond;
+    }
+
+    public Map<String, Double> getLatencyMs() {
+        return latencyMs;
+    }
+
+    public double getSqlStatementsPerOperation() {
+        return sqlStatementsPerOperation;
+    }
+
+    public long getAllocatedBytesPerOperation() {
+        return allocatedBytesPerOperation;
+    }
+
+    public long getOtherThreadsAllocatedBytesPerOperation() {
+        return otherThreadsAllocatedBytesPerOperation;
+    }
+
+    public String getHistogram() {
+        return histogram;
+    }
+}
@@ -0,0 +1,158 @@
+package com.portfolio.management.benchmark;
+
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs one workload with a fixed number of closed-loop clients: each client picks a user, runs the
+ * operation as that user and immediately starts the next one. A warm-up pass runs first and is not
+ * recorded. Only successful operations are recorded as latencies; failures are counted as errors
+ * and make the result invalid. SQL statements are counted across the whole measured pass and
+ * divided by operations. Allocation is reported twice: what the client threads allocated (MockMvc
+ * and everything the services run inline), and what every other live thread allocated during the
+ * pass. The second covers work handed to executors, such as hedged quote fetches, but also
+ * includes background threads (schedulers, pool housekeeping), and misses threads that exit
+ * before the pass ends.
+ */
+final class WorkloadRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkloadRunner.class);
+
+    private static final long HIGHEST_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    @FunctionalInterface
+    interface Operation {
+        void run(BenchmarkUser user, SplittableRandom random) throws Exception;
+    }
+
+    private final List<BenchmarkUser> users;
+    private final long seed;
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    WorkloadRunner(List<BenchmarkUser> users, long seed) {
+        if (users.isEmpty()) {
+            throw new IllegalArgumentException("No users to run workloads as");
+        }
+        this.users = users;
+        this.seed = seed;
+    }
+
+    WorkloadResult run(String name, int clients, int warmupOperations, int operations, Operation operation)
+            throws InterruptedException {
+        execute(name, clients, warmupOperations, operation, null);
+
+        Histogram latencies = new Histogram(HIGHEST_LATENCY_MICROS, 3);
+        long[] totals = new long[2]; // errors, allocated bytes
+        Set<Long> clientThreads = ConcurrentHashMap.newKeySet();
+        Map<Long, Long> allocatedBefore = allocatedByThread();
+        long sqlBefore = StatementCountingDriver.executions();
+        long started = System.nanoTime();
+        execute(name, clients, operations, operation, (histogram, errors, allocated) -> {
+            clientThreads.add(Thread.currentThread().getId());
+            synchronized (latencies) {
+                latencies.add(histogram);
+                totals[0] += errors;
+                totals[1] += allocated;
+            }
+        });
+        long elapsed = System.nanoTime() - started;
+        long sqlStatements = StatementCountingDriver.executions() - sqlBefore;
+        long otherThreadsAllocated = 0;
+        for (Map.Entry<Long, Long> thread : allocatedByThread().entrySet()) {
+            if (!clientThreads.contains(thread.getKey())) {
+                otherThreadsAllocated += thread.getValue() - allocatedBefore.getOrDefault(thread.getKey(), 0L);
+            }
+        }
+
+        WorkloadResult result = new WorkloadResult(name, clients, latencies, totals[0], elapsed, sqlStatements,
+                totals[1], otherThreadsAllocated);
+        logger.info("{}", result);
+        return result;
+    }
+
+    private Map<Long, Long> allocatedByThread() {
+        long[] ids = threads.getAllThreadIds();
+        long[] allocated = threads.getThreadAllocatedBytes(ids);
+        Map<Long, Long> byThread = new HashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            // -1 for a thread that exited in between
+            if (allocated[i] >= 0) {
+                byThread.put(ids[i], allocated[i]);
+            }
+        }
+        return byThread;
+    }
+
+    private interface ClientResult {
+        void accept(Histogram histogram, long errors, long allocatedBytes);
+    }
+
+    private void execute(String name, int clients, int operations, Operation operation, ClientResult sink)
+            throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean firstErrorLogged = new AtomicBoolean();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int c = 0; c < clients; c++) {
+            // Same user sequence per client on every run, so branches are compared on the same work
+            SplittableRandom random = new SplittableRandom(seed * 31 + c);
+            int share = operations / clients + (c < operations % clients ? 1 : 0);
+            futures.add(executor.submit(() -> {
+                Histogram histogram = new Histogram(HIGHEST_LATENCY_MICROS, 3);
+                long errors = 0;
+                start.await();
+                long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+                for (int i = 0; i < share; i++) {
+                    BenchmarkUser user = users.get(random.nextInt(users.size()));
+                    SecurityContextHolder.getContext().setAuthentication(user.getAuthentication());
+                    long begin = System.nanoTime();
+                    try {
+                        operation.run(user, random);
+                        histogram.recordValue(Math.min(HIGHEST_LATENCY_MICROS, (System.nanoTime() - begin) / 1_000));
+                    } catch (Exception | AssertionError e) {
+                        // A failed call usually returns early and would flatter the latencies
+                        errors++;
+                        if (firstErrorLogged.compareAndSet(false, true)) {
+                            logger.warn("{} failed: {}", name, e.toString());
+                        }
+                    } finally {
+                        SecurityContextHolder.clearContext();
+                    }
+                }
+                if (sink != null) {
+                    sink.accept(histogram, errors, threads.getCurrentThreadAllocatedBytes() - allocatedBefore);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(name + " client failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.portfolio.management.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ConnectionHoldTimeDataSourceTest {
+
+    private final ExecutorService pool = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        ConnectionHoldTimeDataSource.endRequest();
+        pool.shutdownNow();
+    }
+
+    @Test
+    void connectionTakenOnAPoolThreadCountsTowardsTheSubmittingRequest() throws Exception {
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        ConnectionHoldTimeDataSource dataSource = new ConnectionHoldTimeDataSource(target, new SimpleMeterRegistry());
+        ConnectionHoldTimeDataSource.RequestUsage usage = ConnectionHoldTimeDataSource.beginRequest();
+
+        pool.submit(ConnectionHoldTimeDataSource.propagateRequestUsage(() -> {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.isValid(1);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        })).get();
+        // The pool thread is left without the request afterwards
+        pool.submit(() -> {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.isValid(1);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }).get();
+
+        assertThat(usage.getAcquisitions()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,107 @@
+package com.portfolio.management.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.portfolio.management.dto.response.HoldingResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JacksonConfigTest {
+
+    private static final MediaType SMILE = HotPathWriters.Format.SMILE.getMediaType();
+
+    @Test
+    void defaultJacksonConvertersAreReplacedInPlace() {
+        JacksonConfig config = config(true);
+        List<HttpMessageConverter<?>> converters = defaults();
+
+        config.extendMessageConverters(converters);
+
+        assertThat(converters).hasSize(4);
+        assertThat(converters.get(0)).isInstanceOf(StringHttpMessageConverter.class);
+        assertThat(converters.get(1)).isInstanceOf(MappingJackson2HttpMessageConverter.class)
+                .isNotExactlyInstanceOf(MappingJackson2HttpMessageConverter.class);
+        assertThat(converters.get(2)).isInstanceOf(MappingJackson2SmileHttpMessageConverter.class)
+                .isNotExactlyInstanceOf(MappingJackson2SmileHttpMessageConverter.class);
+        assertThat(converters.get(3)).isInstanceOf(MappingJackson2CborHttpMessageConverter.class)
+                .isNotExactlyInstanceOf(MappingJackson2CborHttpMessageConverter.class);
+    }
+
+    @Test
+    void binaryConvertersAreDroppedWhenDisabled() {
+        List<HttpMessageConverter<?>> converters = defaults();
+
+        config(false).extendMessageConverters(converters);
+
+        assertThat(converters).hasSize(2)
+                .noneMatch(converter -> converter instanceof MappingJackson2SmileHttpMessageConverter)
+                .noneMatch(converter -> converter instanceof MappingJackson2CborHttpMessageConverter);
+    }
+
+    @Test
+    void hotListIsWrittenByThePrebuiltWriterWithTheSameBytes() throws Exception {
+        JacksonConfig config = config(true);
+        List<HttpMessageConverter<?>> converters = defaults();
+        config.extendMessageConverters(converters);
+        MappingJackson2SmileHttpMessageConverter hot = (MappingJackson2SmileHttpMessageConverter) converters.get(2);
+        List<HoldingResponse> holdings = List.of(holding("AAPL"), holding("MSFT"));
+
+        MockHttpOutputMessage hotOutput = new MockHttpOutputMessage();
+        hot.write(holdings, new ParameterizedTypeReference<List<HoldingResponse>>() { }.getType(), SMILE, hotOutput);
+        MockHttpOutputMessage regularOutput = new MockHttpOutputMessage();
+        new MappingJackson2SmileHttpMessageConverter(config.smileMapper())
+                .write(holdings, new ParameterizedTypeReference<List<HoldingResponse>>() { }.getType(), SMILE, regularOutput);
+
+        assertThat(hotOutput.getBodyAsBytes()).isEqualTo(regularOutput.getBodyAsBytes());
+        List<HoldingResponse> read = config.smileMapper().readValue(hotOutput.getBodyAsBytes(),
+                new TypeReference<List<HoldingResponse>>() { });
+        assertThat(read).extracting(HoldingResponse::getSymbol).containsExactly("AAPL", "MSFT");
+    }
+
+    @Test
+    void negotiationFollowsQualityAndFallsBackToJson() {
+        HotPathWriters writers = config(true).hotPathWriters();
+
+        assertThat(writers.negotiate(MediaType.parseMediaTypes("application/json;q=0.5, application/cbor")))
+                .isEqualTo(HotPathWriters.Format.CBOR);
+        // A substring match would have picked Smile here
+        assertThat(writers.negotiate(MediaType.parseMediaTypes("application/json, application/x-jackson-smile;q=0")))
+                .isEqualTo(HotPathWriters.Format.JSON);
+        assertThat(writers.negotiate(MediaType.parseMediaTypes("*/*"))).isEqualTo(HotPathWriters.Format.JSON);
+        assertThat(config(false).hotPathWriters().negotiate(List.of(SMILE))).isEqualTo(HotPathWriters.Format.JSON);
+    }
+
+    private static JacksonConfig config(boolean binaryFormats) {
+        AppProperties properties = new AppProperties();
+        properties.getSerialization().setBinaryFormatsEnabled(binaryFormats);
+        return new JacksonConfig(properties);
+    }
+
+    private static List<HttpMessageConverter<?>> defaults() {
+        List<HttpMessageConverter<?>> converters = new ArrayList<>();
+        converters.add(new StringHttpMessageConverter());
+        converters.add(new MappingJackson2HttpMessageConverter());
+        converters.add(new MappingJackson2SmileHttpMessageConverter());
+        converters.add(new MappingJackson2CborHttpMessageConverter());
+        return converters;
+    }
+
+    private static HoldingResponse holding(String symbol) {
+        HoldingResponse holding = new HoldingResponse();
+        holding.setSymbol(symbol);
+        holding.setQuantity(new BigDecimal("12.5"));
+        return holding;
+    }
+}
@@ -0,0 +1,83 @@
+package com.portfolio.management.datagen;
+
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * PostgreSQL COPY FROM STDIN in CSV format, streamed in 64 KB chunks so a flush is never held as
+ * one large string. An order of magnitude faster than batched inserts for the transaction table.
+ */
+public class CopyRowSink implements RowSink {
+
+    private static final int CHUNK_BYTES = 64 * 1024;
+
+    private final CopyManager copyManager;
+    private final StringBuilder chunk = new StringBuilder(CHUNK_BYTES + 1024);
+
+    public CopyRowSink(CopyManager copyManager) {
+        this.copyManager = copyManager;
+    }
+
+    @Override
+    public void write(Table table, List<Object[]> rows) throws SQLException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        CopyIn copy = copyManager.copyIn(
+                "COPY " + table.getTableName() + " (" + table.columnList() + ") FROM STDIN WITH (FORMAT csv)");
+        try {
+            for (Object[] row : rows) {
+                for (int i = 0; i < row.length; i++) {
+                    if (i > 0) {
+                        chunk.append(',');
+                    }
+                    appendValue(row[i]);
+                }
+                chunk.append('\n');
+                if (chunk.length() >= CHUNK_BYTES) {
+                    send(copy);
+                }
+            }
+            send(copy);
+            copy.endCopy();
+        } finally {
+            chunk.setLength(0);
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+        }
+    }
+
+    // Unquoted empty is NULL in CSV COPY; strings are always quoted so an empty string stays empty
+    private void appendValue(Object value) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof String text) {
+            chunk.append('"');
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == '"') {
+                    chunk.append('"');
+                }
+                chunk.append(c);
+            }
+            chunk.append('"');
+        } else if (value instanceof BigDecimal decimal) {
+            chunk.append(decimal.toPlainString());
+        } else {
+            chunk.append(value);
+        }
+    }
+
+    private void send(CopyIn copy) throws SQLException {
+        byte[] bytes = chunk.toString().getBytes(StandardCharsets.UTF_8);
+        copy.writeToCopy(bytes, 0, bytes.length);
+        chunk.setLength(0);
+    }
+}
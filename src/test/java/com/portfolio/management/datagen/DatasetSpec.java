@@ -0,0 +1,174 @@
+package com.portfolio.management.datagen;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/**
+ * Shape of a synthetic dataset. The seed and the as-of date fully determine the rows: the same
+ * spec always produces the same ids, prices and dates, whatever the thread count or batch size.
+ * Counts are means; per-user and per-portfolio numbers vary around them.
+ */
+public class DatasetSpec {
+
+    private long seed = 42L;
+    private int users = 1_000;
+    private double portfoliosPerUser = 2.5;
+    private int maxPortfoliosPerUser = 10;
+    private double holdingsPerPortfolio = 18;
+    private double transactionsPerHolding = 10;
+    private double watchlistPerUser = 12;
+    private int historyYears = 5;
+    private LocalDate asOf = LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1);
+    // Transaction rows buffered before a flush; each flush is one database transaction
+    private int flushRows = 50_000;
+    private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    // Constructors
+    public DatasetSpec() {
+    }
+
+    /**
+     * About 1,000 users and 400k transactions; used by tests and benchmarks
+     */
+    public static DatasetSpec small() {
+        return new DatasetSpec();
+    }
+
+    /**
+     * The reference "large tenant": 60,000 users, about 2.7M holdings and 24M transactions
+     */
+    public static DatasetSpec largeTenant() {
+        DatasetSpec spec = new DatasetSpec();
+        spec.setUsers(60_000);
+        return spec;
+    }
+
+    /**
+     * The named preset ({@code datagen.profile}: small or large) overridden by any {@code datagen.*}
+     * system property set
+     */
+    public static DatasetSpec fromSystemProperties() {
+        DatasetSpec spec = "large".equalsIgnoreCase(System.getProperty("datagen.profile", "small"))
+                ? largeTenant() : small();
+        spec.setSeed(Long.getLong("datagen.seed", spec.getSeed()));
+        spec.setUsers(Integer.getInteger("datagen.users", spec.getUsers()));
+        spec.setPortfoliosPerUser(doubleProperty("datagen.portfolios-per-user", spec.getPortfoliosPerUser()));
+        spec.setMaxPortfoliosPerUser(Integer.getInteger("datagen.max-portfolios-per-user", spec.getMaxPortfoliosPerUser()));
+        spec.setHoldingsPerPortfolio(doubleProperty("datagen.holdings-per-portfolio", spec.getHoldingsPerPortfolio()));
+        spec.setTransactionsPerHolding(doubleProperty("datagen.transactions-per-holding", spec.getTransactionsPerHolding()));
+        spec.setWatchlistPerUser(doubleProperty("datagen.watchlist-per-user", spec.getWatchlistPerUser()));
+        spec.setHistoryYears(Integer.getInteger("datagen.history-years", spec.getHistoryYears()));
+        String asOf = System.getProperty("datagen.as-of");
+        if (asOf != null) {
+            spec.setAsOf(LocalDate.parse(asOf));
+        }
+        spec.setFlushRows(Integer.getInteger("datagen.flush-rows", spec.getFlushRows()));
+        spec.setThreads(Integer.getInteger("datagen.threads", spec.getThreads()));
+        return spec;
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        return value != null ? Double.parseDouble(value) : defaultValue;
+    }
+
+    public LocalDate getHistoryStart() {
+        return asOf.minusYears(historyYears);
+    }
+
+    @Override
+    public String toString() {
+        return "seed=" + seed + ", users=" + users + ", portfolios/user=" + portfoliosPerUser +
+                ", holdings/portfolio=" + holdingsPerPortfolio + ", transactions/holding=" + transactionsPerHolding +
+                ", watchlist/user=" + watchlistPerUser + ", history=" + historyYears + "y to " + asOf;
+    }
+
+    // Getters and setters
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public void setUsers(int users) {
+        this.users = users;
+    }
+
+    public double getPortfoliosPerUser() {
+        return portfoliosPerUser;
+    }
+
+    public void setPortfoliosPerUser(double portfoliosPerUser) {
+        this.portfoliosPerUser = portfoliosPerUser;
+    }
+
+    public int getMaxPortfoliosPerUser() {
+        return maxPortfoliosPerUser;
+    }
+
+    public void setMaxPortfoliosPerUser(int maxPortfoliosPerUser) {
+        this.maxPortfoliosPerUser = maxPortfoliosPerUser;
+    }
+
+    public double getHoldingsPerPortfolio() {
+        return holdingsPerPortfolio;
+    }
+
+    public void setHoldingsPerPortfolio(double holdingsPerPortfolio) {
+        this.holdingsPerPortfolio = holdingsPerPortfolio;
+    }
+
+    public double getTransactionsPerHolding() {
+        return transactionsPerHolding;
+    }
+
+    public void setTransactionsPerHolding(double transactionsPerHolding) {
+        this.transactionsPerHolding = transactionsPerHolding;
+    }
+
+    public double getWatchlistPerUser() {
+        return watchlistPerUser;
+    }
+
+    public void setWatchlistPerUser(double watchlistPerUser) {
+        this.watchlistPerUser = watchlistPerUser;
+    }
+
+    public int getHistoryYears() {
+        return historyYears;
+    }
+
+    public void setHistoryYears(int historyYears) {
+        this.historyYears = historyYears;
+    }
+
+    public LocalDate getAsOf() {
+        return asOf;
+    }
+
+    public void setAsOf(LocalDate asOf) {
+        this.asOf = asOf;
+    }
+
+    public int getFlushRows() {
+        return flushRows;
+    }
+
+    public void setFlushRows(int flushRows) {
+        this.flushRows = flushRows;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+}
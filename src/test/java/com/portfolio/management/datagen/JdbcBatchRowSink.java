@@ -0,0 +1,61 @@
+package com.portfolio.management.datagen;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multi-row INSERT through JDBC batching, one prepared statement per table for the connection's
+ * lifetime. With PostgreSQL, add reWriteBatchedInserts=true to the URL.
+ */
+public class JdbcBatchRowSink implements RowSink {
+
+    private static final int BATCH_SIZE = 1_000;
+
+    private final Connection connection;
+    private final Map<Table, PreparedStatement> statements = new EnumMap<>(Table.class);
+
+    public JdbcBatchRowSink(Connection connection) {
+        this.connection = connection;
+    }
+
+    @Override
+    public void write(Table table, List<Object[]> rows) throws SQLException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        PreparedStatement statement = statements.get(table);
+        if (statement == null) {
+            String placeholders = String.join(", ", Collections.nCopies(table.getColumns().size(), "?"));
+            statement = connection.prepareStatement(
+                    "INSERT INTO " + table.getTableName() + " (" + table.columnList() + ") VALUES (" + placeholders + ")");
+            statements.put(table, statement);
+        }
+        int pending = 0;
+        for (Object[] row : rows) {
+            for (int i = 0; i < row.length; i++) {
+                statement.setObject(i + 1, row[i]);
+            }
+            statement.addBatch();
+            if (++pending == BATCH_SIZE) {
+                statement.executeBatch();
+                pending = 0;
+            }
+        }
+        if (pending > 0) {
+            statement.executeBatch();
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        for (PreparedStatement statement : statements.values()) {
+            statement.close();
+        }
+        statements.clear();
+    }
+}
@@ -0,0 +1,36 @@
+package com.portfolio.management.datagen;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generated rows waiting for the next flush, per table, each row in {@link Table#getColumns()} order
+ */
+public class RowBuffer {
+
+    private final Map<Table, List<Object[]>> rows = new EnumMap<>(Table.class);
+
+    public RowBuffer() {
+        for (Table table : Table.values()) {
+            rows.put(table, new ArrayList<>());
+        }
+    }
+
+    public void add(Table table, Object... values) {
+        rows.get(table).add(values);
+    }
+
+    public List<Object[]> rows(Table table) {
+        return rows.get(table);
+    }
+
+    public int size(Table table) {
+        return rows.get(table).size();
+    }
+
+    public void clear() {
+        rows.values().forEach(List::clear);
+    }
+}
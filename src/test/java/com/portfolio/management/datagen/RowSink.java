@@ -0,0 +1,29 @@
+package com.portfolio.management.datagen;
+
+import org.postgresql.PGConnection;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Writes generated rows over one connection; the caller owns the transaction
+ */
+public interface RowSink extends AutoCloseable {
+
+    void write(Table table, List<Object[]> rows) throws SQLException;
+
+    @Override
+    default void close() throws SQLException {
+    }
+
+    /**
+     * COPY on PostgreSQL, batched inserts anywhere else (H2)
+     */
+    static RowSink forConnection(Connection connection, boolean copyIfSupported) throws SQLException {
+        if (copyIfSupported && connection.isWrapperFor(PGConnection.class)) {
+            return new CopyRowSink(connection.unwrap(PGConnection.class).getCopyAPI());
+        }
+        return new JdbcBatchRowSink(connection);
+    }
+}
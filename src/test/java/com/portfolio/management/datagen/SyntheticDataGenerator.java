@@ -0,0 +1,364 @@
+package com.portfolio.management.datagen;
+
+import com.portfolio.management.enums.Currency;
+import com.portfolio.management.enums.HoldingType;
+import com.portfolio.management.enums.Sector;
+import com.portfolio.management.enums.TransactionType;
+import com.portfolio.management.service.marketdata.SymbolSearchIndex.Instrument;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Generates the rows of one user at a time: the user, their portfolios, holdings, the transactions
+ * that built each holding, and a watchlist. Every user draws from its own random stream derived
+ * from the seed and the user's index, so any range of users can be generated on any thread and
+ * comes out identical.
+ * <p>
+ * Prices follow one daily random walk per symbol over the history window. A holding's transactions
+ * are replayed against those prices, and the holding's quantity and average cost are what that
+ * replay leaves behind, so holdings and transaction history always agree.
+ */
+public class SyntheticDataGenerator {
+
+    /**
+     * Password of every generated user
+     */
+    public static final String PASSWORD = "LoadTest#2024";
+    // BCrypt (strength 10) of PASSWORD
+    private static final String PASSWORD_HASH = "$2a$10$.Yp5HHrZedzhw0PAvbBl5ORVoIiRiY6/1DRhiPh9whlWajR/e300e";
+
+    private static final String[] FIRST_NAMES = {"James", "Mary", "Wei", "Priya", "Liam", "Olivia", "Noah", "Emma",
+            "Mohammed", "Sofia", "Lucas", "Aiko", "Mateo", "Chloe", "Ethan", "Amara", "Jack", "Isabelle"};
+    private static final String[] LAST_NAMES = {"Smith", "Tremblay", "Chen", "Patel", "Martin", "Roy", "Nguyen",
+            "Brown", "Singh", "Garcia", "Wilson", "Gagnon", "Kim", "Lee", "Taylor", "Kowalski"};
+    private static final String[] PORTFOLIO_NAMES = {"Retirement", "TFSA", "RRSP", "Growth", "Dividend Income",
+            "Index Core", "Speculative", "Education Fund", "Tech Picks", "Canadian Equity", "Joint Account", "Cash Reserve"};
+    private static final String[] BROKERS = {"Questrade", "Wealthsimple", "TD Direct Investing",
+            "Interactive Brokers", "Charles Schwab", "Fidelity"};
+    private static final boolean[] CANADIAN_BROKER = {true, true, true, false, false, false};
+    private static final BigDecimal[] BROKER_FEES = {new BigDecimal("4.95"), BigDecimal.ZERO, new BigDecimal("9.99"),
+            new BigDecimal("1.00"), BigDecimal.ZERO, BigDecimal.ZERO};
+    private static final Sector[] STOCK_SECTORS = Arrays.stream(Sector.values())
+            .filter(sector -> sector != Sector.UNKNOWN && sector != Sector.DIVERSIFIED)
+            .toArray(Sector[]::new);
+
+    // Shares of each transaction type among the events after a holding's first buy
+    private static final double BUY_SHARE = 0.5;
+    private static final double SELL_SHARE = 0.3;
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final long SYMBOL_STREAM = 0x5EED_0000_0000L;
+
+    private final long seed;
+    private final DatasetSpec spec;
+    private final SymbolSeries[] symbols;
+    private final LocalDate start;
+    private final int days;
+    private final int[] tradingDay;
+
+    public SyntheticDataGenerator(DatasetSpec spec, List<Instrument> instruments) {
+        if (instruments.isEmpty()) {
+            throw new IllegalArgumentException("No instruments to generate holdings from");
+        }
+        this.seed = spec.getSeed();
+        this.spec = spec;
+        this.start = spec.getHistoryStart();
+        this.days = (int) ChronoUnit.DAYS.between(start, spec.getAsOf());
+        this.tradingDay = tradingDays(start, days);
+        this.symbols = new SymbolSeries[instruments.size()];
+        for (int i = 0; i < symbols.length; i++) {
+            symbols[i] = new SymbolSeries(instruments.get(i), new SplittableRandom(mix(seed, SYMBOL_STREAM + i)), days);
+        }
+    }
+
+    public int getSymbolCount() {
+        return symbols.length;
+    }
+
+    /**
+     * Appends every row of the user with this index to the buffer
+     */
+    public void generateUser(int userIndex, RowBuffer out) {
+        SplittableRandom random = new SplittableRandom(mix(seed, userIndex));
+        String userId = uuid(random);
+        // Sign-ups spread over the window, none in its last tenth so every user has some history
+        int signupDay = random.nextInt(Math.max(1, days * 9 / 10));
+        OffsetDateTime signup = timestamp(signupDay, random);
+        OffsetDateTime lastLogin = timestamp(days - 1 - random.nextInt(Math.min(30, days)), random);
+        String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        String username = String.format("user%07d", userIndex);
+        out.add(Table.USERS, userId, username, PASSWORD_HASH, username + "@example.test", firstName, lastName,
+                signup, lastLogin, Boolean.TRUE, lastLogin);
+
+        // A few very active traders, most users barely trading: Pareto with mean 1, capped
+        double activity = Math.min(20, (1.0 / 3) / Math.pow(1 - random.nextDouble(), 1 / 1.5));
+        int[] order = identity(symbols.length);
+
+        int portfolioCount = Math.min(spec.getMaxPortfoliosPerUser(),
+                1 + poisson(random, Math.max(0, spec.getPortfoliosPerUser() - 1)));
+        int[] names = nameOrder(random);
+        for (int p = 0; p < portfolioCount; p++) {
+            String name = PORTFOLIO_NAMES[names[p % names.length]]
+                    + (p >= names.length ? " " + (p / names.length + 1) : "");
+            generatePortfolio(random, userId, name, signupDay, activity, order, out);
+        }
+
+        int watchCount = Math.min(symbols.length, poisson(random, spec.getWatchlistPerUser()));
+        shuffleHead(random, symbols.length, watchCount, order);
+        for (int w = 0; w < watchCount; w++) {
+            SymbolSeries symbol = symbols[order[w]];
+            OffsetDateTime added = timestamp(signupDay + random.nextInt(days - signupDay), random);
+            double previous = symbol.closes[days - 1];
+            BigDecimal changePercent = decimal((symbol.closes[days] / previous - 1) * 100, 4);
+            out.add(Table.WATCHLIST, uuid(random), userId, symbol.ticker, symbol.name,
+                    decimal(symbol.closes[days], 4), changePercent, added, added, asOfTimestamp());
+        }
+    }
+
+    private void generatePortfolio(SplittableRandom random, String userId, String name, int signupDay,
+                                   double activity, int[] order, RowBuffer out) {
+        String portfolioId = uuid(random);
+        int broker = random.nextInt(BROKERS.length);
+        Currency currency = CANADIAN_BROKER[broker] && random.nextDouble() < 0.8 ? Currency.CAD : Currency.USD;
+        int inceptionDay = signupDay + random.nextInt(Math.max(1, (days - signupDay) / 2));
+        OffsetDateTime inception = timestamp(inceptionDay, random);
+
+        int holdingCount = (int) Math.max(1, Math.min(symbols.length,
+                Math.round(lognormal(random, spec.getHoldingsPerPortfolio(), 0.6))));
+        shuffleHead(random, symbols.length, holdingCount, order);
+
+        BigDecimal totalValue = BigDecimal.ZERO;
+        BigDecimal totalCost = BigDecimal.ZERO;
+        for (int h = 0; h < holdingCount; h++) {
+            BigDecimal[] values = generateHolding(random, portfolioId, userId, symbols[order[h]],
+                    inceptionDay, BROKER_FEES[broker], activity, out);
+            totalCost = totalCost.add(values[0]);
+            totalValue = totalValue.add(values[1]);
+        }
+        BigDecimal gainLoss = totalValue.subtract(totalCost);
+        out.add(Table.PORTFOLIOS, portfolioId, name, null, userId, BROKERS[broker], currency.name(),
+                totalValue, totalCost, gainLoss, percent(gainLoss, totalCost),
+                inception, asOfTimestamp(), random.nextDouble() >= 0.02, 0L);
+    }
+
+    /**
+     * Replays the holding's transactions and appends them and the holding; returns {cost, value}
+     */
+    private BigDecimal[] generateHolding(SplittableRandom random, String portfolioId, String userId,
+                                         SymbolSeries symbol, int inceptionDay, BigDecimal fee,
+                                         double activity, RowBuffer out) {
+        String holdingId = uuid(random);
+        int firstDay = inceptionDay + random.nextInt(days - inceptionDay);
+        int events = 1 + (int) Math.round(geometric(random, spec.getTransactionsPerHolding() - 1) * activity);
+        int[] eventDays = new int[events];
+        eventDays[0] = firstDay;
+        for (int e = 1; e < events; e++) {
+            eventDays[e] = firstDay + random.nextInt(days - firstDay);
+        }
+        Arrays.sort(eventDays, 1, events);
+
+        long quantity = 0;
+        double averagePrice = 0;
+        OffsetDateTime purchased = null;
+        for (int e = 0; e < events; e++) {
+            int day = tradingDay[eventDays[e]];
+            double close = symbol.closes[day];
+            double roll = e == 0 ? 0 : random.nextDouble();
+            TransactionType type = roll < BUY_SHARE ? TransactionType.BUY
+                    : roll < BUY_SHARE + SELL_SHARE ? TransactionType.SELL : TransactionType.DIVIDEND;
+            if (type == TransactionType.SELL && quantity < 2 || type == TransactionType.DIVIDEND && symbol.dividendYield == 0) {
+                type = TransactionType.BUY;
+            }
+
+            long shares;
+            BigDecimal price;
+            BigDecimal fees = BigDecimal.ZERO;
+            if (type == TransactionType.DIVIDEND) {
+                shares = quantity;
+                price = decimal(close * symbol.dividendYield / 4, 4);
+            } else {
+                price = decimal(close * (1 + (random.nextDouble() - 0.5) * 0.01), 4);
+                fees = fee;
+                if (type == TransactionType.BUY) {
+                    double notional = lognormal(random, 3_000, 0.9);
+                    shares = Math.max(1, Math.round(notional / close));
+                    averagePrice = (averagePrice * quantity + price.doubleValue() * shares) / (quantity + shares);
+                    quantity += shares;
+                } else {
+                    shares = Math.min(quantity - 1, Math.max(1, (long) (quantity * (0.1 + random.nextDouble() * 0.5))));
+                    quantity -= shares;
+                }
+            }
+
+            OffsetDateTime executed = timestamp(day, random);
+            if (purchased == null) {
+                purchased = executed;
+            }
+            BigDecimal quantityValue = BigDecimal.valueOf(shares).setScale(6, RoundingMode.UNNECESSARY);
+            BigDecimal total = quantityValue.multiply(price).add(fees).setScale(2, RoundingMode.HALF_UP);
+            out.add(Table.TRANSACTIONS, uuid(random), portfolioId, userId, holdingId, type.name(), symbol.ticker,
+                    quantityValue, price, total, fees, symbol.currency.name(), executed, null,
+                    executed.plusSeconds(1 + random.nextInt(5)));
+        }
+
+        BigDecimal quantityValue = BigDecimal.valueOf(quantity).setScale(6, RoundingMode.UNNECESSARY);
+        BigDecimal average = decimal(averagePrice, 4);
+        BigDecimal current = decimal(symbol.closes[days], 4);
+        BigDecimal cost = quantityValue.multiply(average).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal value = quantityValue.multiply(current).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal gainLoss = value.subtract(cost);
+        BigDecimal target = random.nextDouble() < 0.3 ? decimal(current.doubleValue() * (1.05 + random.nextDouble() * 0.3), 4) : null;
+        BigDecimal stopLoss = random.nextDouble() < 0.25 ? decimal(averagePrice * (0.7 + random.nextDouble() * 0.25), 4) : null;
+        out.add(Table.HOLDINGS, holdingId, portfolioId, symbol.ticker, symbol.name, symbol.type.name(), symbol.market,
+                symbol.currency.name(), quantityValue, average, current, decimal(symbol.closes[days - 1], 4),
+                target, stopLoss, cost, value, gainLoss, percent(gainLoss, cost), symbol.sector.name(),
+                purchased, asOfTimestamp(), purchased);
+        return new BigDecimal[]{cost, value};
+    }
+
+    /**
+     * Daily closes for one instrument: a geometric random walk that stands still on weekends
+     */
+    private static final class SymbolSeries {
+        private final String ticker;
+        private final String name;
+        private final String market;
+        private final HoldingType type;
+        private final Currency currency;
+        private final Sector sector;
+        private final double dividendYield;
+        private final double[] closes;
+
+        private SymbolSeries(Instrument instrument, SplittableRandom random, int days) {
+            this.ticker = instrument.getSymbol();
+            this.name = instrument.getName();
+            this.market = instrument.getExchange();
+            this.type = "etf".equalsIgnoreCase(instrument.getType()) ? HoldingType.ETF : HoldingType.STOCK;
+            this.currency = "TSX".equalsIgnoreCase(instrument.getExchange()) ? Currency.CAD : Currency.USD;
+            this.sector = type == HoldingType.ETF ? Sector.DIVERSIFIED : STOCK_SECTORS[random.nextInt(STOCK_SECTORS.length)];
+            // Most ETFs and about half the stocks pay a dividend
+            double payerShare = type == HoldingType.ETF ? 0.8 : 0.5;
+            this.dividendYield = random.nextDouble() < payerShare ? 0.005 + random.nextDouble() * 0.045 : 0;
+
+            double volatility = 0.008 + random.nextDouble() * 0.022;
+            double drift = 0.0001 + random.nextDouble() * 0.0005;
+            this.closes = new double[days + 1];
+            closes[0] = Math.exp(Math.log(15) + random.nextDouble() * Math.log(600.0 / 15));
+            for (int d = 1; d <= days; d++) {
+                double step = drift - volatility * volatility / 2 + volatility * random.nextGaussian();
+                closes[d] = Math.max(1, closes[d - 1] * Math.exp(step));
+            }
+        }
+    }
+
+    // Maps every day to itself, or weekends to the nearest earlier weekday in the window
+    private static int[] tradingDays(LocalDate start, int days) {
+        int[] mapped = new int[days + 1];
+        for (int d = 0; d <= days; d++) {
+            DayOfWeek dayOfWeek = start.plusDays(d).getDayOfWeek();
+            int back = dayOfWeek == DayOfWeek.SATURDAY ? 1 : dayOfWeek == DayOfWeek.SUNDAY ? 2 : 0;
+            mapped[d] = Math.max(0, d - back);
+        }
+        return mapped;
+    }
+
+    // Between 09:30 and 16:00 New York time, as UTC
+    private OffsetDateTime timestamp(int day, SplittableRandom random) {
+        return start.plusDays(day).atTime(13, 30).atOffset(ZoneOffset.UTC).plusSeconds(random.nextInt(6 * 3600 + 1800));
+    }
+
+    private OffsetDateTime asOfTimestamp() {
+        return spec.getAsOf().atStartOfDay().atOffset(ZoneOffset.UTC);
+    }
+
+    private int[] nameOrder(SplittableRandom random) {
+        int[] order = identity(PORTFOLIO_NAMES.length);
+        shuffleHead(random, order.length, order.length, order);
+        return order;
+    }
+
+    private static int[] identity(int size) {
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = i;
+        }
+        return values;
+    }
+
+    // Partial Fisher-Yates: the first count entries become a uniform sample without replacement
+    private static void shuffleHead(SplittableRandom random, int size, int count, int[] values) {
+        for (int i = 0; i < Math.min(count, size - 1); i++) {
+            int j = i + random.nextInt(size - i);
+            int swap = values[i];
+            values[i] = values[j];
+            values[j] = swap;
+        }
+    }
+
+    private static int poisson(SplittableRandom random, double mean) {
+        if (mean <= 0) {
+            return 0;
+        }
+        if (mean > 30) {
+            return (int) Math.max(0, Math.round(mean + Math.sqrt(mean) * random.nextGaussian()));
+        }
+        double limit = Math.exp(-mean);
+        double product = random.nextDouble();
+        int count = 0;
+        while (product > limit) {
+            product *= random.nextDouble();
+            count++;
+        }
+        return count;
+    }
+
+    private static double geometric(SplittableRandom random, double mean) {
+        if (mean <= 0) {
+            return 0;
+        }
+        return Math.floor(Math.log(1 - random.nextDouble()) / Math.log(mean / (mean + 1)));
+    }
+
+    private static double lognormal(SplittableRandom random, double mean, double sigma) {
+        return mean * Math.exp(sigma * random.nextGaussian() - sigma * sigma / 2);
+    }
+
+    private static BigDecimal decimal(double value, int scale) {
+        return BigDecimal.valueOf(value).setScale(scale, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal percent(BigDecimal gainLoss, BigDecimal cost) {
+        if (cost.signum() <= 0) {
+            return BigDecimal.ZERO.setScale(4);
+        }
+        BigDecimal percent = gainLoss.multiply(BigDecimal.valueOf(100)).divide(cost, 4, RoundingMode.HALF_UP);
+        // DECIMAL(8,4)
+        return percent.max(new BigDecimal("-9999.9999")).min(new BigDecimal("9999.9999"));
+    }
+
+    // Random (version 4 layout) UUIDs drawn from the user's stream, so ids are reproducible too
+    private static String uuid(SplittableRandom random) {
+        long high = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long low = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(high, low).toString();
+    }
+
+    // SplitMix64 finalizer over seed and stream index
+    private static long mix(long seed, long index) {
+        long z = seed + (index + 1) * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,193 @@
+package com.portfolio.management.datagen;
+
+import com.portfolio.management.service.marketdata.SymbolSearchIndex.Instrument;
+import com.portfolio.management.service.marketdata.SymbolUniverse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bulk-loads a synthetic dataset into an existing schema (portfolio_migration_sql.sql on
+ * PostgreSQL, datagen/schema-h2.sql on H2). Users are split into contiguous ranges loaded in
+ * parallel, one connection each; a range is written in flushes of whole users, each flush one
+ * transaction with tables in foreign-key order. PostgreSQL is loaded with COPY, anything else
+ * with batched inserts.
+ * <p>
+ * From the command line (test classpath):
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.portfolio.management.datagen.SyntheticDataLoader \
+ *     -Ddatagen.url=jdbc:postgresql://localhost:5432/portfolio_management \
+ *     -Ddatagen.username=portfolio_user -Ddatagen.password=portfolio_password \
+ *     -Ddatagen.profile=large -Ddatagen.seed=42
+ * </pre>
+ * Every generated user logs in with {@link SyntheticDataGenerator#PASSWORD}.
+ */
+public class SyntheticDataLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataLoader.class);
+
+    private static final String SYMBOLS_LOCATION = "classpath:market/symbols.csv";
+    // Ranges per thread, so a thread that draws heavy traders does not hold up the end of the load
+    private static final int RANGES_PER_THREAD = 4;
+
+    /**
+     * Opens a new connection for one loading thread
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection open() throws SQLException;
+    }
+
+    private final ConnectionFactory connections;
+    private final boolean useCopy;
+
+    public SyntheticDataLoader(ConnectionFactory connections, boolean useCopy) {
+        this.connections = connections;
+        this.useCopy = useCopy;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = System.getProperty("datagen.url", "jdbc:postgresql://localhost:5432/portfolio_management");
+        String username = System.getProperty("datagen.username", "portfolio_user");
+        String password = System.getProperty("datagen.password", "portfolio_password");
+        boolean useCopy = Boolean.parseBoolean(System.getProperty("datagen.copy", "true"));
+
+        SyntheticDataLoader loader = new SyntheticDataLoader(
+                () -> DriverManager.getConnection(url, username, password), useCopy);
+        Map<Table, Long> counts = loader.load(DatasetSpec.fromSystemProperties());
+        logger.info("Loaded {}", counts);
+    }
+
+    /**
+     * Generates and writes the dataset; returns the rows written per table
+     */
+    public Map<Table, Long> load(DatasetSpec spec) throws SQLException, InterruptedException {
+        List<Instrument> instruments = new SymbolUniverse(new DefaultResourceLoader(), SYMBOLS_LOCATION).getInstruments();
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(spec, instruments);
+        logger.info("Generating dataset: {}", spec);
+        long started = System.nanoTime();
+
+        prepare(spec);
+        Map<Table, LongAdder> written = new EnumMap<>(Table.class);
+        for (Table table : Table.values()) {
+            written.put(table, new LongAdder());
+        }
+
+        int threads = Math.max(1, spec.getThreads());
+        int ranges = Math.min(spec.getUsers(), threads * RANGES_PER_THREAD);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int r = 0; r < ranges; r++) {
+                int from = (int) ((long) spec.getUsers() * r / ranges);
+                int to = (int) ((long) spec.getUsers() * (r + 1) / ranges);
+                futures.add(executor.submit(() -> {
+                    loadRange(generator, spec, from, to, written);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof SQLException sql ? sql : new SQLException("Dataset load failed", cause);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        finish();
+        Map<Table, Long> counts = new EnumMap<>(Table.class);
+        written.forEach((table, count) -> counts.put(table, count.sum()));
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+        logger.info("Wrote {} transactions in {} s ({} rows/s)", counts.get(Table.TRANSACTIONS), elapsed.toSeconds(),
+                counts.values().stream().mapToLong(Long::longValue).sum() * 1000 / Math.max(1, elapsed.toMillis()));
+        return counts;
+    }
+
+    private void loadRange(SyntheticDataGenerator generator, DatasetSpec spec, int from, int to,
+                           Map<Table, LongAdder> written) throws SQLException {
+        try (Connection connection = connections.open()) {
+            connection.setAutoCommit(false);
+            try (RowSink sink = RowSink.forConnection(connection, useCopy)) {
+                RowBuffer buffer = new RowBuffer();
+                for (int user = from; user < to; user++) {
+                    generator.generateUser(user, buffer);
+                    if (buffer.size(Table.TRANSACTIONS) >= spec.getFlushRows()) {
+                        flush(connection, sink, buffer, written);
+                    }
+                }
+                flush(connection, sink, buffer, written);
+            }
+        }
+    }
+
+    private static void flush(Connection connection, RowSink sink, RowBuffer buffer,
+                              Map<Table, LongAdder> written) throws SQLException {
+        try {
+            for (Table table : Table.values()) {
+                sink.write(table, buffer.rows(table));
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        }
+        for (Table table : Table.values()) {
+            written.get(table).add(buffer.size(table));
+        }
+        buffer.clear();
+    }
+
+    // Monthly transaction partitions have to exist before COPY, or every row lands in the default partition
+    private void prepare(DatasetSpec spec) throws SQLException {
+        try (Connection connection = connections.open()) {
+            if (!isPostgres(connection)) {
+                return;
+            }
+            LocalDate from = spec.getHistoryStart().withDayOfMonth(1);
+            int months = (int) ChronoUnit.MONTHS.between(from, spec.getAsOf().withDayOfMonth(1)) + 4;
+            try (PreparedStatement statement = connection.prepareStatement("SELECT create_transaction_partitions(?, ?)")) {
+                statement.setObject(1, from);
+                statement.setInt(2, months);
+                statement.execute();
+            } catch (SQLException e) {
+                logger.warn("Could not create transaction partitions, rows may go to the default partition: {}",
+                        e.getMessage());
+            }
+        }
+    }
+
+    private void finish() throws SQLException {
+        try (Connection connection = connections.open()) {
+            if (isPostgres(connection)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("ANALYZE users, portfolios, holdings, transactions, watchlist");
+                }
+            }
+        }
+    }
+
+    private static boolean isPostgres(Connection connection) throws SQLException {
+        return "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+    }
+}
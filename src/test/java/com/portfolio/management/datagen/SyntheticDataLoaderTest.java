@@ -0,0 +1,94 @@
+package com.portfolio.management.datagen;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SyntheticDataLoaderTest {
+
+    // Holdings whose quantity is not what their buys and sells add up to
+    private static final String UNBALANCED_HOLDINGS =
+            "SELECT COUNT(*) FROM holdings h JOIN (SELECT holding_id, " +
+            "SUM(CASE type WHEN 'BUY' THEN quantity WHEN 'SELL' THEN -quantity ELSE 0 END) AS net " +
+            "FROM transactions GROUP BY holding_id) t ON t.holding_id = h.id WHERE t.net <> h.quantity";
+
+    private static final String TABLE_DIGEST =
+            "SELECT COUNT(*), SUM(quantity), SUM(total_amount), MIN(transaction_date), MAX(transaction_date), " +
+            "MIN(id), MAX(id) FROM transactions";
+
+    @Test
+    void loadsConsistentRowsWithinSchemaConstraints() throws Exception {
+        Map<Table, Long> counts = load("datagen_consistent", spec(3, 200));
+
+        assertThat(counts.get(Table.USERS)).isEqualTo(50);
+        assertThat(counts.get(Table.TRANSACTIONS)).isGreaterThan(counts.get(Table.HOLDINGS));
+        try (Connection connection = open("datagen_consistent")) {
+            assertThat(queryLong(connection, "SELECT COUNT(*) FROM transactions")).isEqualTo(counts.get(Table.TRANSACTIONS));
+            assertThat(queryLong(connection, UNBALANCED_HOLDINGS)).isZero();
+            assertThat(queryLong(connection, "SELECT COUNT(DISTINCT type) FROM transactions")).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void sameSeedLoadsSameRowsWhateverTheThreadsAndFlushSize() throws Exception {
+        load("datagen_single", spec(1, 100_000));
+        load("datagen_parallel", spec(4, 150));
+
+        try (Connection single = open("datagen_single"); Connection parallel = open("datagen_parallel")) {
+            assertThat(queryRow(parallel, TABLE_DIGEST)).isEqualTo(queryRow(single, TABLE_DIGEST));
+            String holdings = "SELECT COUNT(*), SUM(quantity), SUM(current_value), MIN(id), MAX(id) FROM holdings";
+            assertThat(queryRow(parallel, holdings)).isEqualTo(queryRow(single, holdings));
+        }
+    }
+
+    private static DatasetSpec spec(int threads, int flushRows) {
+        DatasetSpec spec = DatasetSpec.small();
+        spec.setUsers(50);
+        spec.setHistoryYears(2);
+        spec.setAsOf(LocalDate.of(2025, 1, 1));
+        spec.setThreads(threads);
+        spec.setFlushRows(flushRows);
+        return spec;
+    }
+
+    private static Map<Table, Long> load(String database, DatasetSpec spec) throws Exception {
+        try (Connection connection = open(database)) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("datagen/schema-h2.sql"));
+            return new SyntheticDataLoader(() -> open(database), false).load(spec);
+        }
+    }
+
+    private static Connection open(String database) throws SQLException {
+        return DriverManager.getConnection("jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    private static long queryLong(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static List<Object> queryRow(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            List<Object> row = new ArrayList<>();
+            for (int i = 1; i <= rs.getMetaData().getColumnCount(); i++) {
+                row.add(rs.getObject(i));
+            }
+            return row;
+        }
+    }
+}
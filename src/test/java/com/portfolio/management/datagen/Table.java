@@ -0,0 +1,43 @@
+package com.portfolio.management.datagen;
+
+import java.util.List;
+
+/**
+ * Tables the generator fills, in foreign-key order: a flush writes them in declaration order so
+ * every row's parent is already in place
+ */
+public enum Table {
+    USERS("users", List.of("id", "username", "password", "email", "first_name", "last_name",
+            "created_at", "last_login_at", "is_active", "updated_at")),
+    PORTFOLIOS("portfolios", List.of("id", "name", "description", "user_id", "broker", "currency",
+            "total_value", "total_cost", "total_gain_loss", "total_gain_loss_percent",
+            "created_at", "updated_at", "is_active", "content_version")),
+    HOLDINGS("holdings", List.of("id", "portfolio_id", "symbol", "company_name", "type", "market", "currency",
+            "quantity", "average_price", "current_price", "previous_close_price", "target_price", "stop_loss_price",
+            "total_cost", "current_value", "gain_loss", "gain_loss_percent", "sector",
+            "purchase_date", "last_updated", "created_at")),
+    TRANSACTIONS("transactions", List.of("id", "portfolio_id", "user_id", "holding_id", "type", "symbol",
+            "quantity", "price", "total_amount", "fees", "currency", "transaction_date", "notes", "created_at")),
+    WATCHLIST("watchlist", List.of("id", "user_id", "symbol", "company_name", "current_price", "change_percent",
+            "added_date", "created_at", "updated_at"));
+
+    private final String tableName;
+    private final List<String> columns;
+
+    Table(String tableName, List<String> columns) {
+        this.tableName = tableName;
+        this.columns = columns;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    public String columnList() {
+        return String.join(", ", columns);
+    }
+}
@@ -0,0 +1,173 @@
+package com.portfolio.management.service.impl;
+
+import com.portfolio.management.config.AppProperties;
+import com.portfolio.management.repository.HoldingRepository;
+import com.portfolio.management.repository.PortfolioRepository;
+import com.portfolio.management.service.MarketDataService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.util.StreamUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * The split and dividend statements against the production migration
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class CorporateActionServiceIT {
+
+    private static final String[] SCRIPTS = {"portfolio_migration_sql.sql", "benchmark/postgres-entity-compat.sql"};
+
+    private static final Instant OPENED = Instant.parse("2025-01-02T15:00:00Z");
+    private static final Instant SPLIT = Instant.parse("2025-03-03T00:00:00Z");
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static DriverManagerDataSource dataSource;
+
+    private JdbcTemplate jdbc;
+    private CorporateActionServiceImpl service;
+
+    @BeforeAll
+    static void migrate() throws Exception {
+        dataSource = new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        for (String script : SCRIPTS) {
+            // Whole script in one call, so the driver keeps dollar-quoted function bodies intact
+            jdbc.execute(StreamUtils.copyToString(new ClassPathResource(script).getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("TRUNCATE users, corporate_actions CASCADE");
+        jdbc.update("INSERT INTO users (id, username, password, email, first_name, last_name) " +
+                "VALUES ('u1', 'investor', 'x', 'investor@example.com', 'Ada', 'Investor')");
+        jdbc.update("INSERT INTO portfolios (id, name, user_id, broker, currency) VALUES ('p1', 'Main', 'u1', 'Broker', 'USD')");
+
+        AppProperties properties = new AppProperties();
+        PortfolioMutationExecutor executor =
+                new PortfolioMutationExecutor(new DataSourceTransactionManager(dataSource), properties);
+        service = new CorporateActionServiceImpl(dataSource, executor, mock(HoldingRepository.class),
+                mock(PortfolioRepository.class), mock(MarketDataService.class), new ConcurrentMapCacheManager(),
+                mock(PriceAlertEngine.class), properties, Clock.systemUTC());
+    }
+
+    @Test
+    void splitMultipliesOnlySharesHeldBeforeTheSplitDate() {
+        holding("h1", OPENED, "110", "47.8182");
+        trade("h1", "BUY", "100", "50", OPENED);
+        // Booked after the split date but before the split was applied, already in post-split units
+        trade("h1", "BUY", "10", "26", Instant.parse("2025-03-05T15:00:00Z"));
+
+        assertThat(service.applyStockSplit("AAPL", SPLIT, new BigDecimal("2"))).isEqualTo(1);
+
+        Map<String, Object> row = jdbc.queryForMap("SELECT quantity, average_price, version FROM holdings WHERE id = 'h1'");
+        assertThat((BigDecimal) row.get("quantity")).isEqualByComparingTo("210");
+        // Cost basis is unchanged by the split
+        assertThat((BigDecimal) row.get("average_price")).isEqualByComparingTo("25.0476");
+        assertThat(row.get("version")).isEqualTo(1L);
+    }
+
+    @Test
+    void splitLeavesPositionsOpenedAfterItAlone() {
+        holding("h1", Instant.parse("2025-03-10T15:00:00Z"), "10", "26");
+
+        assertThat(service.applyStockSplit("AAPL", SPLIT, new BigDecimal("2"))).isZero();
+        assertThat(jdbc.queryForObject("SELECT quantity FROM holdings WHERE id = 'h1'", BigDecimal.class))
+                .isEqualByComparingTo("10");
+    }
+
+    @Test
+    void dividendWithExDateBeforeTheSplitIsPaidOnPreSplitShares() {
+        holding("h1", OPENED, "120", "50");
+        trade("h1", "BUY", "100", "50", OPENED);
+        // After the ex-date, so not entitled
+        trade("h1", "BUY", "20", "50", Instant.parse("2025-02-20T15:00:00Z"));
+        service.applyStockSplit("AAPL", SPLIT, new BigDecimal("2"));
+
+        service.applyDividend("AAPL", Instant.parse("2025-02-15T00:00:00Z"), Instant.parse("2025-03-15T00:00:00Z"),
+                new BigDecimal("0.50"));
+
+        assertThat(dividend("h1")).containsEntry("quantity", new BigDecimal("100.000000"))
+                .containsEntry("total_amount", new BigDecimal("50.00"));
+    }
+
+    @Test
+    void dividendAfterTheSplitIsPaidOnSplitAdjustedShares() {
+        holding("h1", OPENED, "100", "50");
+        trade("h1", "BUY", "100", "50", OPENED);
+        service.applyStockSplit("AAPL", SPLIT, new BigDecimal("2"));
+        trade("h1", "SELL", "50", "27", Instant.parse("2025-03-20T15:00:00Z"));
+        jdbc.update("UPDATE holdings SET quantity = 150 WHERE id = 'h1'");
+
+        service.applyDividend("AAPL", Instant.parse("2025-04-01T00:00:00Z"), Instant.parse("2025-04-15T00:00:00Z"),
+                new BigDecimal("0.25"));
+
+        assertThat(dividend("h1")).containsEntry("quantity", new BigDecimal("150.000000"));
+    }
+
+    @Test
+    void soldOutPositionIsKeptClosedAndPaidOnlyForDividendsBeforeTheSale() {
+        holding("h1", OPENED, "100", "50");
+        trade("h1", "BUY", "100", "50", OPENED);
+        trade("h1", "SELL", "100", "55", Instant.parse("2025-02-01T15:00:00Z"));
+        jdbc.update("UPDATE holdings SET quantity = 0, status = 'CLOSED' WHERE id = 'h1'");
+
+        assertThat(service.applyStockSplit("AAPL", SPLIT, new BigDecimal("2"))).isZero();
+        service.applyDividend("AAPL", Instant.parse("2025-04-01T00:00:00Z"), Instant.parse("2025-04-15T00:00:00Z"),
+                new BigDecimal("0.25"));
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM transactions WHERE type = 'DIVIDEND'", Long.class)).isZero();
+
+        // Ex-date while the position was still held, in pre-split shares
+        service.applyDividend("AAPL", Instant.parse("2025-01-15T00:00:00Z"), Instant.parse("2025-01-30T00:00:00Z"),
+                new BigDecimal("0.50"));
+
+        assertThat(dividend("h1")).containsEntry("quantity", new BigDecimal("100.000000"));
+        Map<String, Object> row = jdbc.queryForMap("SELECT quantity, status, total_cost FROM holdings WHERE id = 'h1'");
+        assertThat((BigDecimal) row.get("quantity")).isZero();
+        assertThat(row.get("status")).isEqualTo("CLOSED");
+        assertThat((BigDecimal) row.get("total_cost")).isZero();
+    }
+
+    private void holding(String id, Instant purchased, String quantity, String averagePrice) {
+        jdbc.update("INSERT INTO holdings (id, portfolio_id, symbol, company_name, type, market, currency, quantity, " +
+                        "average_price, current_price, purchase_date) VALUES (?, 'p1', 'AAPL', 'Apple Inc.', 'STOCK', " +
+                        "'NASDAQ', 'USD', ?, ?, ?, ?)",
+                id, new BigDecimal(quantity), new BigDecimal(averagePrice), new BigDecimal(averagePrice),
+                Timestamp.from(purchased));
+    }
+
+    private void trade(String holdingId, String type, String quantity, String price, Instant at) {
+        BigDecimal shares = new BigDecimal(quantity);
+        BigDecimal unitPrice = new BigDecimal(price);
+        jdbc.update("INSERT INTO transactions (id, portfolio_id, user_id, holding_id, type, symbol, quantity, price, " +
+                        "total_amount, currency, transaction_date) VALUES (gen_random_uuid()::text, 'p1', 'u1', ?, ?, " +
+                        "'AAPL', ?, ?, ?, 'USD', ?)",
+                holdingId, type, shares, unitPrice, shares.multiply(unitPrice), Timestamp.from(at));
+    }
+
+    private Map<String, Object> dividend(String holdingId) {
+        return jdbc.queryForMap("SELECT quantity, total_amount FROM transactions WHERE holding_id = ? AND type = 'DIVIDEND'",
+                holdingId);
+    }
+}
@@ -0,0 +1,128 @@
+package com.portfolio.management.service.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class CovarianceEngineTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private final CovarianceEngine engine = new CovarianceEngine(pool);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void tiledCovarianceMatchesTheTextbookFormula() {
+        // Several tiles a side and observation blocks that are not a multiple of the unrolling
+        int n = 150;
+        int observations = 601;
+        SplittableRandom random = new SplittableRandom(11);
+        List<String> symbols = new ArrayList<>();
+        List<double[]> returns = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            symbols.add("S" + i);
+            double[] series = new double[observations];
+            for (int t = 0; t < observations; t++) {
+                series[t] = random.nextGaussian() * 0.02 + 0.0005;
+            }
+            returns.add(series);
+        }
+
+        CovarianceEngine.CovarianceMatrix matrix = engine.compute(symbols, returns);
+
+        for (int[] pair : new int[][]{{0, 0}, {3, 70}, {63, 64}, {100, 149}, {149, 149}, {130, 5}}) {
+            double expected = covariance(returns.get(pair[0]), returns.get(pair[1]));
+            assertThat(matrix.covariance(pair[0], pair[1])).isCloseTo(expected, within(1e-15));
+        }
+        assertThat(matrix.observations()).isEqualTo(observations);
+        assertThat(matrix.indexOf("S70")).isEqualTo(70);
+        assertThat(matrix.indexOf("missing")).isEqualTo(-1);
+    }
+
+    @Test
+    void packedIndexVisitsTheUpperTriangleInRowOrder() {
+        int n = 5;
+        int expected = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = i; j < n; j++) {
+                assertThat(CovarianceEngine.packedIndex(n, i, j)).isEqualTo(expected++);
+            }
+        }
+        assertThat(expected).isEqualTo(CovarianceEngine.packedSize(n));
+    }
+
+    @Test
+    void correlationIsScaledAndZeroForAFlatSeries() {
+        double[] x = {0.01, -0.02, 0.03, 0.0, -0.01};
+        double[] levered = {0.03, -0.06, 0.09, 0.0, -0.03};
+        double[] inverse = {-0.01, 0.02, -0.03, 0.0, 0.01};
+        double[] flat = {0.001, 0.001, 0.001, 0.001, 0.001};
+
+        CovarianceEngine.CovarianceMatrix matrix = engine.compute(List.of("X", "L", "I", "F"),
+                List.of(x, levered, inverse, flat));
+
+        assertThat(matrix.correlation(0, 1)).isCloseTo(1, within(1e-6));
+        assertThat(matrix.correlation(2, 0)).isCloseTo(-1, within(1e-6));
+        assertThat(matrix.correlation(0, 3)).isZero();
+        assertThat(matrix.correlation(3, 3)).isEqualTo(1);
+        assertThat(matrix.annualizedVolatility(1)).isCloseTo(3 * matrix.annualizedVolatility(0), within(1e-12));
+    }
+
+    @Test
+    void effectiveNumberOfBetsCountsIndependentRiskSources() {
+        // Orthogonal with equal variance: two independent bets of equal size
+        double[] a = {1, -1, 1, -1, 1, -1, 1, -1};
+        double[] b = {1, 1, -1, -1, 1, 1, -1, -1};
+        CovarianceEngine.CovarianceMatrix independent = engine.compute(List.of("A", "B"), List.of(a, b));
+        CovarianceEngine.CovarianceMatrix duplicated = engine.compute(List.of("A", "A2"), List.of(a, a.clone()));
+
+        assertThat(CovarianceEngine.effectiveNumberOfBets(independent, new double[]{0.5, 0.5}))
+                .isCloseTo(2, within(1e-9));
+        assertThat(CovarianceEngine.effectiveNumberOfBets(independent, new double[]{1, 0}))
+                .isCloseTo(1, within(1e-9));
+        assertThat(CovarianceEngine.effectiveNumberOfBets(duplicated, new double[]{0.5, 0.5}))
+                .isCloseTo(1, within(1e-9));
+        assertThat(CovarianceEngine.effectiveNumberOfBets(independent, new double[]{0, 0})).isNaN();
+    }
+
+    @Test
+    void selectionKeepsTheRequestedOrder() {
+        double[] a = {0.01, 0.02, -0.01, 0.0};
+        double[] b = {0.02, -0.01, 0.0, 0.01};
+        double[] c = {-0.03, 0.01, 0.02, 0.0};
+        CovarianceEngine.CovarianceMatrix matrix = engine.compute(List.of("A", "B", "C"), List.of(a, b, c));
+
+        CovarianceEngine.CovarianceMatrix selected = matrix.select(new int[]{2, 0});
+
+        assertThat(selected.size()).isEqualTo(2);
+        assertThat(selected.symbol(0)).isEqualTo("C");
+        assertThat(selected.covariance(0, 1)).isEqualTo(matrix.covariance(2, 0));
+        assertThat(selected.correlation(1, 0)).isEqualTo(matrix.correlation(0, 2));
+    }
+
+    private static double covariance(double[] x, double[] y) {
+        double meanX = 0;
+        double meanY = 0;
+        for (int t = 0; t < x.length; t++) {
+            meanX += x[t];
+            meanY += y[t];
+        }
+        meanX /= x.length;
+        meanY /= y.length;
+        double sum = 0;
+        for (int t = 0; t < x.length; t++) {
+            sum += (x[t] - meanX) * (y[t] - meanY);
+        }
+        return sum / (x.length - 1);
+    }
+}
@@ -0,0 +1,38 @@
+package com.portfolio.management.service.impl;
+
+import com.portfolio.management.config.AppProperties;
+import com.portfolio.management.enums.Currency;
+import com.portfolio.management.service.marketdata.FxRateMatrix;
+import com.portfolio.management.service.marketdata.FxRateProvider;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FxRateServiceImplTest {
+
+    @Test
+    void coldStartServesRatesWhileTheDatabaseIsDown() throws Exception {
+        FxRateProvider provider = mock(FxRateProvider.class);
+        when(provider.fetchLatestRates()).thenReturn(Map.of(Currency.USD, BigDecimal.ONE, Currency.EUR, new BigDecimal("0.8")));
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenThrow(new SQLException("connection refused"));
+        FxRateServiceImpl service = new FxRateServiceImpl(provider, dataSource, mock(PlatformTransactionManager.class),
+                new AppProperties(), Clock.fixed(Instant.parse("2026-01-05T15:00:00Z"), ZoneOffset.UTC));
+
+        FxRateMatrix rates = service.getCurrentRates();
+
+        assertThat(rates.rate(Currency.USD, Currency.EUR)).isEqualByComparingTo("0.8");
+        assertThat(service.convert(new BigDecimal("100"), Currency.EUR, Currency.USD)).isEqualByComparingTo("125");
+    }
+}
@@ -0,0 +1,87 @@
+package com.portfolio.management.service.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class MonteCarloEngineTest {
+
+    // One histogram bin is about 0.4% of value
+    private static final double BIN_TOLERANCE = 0.005;
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void pathsWithoutVolatilityGrowAtTheDrift() {
+        MonteCarloEngine.Simulation simulation = new MonteCarloEngine(pool)
+                .simulate(MonteCarloEngine.geometricBrownianMotion(0.05, 0), 10_000, 3, 0.12, 1);
+
+        assertThat(simulation.paths()).isEqualTo(10_000);
+        assertThat(simulation.years()).isEqualTo(3);
+        for (int year = 0; year < 3; year++) {
+            double expected = Math.exp(0.05 * (year + 1));
+            assertThat(simulation.meanGrowth(year)).isCloseTo(expected, within(1e-9));
+            assertThat(simulation.growthQuantile(year, 0.5)).isCloseTo(expected, within(expected * BIN_TOLERANCE));
+        }
+        // The target of e^0.12 is first reached at the end of the third year
+        assertThat(simulation.fractionAboveTarget(1)).isZero();
+        assertThat(simulation.fractionAboveTarget(2)).isEqualTo(1);
+        assertThat(simulation.fractionTouchedTarget()).isEqualTo(1);
+    }
+
+    @Test
+    void bootstrapSumsTheDrawnBlocksOfEachYear() {
+        MonteCarloEngine.Simulation simulation = new MonteCarloEngine(pool)
+                .simulate(MonteCarloEngine.bootstrap(new double[]{0.01}, 12), 100, 2, Double.NaN, 1);
+
+        assertThat(simulation.meanGrowth(1)).isCloseTo(Math.exp(0.24), within(1e-9));
+        // No target, nothing counted
+        assertThat(simulation.fractionAboveTarget(1)).isZero();
+        assertThat(simulation.fractionTouchedTarget()).isZero();
+    }
+
+    @Test
+    void lognormalQuantilesMatchTheClosedForm() {
+        double drift = 0.06;
+        double volatility = 0.2;
+        MonteCarloEngine.Simulation simulation = new MonteCarloEngine(pool)
+                .simulate(MonteCarloEngine.geometricBrownianMotion(drift, volatility), 100_000, 10, Double.NaN, 42);
+
+        double spread = volatility * Math.sqrt(10);
+        assertThat(simulation.growthQuantile(9, 0.5)).isCloseTo(Math.exp(10 * drift), within(0.02 * Math.exp(10 * drift)));
+        double fifth = Math.exp(10 * drift - 1.6449 * spread);
+        assertThat(simulation.growthQuantile(9, 0.05)).isCloseTo(fifth, within(0.03 * fifth));
+        double mean = Math.exp(10 * drift + spread * spread / 2);
+        assertThat(simulation.meanGrowth(9)).isCloseTo(mean, within(0.02 * mean));
+    }
+
+    @Test
+    void seededRunIsTheSameOnAnyPoolSize() {
+        ForkJoinPool single = new ForkJoinPool(1);
+        try {
+            MonteCarloEngine.StepModel model = MonteCarloEngine.geometricBrownianMotion(0.04, 0.15);
+            MonteCarloEngine.Simulation parallel = new MonteCarloEngine(pool).simulate(model, 50_000, 5, 0.2, 7);
+            MonteCarloEngine.Simulation sequential = new MonteCarloEngine(single).simulate(model, 50_000, 5, 0.2, 7);
+
+            for (int year = 0; year < 5; year++) {
+                assertThat(parallel.growthQuantile(year, 0.1)).isEqualTo(sequential.growthQuantile(year, 0.1));
+                assertThat(parallel.growthQuantile(year, 0.9)).isEqualTo(sequential.growthQuantile(year, 0.9));
+                assertThat(parallel.fractionAboveTarget(year)).isEqualTo(sequential.fractionAboveTarget(year));
+            }
+            // Sums merge in the same tree order, so even the floating point mean is identical
+            assertThat(parallel.meanGrowth(4)).isEqualTo(sequential.meanGrowth(4));
+            assertThat(parallel.fractionTouchedTarget()).isEqualTo(sequential.fractionTouchedTarget());
+        } finally {
+            single.shutdownNow();
+        }
+    }
+}
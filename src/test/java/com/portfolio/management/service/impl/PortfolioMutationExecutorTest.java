@@ -0,0 +1,211 @@
+package com.portfolio.management.service.impl;
+
+import com.portfolio.management.config.AppProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PortfolioMutationExecutorTest {
+
+    // Land on different stripes out of four
+    private static final String PORTFOLIO_A = "p1";
+    private static final String PORTFOLIO_B = "p2";
+
+    private final ExecutorService clients = Executors.newCachedThreadPool();
+    private PortfolioMutationExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        clients.shutdownNow();
+        if (executor != null) {
+            executor.destroy();
+        }
+    }
+
+    @Test
+    void writesToOnePortfolioNeverOverlapAndKeepSubmissionOrder() throws Exception {
+        executor = executor(30_000);
+        List<int[]> applied = new ArrayList<>(); // deliberately unsynchronized
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicBoolean overlapped = new AtomicBoolean();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int client = 0; client < 8; client++) {
+            int id = client;
+            futures.add(clients.submit(() -> {
+                for (int i = 0; i < 200; i++) {
+                    int sequence = i;
+                    executor.run(PORTFOLIO_A, () -> {
+                        if (inFlight.incrementAndGet() > 1) {
+                            overlapped.set(true);
+                        }
+                        applied.add(new int[]{id, sequence});
+                        inFlight.decrementAndGet();
+                    });
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+
+        assertThat(overlapped).isFalse();
+        assertThat(applied).hasSize(1_600);
+        int[] last = new int[8];
+        Arrays.fill(last, -1);
+        for (int[] entry : applied) {
+            assertThat(entry[1]).isGreaterThan(last[entry[0]]);
+            last[entry[0]] = entry[1];
+        }
+    }
+
+    @Test
+    void timedOutMutationIsNeverApplied() throws Exception {
+        executor = executor(100);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> blocker = blockWriter(PORTFOLIO_A, release);
+        AtomicBoolean applied = new AtomicBoolean();
+
+        assertThatThrownBy(() -> executor.run(PORTFOLIO_A, () -> applied.set(true)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Timed out");
+
+        release.countDown();
+        blocker.get(5, TimeUnit.SECONDS);
+        // Anything queued behind the cancelled mutation has been applied once this returns
+        executor.run(PORTFOLIO_A, () -> { });
+        assertThat(applied).isFalse();
+    }
+
+    @Test
+    void claimedMutationReportsItsOutcomeAfterTheTimeout() {
+        executor = executor(100);
+
+        String result = executor.execute(PORTFOLIO_A, () -> {
+            sleep(300);
+            return "applied";
+        });
+
+        assertThat(result).isEqualTo("applied");
+    }
+
+    @Test
+    void failuresReachTheCaller() {
+        executor = executor(30_000);
+
+        assertThatThrownBy(() -> executor.run(PORTFOLIO_A, () -> {
+            throw new IllegalArgumentException("rejected");
+        })).isInstanceOf(IllegalArgumentException.class).hasMessage("rejected");
+    }
+
+    @Test
+    void crossPortfolioMutationRunsAfterQueuedWritesAndBeforeLaterOnes() throws Exception {
+        executor = executor(30_000);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> blocker = clients.submit(() -> executor.run(PORTFOLIO_A, () -> {
+            await(release);
+            order.add("queued");
+        }));
+        sleep(50);
+
+        Future<String> across = clients.submit(() -> executor.executeAcross(List.of(PORTFOLIO_A, PORTFOLIO_B), () -> {
+            order.add("across");
+            sleep(100);
+            return "done";
+        }));
+        sleep(50);
+        Future<?> later = clients.submit(() -> executor.run(PORTFOLIO_B, () -> order.add("later")));
+        sleep(50);
+        assertThat(order).isEmpty();
+
+        release.countDown();
+        assertThat(across.get(5, TimeUnit.SECONDS)).isEqualTo("done");
+        blocker.get(5, TimeUnit.SECONDS);
+        later.get(5, TimeUnit.SECONDS);
+        assertThat(order).containsExactly("queued", "across", "later");
+    }
+
+    @Test
+    void crossPortfolioMutationGivesUpWithoutRunning() throws Exception {
+        executor = executor(100);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> blocker = blockWriter(PORTFOLIO_A, release);
+        AtomicBoolean applied = new AtomicBoolean();
+
+        assertThatThrownBy(() -> executor.executeAcross(List.of(PORTFOLIO_A, PORTFOLIO_B), () -> {
+            applied.set(true);
+            return null;
+        })).isInstanceOf(IllegalStateException.class);
+
+        release.countDown();
+        blocker.get(5, TimeUnit.SECONDS);
+        // Writers that reach the abandoned barrier pass straight through
+        executor.run(PORTFOLIO_A, () -> { });
+        executor.run(PORTFOLIO_B, () -> { });
+        assertThat(applied).isFalse();
+    }
+
+    private Future<?> blockWriter(String portfolioId, CountDownLatch release) {
+        Future<?> blocker = clients.submit(() -> executor.run(portfolioId, () -> await(release)));
+        sleep(50);
+        return blocker;
+    }
+
+    private static PortfolioMutationExecutor executor(long timeoutMs) {
+        AppProperties properties = new AppProperties();
+        properties.getMutations().setStripes(4);
+        properties.getMutations().setTimeoutMs(timeoutMs);
+        return new PortfolioMutationExecutor(new NoOpTransactionManager(), properties);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class NoOpTransactionManager implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.portfolio.management.service.impl;
+
+import com.portfolio.management.entity.Portfolio;
+import com.portfolio.management.enums.Currency;
+import com.portfolio.management.exception.BadRequestException;
+import com.portfolio.management.mapper.PortfolioMapper;
+import com.portfolio.management.repository.PortfolioRepository;
+import com.portfolio.management.repository.PortfolioRepository.HoldingTotalsView;
+import com.portfolio.management.repository.PortfolioRepository.TransactionTotalsView;
+import com.portfolio.management.service.FxRateService;
+import com.portfolio.management.service.marketdata.FxRateMatrix;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PortfolioSummaryEngineTest {
+
+    // 0.8 EUR and 0.5 GBP to the dollar
+    private static final FxRateMatrix RATES = FxRateMatrix.fromUsdRates(LocalDate.of(2026, 1, 5),
+            Instant.parse("2026-01-05T15:00:00Z"), Map.of(Currency.USD, BigDecimal.ONE,
+                    Currency.EUR, new BigDecimal("0.8"), Currency.GBP, new BigDecimal("0.5")));
+
+    private final PortfolioRepository portfolioRepository = mock(PortfolioRepository.class);
+    private final PortfolioMapper portfolioMapper = mock(PortfolioMapper.class);
+    private final FxRateService fxRateService = mock(FxRateService.class);
+    private final Portfolio portfolio = new Portfolio("Main", null, null, "Broker", Currency.EUR);
+    private PortfolioSummaryEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        portfolio.setId("p1");
+        when(fxRateService.getCurrentRates()).thenReturn(RATES);
+        engine = new PortfolioSummaryEngine(portfolioRepository, portfolioMapper, fxRateService);
+    }
+
+    @Test
+    void holdingTotalsAreConvertedIntoThePortfolioCurrency() {
+        when(portfolioRepository.summarizeHoldings(List.of("p1"))).thenReturn(List.of(
+                new HoldingRow(Currency.EUR, 2, "800", "700", "10"),
+                new HoldingRow(Currency.USD, 1, "1000", "900", "-50")));
+
+        PortfolioSummaryEngine.HoldingTotals totals = engine.holdingTotals(portfolio);
+
+        assertThat(totals.count).isEqualTo(3);
+        assertThat(totals.value).isEqualByComparingTo("1600");
+        assertThat(totals.invested).isEqualByComparingTo("1420");
+        assertThat(totals.dayChange).isEqualByComparingTo("-30");
+    }
+
+    @Test
+    void dividendsInEveryCurrencyAreRestatedBeforeSumming() {
+        when(portfolioRepository.findAllByIdWithUser(any())).thenReturn(List.of(portfolio));
+        when(portfolioRepository.summarizeHoldings(any())).thenReturn(List.of());
+        when(portfolioRepository.summarizeTransactions(any())).thenReturn(List.of(
+                new TransactionRow(Currency.EUR, 4, "20"),
+                new TransactionRow(Currency.GBP, 3, "10")));
+
+        engine.summarize(List.of("p1"), checked -> { });
+
+        ArgumentCaptor<BigDecimal> dividends = ArgumentCaptor.forClass(BigDecimal.class);
+        verify(portfolioMapper).toSummaryResponse(eq(portfolio), any(), any(), any(), any(), any(), any(),
+                dividends.capture(), anyInt(), eq(7));
+        // 20 EUR plus 10 GBP at 1.6 EUR per pound
+        assertThat(dividends.getValue()).isEqualByComparingTo("36");
+    }
+
+    @Test
+    void deniedAccessStopsBeforeTheAggregateQueries() {
+        when(portfolioRepository.findAllByIdWithUser(any())).thenReturn(List.of(portfolio));
+
+        assertThatThrownBy(() -> engine.summarize(List.of("p1"), checked -> {
+            throw new BadRequestException("Access denied");
+        })).isInstanceOf(BadRequestException.class);
+
+        verify(portfolioRepository, never()).summarizeHoldings(any());
+        verify(portfolioRepository, never()).summarizeTransactions(any());
+    }
+
+    private record HoldingRow(Currency currency, long count, String value, String invested, String dayChange)
+            implements HoldingTotalsView {
+
+        @Override
+        public String getPortfolioId() {
+            return "p1";
+        }
+
+        @Override
+        public Currency getCurrency() {
+            return currency;
+        }
+
+        @Override
+        public Long getHoldingsCount() {
+            return count;
+        }
+
+        @Override
+        public BigDecimal getTotalValue() {
+            return new BigDecimal(value);
+        }
+
+        @Override
+        public BigDecimal getTotalInvested() {
+            return new BigDecimal(invested);
+        }
+
+        @Override
+        public BigDecimal getDayChange() {
+            return new BigDecimal(dayChange);
+        }
+    }
+
+    private record TransactionRow(Currency currency, long count, String dividends) implements TransactionTotalsView {
+
+        @Override
+        public String getPortfolioId() {
+            return "p1";
+        }
+
+        @Override
+        public Currency getCurrency() {
+            return currency;
+        }
+
+        @Override
+        public Long getTransactionsCount() {
+            return count;
+        }
+
+        @Override
+        public BigDecimal getTotalDividends() {
+            return new BigDecimal(dividends);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.portfolio.management.service.impl;
+
+import com.portfolio.management.config.AppProperties;
+import com.portfolio.management.enums.PriceAlertType;
+import com.portfolio.management.event.HoldingChangedEvent;
+import com.portfolio.management.event.PriceAlertEvent;
+import com.portfolio.management.repository.HoldingRepository;
+import com.portfolio.management.repository.HoldingRepository.AlertPositionView;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PriceAlertEngineTest {
+
+    private static final String PORTFOLIO = "portfolio-1";
+    private static final Instant LOADED = Instant.parse("2026-01-05T14:00:00Z");
+    // Ticks are stamped by the clock
+    private static final Instant TICK = Instant.parse("2026-01-05T15:00:00Z");
+
+    private final HoldingRepository holdingRepository = mock(HoldingRepository.class);
+    private final List<PriceAlertEvent> published = new ArrayList<>();
+    private final PriceAlertEngine engine = new PriceAlertEngine(holdingRepository,
+            event -> published.add((PriceAlertEvent) event),
+            new AppProperties(), Clock.fixed(TICK, ZoneOffset.UTC));
+
+    @Test
+    void tickFlipsOnlyTheLevelsItCrosses() {
+        load(row("h1", "100", null, "105", null), row("h2", "100", null, "120", null));
+
+        engine.onPrice("AAPL", new BigDecimal("110"));
+
+        assertThat(published).extracting(PriceAlertEvent::getHoldingId, PriceAlertEvent::getType, PriceAlertEvent::isRaised)
+                .containsExactly(tuple("h1", PriceAlertType.TARGET_REACHED, true));
+    }
+
+    @Test
+    void crossingBackClearsTheAlert() {
+        load(row("h1", "100", null, "105", null));
+
+        engine.onPrice("AAPL", new BigDecimal("106"));
+        engine.onPrice("AAPL", new BigDecimal("104"));
+
+        assertThat(published).extracting(PriceAlertEvent::isRaised).containsExactly(true, false);
+    }
+
+    @Test
+    void fallingPriceRaisesDayDropBeforeStopLoss() {
+        // Previous close 100, so the default 5% day drop sits at 95, above the stop at 90
+        load(row("h1", "100", "100", null, "90"));
+
+        engine.onPrice("AAPL", new BigDecimal("94"));
+        engine.onPrice("AAPL", new BigDecimal("89"));
+
+        assertThat(published).extracting(PriceAlertEvent::getType, PriceAlertEvent::isRaised)
+                .containsExactly(tuple(PriceAlertType.DAY_DROP, true), tuple(PriceAlertType.STOP_LOSS, true));
+    }
+
+    @Test
+    void levelsMatchedAtLoadAreNotPublished() {
+        load(row("h1", "110", null, "105", null));
+
+        assertThat(published).isEmpty();
+        // Raised all along, so falling back below the target clears it
+        engine.onPrice("AAPL", new BigDecimal("104"));
+        assertThat(published).extracting(PriceAlertEvent::getHoldingId, PriceAlertEvent::getType, PriceAlertEvent::isRaised)
+                .containsExactly(tuple("h1", PriceAlertType.TARGET_REACHED, false));
+    }
+
+    @Test
+    void changeCommittedDuringRebuildIsKept() {
+        when(holdingRepository.findAlertPositions()).thenAnswer(invocation -> {
+            // Commits after the snapshot was read, before the rebuild finishes
+            engine.onHoldingChanged(new HoldingChangedEvent("h2", PORTFOLIO, "AAPL", BigDecimal.TEN,
+                    new BigDecimal("100"), null, new BigDecimal("105"), null, LOADED, false));
+            return List.of(row("h1", "100", null, null, null));
+        });
+        engine.rebuild();
+
+        engine.onPrice("AAPL", new BigDecimal("106"));
+
+        assertThat(published).extracting(PriceAlertEvent::getHoldingId, PriceAlertEvent::isRaised)
+                .containsExactly(tuple("h2", true));
+    }
+
+    @Test
+    void changesAfterLoadMoveTheLevels() {
+        load(row("h1", "100", null, "105", null));
+
+        engine.onHoldingChanged(new HoldingChangedEvent("h1", PORTFOLIO, "AAPL", BigDecimal.TEN,
+                new BigDecimal("100"), null, new BigDecimal("102"), null, LOADED, false));
+        engine.onPrice("AAPL", new BigDecimal("103"));
+
+        assertThat(published).extracting(PriceAlertEvent::getThreshold).containsExactly(new BigDecimal("102"));
+    }
+
+    @Test
+    void newerWrittenPriceMovesTheWholeBook() {
+        load(row("h1", "100", null, "105", null), row("h2", "100", null, "108", null));
+        engine.onPrice("AAPL", new BigDecimal("101"));
+
+        // A manual price update committed after the tick
+        engine.onHoldingChanged(new HoldingChangedEvent("h1", PORTFOLIO, "AAPL", BigDecimal.TEN,
+                new BigDecimal("110"), null, new BigDecimal("105"), null, TICK.plusSeconds(60), false));
+
+        assertThat(published).extracting(PriceAlertEvent::getHoldingId, PriceAlertEvent::getPrice)
+                .containsExactly(tuple("h2", new BigDecimal("110")), tuple("h1", new BigDecimal("110")));
+    }
+
+    @Test
+    void writtenPriceOlderThanTheLastTickIsIgnored() {
+        load(row("h1", "100", null, "105", null));
+        engine.onPrice("AAPL", new BigDecimal("106"));
+
+        // A target edit on a holding last valued before the tick
+        engine.onHoldingChanged(new HoldingChangedEvent("h1", PORTFOLIO, "AAPL", BigDecimal.TEN,
+                new BigDecimal("100"), null, new BigDecimal("105"), null, LOADED, false));
+
+        assertThat(published).extracting(PriceAlertEvent::isRaised).containsExactly(true);
+    }
+
+    @Test
+    void splitReloadIsEvaluatedAtTheSplitPrice() {
+        load(row("h1", "100", null, null, "60"));
+        engine.onPrice("AAPL", new BigDecimal("100"));
+
+        // Two for one halves the price; the stop is left for the owner to adjust
+        when(holdingRepository.findAlertPositionsByPortfolioIds(List.of(PORTFOLIO))).thenReturn(List.of(
+                new Row("h1", new BigDecimal("50"), null, null, new BigDecimal("60"), TICK.plusSeconds(60))));
+        engine.reloadPortfolios(List.of(PORTFOLIO));
+
+        assertThat(published).extracting(PriceAlertEvent::getType, PriceAlertEvent::isRaised, PriceAlertEvent::getPrice)
+                .containsExactly(tuple(PriceAlertType.STOP_LOSS, true, new BigDecimal("50")));
+    }
+
+    private void load(AlertPositionView... rows) {
+        when(holdingRepository.findAlertPositions()).thenReturn(List.of(rows));
+        engine.rebuild();
+    }
+
+    private static AlertPositionView row(String holdingId, String currentPrice, String previousClose,
+                                         String target, String stopLoss) {
+        return new Row(holdingId, decimal(currentPrice), decimal(previousClose), decimal(target), decimal(stopLoss),
+                LOADED);
+    }
+
+    private static BigDecimal decimal(String value) {
+        return value != null ? new BigDecimal(value) : null;
+    }
+
+    private record Row(String holdingId, BigDecimal currentPrice, BigDecimal previousClose, BigDecimal target,
+                       BigDecimal stopLoss, Instant lastUpdated) implements AlertPositionView {
+
+        @Override
+        public String getHoldingId() {
+            return holdingId;
+        }
+
+        @Override
+        public String getPortfolioId() {
+            return PORTFOLIO;
+        }
+
+        @Override
+        public String getSymbol() {
+            return "AAPL";
+        }
+
+        @Override
+        public BigDecimal getQuantity() {
+            return BigDecimal.TEN;
+        }
+
+        @Override
+        public BigDecimal getCurrentPrice() {
+            return currentPrice;
+        }
+
+        @Override
+        public BigDecimal getPreviousClosePrice() {
+            return previousClose;
+        }
+
+        @Override
+        public BigDecimal getTargetPrice() {
+            return target;
+        }
+
+        @Override
+        public BigDecimal getStopLossPrice() {
+            return stopLoss;
+        }
+
+        @Override
+        public Instant getLastUpdated() {
+            return lastUpdated;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.portfolio.management.service.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class RiskAnalyticsEngineTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private final RiskAnalyticsEngine engine = new RiskAnalyticsEngine(pool);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void holdingMovingTwiceAsMuchAsTheMarketHasBetaTwo() {
+        double[] market = series(250, 1);
+        double[] levered = Arrays.stream(market).map(r -> 2 * r).toArray();
+
+        RiskAnalyticsEngine.PortfolioRisk risk = engine.analyze(new double[][]{levered}, new double[]{1}, market);
+
+        assertThat(risk.holdingBeta(0)).isCloseTo(2, within(1e-12));
+        assertThat(risk.beta()).isCloseTo(2, within(1e-12));
+        assertThat(risk.holdingVolatility(0))
+                .isCloseTo(2 * RiskAnalyticsEngine.annualizedVolatility(market), within(1e-12));
+        assertThat(risk.observations()).isEqualTo(250);
+    }
+
+    @Test
+    void volatilityIsTheAnnualizedSampleStandardDeviation() {
+        // Mean 0.01, squared deviations 0.0002, sample variance 0.0001
+        double[] returns = {0.0, 0.02, 0.0, 0.02, 0.0, 0.02};
+
+        assertThat(RiskAnalyticsEngine.annualizedVolatility(returns))
+                .isCloseTo(Math.sqrt(0.0006 / 5 * RiskAnalyticsEngine.TRADING_DAYS), within(1e-15));
+        assertThat(RiskAnalyticsEngine.annualizedVolatility(new double[]{0.01})).isNaN();
+    }
+
+    @Test
+    void tailRiskTakesTheQuantileLossAndTheMeanBeyondIt() {
+        double[] sorted = new double[20];
+        for (int t = 0; t < sorted.length; t++) {
+            sorted[t] = -0.05 + 0.005 * t;
+        }
+
+        // 5% of 20 observations: the two worst days
+        double[] tail95 = RiskAnalyticsEngine.tailRisk(sorted, 0.95);
+        assertThat(tail95[0]).isCloseTo(0.045, within(1e-15));
+        assertThat(tail95[1]).isCloseTo(0.0475, within(1e-15));
+        // Fewer than one observation in the tail: the worst day
+        double[] tail99 = RiskAnalyticsEngine.tailRisk(sorted, 0.99);
+        assertThat(tail99[0]).isCloseTo(0.05, within(1e-15));
+        assertThat(tail99[1]).isCloseTo(0.05, within(1e-15));
+    }
+
+    @Test
+    void holdingsSplitAcrossSubtasksAddUpToTheSameSeries() {
+        double[] market = series(250, 2);
+        double[] single = series(250, 3);
+        // More holdings than one leaf task takes, each carrying an equal share of the same series
+        double[][] returns = new double[100][];
+        double[] weights = new double[100];
+        Arrays.fill(returns, single);
+        Arrays.fill(weights, 0.01);
+
+        RiskAnalyticsEngine.PortfolioRisk split = engine.analyze(returns, weights, market);
+        RiskAnalyticsEngine.PortfolioRisk whole = engine.analyze(new double[][]{single}, new double[]{1}, market);
+
+        assertThat(split.volatility()).isCloseTo(whole.volatility(), within(1e-12));
+        assertThat(split.beta()).isCloseTo(whole.beta(), within(1e-12));
+        assertThat(split.valueAtRisk99()).isCloseTo(whole.valueAtRisk99(), within(1e-12));
+        assertThat(split.holdingVolatility(99)).isEqualTo(whole.holdingVolatility(0));
+    }
+
+    @Test
+    void batchKeepsInputOrderAndMatchesSingleAnalysis() {
+        double[] market = series(120, 4);
+        List<double[][]> returns = List.of(new double[][]{series(120, 5)}, new double[][]{},
+                new double[][]{series(120, 6), series(120, 7)});
+        List<double[]> weights = List.of(new double[]{1}, new double[]{}, new double[]{0.25, 0.75});
+
+        List<RiskAnalyticsEngine.PortfolioRisk> batch = engine.analyzeAll(returns, weights, market);
+
+        assertThat(batch).hasSize(3);
+        for (int p = 0; p < 3; p++) {
+            RiskAnalyticsEngine.PortfolioRisk alone = engine.analyze(returns.get(p), weights.get(p), market);
+            if (p == 1) {
+                // No priced holdings
+                assertThat(batch.get(p).volatility()).isNaN();
+                assertThat(batch.get(p).valueAtRisk95()).isNaN();
+                continue;
+            }
+            assertThat(batch.get(p).volatility()).isEqualTo(alone.volatility());
+            assertThat(batch.get(p).expectedShortfall95()).isEqualTo(alone.expectedShortfall95());
+        }
+    }
+
+    private static double[] series(int days, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        double[] returns = new double[days];
+        for (int t = 0; t < days; t++) {
+            returns[t] = (random.nextDouble() - 0.5) * 0.04;
+        }
+        return returns;
+    }
+}
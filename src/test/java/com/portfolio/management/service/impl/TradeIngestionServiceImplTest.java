@@ -0,0 +1,197 @@
+package com.portfolio.management.service.impl;
+
+import com.portfolio.management.config.AppProperties;
+import com.portfolio.management.dto.request.TradeBatchRequest;
+import com.portfolio.management.dto.request.TransactionCreateRequest;
+import com.portfolio.management.entity.Holding;
+import com.portfolio.management.entity.Portfolio;
+import com.portfolio.management.enums.Currency;
+import com.portfolio.management.enums.HoldingStatus;
+import com.portfolio.management.enums.HoldingType;
+import com.portfolio.management.enums.TransactionType;
+import com.portfolio.management.exception.InsufficientQuantityException;
+import com.portfolio.management.mapper.HoldingMapper;
+import com.portfolio.management.repository.HoldingRepository;
+import com.portfolio.management.repository.PortfolioRepository;
+import com.portfolio.management.repository.TransactionRepository;
+import com.portfolio.management.service.FxRateService;
+import com.portfolio.management.service.MarketDataService;
+import com.portfolio.management.service.PortfolioService;
+import com.portfolio.management.service.marketdata.FxRateMatrix;
+import com.portfolio.management.service.marketdata.SymbolUniverse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TradeIngestionServiceImplTest {
+
+    private static final Instant MONDAY = Instant.parse("2025-03-03T15:00:00Z");
+    private static final Instant TUESDAY = Instant.parse("2025-03-04T15:00:00Z");
+
+    // 0.8 EUR to the dollar
+    private static final FxRateMatrix RATES = FxRateMatrix.fromUsdRates(LocalDate.of(2025, 3, 3), MONDAY,
+            Map.of(Currency.USD, BigDecimal.ONE, Currency.EUR, new BigDecimal("0.8")));
+
+    private final PortfolioRepository portfolioRepository = mock(PortfolioRepository.class);
+    private final HoldingRepository holdingRepository = mock(HoldingRepository.class);
+    private final Portfolio portfolio = portfolio("p1");
+    private PortfolioMutationExecutor mutationExecutor;
+    private TradeIngestionServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        // Inside the caller's transaction the writer runs the batch inline on this thread
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.initSynchronization();
+
+        FxRateService fxRateService = mock(FxRateService.class);
+        when(fxRateService.getCurrentRates()).thenReturn(RATES);
+        mutationExecutor = new PortfolioMutationExecutor(mock(PlatformTransactionManager.class), new AppProperties());
+        service = new TradeIngestionServiceImpl(portfolioRepository, holdingRepository, mock(TransactionRepository.class),
+                mock(PortfolioService.class), mock(MarketDataService.class), mock(SymbolUniverse.class),
+                mock(HoldingMapper.class), new ConcurrentMapCacheManager(), mutationExecutor, fxRateService);
+        when(portfolioRepository.findAllById(any())).thenReturn(List.of(portfolio));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        mutationExecutor.destroy();
+    }
+
+    @Test
+    void fillsAreFoldedInDateOrderAndPriceTheHoldingAtTheLatestFill() {
+        Holding holding = holding(portfolio, "10", "100");
+        existing(holding);
+
+        // Submitted out of order
+        ingest(fill("p1", TransactionType.BUY, "10", "130", TUESDAY), fill("p1", TransactionType.BUY, "10", "110", MONDAY));
+
+        assertThat(holding.getQuantity()).isEqualByComparingTo("30");
+        assertThat(holding.getAveragePrice()).isEqualByComparingTo("113.3333");
+        assertThat(holding.getCurrentPrice()).isEqualByComparingTo("130");
+        assertThat(holding.getCurrentValue()).isEqualByComparingTo("3900");
+    }
+
+    @Test
+    void sellingDownToZeroClosesTheHolding() {
+        Holding holding = holding(portfolio, "10", "100");
+        existing(holding);
+
+        ingest(fill("p1", TransactionType.SELL, "4", "120", MONDAY), fill("p1", TransactionType.SELL, "6", "125", TUESDAY));
+
+        assertThat(holding.getQuantity()).isZero();
+        assertThat(holding.getStatus()).isEqualTo(HoldingStatus.CLOSED);
+        assertThat(holding.getCurrentPrice()).isEqualByComparingTo("125");
+    }
+
+    @Test
+    void buyingIntoAClosedHoldingReopensIt() {
+        Holding holding = holding(portfolio, "0", "100");
+        holding.setStatus(HoldingStatus.CLOSED);
+        existing(holding);
+
+        ingest(fill("p1", TransactionType.BUY, "5", "90", MONDAY));
+
+        assertThat(holding.getStatus()).isEqualTo(HoldingStatus.ACTIVE);
+        assertThat(holding.getAveragePrice()).isEqualByComparingTo("90");
+    }
+
+    @Test
+    void portfolioTotalsAreRestatedInThePortfolioCurrency() {
+        Holding euroHolding = new Holding(portfolio, "SAP", "SAP SE", HoldingType.STOCK, "XETRA", Currency.EUR,
+                new BigDecimal("10"), new BigDecimal("80"), new BigDecimal("80"), null, MONDAY);
+        euroHolding.setId("h-sap");
+        portfolio.addHolding(euroHolding);
+        existing(euroHolding);
+
+        ingest(fill("p1", TransactionType.BUY, "10", "100", MONDAY));
+
+        // 800 EUR is 1000 USD, plus 1000 USD of Apple
+        assertThat(portfolio.getTotalValue()).isEqualByComparingTo("2000");
+        assertThat(portfolio.getTotalCost()).isEqualByComparingTo("2000");
+    }
+
+    @Test
+    void overSellingIsRejected() {
+        existing(holding(portfolio, "10", "100"));
+
+        assertThatThrownBy(() -> ingest(fill("p1", TransactionType.BUY, "5", "100", MONDAY),
+                fill("p1", TransactionType.SELL, "20", "100", TUESDAY)))
+                .isInstanceOf(InsufficientQuantityException.class);
+    }
+
+    @Test
+    void locksOnlyTheTouchedPortfolioSymbolPairs() {
+        Portfolio other = portfolio("p2");
+        when(portfolioRepository.findAllById(any())).thenReturn(List.of(portfolio, other));
+        Holding apple = holding(portfolio, "10", "100");
+        Holding microsoft = holding(other, "10", "100");
+        microsoft.setSymbol("MSFT");
+        existing(apple, microsoft);
+
+        TransactionCreateRequest sellMicrosoft = fill("p2", TransactionType.SELL, "1", "100", MONDAY);
+        sellMicrosoft.setSymbol("MSFT");
+        ingest(fill("p1", TransactionType.BUY, "1", "100", MONDAY), sellMicrosoft);
+
+        verify(holdingRepository).findByPortfolioSymbolKeysOrderById(anyCollection(), anyCollection(),
+                eq(Set.of("p1:AAPL", "p2:MSFT")));
+    }
+
+    private void ingest(TransactionCreateRequest... fills) {
+        TradeBatchRequest request = new TradeBatchRequest();
+        request.setTrades(new ArrayList<>(List.of(fills)));
+        service.ingestTrades(request);
+    }
+
+    private void existing(Holding... holdings) {
+        when(holdingRepository.findByPortfolioSymbolKeysOrderById(anyCollection(), anyCollection(), anyCollection()))
+                .thenReturn(List.of(holdings));
+    }
+
+    private static Portfolio portfolio(String id) {
+        Portfolio portfolio = new Portfolio("Portfolio " + id, null, null, "Broker", Currency.USD);
+        portfolio.setId(id);
+        return portfolio;
+    }
+
+    private static Holding holding(Portfolio portfolio, String quantity, String averagePrice) {
+        Holding holding = new Holding(portfolio, "AAPL", "Apple Inc.", HoldingType.STOCK, "NASDAQ", Currency.USD,
+                new BigDecimal(quantity), new BigDecimal(averagePrice), new BigDecimal(averagePrice), null, MONDAY);
+        portfolio.addHolding(holding);
+        return holding;
+    }
+
+    private static TransactionCreateRequest fill(String portfolioId, TransactionType type, String quantity, String price,
+                                                 Instant at) {
+        TransactionCreateRequest fill = new TransactionCreateRequest();
+        fill.setPortfolioId(portfolioId);
+        fill.setType(type);
+        fill.setSymbol("AAPL");
+        fill.setQuantity(new BigDecimal(quantity));
+        fill.setPrice(new BigDecimal(price));
+        fill.setTransactionDate(at);
+        return fill;
+    }
+}
@@ -0,0 +1,122 @@
+package com.portfolio.management.service.impl;
+
+import com.portfolio.management.config.AppProperties;
+import com.portfolio.management.dto.response.TransactionResponse;
+import com.portfolio.management.service.PortfolioService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.util.StreamUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Partition backfill and archival against the production migration
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class TransactionPartitionManagerIT {
+
+    private static final String[] SCRIPTS = {"portfolio_migration_sql.sql", "benchmark/postgres-entity-compat.sql"};
+
+    private static final Clock NOW = Clock.fixed(Instant.parse("2026-10-18T12:00:00Z"), ZoneOffset.UTC);
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static DriverManagerDataSource dataSource;
+
+    private JdbcTemplate jdbc;
+    private AppProperties properties;
+
+    @BeforeAll
+    static void migrate() throws Exception {
+        dataSource = new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        for (String script : SCRIPTS) {
+            // Whole script in one call, so the driver keeps dollar-quoted function bodies intact
+            jdbc.execute(StreamUtils.copyToString(new ClassPathResource(script).getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("TRUNCATE users, transaction_archives CASCADE");
+        // Puts back the 2024 months an earlier test archived
+        jdbc.queryForObject("SELECT create_transaction_partitions(DATE '2024-01-01', 12)", Integer.class);
+        jdbc.update("INSERT INTO users (id, username, password, email, first_name, last_name) " +
+                "VALUES ('u1', 'investor', 'x', 'investor@example.com', 'Ada', 'Investor')");
+        jdbc.update("INSERT INTO portfolios (id, name, user_id, broker, currency) VALUES ('p1', 'Main', 'u1', 'Broker', 'USD')");
+        properties = new AppProperties();
+    }
+
+    @Test
+    void rowsInsertedWhileTheJobWasDownMoveIntoTheirMonth() {
+        // Before the first partition the migration creates, so it lands in the default partition
+        trade("t1", Instant.parse("2023-11-20T10:00:00Z"));
+        assertThat(count("transactions_default")).isEqualTo(1);
+
+        manager().createFuturePartitions();
+
+        assertThat(count("transactions_default")).isZero();
+        assertThat(count("transactions_y2023m11")).isEqualTo(1);
+        // Months in between are created too, so later backdated rows have somewhere to go
+        assertThat(jdbc.queryForObject("SELECT to_regclass('transactions_y2023m12') IS NOT NULL", Boolean.class)).isTrue();
+    }
+
+    @Test
+    void archivedMonthIsReadableFromAnyInstance() {
+        trade("t1", Instant.parse("2024-01-10T10:00:00Z"));
+        trade("t2", Instant.parse("2024-01-20T10:00:00Z"));
+        manager().archiveExpiredPartitions();
+
+        assertThat(jdbc.queryForObject("SELECT to_regclass('transactions_y2024m01') IS NULL", Boolean.class)).isTrue();
+        // A second service over the same database, with no local state shared with the archiver
+        TransactionArchiveServiceImpl reader = new TransactionArchiveServiceImpl(dataSource, mock(PortfolioService.class));
+        List<TransactionResponse> archived = reader.getArchivedTransactions("p1",
+                Instant.parse("2024-01-01T00:00:00Z"), Instant.parse("2024-02-01T00:00:00Z"), 10);
+        assertThat(archived).extracting(TransactionResponse::getId).containsExactly("t2", "t1");
+    }
+
+    @Test
+    void archivedMonthIsNotRecreatedForLateRows() {
+        trade("t1", Instant.parse("2024-02-10T10:00:00Z"));
+        manager().archiveExpiredPartitions();
+        trade("t2", Instant.parse("2024-02-25T10:00:00Z"));
+
+        manager().createFuturePartitions();
+
+        assertThat(jdbc.queryForObject("SELECT to_regclass('transactions_y2024m02') IS NULL", Boolean.class)).isTrue();
+        assertThat(count("transactions_default")).isEqualTo(1);
+    }
+
+    private TransactionPartitionManager manager() {
+        return new TransactionPartitionManager(dataSource, new DataSourceTransactionManager(dataSource), properties, NOW);
+    }
+
+    private void trade(String id, Instant at) {
+        jdbc.update("INSERT INTO transactions (id, portfolio_id, user_id, type, symbol, quantity, price, total_amount, " +
+                        "currency, transaction_date) VALUES (?, 'p1', 'u1', 'BUY', 'AAPL', ?, ?, ?, 'USD', ?)",
+                id, BigDecimal.TEN, new BigDecimal("100"), new BigDecimal("1000"), Timestamp.from(at));
+    }
+
+    private long count(String table) {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+}
@@ -0,0 +1,195 @@
+package com.portfolio.management.service.marketdata;
+
+import com.portfolio.management.exception.MarketDataException;
+import com.portfolio.management.service.marketdata.FakeQuoteProvider.LatencyDistribution;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HedgedQuoteClientTest {
+
+    private static final List<String> SYMBOLS = List.of("AAPL", "MSFT", "NVDA", "AMD");
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void slowPrimaryIsHedgedToAlternate() {
+        HedgedQuoteClient client = client(
+                provider("slow", LatencyDistribution.fixed(2_000), 0.0),
+                provider("fast", LatencyDistribution.fixed(10), 0.0));
+
+        long start = System.nanoTime();
+        Map<String, BigDecimal> quotes = client.fetchQuotes(SYMBOLS);
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertThat(quotes).containsOnlyKeys(SYMBOLS);
+        assertThat(elapsedMillis).isLessThan(1_000);
+    }
+
+    @Test
+    void failingPrimaryHedgesImmediately() {
+        HedgedQuoteClient client = client(
+                provider("broken", LatencyDistribution.none(), 1.0),
+                provider("healthy", LatencyDistribution.fixed(10), 0.0));
+
+        assertThat(client.fetchQuotes(SYMBOLS)).containsOnlyKeys(SYMBOLS);
+    }
+
+    @Test
+    void routingPrefersProviderWithBetterStats() {
+        HedgedQuoteClient client = client(
+                provider("broken", LatencyDistribution.none(), 1.0),
+                provider("healthy", LatencyDistribution.fixed(5), 0.0));
+
+        for (int i = 0; i < 5; i++) {
+            client.fetchQuotes(SYMBOLS);
+        }
+
+        ProviderStats broken = stats(client, "broken");
+        ProviderStats healthy = stats(client, "healthy");
+        assertThat(broken.getEwmaErrorRate()).isGreaterThan(0.5);
+        assertThat(healthy.score()).isLessThan(broken.score());
+        // Once ranked lower, the broken provider is only tried when hedging
+        assertThat(broken.getCallCount()).isLessThan(healthy.getCallCount());
+    }
+
+    @Test
+    void slowPrimaryThatAlwaysLosesTheHedgeIsDemoted() {
+        HedgedQuoteClient client = client(
+                provider("slow", LatencyDistribution.fixed(2_000), 0.0),
+                provider("fast", LatencyDistribution.fixed(10), 0.0));
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(client.fetchQuotes(SYMBOLS)).containsOnlyKeys(SYMBOLS);
+        }
+
+        ProviderStats slow = stats(client, "slow");
+        ProviderStats fast = stats(client, "fast");
+        // Cancelled after the hedge delay, so never faster than it and never counted as failing
+        assertThat(slow.getEwmaLatencyMillis()).isGreaterThanOrEqualTo(100);
+        assertThat(slow.getEwmaErrorRate()).isZero();
+        assertThat(fast.score()).isLessThan(slow.score());
+        // Primary for the first batch only, then not even hedged to
+        assertThat(slow.getCallCount()).isLessThan(fast.getCallCount());
+    }
+
+    @Test
+    void failsWhenEveryAttemptFails() {
+        HedgedQuoteClient client = client(
+                provider("a", LatencyDistribution.none(), 1.0),
+                provider("b", LatencyDistribution.none(), 1.0));
+
+        assertThatThrownBy(() -> client.fetchQuotes(SYMBOLS)).isInstanceOf(MarketDataException.class);
+    }
+
+    @Test
+    void losingAttemptIsCancelled() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(2);
+        HedgedQuoteClient client = client(
+                new StalledProvider("stalled", interrupted),
+                provider("fast", LatencyDistribution.fixed(10), 0.0));
+
+        assertThat(client.fetchQuotes(SYMBOLS)).containsOnlyKeys(SYMBOLS);
+        // One stalled primary per chunk, each interrupted once its hedge answers
+        assertThat(interrupted.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void hedgesPassThroughTheAttemptGuard() {
+        AtomicInteger guarded = new AtomicInteger();
+        HedgedQuoteClient client = client(attempt -> () -> {
+                    guarded.incrementAndGet();
+                    return attempt.get();
+                },
+                provider("slow", LatencyDistribution.fixed(2_000), 0.0),
+                provider("fast", LatencyDistribution.fixed(10), 0.0));
+
+        client.fetchQuotes(SYMBOLS);
+
+        // Two chunks, each with a primary and a hedge
+        assertThat(guarded).hasValue(4);
+    }
+
+    @Test
+    void guardRejectionIsNotHedgedOrCountedAgainstTheProvider() {
+        AtomicInteger guarded = new AtomicInteger();
+        FakeQuoteProvider provider = provider("only", LatencyDistribution.fixed(10), 0.0);
+        HedgedQuoteClient client = client(attempt -> () -> {
+                    guarded.incrementAndGet();
+                    throw RequestNotPermitted.createRequestNotPermitted(RateLimiter.ofDefaults("test"));
+                },
+                provider);
+
+        assertThatThrownBy(() -> client.fetchQuotes(SYMBOLS)).isInstanceOf(MarketDataException.class);
+        assertThat(guarded).hasValue(2);
+        assertThat(stats(client, "only").getCallCount()).isZero();
+    }
+
+    private HedgedQuoteClient client(QuoteProvider... providers) {
+        return client(UnaryOperator.identity(), providers);
+    }
+
+    private HedgedQuoteClient client(UnaryOperator<Supplier<Map<String, BigDecimal>>> guard,
+                                     QuoteProvider... providers) {
+        return new HedgedQuoteClient(List.of(providers), executor, guard, 2, 95,
+                Duration.ofMillis(10), Duration.ofMillis(100), Duration.ofSeconds(3));
+    }
+
+    private FakeQuoteProvider provider(String name, LatencyDistribution latency, double errorRate) {
+        return new FakeQuoteProvider(name, FakeQuoteProvider.DEFAULT_PRICES, latency, errorRate, 42L);
+    }
+
+    private ProviderStats stats(HedgedQuoteClient client, String name) {
+        return client.getProviderStats().stream()
+                .filter(stats -> stats.getProviderName().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static final class StalledProvider implements QuoteProvider {
+        private final String name;
+        private final CountDownLatch interrupted;
+
+        private StalledProvider(String name, CountDownLatch interrupted) {
+            this.name = name;
+            this.interrupted = interrupted;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Map<String, BigDecimal> fetchQuotes(List<String> symbols) {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                Thread.currentThread().interrupt();
+            }
+            throw new MarketDataException("Provider " + name + " did not answer");
+        }
+    }
+}
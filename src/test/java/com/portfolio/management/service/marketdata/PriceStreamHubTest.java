@@ -0,0 +1,84 @@
+package com.portfolio.management.service.marketdata;
+
+import com.portfolio.management.config.AppProperties;
+import com.portfolio.management.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PriceStreamHubTest {
+
+    @Test
+    void disconnectedClientIsReleased() {
+        PriceStreamHub hub = hub(true);
+
+        hub.subscribe("user-1", Set.of("AAPL", "MSFT"));
+
+        // The opening heartbeat hits the dead socket; the stream must be dropped from every index
+        assertThat(hub.getOpenStreamCount()).isZero();
+        assertThat(hub.getSubscribedSymbols()).isEmpty();
+    }
+
+    @Test
+    void perUserCapIsFreedByDisconnects() {
+        PriceStreamHub hub = hub(true);
+
+        for (int i = 0; i < 10; i++) {
+            hub.subscribe("user-1", Set.of("AAPL"));
+        }
+
+        assertThat(hub.getOpenStreamCount()).isZero();
+    }
+
+    @Test
+    void liveStreamsStayRegistered() {
+        PriceStreamHub hub = hub(false);
+
+        hub.subscribe("user-1", Set.of("AAPL"));
+        hub.subscribe("user-2", Set.of("AAPL", "MSFT"));
+        hub.publish("AAPL", new BigDecimal("190.10"));
+
+        assertThat(hub.getOpenStreamCount()).isEqualTo(2);
+        assertThat(hub.getSubscribedSymbols()).containsExactlyInAnyOrder("AAPL", "MSFT");
+    }
+
+    @Test
+    void perUserCapIsEnforced() {
+        PriceStreamHub hub = hub(false);
+
+        hub.subscribe("user-1", Set.of("AAPL"));
+        hub.subscribe("user-1", Set.of("AAPL"));
+
+        assertThatThrownBy(() -> hub.subscribe("user-1", Set.of("AAPL"))).isInstanceOf(BadRequestException.class);
+    }
+
+    private PriceStreamHub hub(boolean clientGone) {
+        AppProperties properties = new AppProperties();
+        properties.getStreaming().setMaxConnectionsPerUser(2);
+        // Direct executor: drains run inline so assertions see their effect
+        return new PriceStreamHub(properties, Runnable::run) {
+            @Override
+            SseEmitter newEmitter(long timeoutMillis) {
+                return clientGone ? new DisconnectedEmitter(timeoutMillis) : new SseEmitter(timeoutMillis);
+            }
+        };
+    }
+
+    private static final class DisconnectedEmitter extends SseEmitter {
+
+        DisconnectedEmitter(long timeoutMillis) {
+            super(timeoutMillis);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            throw new IOException("Broken pipe");
+        }
+    }
+}
@@ -0,0 +1,3 @@
+-- Applied after portfolio_migration_sql.sql for benchmark runs.
+-- Removes the sample rows, leaving only generated data.
+TRUNCATE users, portfolios, holdings, transactions, watchlist CASCADE;
@@ -0,0 +1,96 @@
+-- Tables the synthetic dataset loads into, for H2. Mirrors portfolio_migration_sql.sql without
+-- partitioning, triggers and views; keys, unique constraints and checks match.
+
+CREATE TABLE users (
+    id VARCHAR(50) PRIMARY KEY,
+    username VARCHAR(100) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    first_name VARCHAR(100) NOT NULL,
+    last_name VARCHAR(100) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_login_at TIMESTAMP WITH TIME ZONE,
+    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE portfolios (
+    id VARCHAR(50) PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    description VARCHAR(1000),
+    user_id VARCHAR(50) NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    broker VARCHAR(100) NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    total_value DECIMAL(15,2) NOT NULL DEFAULT 0,
+    total_cost DECIMAL(15,2) NOT NULL DEFAULT 0,
+    total_gain_loss DECIMAL(15,2) NOT NULL DEFAULT 0,
+    total_gain_loss_percent DECIMAL(8,4) NOT NULL DEFAULT 0,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    content_version BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT uk_user_portfolio_name UNIQUE (user_id, name)
+);
+
+CREATE TABLE holdings (
+    id VARCHAR(50) PRIMARY KEY,
+    portfolio_id VARCHAR(50) NOT NULL REFERENCES portfolios(id) ON DELETE CASCADE,
+    symbol VARCHAR(20) NOT NULL,
+    company_name VARCHAR(200) NOT NULL,
+    type VARCHAR(20) NOT NULL,
+    market VARCHAR(50) NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    quantity DECIMAL(15,6) NOT NULL CHECK (quantity > 0),
+    average_price DECIMAL(15,4) NOT NULL CHECK (average_price > 0),
+    current_price DECIMAL(15,4) NOT NULL CHECK (current_price >= 0),
+    previous_close_price DECIMAL(15,4),
+    target_price DECIMAL(15,4) CHECK (target_price > 0),
+    stop_loss_price DECIMAL(15,4) CHECK (stop_loss_price > 0),
+    total_cost DECIMAL(15,2) NOT NULL DEFAULT 0,
+    current_value DECIMAL(15,2) NOT NULL DEFAULT 0,
+    gain_loss DECIMAL(15,2) NOT NULL DEFAULT 0,
+    gain_loss_percent DECIMAL(8,4) NOT NULL DEFAULT 0,
+    sector VARCHAR(100),
+    purchase_date TIMESTAMP WITH TIME ZONE NOT NULL,
+    last_updated TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    annualized_volatility DECIMAL(8,4),
+    beta DECIMAL(8,4),
+    risk_calculated_at TIMESTAMP WITH TIME ZONE,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_portfolio_symbol UNIQUE (portfolio_id, symbol)
+);
+
+CREATE TABLE transactions (
+    id VARCHAR(50) NOT NULL,
+    portfolio_id VARCHAR(50) NOT NULL REFERENCES portfolios(id) ON DELETE CASCADE,
+    user_id VARCHAR(50) NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    holding_id VARCHAR(50) REFERENCES holdings(id) ON DELETE SET NULL,
+    type VARCHAR(20) NOT NULL,
+    symbol VARCHAR(20) NOT NULL,
+    quantity DECIMAL(15,6) NOT NULL,
+    price DECIMAL(15,4) NOT NULL CHECK (price >= 0),
+    total_amount DECIMAL(15,2) NOT NULL,
+    fees DECIMAL(15,2) NOT NULL DEFAULT 0,
+    currency VARCHAR(3) NOT NULL,
+    transaction_date TIMESTAMP WITH TIME ZONE NOT NULL,
+    notes VARCHAR(1000),
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, transaction_date)
+);
+
+CREATE TABLE watchlist (
+    id VARCHAR(50) PRIMARY KEY,
+    user_id VARCHAR(50) NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    symbol VARCHAR(20) NOT NULL,
+    company_name VARCHAR(200) NOT NULL,
+    current_price DECIMAL(15,4) NOT NULL DEFAULT 0,
+    change_percent DECIMAL(8,4) NOT NULL DEFAULT 0,
+    added_date TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_user_watchlist_symbol UNIQUE (user_id, symbol)
+);
+
+CREATE INDEX idx_transactions_user_date ON transactions (user_id, transaction_date);
+CREATE INDEX idx_transactions_portfolio_date ON transactions (portfolio_id, transaction_date);
+CREATE INDEX idx_holdings_symbol ON holdings (symbol);